@@ -0,0 +1,109 @@
+package net.signfinder.engine;
+
+/**
+ * Case-insensitive comparison without lowercased copies. Each char is
+ * folded through a table, so a search compares sign text against a query
+ * folded once up front, and allocates nothing per sign.
+ *
+ * <p>
+ * Folding maps a char to the lowercase of its uppercase, so that e.g. 'Σ',
+ * 'σ' and 'ς' all compare equal. Unlike {@link String#toLowerCase()}, a
+ * char never folds to several chars, so folded text keeps its length and
+ * indexes. 'ß' and 'ẞ' therefore compare equal, but not with "ss". This
+ * holds everywhere, including for a lone 'ß' in a regex, which
+ * {@link java.util.regex.Pattern} compares exactly.
+ */
+public enum CaseFolding
+{
+	;
+	
+	private static final char[] FOLDED = new char[Character.MAX_VALUE + 1];
+	static
+	{
+		for(int c = 0; c <= Character.MAX_VALUE; c++)
+			FOLDED[c] = Character.toLowerCase(Character.toUpperCase((char)c));
+	}
+	
+	public static char fold(char c)
+	{
+		return FOLDED[c];
+	}
+	
+	/**
+	 * Folds a code point. Only BMP code points have case mappings that
+	 * folding covers, others are returned as they are.
+	 */
+	public static int fold(int codePoint)
+	{
+		return codePoint <= Character.MAX_VALUE ? FOLDED[codePoint]
+			: codePoint;
+	}
+	
+	/**
+	 * Returns the folded form of {@code text}, or {@code text} itself if it
+	 * is already folded.
+	 */
+	public static String fold(String text)
+	{
+		int length = text.length();
+		int first = 0;
+		while(first < length && isFolded(text.charAt(first)))
+			first++;
+		
+		if(first == length)
+			return text;
+		
+		char[] folded = text.toCharArray();
+		for(int i = first; i < length; i++)
+			folded[i] = FOLDED[folded[i]];
+		
+		return new String(folded);
+	}
+	
+	/**
+	 * Finds {@code folded} in {@code text}, ignoring case.
+	 *
+	 * @param folded
+	 *            What to find, already passed through {@link #fold(String)}
+	 * @return Index of the first occurrence, or -1
+	 */
+	public static int indexOf(CharSequence text, String folded)
+	{
+		int length = folded.length();
+		if(length == 0)
+			return 0;
+		
+		char first = folded.charAt(0);
+		int last = text.length() - length;
+		for(int i = 0; i <= last; i++)
+		{
+			if(FOLDED[text.charAt(i)] != first)
+				continue;
+			
+			int j = 1;
+			while(j < length && FOLDED[text.charAt(i + j)] == folded.charAt(j))
+				j++;
+			
+			if(j == length)
+				return i;
+		}
+		
+		return -1;
+	}
+	
+	/**
+	 * Checks whether {@code text} contains {@code folded}, ignoring case.
+	 *
+	 * @param folded
+	 *            What to find, already passed through {@link #fold(String)}
+	 */
+	public static boolean contains(CharSequence text, String folded)
+	{
+		return indexOf(text, folded) >= 0;
+	}
+	
+	private static boolean isFolded(char c)
+	{
+		return FOLDED[c] == c;
+	}
+}
@@ -0,0 +1,52 @@
+package net.signfinder.engine;
+
+/**
+ * Packs block coordinates into a single long, with the same layout as
+ * Minecraft's {@code BlockPos.asLong()}: 26 bits of X, 26 bits of Z and 12
+ * bits of Y.
+ */
+public enum PackedPos
+{
+	;
+	
+	private static final int XZ_BITS = 26;
+	private static final int Y_BITS = 12;
+	private static final int Z_OFFSET = Y_BITS;
+	private static final int X_OFFSET = Y_BITS + XZ_BITS;
+	private static final long XZ_MASK = (1L << XZ_BITS) - 1;
+	private static final long Y_MASK = (1L << Y_BITS) - 1;
+	
+	public static long pack(int x, int y, int z)
+	{
+		return (x & XZ_MASK) << X_OFFSET | (z & XZ_MASK) << Z_OFFSET
+			| y & Y_MASK;
+	}
+	
+	public static int getX(long packed)
+	{
+		return (int)(packed >> X_OFFSET);
+	}
+	
+	public static int getY(long packed)
+	{
+		return (int)(packed << 64 - Y_BITS >> 64 - Y_BITS);
+	}
+	
+	public static int getZ(long packed)
+	{
+		return (int)(packed << 64 - X_OFFSET >> 64 - XZ_BITS);
+	}
+	
+	/**
+	 * Returns the squared distance from {@code (x, y, z)} to the center of
+	 * the block at {@code packed}.
+	 */
+	public static double distanceToCenterSqr(long packed, double x, double y,
+		double z)
+	{
+		double dx = getX(packed) + 0.5 - x;
+		double dy = getY(packed) + 0.5 - y;
+		double dz = getZ(packed) + 0.5 - z;
+		return dx * dx + dy * dy + dz * dz;
+	}
+}
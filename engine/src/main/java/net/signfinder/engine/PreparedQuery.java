@@ -0,0 +1,236 @@
+package net.signfinder.engine;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.signfinder.engine.QueryMatcher.MatcherKind;
+import net.signfinder.engine.SignRecord.RecordType;
+import net.signfinder.engine.fuzzy.FuzzyQuery;
+import net.signfinder.engine.fuzzy.TokenIndex;
+import net.signfinder.engine.pinyin.PinyinText;
+import net.signfinder.engine.query.BooleanQuery;
+import net.signfinder.engine.regex.CompiledRegex;
+
+/**
+ * A search query with everything that doesn't depend on the text prepared
+ * once, by {@link QueryMatcher#prepare(SearchQuery, SearchPresets,
+ * TextNormalizer)}: presets expanded, keywords split, literals normalized
+ * and case-folded, regexes compiled, fuzzy words turned into automata and
+ * query language planned. Matching a sign then allocates nothing.
+ *
+ * <p>
+ * Immutable and thread-safe.
+ */
+public final class PreparedQuery
+{
+	static final PreparedQuery NO_MATCH =
+		new PreparedQuery(MatcherKind.NO_MATCH, true, new String[0],
+			new String[0], null, null, null);
+	
+	private final MatcherKind kind;
+	private final boolean caseSensitive;
+	/** Folded if matching ignores case. */
+	private final String[] literals;
+	/**
+	 * Literals that could be pinyin, matched against a record's
+	 * {@link PinyinText} in either case.
+	 */
+	private final String[] pinyinQueries;
+	private final CompiledRegex regex;
+	private final FuzzyQuery fuzzy;
+	private final BooleanQuery booleanQuery;
+	
+	private PreparedQuery(MatcherKind kind, boolean caseSensitive,
+		String[] literals, String[] pinyinQueries, CompiledRegex regex,
+		FuzzyQuery fuzzy, BooleanQuery booleanQuery)
+	{
+		this.kind = kind;
+		this.caseSensitive = caseSensitive;
+		this.literals = literals;
+		this.pinyinQueries = pinyinQueries;
+		this.regex = regex;
+		this.fuzzy = fuzzy;
+		this.booleanQuery = booleanQuery;
+	}
+	
+	/**
+	 * Matches text that contains any of {@code literals}, or whose pinyin
+	 * does if {@code normalizer} asks for pinyin.
+	 */
+	static PreparedQuery literals(MatcherKind kind, boolean caseSensitive,
+		String[] literals, TextNormalizer normalizer)
+	{
+		String[] prepared = new String[literals.length];
+		String[] pinyinQueries = new String[literals.length];
+		for(int i = 0; i < prepared.length; i++)
+		{
+			String normalized = normalizer.normalize(literals[i]);
+			String folded = CaseFolding.fold(normalized);
+			prepared[i] = caseSensitive ? normalized : folded;
+			if(normalizer.pinyin())
+				pinyinQueries[i] = PinyinText.toQuery(folded);
+		}
+		
+		return new PreparedQuery(kind, caseSensitive, prepared, Arrays
+			.stream(pinyinQueries).filter(Objects::nonNull)
+			.toArray(String[]::new), null, null, null);
+	}
+	
+	static PreparedQuery regex(CompiledRegex regex)
+	{
+		return new PreparedQuery(regex.isLinear() ? MatcherKind.REGEX
+			: MatcherKind.BUDGETED_REGEX, regex.isCaseSensitive(),
+			new String[0], new String[0], regex, null, null);
+	}
+	
+	/**
+	 * Matches text with a word close to each word of {@code query}. A query
+	 * without words, e.g. only punctuation, is matched as plain text.
+	 */
+	static PreparedQuery fuzzy(String query, boolean caseSensitive,
+		TextNormalizer normalizer)
+	{
+		FuzzyQuery fuzzy =
+			FuzzyQuery.of(normalizer.normalize(query), caseSensitive);
+		if(fuzzy == null)
+			return literals(MatcherKind.SUBSTRING, caseSensitive,
+				new String[]{query}, normalizer);
+		
+		return new PreparedQuery(MatcherKind.FUZZY, caseSensitive,
+			new String[0], new String[0], null, fuzzy, null);
+	}
+	
+	static PreparedQuery query(BooleanQuery query)
+	{
+		return new PreparedQuery(MatcherKind.QUERY, true, new String[0],
+			new String[0], null, null, query);
+	}
+	
+	/**
+	 * Matches a record's normalized text, using its stored folded text if
+	 * matching ignores case, then its pinyin if it has any.
+	 */
+	public boolean matches(SignRecord record)
+	{
+		if(booleanQuery != null)
+			return booleanQuery.matches(record);
+		
+		if(matchesText(record.normalizedText(), record.foldedText()))
+			return true;
+		
+		PinyinText pinyin = record.pinyin();
+		if(pinyin == null)
+			return false;
+		
+		for(String query : pinyinQueries)
+			if(pinyin.matches(query))
+				return true;
+		
+		return false;
+	}
+	
+	/**
+	 * @param text
+	 *            Text already passed through the {@link TextNormalizer} the
+	 *            query was prepared with
+	 * @throws IllegalStateException
+	 *             for query language queries, which need a
+	 *             {@link SignRecord}
+	 */
+	public boolean matches(String text)
+	{
+		return matches(text, null);
+	}
+	
+	/**
+	 * @param text
+	 *            Text already passed through the {@link TextNormalizer} the
+	 *            query was prepared with
+	 * @param foldedText
+	 *            {@code text} passed through {@link CaseFolding#fold(String)},
+	 *            or null to fold while matching
+	 * @throws IllegalStateException
+	 *             for query language queries, which need a
+	 *             {@link SignRecord}
+	 */
+	public boolean matches(String text, String foldedText)
+	{
+		if(booleanQuery != null)
+			throw new IllegalStateException(
+				"Query language queries only match records");
+		
+		return matchesText(text, foldedText);
+	}
+	
+	private boolean matchesText(String text, String foldedText)
+	{
+		if(regex != null)
+			return regex.find(text);
+		
+		if(fuzzy != null)
+			return fuzzy.matches(caseSensitive ? text
+				: foldedText != null ? foldedText : CaseFolding.fold(text));
+		
+		for(String literal : literals)
+			if(contains(text, foldedText, literal))
+				return true;
+		
+		return false;
+	}
+	
+	public MatcherKind getKind()
+	{
+		return kind;
+	}
+	
+	/**
+	 * Whether records of {@code type} can match, so that a search can skip
+	 * the others, e.g. item frames for {@code type:sign}.
+	 */
+	public boolean mayMatch(RecordType type)
+	{
+		return booleanQuery == null || booleanQuery.mayMatch(type);
+	}
+	
+	/**
+	 * Returns how a query language query is run, clauses in the order they
+	 * are checked, or null for other queries.
+	 */
+	public String getPlan()
+	{
+		return booleanQuery != null ? booleanQuery.toString() : null;
+	}
+	
+	/**
+	 * Whether {@link #findCandidates(TokenIndex)} can narrow down the
+	 * records to check.
+	 */
+	boolean isIndexed()
+	{
+		return fuzzy != null
+			|| booleanQuery != null && booleanQuery.isIndexed();
+	}
+	
+	/**
+	 * Returns the positions of the records in {@code tokens} that can
+	 * match, or null if they can't be looked up there.
+	 */
+	LongSet findCandidates(TokenIndex tokens)
+	{
+		if(fuzzy != null)
+			return tokens.find(fuzzy.getIndexTerm());
+		
+		return booleanQuery != null ? booleanQuery.findCandidates(tokens)
+			: null;
+	}
+	
+	private boolean contains(String text, String foldedText, String literal)
+	{
+		if(caseSensitive)
+			return text.contains(literal);
+		
+		return foldedText != null ? foldedText.contains(literal)
+			: CaseFolding.contains(text, literal);
+	}
+}
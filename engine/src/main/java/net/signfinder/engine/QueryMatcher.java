@@ -0,0 +1,213 @@
+package net.signfinder.engine;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.signfinder.engine.SearchQuery.SearchType;
+import net.signfinder.engine.cache.PatternCache;
+import net.signfinder.engine.query.BooleanQuery;
+import net.signfinder.engine.query.QuerySyntaxException;
+import net.signfinder.engine.regex.CompiledRegex;
+
+/**
+ * Matches text against search queries, for every search type. Invalid regex
+ * and query language queries fall back to plain text search.
+ */
+public class QueryMatcher
+{
+	private static final Logger LOGGER =
+		LoggerFactory.getLogger(QueryMatcher.class);
+	private static final int MAX_RECURSION_DEPTH = 5;
+	
+	/**
+	 * How a query is matched, after expanding presets.
+	 */
+	public enum MatcherKind
+	{
+		/** Plain substring search. */
+		SUBSTRING,
+		/** Regular expression, matched in linear time. */
+		REGEX,
+		/**
+		 * Regular expression that needs backtracking, matched with a step
+		 * budget per sign.
+		 */
+		BUDGETED_REGEX,
+		/** Invalid regular expression, searched as plain text instead. */
+		INVALID_REGEX,
+		/** Any of several comma-separated keywords. */
+		KEYWORDS,
+		/** Words within a few edits of each query word. */
+		FUZZY,
+		/** The query language, planned into clauses. */
+		QUERY,
+		/** Invalid query language, searched as plain text instead. */
+		INVALID_QUERY,
+		/** Preset that doesn't exist, or presets nested too deeply. */
+		NO_MATCH
+	}
+	
+	private final PatternCache patternCache;
+	
+	public QueryMatcher(PatternCache patternCache)
+	{
+		this.patternCache = patternCache;
+	}
+	
+	/**
+	 * Checks if text matches the search query. To match many texts against
+	 * one query, {@link #prepare(SearchQuery, SearchPresets, TextNormalizer)}
+	 * it once instead.
+	 *
+	 * @param text
+	 *            Text to check, as it is; normalized here and matched like a
+	 *            sign with only this line
+	 * @param query
+	 *            Search query
+	 * @param presets
+	 *            Presets that PRESET queries expand to
+	 * @param normalizer
+	 *            How text and query are normalized before comparing
+	 * @return true if text matches query
+	 */
+	public boolean matches(String text, SearchQuery query,
+		SearchPresets presets, TextNormalizer normalizer)
+	{
+		return prepare(query, presets, normalizer).matches(
+			SignRecord.sign(0, new String[]{text}, 0, normalizer));
+	}
+	
+	/**
+	 * Prepares {@code query} for matching many texts: expands presets,
+	 * splits keywords, normalizes and folds them and compiles regexes.
+	 * Invalid regexes are logged here, once per search.
+	 *
+	 * @param presets
+	 *            Presets that PRESET queries expand to
+	 * @param normalizer
+	 *            Must be the one that the matched texts were normalized with;
+	 *            regexes are left as they are and run on normalized text
+	 */
+	public PreparedQuery prepare(SearchQuery query, SearchPresets presets,
+		TextNormalizer normalizer)
+	{
+		SearchQuery current = query;
+		for(int depth = 0; depth <= MAX_RECURSION_DEPTH; depth++)
+		{
+			boolean caseSensitive = current.caseSensitive();
+			switch(current.type())
+			{
+				case TEXT:
+				return PreparedQuery.literals(MatcherKind.SUBSTRING,
+					caseSensitive, new String[]{current.query()}, normalizer);
+				
+				case REGEX:
+				Optional<CompiledRegex> regex =
+					patternCache.getOrCompile(current.query(), caseSensitive);
+				if(regex.isPresent())
+					return PreparedQuery.regex(regex.get());
+				
+				LOGGER.warn(
+					"Invalid regex pattern '{}', falling back to text search",
+					current.query());
+				return PreparedQuery.literals(MatcherKind.INVALID_REGEX,
+					caseSensitive, new String[]{current.query()}, normalizer);
+				
+				case ARRAY:
+				return PreparedQuery.literals(MatcherKind.KEYWORDS,
+					caseSensitive, splitKeywords(current.query()), normalizer);
+				
+				case FUZZY:
+				return PreparedQuery.fuzzy(current.query(), caseSensitive,
+					normalizer);
+				
+				case QUERY:
+				try
+				{
+					return PreparedQuery.query(BooleanQuery.compile(
+						current.query(), caseSensitive, normalizer,
+						patternCache));
+				}catch(QuerySyntaxException e)
+				{
+					LOGGER.warn("Invalid query '{}': {}, falling back to text"
+						+ " search", current.query(), e.getMessage());
+					return PreparedQuery.literals(MatcherKind.INVALID_QUERY,
+						caseSensitive, new String[]{current.query()},
+						normalizer);
+				}
+				
+				case PRESET:
+				String presetQuery = getPresetQuery(current.query(), presets);
+				if(presetQuery == null)
+				{
+					LOGGER.warn("Preset '{}' not found", current.query());
+					return PreparedQuery.NO_MATCH;
+				}
+				
+				current = new SearchQuery(presetQuery,
+					determinePresetType(current.query(), presets),
+					current.radius(), caseSensitive);
+				break;
+			}
+		}
+		
+		LOGGER.warn("Maximum recursion depth exceeded for query: {}",
+			query.query());
+		return PreparedQuery.NO_MATCH;
+	}
+	
+	/**
+	 * Compiles the regex presets ahead of the first search that uses them,
+	 * so that it doesn't pay for compiling.
+	 */
+	public void preload(SearchPresets presets, boolean caseSensitive)
+	{
+		for(String regex : presets.regexPresets().values())
+			patternCache.preload(regex, caseSensitive);
+	}
+	
+	/**
+	 * Returns how {@code query} will be matched against text, e.g. to
+	 * explain a slow search.
+	 */
+	public MatcherKind kindOf(SearchQuery query, SearchPresets presets)
+	{
+		return prepare(query, presets, TextNormalizer.NONE).getKind();
+	}
+	
+	private static String[] splitKeywords(String keywords)
+	{
+		return Arrays.stream(keywords.split("[,，]")).map(String::trim)
+			.filter(keyword -> !keyword.isEmpty()).toArray(String[]::new);
+	}
+	
+	private String getPresetQuery(String presetName, SearchPresets presets)
+	{
+		if(presets.textPresets().containsKey(presetName))
+		{
+			return presets.textPresets().get(presetName);
+		}
+		
+		if(presets.regexPresets().containsKey(presetName))
+		{
+			return presets.regexPresets().get(presetName);
+		}
+		
+		return null;
+	}
+	
+	private SearchType determinePresetType(String presetName,
+		SearchPresets presets)
+	{
+		if(presets.regexPresets().containsKey(presetName))
+		{
+			return SearchType.REGEX;
+		}
+		
+		// Default to ARRAY for text presets (allows comma-separated values)
+		return SearchType.ARRAY;
+	}
+}
@@ -0,0 +1,20 @@
+package net.signfinder.engine;
+
+import java.util.Comparator;
+
+/**
+ * A record returned by a search, with its distance from the search center.
+ *
+ * @param record
+ *            The matching record
+ * @param distance
+ *            Distance from the search center to the center of the block
+ */
+public record SearchHit(SignRecord record, double distance)
+{
+	/**
+	 * Nearest first, the order results are shown in.
+	 */
+	public static final Comparator<SearchHit> BY_DISTANCE =
+		Comparator.comparingDouble(SearchHit::distance);
+}
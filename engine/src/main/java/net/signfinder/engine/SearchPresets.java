@@ -0,0 +1,15 @@
+package net.signfinder.engine;
+
+import java.util.Map;
+
+/**
+ * Named queries that {@link SearchQuery.SearchType#PRESET} queries expand
+ * to. Text presets are comma-separated keyword lists, regex presets are
+ * regular expressions.
+ */
+public record SearchPresets(Map<String, String> textPresets,
+	Map<String, String> regexPresets)
+{
+	public static final SearchPresets EMPTY =
+		new SearchPresets(Map.of(), Map.of());
+}
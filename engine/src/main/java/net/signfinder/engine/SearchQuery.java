@@ -1,56 +1,88 @@
-package net.signfinder.services;
-
-/**
- * Immutable search query record containing all search parameters.
- * Provides type-safe encapsulation of search criteria.
- */
-public record SearchQuery(String query, SearchType type, int radius,
-	boolean caseSensitive)
-{
-	public enum SearchType
-	{
-		TEXT,
-		REGEX,
-		ARRAY,
-		PRESET
-	}
-	
-	/**
-	 * Creates a basic text search query.
-	 */
-	public static SearchQuery text(String query, int radius,
-		boolean caseSensitive)
-	{
-		return new SearchQuery(query, SearchType.TEXT, radius, caseSensitive);
-	}
-	
-	/**
-	 * Creates a regex search query.
-	 */
-	public static SearchQuery regex(String pattern, int radius,
-		boolean caseSensitive)
-	{
-		return new SearchQuery(pattern, SearchType.REGEX, radius,
-			caseSensitive);
-	}
-	
-	/**
-	 * Creates an array (comma-separated) search query.
-	 */
-	public static SearchQuery array(String keywords, int radius,
-		boolean caseSensitive)
-	{
-		return new SearchQuery(keywords, SearchType.ARRAY, radius,
-			caseSensitive);
-	}
-	
-	/**
-	 * Creates a preset search query.
-	 */
-	public static SearchQuery preset(String presetName, int radius,
-		boolean caseSensitive)
-	{
-		return new SearchQuery(presetName, SearchType.PRESET, radius,
-			caseSensitive);
-	}
-}
+package net.signfinder.engine;
+
+import net.signfinder.engine.query.BooleanQuery;
+
+/**
+ * Immutable search query record containing all search parameters.
+ * Provides type-safe encapsulation of search criteria.
+ */
+public record SearchQuery(String query, SearchType type, int radius,
+	boolean caseSensitive)
+{
+	/**
+	 * Largest search radius in blocks, for the config, the command
+	 * arguments and {@code within:} alike.
+	 */
+	public static final int MAX_RADIUS = 1000;
+	
+	public enum SearchType
+	{
+		TEXT,
+		REGEX,
+		ARRAY,
+		PRESET,
+		/** Words within one or two edits of the query's words. */
+		FUZZY,
+		/** The query language, see {@link BooleanQuery}. */
+		QUERY
+	}
+	
+	/**
+	 * Creates a basic text search query.
+	 */
+	public static SearchQuery text(String query, int radius,
+		boolean caseSensitive)
+	{
+		return new SearchQuery(query, SearchType.TEXT, radius, caseSensitive);
+	}
+	
+	/**
+	 * Creates a regex search query.
+	 */
+	public static SearchQuery regex(String pattern, int radius,
+		boolean caseSensitive)
+	{
+		return new SearchQuery(pattern, SearchType.REGEX, radius,
+			caseSensitive);
+	}
+	
+	/**
+	 * Creates an array (comma-separated) search query.
+	 */
+	public static SearchQuery array(String keywords, int radius,
+		boolean caseSensitive)
+	{
+		return new SearchQuery(keywords, SearchType.ARRAY, radius,
+			caseSensitive);
+	}
+	
+	/**
+	 * Creates a fuzzy search query, which tolerates typos.
+	 */
+	public static SearchQuery fuzzy(String query, int radius,
+		boolean caseSensitive)
+	{
+		return new SearchQuery(query, SearchType.FUZZY, radius, caseSensitive);
+	}
+	
+	/**
+	 * Creates a query language search. A {@code within:} clause in it
+	 * overrides {@code radius}.
+	 */
+	public static SearchQuery query(String query, int radius,
+		boolean caseSensitive)
+	{
+		return new SearchQuery(query, SearchType.QUERY,
+			BooleanQuery.radiusOf(query).orElse(radius), caseSensitive);
+	}
+	
+	/**
+	 * Creates a preset search query.
+	 */
+	public static SearchQuery preset(String presetName, int radius,
+		boolean caseSensitive)
+	{
+		return new SearchQuery(presetName, SearchType.PRESET, radius,
+			caseSensitive);
+	}
+}
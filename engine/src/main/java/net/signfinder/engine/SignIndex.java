@@ -0,0 +1,143 @@
+package net.signfinder.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.signfinder.engine.fuzzy.TokenIndex;
+
+/**
+ * Set of {@link SignRecord}s keyed by packed block position, with range and
+ * query searches that return hits ranked nearest first. Fuzzy and query
+ * language searches look up candidates in a {@link TokenIndex} of the
+ * records' words, built on the first such search and dropped when the
+ * records change.
+ *
+ * <p>
+ * Not thread-safe. Build or update it on one thread, or publish a new
+ * instance instead of mutating a shared one.
+ */
+public class SignIndex
+{
+	private final Long2ObjectOpenHashMap<SignRecord> records;
+	private TokenIndex tokens;
+	
+	public SignIndex()
+	{
+		records = new Long2ObjectOpenHashMap<>();
+	}
+	
+	public SignIndex(int expectedSize)
+	{
+		records = new Long2ObjectOpenHashMap<>(expectedSize);
+	}
+	
+	/**
+	 * Adds a record, replacing any record at the same position.
+	 */
+	public void put(SignRecord record)
+	{
+		records.put(record.pos(), record);
+		tokens = null;
+	}
+	
+	public SignRecord get(long pos)
+	{
+		return records.get(pos);
+	}
+	
+	public boolean remove(long pos)
+	{
+		if(records.remove(pos) == null)
+			return false;
+		
+		tokens = null;
+		return true;
+	}
+	
+	public void clear()
+	{
+		records.clear();
+		tokens = null;
+	}
+	
+	public int size()
+	{
+		return records.size();
+	}
+	
+	public boolean isEmpty()
+	{
+		return records.isEmpty();
+	}
+	
+	/**
+	 * Returns every record within {@code radius} blocks of
+	 * {@code (x, y, z)}, nearest first.
+	 */
+	public List<SearchHit> inRange(double x, double y, double z, int radius)
+	{
+		return search(null, x, y, z, radius);
+	}
+	
+	/**
+	 * Returns every record within {@code radius} blocks of
+	 * {@code (x, y, z)} whose text matches {@code query}, nearest first.
+	 *
+	 * @param query
+	 *            Prepared with the normalizer that the records were created
+	 *            with
+	 */
+	public List<SearchHit> search(PreparedQuery query, double x, double y,
+		double z, int radius)
+	{
+		double radiusSq = (double)radius * radius;
+		List<SearchHit> hits = new ArrayList<>();
+		Iterable<SignRecord> candidates = records.values();
+		if(query != null && query.isIndexed())
+		{
+			List<SignRecord> found = findCandidates(query);
+			if(found != null)
+				candidates = found;
+		}
+		
+		// Distance first, since it's much cheaper than matching
+		for(SignRecord record : candidates)
+		{
+			double distanceSq =
+				PackedPos.distanceToCenterSqr(record.pos(), x, y, z);
+			if(distanceSq > radiusSq)
+				continue;
+			
+			if(query != null && !query.matches(record))
+				continue;
+			
+			hits.add(new SearchHit(record, Math.sqrt(distanceSq)));
+		}
+		
+		hits.sort(SearchHit.BY_DISTANCE);
+		return hits;
+	}
+	
+	/**
+	 * Returns the records that {@code query} can match according to the
+	 * token index, or null if it can't tell.
+	 */
+	private List<SignRecord> findCandidates(PreparedQuery query)
+	{
+		if(tokens == null)
+			tokens = TokenIndex.of(records.values());
+		
+		LongSet positions = query.findCandidates(tokens);
+		if(positions == null)
+			return null;
+		
+		List<SignRecord> candidates = new ArrayList<>(positions.size());
+		for(LongIterator it = positions.iterator(); it.hasNext();)
+			candidates.add(records.get(it.nextLong()));
+		
+		return candidates;
+	}
+}
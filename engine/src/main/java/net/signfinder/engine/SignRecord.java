@@ -0,0 +1,160 @@
+package net.signfinder.engine;
+
+import net.signfinder.engine.pinyin.PinyinText;
+
+/**
+ * Immutable snapshot of one searchable sign or item frame, independent of
+ * any game object.
+ *
+ * @param pos
+ *            Block position, packed with {@link PackedPos}
+ * @param type
+ *            What kind of object the text came from
+ * @param lines
+ *            Sign lines, or the item name as a single line for item frames
+ * @param text
+ *            The lines joined by spaces, or the item name, as shown
+ * @param normalizedText
+ *            The text queries are matched against: {@code text} passed
+ *            through a {@link TextNormalizer} once, when the record is
+ *            created
+ * @param foldedText
+ *            {@code normalizedText} passed through
+ *            {@link CaseFolding#fold(String)}, kept so that
+ *            case-insensitive searches don't fold it again
+ * @param normalizedLines
+ *            {@code lines} passed through the same {@link TextNormalizer},
+ *            for queries on a single line
+ * @param foldedLines
+ *            {@code normalizedLines} passed through
+ *            {@link CaseFolding#fold(String)}
+ * @param pinyin
+ *            The pinyin of {@code foldedText}, or null if the
+ *            {@link TextNormalizer} doesn't ask for it or the text has no
+ *            Chinese characters
+ * @param timestamp
+ *            When the text was read, in milliseconds since the epoch
+ */
+public record SignRecord(long pos, RecordType type, String[] lines,
+	String text, String normalizedText, String foldedText,
+	String[] normalizedLines, String[] foldedLines, PinyinText pinyin,
+	long timestamp)
+{
+	public enum RecordType
+	{
+		SIGN,
+		ITEM_FRAME
+	}
+	
+	public SignRecord(long pos, RecordType type, String[] lines, String text,
+		String normalizedText, String foldedText, String[] normalizedLines,
+		String[] foldedLines, PinyinText pinyin, long timestamp)
+	{
+		this.pos = pos;
+		this.type = type;
+		this.lines = lines.clone();
+		this.text = text;
+		this.normalizedText = normalizedText;
+		this.foldedText = foldedText;
+		this.normalizedLines = normalizedLines.clone();
+		this.foldedLines = foldedLines.clone();
+		this.pinyin = pinyin;
+		this.timestamp = timestamp;
+	}
+	
+	/**
+	 * Creates a record for a sign, matched against its lines joined by
+	 * spaces.
+	 */
+	public static SignRecord sign(long pos, String[] lines, long timestamp,
+		TextNormalizer normalizer)
+	{
+		return create(pos, RecordType.SIGN, lines, String.join(" ", lines),
+			normalizer, timestamp);
+	}
+	
+	/**
+	 * Creates a record for an item frame, matched against its item name.
+	 */
+	public static SignRecord itemFrame(long pos, String itemName,
+		long timestamp, TextNormalizer normalizer)
+	{
+		return create(pos, RecordType.ITEM_FRAME, new String[]{itemName},
+			itemName, normalizer, timestamp);
+	}
+	
+	private static SignRecord create(long pos, RecordType type,
+		String[] lines, String text, TextNormalizer normalizer, long timestamp)
+	{
+		String normalizedText = normalizer.normalize(text);
+		String foldedText = CaseFolding.fold(normalizedText);
+		PinyinText pinyin =
+			normalizer.pinyin() ? PinyinText.of(foldedText) : null;
+		
+		String[] normalizedLines = new String[lines.length];
+		String[] foldedLines = new String[lines.length];
+		for(int i = 0; i < lines.length; i++)
+		{
+			normalizedLines[i] = normalizer.normalize(lines[i]);
+			foldedLines[i] = CaseFolding.fold(normalizedLines[i]);
+		}
+		
+		return new SignRecord(pos, type, lines, text, normalizedText,
+			foldedText, normalizedLines, foldedLines, pinyin, timestamp);
+	}
+	
+	@Override
+	public String[] lines()
+	{
+		return lines.clone();
+	}
+	
+	@Override
+	public String[] normalizedLines()
+	{
+		return normalizedLines.clone();
+	}
+	
+	@Override
+	public String[] foldedLines()
+	{
+		return foldedLines.clone();
+	}
+	
+	/**
+	 * Returns one line without copying {@link #lines()}, or an empty string
+	 * if there is no such line, e.g. line 2 of an item frame.
+	 *
+	 * @param index
+	 *            0-based
+	 */
+	public String line(int index)
+	{
+		return index >= 0 && index < lines.length ? lines[index] : "";
+	}
+	
+	/**
+	 * Like {@link #line(int)}, from {@link #normalizedLines()}, or from
+	 * {@link #foldedLines()} if {@code folded}.
+	 */
+	public String line(int index, boolean folded)
+	{
+		String[] from = folded ? foldedLines : normalizedLines;
+		return index >= 0 && index < from.length ? from[index] : "";
+	}
+	
+	public int x()
+	{
+		return PackedPos.getX(pos);
+	}
+	
+	public int y()
+	{
+		return PackedPos.getY(pos);
+	}
+	
+	public int z()
+	{
+		return PackedPos.getZ(pos);
+	}
+}
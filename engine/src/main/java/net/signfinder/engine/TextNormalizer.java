@@ -0,0 +1,150 @@
+package net.signfinder.engine;
+
+import java.text.Normalizer;
+
+import net.signfinder.engine.pinyin.PinyinText;
+
+/**
+ * Brings sign text and queries into one comparable form, so that e.g.
+ * "ＤＩＡＭＯＮＤ", "§bDiamond" and "Diamond  " all match "diamond". Sign
+ * text is normalized once, when its {@link SignRecord} is created, and
+ * queries once per search; matching then only compares normalized forms.
+ *
+ * <p>
+ * Only the text that is matched is normalized. What is shown and saved
+ * keeps the sign's original lines.
+ *
+ * @param compatibility
+ *            Applies Unicode NFKC, which turns full-width letters, digits
+ *            and punctuation into their ASCII forms and ligatures like "ﬁ"
+ *            into plain letters, and removes formatting codes like "§b"
+ * @param collapseWhitespace
+ *            Turns every run of whitespace, including non-breaking and
+ *            ideographic spaces, into a single space and trims the ends
+ * @param foldDiacritics
+ *            Removes accents and other combining marks, so that "é" matches
+ *            "e" and "ё" matches "е"
+ * @param pinyin
+ *            Doesn't change the text, but also gives records of Chinese
+ *            text their {@link PinyinText}, so that e.g. "zuanshi" and "zs"
+ *            match "钻石"
+ */
+public record TextNormalizer(boolean compatibility, boolean collapseWhitespace,
+	boolean foldDiacritics, boolean pinyin)
+{
+	/** Leaves text as it is. */
+	public static final TextNormalizer NONE =
+		new TextNormalizer(false, false, false, false);
+	
+	private static final char FORMATTING_CODE = '§';
+	
+	public boolean isEnabled()
+	{
+		return compatibility || collapseWhitespace || foldDiacritics;
+	}
+	
+	/**
+	 * Returns the normalized form of {@code text}, or {@code text} itself if
+	 * normalizing doesn't change it, as for most plain ASCII text.
+	 */
+	public String normalize(String text)
+	{
+		if(!isEnabled() || isNormalized(text))
+			return text;
+		
+		String normalized = text;
+		if(compatibility)
+			normalized = stripFormattingCodes(
+				Normalizer.normalize(normalized, Normalizer.Form.NFKC));
+		
+		if(foldDiacritics)
+			normalized = stripCombiningMarks(normalized);
+		
+		if(collapseWhitespace)
+			normalized = collapseWhitespace(normalized);
+		
+		return normalized.equals(text) ? text : normalized;
+	}
+	
+	/**
+	 * Quick check for text that no enabled step would change: printable
+	 * ASCII without formatting codes, and without whitespace to collapse if
+	 * that is enabled.
+	 */
+	private boolean isNormalized(String text)
+	{
+		int length = text.length();
+		char previous = ' ';
+		for(int i = 0; i < length; i++)
+		{
+			char c = text.charAt(i);
+			if(c < ' ' || c > '~')
+				return false;
+			
+			if(collapseWhitespace && c == ' ' && previous == ' ')
+				return false;
+			
+			previous = c;
+		}
+		
+		return !collapseWhitespace || previous != ' ' || length == 0;
+	}
+	
+	private static String stripFormattingCodes(String text)
+	{
+		int first = text.indexOf(FORMATTING_CODE);
+		if(first < 0)
+			return text;
+		
+		StringBuilder stripped = new StringBuilder(text.length());
+		stripped.append(text, 0, first);
+		for(int i = first; i < text.length(); i++)
+		{
+			char c = text.charAt(i);
+			if(c == FORMATTING_CODE)
+				i++; // Skip the code's letter too
+			else
+				stripped.append(c);
+		}
+		
+		return stripped.toString();
+	}
+	
+	private static String stripCombiningMarks(String text)
+	{
+		String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+		StringBuilder stripped = new StringBuilder(decomposed.length());
+		for(int i = 0; i < decomposed.length(); i++)
+		{
+			char c = decomposed.charAt(i);
+			if(Character.getType(c) != Character.NON_SPACING_MARK)
+				stripped.append(c);
+		}
+		
+		// Recompose what wasn't a diacritic, e.g. Hangul syllables
+		return Normalizer.normalize(stripped, Normalizer.Form.NFC);
+	}
+	
+	private static String collapseWhitespace(String text)
+	{
+		StringBuilder collapsed = new StringBuilder(text.length());
+		boolean pendingSpace = false;
+		for(int i = 0; i < text.length(); i++)
+		{
+			char c = text.charAt(i);
+			if(Character.isWhitespace(c) || Character.isSpaceChar(c))
+			{
+				pendingSpace = !collapsed.isEmpty();
+				continue;
+			}
+			
+			if(pendingSpace)
+				collapsed.append(' ');
+			
+			collapsed.append(c);
+			pendingSpace = false;
+		}
+		
+		return collapsed.toString();
+	}
+}
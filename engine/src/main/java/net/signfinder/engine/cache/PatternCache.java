@@ -0,0 +1,205 @@
+package net.signfinder.engine.cache;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.PatternSyntaxException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.signfinder.engine.regex.CompiledRegex;
+
+/**
+ * Thread-safe, bounded cache of compiled regexes, evicting the least
+ * recently used one when full.
+ *
+ * <p>
+ * Lookups don't lock, so searches on several threads don't contend here.
+ * Only adding a pattern to a full cache takes a lock, to evict one, and
+ * that only happens after compiling anyway.
+ */
+public class PatternCache
+	implements CacheService<PatternCache.Key, CompiledRegex>
+{
+	private static final Logger LOGGER =
+		LoggerFactory.getLogger(PatternCache.class);
+	private static final int MAX_CACHE_SIZE = 100;
+	private static final int MAX_PATTERN_LENGTH = 200;
+	
+	/**
+	 * A regex and whether it is compiled case-sensitively.
+	 */
+	public record Key(String regex, boolean caseSensitive)
+	{}
+	
+	private final ConcurrentHashMap<Key, CachedRegex> cache =
+		new ConcurrentHashMap<>();
+	private final Object evictionLock = new Object();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	
+	@Override
+	public Optional<CompiledRegex> get(Key key)
+	{
+		CachedRegex cached = cache.get(key);
+		if(cached == null)
+			return Optional.empty();
+		
+		cached.lastUsed = System.nanoTime();
+		return Optional.of(cached.regex);
+	}
+	
+	@Override
+	public void put(Key key, CompiledRegex regex)
+	{
+		cache.put(key, new CachedRegex(regex));
+		evictIfFull();
+	}
+	
+	@Override
+	public void remove(Key key)
+	{
+		cache.remove(key);
+	}
+	
+	@Override
+	public void clear()
+	{
+		cache.clear();
+	}
+	
+	@Override
+	public int cleanExpired()
+	{
+		// Patterns don't expire, only LRU eviction
+		return 0;
+	}
+	
+	@Override
+	public int size()
+	{
+		return cache.size();
+	}
+	
+	/**
+	 * Gets or compiles a regex pattern with specified case sensitivity.
+	 *
+	 * @param regex
+	 *            Regular expression string
+	 * @param caseSensitive
+	 *            Whether to compile with case sensitivity
+	 * @return Optional containing compiled pattern, empty if invalid regex
+	 */
+	public Optional<CompiledRegex> getOrCompile(String regex,
+		boolean caseSensitive)
+	{
+		Key key = new Key(regex, caseSensitive);
+		Optional<CompiledRegex> cached = get(key);
+		if(cached.isPresent())
+		{
+			hits.increment();
+			return cached;
+		}
+		
+		misses.increment();
+		return compile(key);
+	}
+	
+	/**
+	 * Compiles a pattern ahead of its first use, e.g. a regex preset when
+	 * the config is loaded. Unlike {@link #getOrCompile(String, boolean)},
+	 * this doesn't count as a hit or a miss.
+	 *
+	 * @return Optional containing compiled pattern, empty if invalid regex
+	 */
+	public Optional<CompiledRegex> preload(String regex, boolean caseSensitive)
+	{
+		Key key = new Key(regex, caseSensitive);
+		Optional<CompiledRegex> cached = get(key);
+		return cached.isPresent() ? cached : compile(key);
+	}
+	
+	/**
+	 * Number of {@link #getOrCompile(String, boolean)} calls that found a
+	 * compiled pattern in the cache.
+	 */
+	public long getHitCount()
+	{
+		return hits.sum();
+	}
+	
+	/**
+	 * Number of {@link #getOrCompile(String, boolean)} calls that had to
+	 * compile the pattern, including invalid ones.
+	 */
+	public long getMissCount()
+	{
+		return misses.sum();
+	}
+	
+	private Optional<CompiledRegex> compile(Key key)
+	{
+		// Matching time is bounded anyway, this keeps compiled programs small
+		if(key.regex().length() > MAX_PATTERN_LENGTH)
+		{
+			LOGGER.warn("Rejected regex pattern exceeding {} characters",
+				MAX_PATTERN_LENGTH);
+			return Optional.empty();
+		}
+		
+		CompiledRegex compiled;
+		try
+		{
+			compiled = CompiledRegex.compile(key.regex(), key.caseSensitive());
+		}catch(PatternSyntaxException e)
+		{
+			// Invalid regex, don't cache
+			return Optional.empty();
+		}
+		
+		// Another thread may have compiled the same pattern meanwhile
+		CachedRegex existing =
+			cache.putIfAbsent(key, new CachedRegex(compiled));
+		if(existing != null)
+			return Optional.of(existing.regex);
+		
+		evictIfFull();
+		return Optional.of(compiled);
+	}
+	
+	private void evictIfFull()
+	{
+		if(cache.size() <= MAX_CACHE_SIZE)
+			return;
+		
+		synchronized(evictionLock)
+		{
+			while(cache.size() > MAX_CACHE_SIZE)
+			{
+				Map.Entry<Key, CachedRegex> eldest = null;
+				for(Map.Entry<Key, CachedRegex> candidate : cache.entrySet())
+				{
+					long lastUsed = candidate.getValue().lastUsed;
+					if(eldest == null || lastUsed < eldest.getValue().lastUsed)
+						eldest = candidate;
+				}
+				
+				cache.remove(eldest.getKey(), eldest.getValue());
+			}
+		}
+	}
+	
+	private static final class CachedRegex
+	{
+		final CompiledRegex regex;
+		/** {@link System#nanoTime()} of the last lookup, for eviction. */
+		volatile long lastUsed = System.nanoTime();
+		
+		CachedRegex(CompiledRegex regex)
+		{
+			this.regex = regex;
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package net.signfinder.engine.fuzzy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import net.signfinder.engine.CaseFolding;
+
+/**
+ * A fuzzy search: every word of the query has to match a word of the text
+ * within a few edits, in any order, so that "diamnod swrod" finds
+ * "Diamond Sword". How many edits a word allows depends on its length, see
+ * {@link #maxDistanceFor(int)}.
+ *
+ * <p>
+ * Immutable and thread-safe.
+ */
+public final class FuzzyQuery
+{
+	/** Longest first, as those are the least likely to match. */
+	private final LevenshteinAutomaton[] terms;
+	/** The first term, folded for looking it up in a {@link TokenIndex}. */
+	private final LevenshteinAutomaton indexTerm;
+	
+	private FuzzyQuery(LevenshteinAutomaton[] terms,
+		LevenshteinAutomaton indexTerm)
+	{
+		this.terms = terms;
+		this.indexTerm = indexTerm;
+	}
+	
+	/**
+	 * @param query
+	 *            Already normalized like the text it will be matched against
+	 * @param caseSensitive
+	 *            If false, {@link #matches(CharSequence)} takes text folded
+	 *            with {@link CaseFolding}
+	 * @return null if {@code query} has no words
+	 */
+	public static FuzzyQuery of(String query, boolean caseSensitive)
+	{
+		List<String> words = new ArrayList<>();
+		for(int start = Words.nextStart(query, 0); start < query.length();)
+		{
+			int end = Words.end(query, start);
+			words.add(query.substring(start, end));
+			start = Words.nextStart(query, end);
+		}
+		
+		if(words.isEmpty())
+			return null;
+		
+		LevenshteinAutomaton[] terms = words.stream().distinct()
+			.sorted(Comparator.comparingInt(String::length).reversed())
+			.map(word -> caseSensitive ? word : CaseFolding.fold(word))
+			.map(word -> new LevenshteinAutomaton(word,
+				maxDistanceFor(word.length())))
+			.toArray(LevenshteinAutomaton[]::new);
+		
+		LevenshteinAutomaton indexTerm = terms[0];
+		if(caseSensitive)
+			indexTerm = new LevenshteinAutomaton(
+				CaseFolding.fold(indexTerm.getTerm()),
+				indexTerm.getMaxDistance());
+		
+		return new FuzzyQuery(terms, indexTerm);
+	}
+	
+	/**
+	 * How many edits a query word of {@code length} chars allows: none up
+	 * to 2 chars, as "ax" would match most short words, 1 up to 5 chars and
+	 * {@link LevenshteinAutomaton#MAX_DISTANCE} beyond.
+	 */
+	public static int maxDistanceFor(int length)
+	{
+		if(length <= 2)
+			return 0;
+		
+		return length <= 5 ? 1 : LevenshteinAutomaton.MAX_DISTANCE;
+	}
+	
+	/**
+	 * @param text
+	 *            Folded with {@link CaseFolding} if the query ignores case
+	 */
+	public boolean matches(CharSequence text)
+	{
+		for(LevenshteinAutomaton term : terms)
+			if(!containsWord(text, term))
+				return false;
+		
+		return true;
+	}
+	
+	/**
+	 * The most selective term, folded. Records without a word it matches
+	 * can't match the query, so a {@link TokenIndex} lookup of it narrows
+	 * the records to check.
+	 */
+	public LevenshteinAutomaton getIndexTerm()
+	{
+		return indexTerm;
+	}
+	
+	private static boolean containsWord(CharSequence text,
+		LevenshteinAutomaton term)
+	{
+		for(int start = Words.nextStart(text, 0); start < text.length();)
+		{
+			int end = Words.end(text, start);
+			if(term.matches(text, start, end))
+				return true;
+			
+			start = Words.nextStart(text, end);
+		}
+		
+		return false;
+	}
+}
@@ -0,0 +1,160 @@
+package net.signfinder.engine.fuzzy;
+
+import java.util.Arrays;
+
+/**
+ * Accepts the words within a few edits of one term. An edit inserts,
+ * deletes or substitutes a char, or swaps two adjacent chars, the most
+ * common typo: "diamnod" and "dimaond" are one edit from "diamond".
+ *
+ * <p>
+ * The Levenshtein automaton of the term is run as bit vectors, one per
+ * number of edits, where bit {@code i} means "the first {@code i} chars of
+ * the term can be matched". Checking a word takes one pass over it, stops
+ * as soon as no state is left, and allocates nothing, so a term can be run
+ * over a whole dictionary of words instead of computing a distance per
+ * pair.
+ *
+ * <p>
+ * Immutable and thread-safe.
+ */
+public final class LevenshteinAutomaton
+{
+	/** Most edits supported; beyond 2, almost any short word matches. */
+	public static final int MAX_DISTANCE = 2;
+	/** Longest term that fits the bit vectors; longer ones match exactly. */
+	static final int MAX_TERM_LENGTH = Long.SIZE - 1;
+	
+	private final String term;
+	private final int maxDistance;
+	/** Bit {@code i + 1} set where the term has that char at {@code i}. */
+	private final long[] asciiMasks = new long[128];
+	private final char[] otherChars;
+	private final long[] otherMasks;
+	/** Bits of the states up to and including the whole term. */
+	private final long validStates;
+	
+	/**
+	 * @param maxDistance
+	 *            0 to {@link #MAX_DISTANCE}
+	 */
+	public LevenshteinAutomaton(String term, int maxDistance)
+	{
+		if(maxDistance < 0 || maxDistance > MAX_DISTANCE)
+			throw new IllegalArgumentException(
+				"Edit distance must be 0 to " + MAX_DISTANCE);
+		
+		this.term = term;
+		this.maxDistance =
+			term.length() > MAX_TERM_LENGTH ? 0 : maxDistance;
+		
+		int length = Math.min(term.length(), MAX_TERM_LENGTH);
+		validStates = -1L >>> (MAX_TERM_LENGTH - length);
+		
+		char[] others = new char[length];
+		long[] masks = new long[length];
+		int otherCount = 0;
+		for(int i = 0; i < length; i++)
+		{
+			char c = term.charAt(i);
+			long bit = 1L << (i + 1);
+			if(c < asciiMasks.length)
+			{
+				asciiMasks[c] |= bit;
+				continue;
+			}
+			
+			int j = 0;
+			while(j < otherCount && others[j] != c)
+				j++;
+			
+			if(j == otherCount)
+				others[otherCount++] = c;
+			
+			masks[j] |= bit;
+		}
+		
+		otherChars = Arrays.copyOf(others, otherCount);
+		otherMasks = Arrays.copyOf(masks, otherCount);
+	}
+	
+	public String getTerm()
+	{
+		return term;
+	}
+	
+	public int getMaxDistance()
+	{
+		return maxDistance;
+	}
+	
+	/**
+	 * Checks whether the word {@code text[start, end)} is within
+	 * {@link #getMaxDistance()} edits of the term, comparing chars exactly.
+	 */
+	public boolean matches(CharSequence text, int start, int end)
+	{
+		int length = end - start;
+		if(Math.abs(length - term.length()) > maxDistance)
+			return false;
+		
+		if(maxDistance == 0)
+			return regionEquals(text, start, length);
+		
+		// States reached with 0, 1 and 2 edits; skipping leading chars of
+		// the term costs one edit each
+		long exact = 1;
+		long oneEdit = 0b11 & validStates;
+		long twoEdits = 0b111 & validStates;
+		// The states and mask before the previous char, for swaps
+		long previousExact = 0;
+		long previousOneEdit = 0;
+		long previousMask = 0;
+		for(int i = start; i < end; i++)
+		{
+			long mask = maskOf(text.charAt(i));
+			long swapped = previousMask & (mask << 1);
+			long nextExact = (exact << 1) & mask;
+			// Match, insert the text char, substitute, delete a term char, or
+			// swap this char and the previous one
+			long nextOne = ((oneEdit << 1) & mask) | exact | (exact << 1)
+				| (nextExact << 1) | ((previousExact << 2) & swapped);
+			long nextTwo = ((twoEdits << 1) & mask) | oneEdit | (oneEdit << 1)
+				| (nextOne << 1) | ((previousOneEdit << 2) & swapped);
+			
+			previousExact = exact;
+			previousOneEdit = oneEdit;
+			previousMask = mask;
+			exact = nextExact & validStates;
+			oneEdit = nextOne & validStates;
+			twoEdits = nextTwo & validStates;
+			
+			if((maxDistance == 1 ? oneEdit : twoEdits) == 0)
+				return false;
+		}
+		
+		long accepted = maxDistance == 1 ? oneEdit : twoEdits;
+		return (accepted & (1L << term.length())) != 0;
+	}
+	
+	private long maskOf(char c)
+	{
+		if(c < asciiMasks.length)
+			return asciiMasks[c];
+		
+		for(int i = 0; i < otherChars.length; i++)
+			if(otherChars[i] == c)
+				return otherMasks[i];
+		
+		return 0;
+	}
+	
+	private boolean regionEquals(CharSequence text, int start, int length)
+	{
+		for(int i = 0; i < length; i++)
+			if(text.charAt(start + i) != term.charAt(i))
+				return false;
+		
+		return true;
+	}
+}
@@ -0,0 +1,127 @@
+package net.signfinder.engine.fuzzy;
+
+import java.util.Collection;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.signfinder.engine.SignRecord;
+
+/**
+ * The distinct words of a set of {@link SignRecord}s, each with the
+ * positions of the records that contain it. Markets repeat the same words
+ * on many signs, so running a {@link LevenshteinAutomaton} over the words
+ * once is much cheaper than running it over every record.
+ *
+ * <p>
+ * Words are taken from the records' folded text. Immutable once built.
+ */
+public final class TokenIndex
+{
+	private final Object2ObjectOpenHashMap<String, LongArrayList> postings;
+	
+	private TokenIndex(Object2ObjectOpenHashMap<String, LongArrayList> postings)
+	{
+		this.postings = postings;
+	}
+	
+	public static TokenIndex of(Collection<SignRecord> records)
+	{
+		Object2ObjectOpenHashMap<String, LongArrayList> postings =
+			new Object2ObjectOpenHashMap<>();
+		for(SignRecord record : records)
+		{
+			String text = record.foldedText();
+			for(int start = Words.nextStart(text, 0); start < text.length();)
+			{
+				int end = Words.end(text, start);
+				LongArrayList positions = postings.computeIfAbsent(
+					text.substring(start, end), word -> new LongArrayList(2));
+				
+				// A record repeating a word is listed once
+				if(positions.isEmpty()
+					|| positions.getLong(positions.size() - 1) != record.pos())
+					positions.add(record.pos());
+				
+				start = Words.nextStart(text, end);
+			}
+		}
+		
+		postings.values().forEach(LongArrayList::trim);
+		return new TokenIndex(postings);
+	}
+	
+	/**
+	 * Returns the positions of the records with a word that {@code term}
+	 * matches.
+	 *
+	 * @param term
+	 *            A folded term, like {@link FuzzyQuery#getIndexTerm()}
+	 */
+	public LongSet find(LevenshteinAutomaton term)
+	{
+		LongOpenHashSet found = new LongOpenHashSet();
+		if(term.getMaxDistance() == 0)
+		{
+			LongArrayList positions = postings.get(term.getTerm());
+			if(positions != null)
+				found.addAll(positions);
+			
+			return found;
+		}
+		
+		for(Object2ObjectMap.Entry<String, LongArrayList> entry : postings
+			.object2ObjectEntrySet())
+		{
+			String word = entry.getKey();
+			if(term.matches(word, 0, word.length()))
+				found.addAll(entry.getValue());
+		}
+		
+		return found;
+	}
+	
+	/**
+	 * Returns the positions of the records that can contain {@code text}:
+	 * those with a word containing each of its words. Each word of
+	 * {@code text} lies within one word of any text that contains it, so
+	 * no record that contains it is missed.
+	 *
+	 * @param text
+	 *            Folded text, e.g. a literal of a search
+	 * @return null if {@code text} has no words to look up
+	 */
+	public LongSet findContaining(String text)
+	{
+		LongSet candidates = null;
+		for(int start = Words.nextStart(text, 0); start < text.length();)
+		{
+			int end = Words.end(text, start);
+			String part = text.substring(start, end);
+			LongOpenHashSet found = new LongOpenHashSet();
+			for(Object2ObjectMap.Entry<String, LongArrayList> entry : postings
+				.object2ObjectEntrySet())
+				if(entry.getKey().contains(part))
+					found.addAll(entry.getValue());
+			
+			if(candidates == null)
+				candidates = found;
+			else
+				candidates.retainAll(found);
+			
+			start = Words.nextStart(text, end);
+		}
+		
+		return candidates;
+	}
+	
+	/**
+	 * Number of distinct words.
+	 */
+	public int size()
+	{
+		return postings.size();
+	}
+}
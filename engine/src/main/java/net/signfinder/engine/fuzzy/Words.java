@@ -0,0 +1,40 @@
+package net.signfinder.engine.fuzzy;
+
+/**
+ * Splits text into words: runs of letters and digits, so that "x64" is one
+ * word and punctuation like "diamond," doesn't count.
+ */
+enum Words
+{
+	;
+	
+	/**
+	 * @return Start of the first word at or after {@code from}, or the
+	 *         length of {@code text} if there is none
+	 */
+	static int nextStart(CharSequence text, int from)
+	{
+		int i = from;
+		while(i < text.length() && !isWordChar(text.charAt(i)))
+			i++;
+		
+		return i;
+	}
+	
+	/**
+	 * @return End (exclusive) of the word starting at {@code start}
+	 */
+	static int end(CharSequence text, int start)
+	{
+		int i = start;
+		while(i < text.length() && isWordChar(text.charAt(i)))
+			i++;
+		
+		return i;
+	}
+	
+	private static boolean isWordChar(char c)
+	{
+		return Character.isLetterOrDigit(c);
+	}
+}
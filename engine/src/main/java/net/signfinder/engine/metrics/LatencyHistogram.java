@@ -0,0 +1,161 @@
+package net.signfinder.engine.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with HDR-style log-linear buckets: every power
+ * of two is split into 16 linear sub-buckets, so recorded values keep about
+ * 6% precision from nanoseconds up to minutes, in a fixed 5 KB of memory.
+ *
+ * <p>
+ * Recording is a few atomic increments and never allocates, so it's cheap
+ * enough to run every tick and every frame. Values are in nanoseconds.
+ */
+public final class LatencyHistogram
+{
+	private static final int SUB_BUCKET_BITS = 4;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	/** Longer values are clamped, about 18 minutes. */
+	private static final long MAX_VALUE = (1L << 40) - 1;
+	private static final int BUCKET_COUNT = indexOf(MAX_VALUE) + 1;
+	
+	private final String name;
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final AtomicLong max = new AtomicLong();
+	
+	public LatencyHistogram(String name)
+	{
+		this.name = name;
+	}
+	
+	public String getName()
+	{
+		return name;
+	}
+	
+	public void record(long nanos)
+	{
+		long value = Math.min(Math.max(nanos, 0), MAX_VALUE);
+		buckets.incrementAndGet(indexOf(value));
+		count.increment();
+		sum.add(value);
+		
+		long currentMax = max.get();
+		while(value > currentMax && !max.compareAndSet(currentMax, value))
+			currentMax = max.get();
+	}
+	
+	/**
+	 * Records the time since {@code startNanos}, a value previously returned
+	 * by {@link System#nanoTime()}.
+	 */
+	public void recordSince(long startNanos)
+	{
+		record(System.nanoTime() - startNanos);
+	}
+	
+	/**
+	 * Number of recorded values. Cheaper than a {@link #snapshot()}, e.g. to
+	 * compute the mean over the last second from two readings.
+	 */
+	public long getCount()
+	{
+		return count.sum();
+	}
+	
+	/**
+	 * Sum of all recorded values, in nanoseconds.
+	 */
+	public long getTotal()
+	{
+		return sum.sum();
+	}
+	
+	/**
+	 * Clears all recorded values. Values recorded concurrently may be lost.
+	 */
+	public void reset()
+	{
+		for(int i = 0; i < BUCKET_COUNT; i++)
+			buckets.set(i, 0);
+		
+		count.reset();
+		sum.reset();
+		max.set(0);
+	}
+	
+	/**
+	 * Takes a snapshot of the recorded values. Concurrent recording can make
+	 * the snapshot slightly inconsistent, e.g. a percentile from a value that
+	 * isn't counted yet, which is fine for statistics.
+	 */
+	public Snapshot snapshot()
+	{
+		long[] counts = new long[BUCKET_COUNT];
+		long total = 0;
+		for(int i = 0; i < BUCKET_COUNT; i++)
+		{
+			counts[i] = buckets.get(i);
+			total += counts[i];
+		}
+		
+		long maxValue = max.get();
+		long mean = total == 0 ? 0 : sum.sum() / total;
+		return new Snapshot(name, total, mean,
+			percentile(counts, total, 0.5, maxValue),
+			percentile(counts, total, 0.9, maxValue),
+			percentile(counts, total, 0.99, maxValue), maxValue);
+	}
+	
+	private static long percentile(long[] counts, long total,
+		double percentile, long maxValue)
+	{
+		if(total == 0)
+			return 0;
+		
+		long target = Math.max(1, (long)Math.ceil(total * percentile));
+		long seen = 0;
+		for(int i = 0; i < counts.length; i++)
+		{
+			seen += counts[i];
+			if(seen >= target)
+				return Math.min(highestValueOf(i), maxValue);
+		}
+		
+		return maxValue;
+	}
+	
+	private static int indexOf(long value)
+	{
+		if(value < SUB_BUCKET_COUNT)
+			return (int)value;
+		
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		int subBucket = (int)(value >>> shift) & SUB_BUCKET_COUNT - 1;
+		return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+	}
+	
+	/**
+	 * Returns the highest value that lands in the bucket at {@code index}.
+	 */
+	private static long highestValueOf(int index)
+	{
+		if(index < SUB_BUCKET_COUNT)
+			return index;
+		
+		int shift = index / SUB_BUCKET_COUNT - 1;
+		long subBucket = index % SUB_BUCKET_COUNT;
+		return (SUB_BUCKET_COUNT + subBucket + 1 << shift) - 1;
+	}
+	
+	/**
+	 * Recorded values at one point in time, all in nanoseconds.
+	 */
+	public record Snapshot(String name, long count, long mean, long p50,
+		long p90, long p99, long max)
+	{}
+}
@@ -0,0 +1,60 @@
+package net.signfinder.engine.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Named counters and {@link LatencyHistogram}s. Look them up once and keep
+ * the reference; the lookup itself isn't meant for hot paths.
+ *
+ * <p>
+ * Names are dot-separated, like {@code tick.auto_save}, and are listed in
+ * alphabetical order so related metrics end up next to each other.
+ */
+public class MetricsRegistry
+{
+	private final Map<String, LatencyHistogram> timers =
+		new ConcurrentHashMap<>();
+	private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+	
+	public LatencyHistogram timer(String name)
+	{
+		return timers.computeIfAbsent(name, LatencyHistogram::new);
+	}
+	
+	public LongAdder counter(String name)
+	{
+		return counters.computeIfAbsent(name, key -> new LongAdder());
+	}
+	
+	public List<LatencyHistogram.Snapshot> getTimerSnapshots()
+	{
+		List<LatencyHistogram.Snapshot> snapshots = new ArrayList<>();
+		for(LatencyHistogram timer : timers.values())
+			snapshots.add(timer.snapshot());
+		
+		snapshots.sort(Comparator.comparing(LatencyHistogram.Snapshot::name));
+		return snapshots;
+	}
+	
+	public Map<String, Long> getCounterValues()
+	{
+		Map<String, Long> values = new TreeMap<>();
+		counters.forEach((name, counter) -> values.put(name, counter.sum()));
+		return values;
+	}
+	
+	/**
+	 * Resets all counters and timers to zero. They stay registered.
+	 */
+	public void reset()
+	{
+		timers.values().forEach(LatencyHistogram::reset);
+		counters.values().forEach(LongAdder::reset);
+	}
+}
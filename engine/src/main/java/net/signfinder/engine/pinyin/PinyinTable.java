@@ -0,0 +1,75 @@
+package net.signfinder.engine.pinyin;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The bundled table of how Chinese characters are read in pinyin, loaded
+ * the first time pinyin is needed.
+ */
+enum PinyinTable
+{
+	;
+	
+	private static final String RESOURCE = "pinyin.txt";
+	/** First and last char the table can hold; covers all of CJK. */
+	private static final char FIRST = '\u3000';
+	private static final char LAST = '\u9FFF';
+	
+	private static final String[] SYLLABLES;
+	/** Index into {@link #SYLLABLES} plus one, or 0 for no reading. */
+	private static final short[] READINGS = new short[LAST - FIRST + 1];
+	static
+	{
+		List<String> syllables = new ArrayList<>();
+		try(InputStream in = PinyinTable.class.getResourceAsStream(RESOURCE))
+		{
+			if(in == null)
+				throw new IllegalStateException("Missing " + RESOURCE);
+			
+			BufferedReader reader = new BufferedReader(
+				new InputStreamReader(in, StandardCharsets.UTF_8));
+			String line;
+			while((line = reader.readLine()) != null)
+			{
+				int tab = line.indexOf('\t');
+				if(line.startsWith("#") || tab < 0)
+					continue;
+				
+				syllables.add(line.substring(0, tab));
+				short reading = (short)syllables.size();
+				for(int i = tab + 1; i < line.length(); i++)
+				{
+					char c = line.charAt(i);
+					if(c >= FIRST && c <= LAST)
+						READINGS[c - FIRST] = reading;
+				}
+			}
+		}catch(IOException e)
+		{
+			throw new UncheckedIOException("Couldn't read " + RESOURCE, e);
+		}
+		
+		SYLLABLES = syllables.toArray(String[]::new);
+	}
+	
+	/**
+	 * @return The pinyin of {@code c} without tone, in lowercase ASCII with
+	 *         "v" for "ü", or null if {@code c} isn't a Chinese character
+	 *         in the table
+	 */
+	static String syllableOf(char c)
+	{
+		if(c < FIRST || c > LAST)
+			return null;
+		
+		int reading = READINGS[c - FIRST];
+		return reading == 0 ? null : SYLLABLES[reading - 1];
+	}
+}
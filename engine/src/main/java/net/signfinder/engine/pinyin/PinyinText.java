@@ -0,0 +1,127 @@
+package net.signfinder.engine.pinyin;
+
+import java.util.BitSet;
+
+/**
+ * The pinyin of a sign's Chinese text, so that a query typed without an
+ * input method still finds it: "zuanshi", "zuan shi", "zuans" and "zs" all
+ * match "钻石".
+ *
+ * <p>
+ * Each Chinese character contributes its reading without tone, spaces are
+ * dropped like in queries and other chars are kept as they are. Full pinyin
+ * only matches from the start of a syllable, so "uanshi" doesn't match
+ * "钻石". Initials, the first letter of each reading, match anywhere.
+ */
+public final class PinyinText
+{
+	/** Readings and other chars of the text, e.g. "zuanshix64". */
+	private final String full;
+	/** First letter of each reading and other chars, e.g. "zsx64". */
+	private final String initials;
+	/** Indexes in {@link #full} where a match may start. */
+	private final BitSet starts;
+	
+	private PinyinText(String full, String initials, BitSet starts)
+	{
+		this.full = full;
+		this.initials = initials;
+		this.starts = starts;
+	}
+	
+	/**
+	 * @param text
+	 *            Text folded with {@link net.signfinder.engine.CaseFolding}
+	 * @return null if {@code text} has no Chinese characters
+	 */
+	public static PinyinText of(String text)
+	{
+		StringBuilder full = null;
+		StringBuilder initials = null;
+		BitSet starts = null;
+		for(int i = 0; i < text.length(); i++)
+		{
+			char c = text.charAt(i);
+			String syllable = PinyinTable.syllableOf(c);
+			if(full == null)
+			{
+				if(syllable == null)
+					continue;
+				
+				full = new StringBuilder(text.length() * 4);
+				initials = new StringBuilder(text.length());
+				starts = new BitSet();
+				for(int j = 0; j < i; j++)
+					append(text.charAt(j), full, initials, starts);
+			}
+			
+			if(syllable == null)
+			{
+				append(c, full, initials, starts);
+				continue;
+			}
+			
+			starts.set(full.length());
+			full.append(syllable);
+			initials.append(syllable.charAt(0));
+		}
+		
+		if(full == null)
+			return null;
+		
+		return new PinyinText(full.toString(), initials.toString(), starts);
+	}
+	
+	/**
+	 * Turns a literal query into the form {@link #matches(String)} takes,
+	 * dropping the spaces and apostrophes people type between syllables, as
+	 * in "xi'an".
+	 *
+	 * @param literal
+	 *            A query folded with {@link net.signfinder.engine.CaseFolding}
+	 * @return null if {@code literal} can't be pinyin, because it has other
+	 *         chars than ASCII letters or fewer than two letters
+	 */
+	public static String toQuery(String literal)
+	{
+		StringBuilder query = new StringBuilder(literal.length());
+		for(int i = 0; i < literal.length(); i++)
+		{
+			char c = literal.charAt(i);
+			if(c >= 'a' && c <= 'z')
+				query.append(c);
+			else if(c != ' ' && c != '\'')
+				return null;
+		}
+		
+		return query.length() < 2 ? null : query.toString();
+	}
+	
+	/**
+	 * @param query
+	 *            A query from {@link #toQuery(String)}
+	 */
+	public boolean matches(String query)
+	{
+		if(initials.contains(query))
+			return true;
+		
+		for(int i = full.indexOf(query); i >= 0;
+			i = full.indexOf(query, i + 1))
+			if(starts.get(i))
+				return true;
+		
+		return false;
+	}
+	
+	private static void append(char c, StringBuilder full,
+		StringBuilder initials, BitSet starts)
+	{
+		if(c == ' ')
+			return;
+		
+		starts.set(full.length());
+		full.append(c);
+		initials.append(c);
+	}
+}
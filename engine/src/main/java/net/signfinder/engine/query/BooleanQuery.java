@@ -0,0 +1,240 @@
+package net.signfinder.engine.query;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalInt;
+
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.signfinder.engine.CaseFolding;
+import net.signfinder.engine.SignRecord;
+import net.signfinder.engine.SignRecord.RecordType;
+import net.signfinder.engine.TextNormalizer;
+import net.signfinder.engine.cache.PatternCache;
+import net.signfinder.engine.fuzzy.FuzzyQuery;
+import net.signfinder.engine.fuzzy.TokenIndex;
+import net.signfinder.engine.pinyin.PinyinText;
+
+/**
+ * A query in the query language (see {@link QueryParser}), planned for
+ * running:
+ * <ul>
+ * <li>a {@link net.signfinder.engine.SignIndex} first looks up the words of
+ * its text, fuzzy and regex clauses in its {@link TokenIndex}, smallest
+ * result first, and only checks the records left;</li>
+ * <li>each record is checked with the cheapest clauses first, so regex and
+ * fuzzy clauses only run on records that the others haven't ruled
+ * out;</li>
+ * <li>{@code type:} clauses tell a search which kinds of objects it can
+ * skip entirely.</li>
+ * </ul>
+ *
+ * <p>
+ * Immutable and thread-safe.
+ */
+public final class BooleanQuery
+{
+	private final Clause root;
+	
+	private BooleanQuery(Clause root)
+	{
+		this.root = root;
+	}
+	
+	/**
+	 * @param normalizer
+	 *            Must be the one that the matched records were created with
+	 * @throws QuerySyntaxException
+	 *             If {@code query} isn't valid, including invalid regexes
+	 */
+	public static BooleanQuery compile(String query, boolean caseSensitive,
+		TextNormalizer normalizer, PatternCache patternCache)
+	{
+		QueryNode node = new QueryParser(query).parse();
+		Planner planner =
+			new Planner(caseSensitive, normalizer, patternCache);
+		return new BooleanQuery(planner.planTop(node));
+	}
+	
+	/**
+	 * Returns the radius that {@code query} asks for with {@code within:},
+	 * if it's valid and does.
+	 */
+	public static OptionalInt radiusOf(String query)
+	{
+		QueryNode node;
+		try
+		{
+			node = new QueryParser(query).parse();
+		}catch(QuerySyntaxException e)
+		{
+			return OptionalInt.empty();
+		}
+		
+		if(node instanceof QueryNode.Within within)
+			return OptionalInt.of(within.radius());
+		
+		if(node instanceof QueryNode.And and)
+			for(QueryNode operand : and.operands())
+				if(operand instanceof QueryNode.Within within)
+					return OptionalInt.of(within.radius());
+		
+		return OptionalInt.empty();
+	}
+	
+	public boolean matches(SignRecord record)
+	{
+		return root.matches(record);
+	}
+	
+	/**
+	 * Whether {@link #findCandidates(TokenIndex)} can narrow down the
+	 * records to check.
+	 */
+	public boolean isIndexed()
+	{
+		return root.isIndexed();
+	}
+	
+	/**
+	 * Returns the positions of the records that can match, or null if the
+	 * query can't be looked up in {@code tokens}.
+	 */
+	public LongSet findCandidates(TokenIndex tokens)
+	{
+		return root.findCandidates(tokens);
+	}
+	
+	/**
+	 * Whether records of {@code type} can match, e.g. not item frames for
+	 * {@code type:sign}.
+	 */
+	public boolean mayMatch(RecordType type)
+	{
+		return root.mayMatch(type);
+	}
+	
+	/**
+	 * Returns the plan, with clauses in the order they are checked.
+	 */
+	@Override
+	public String toString()
+	{
+		return root.toString();
+	}
+	
+	private record Planner(boolean caseSensitive, TextNormalizer normalizer,
+		PatternCache patternCache)
+	{
+		/**
+		 * Plans the whole query, where {@code within:} may be one of the
+		 * clauses that are joined by AND.
+		 */
+		Clause planTop(QueryNode node)
+		{
+			List<QueryNode> operands = node instanceof QueryNode.And and
+				? and.operands() : List.of(node);
+			
+			List<QueryNode> clauses = new ArrayList<>();
+			int radii = 0;
+			for(QueryNode operand : operands)
+				if(operand instanceof QueryNode.Within)
+					radii++;
+				else
+					clauses.add(operand);
+			
+			if(radii > 1)
+				throw new QuerySyntaxException("within: is given twice");
+			
+			return plan(new QueryNode.And(clauses));
+		}
+		
+		private Clause plan(QueryNode node)
+		{
+			return switch(node)
+			{
+				case QueryNode.And and -> and(and.operands());
+				case QueryNode.Or or -> or(or.operands());
+				case QueryNode.Not not -> not(plan(not.operand()));
+				case QueryNode.Text text -> text(text.text(), text.line());
+				case QueryNode.Fuzzy fuzzy -> fuzzy(fuzzy.text());
+				case QueryNode.Regex regex -> regex(regex.pattern());
+				case QueryNode.Type type -> new Clause.Type(type.type());
+				case QueryNode.Within within -> throw new QuerySyntaxException(
+					"within: must apply to the whole query, not be inside"
+						+ " OR, NOT or parentheses");
+			};
+		}
+		
+		private Clause and(List<QueryNode> nodes)
+		{
+			List<Clause> operands = new ArrayList<>();
+			for(QueryNode node : nodes)
+			{
+				// Nested ANDs are flattened, to order all their operands
+				Clause operand = plan(node);
+				if(operand instanceof Clause.And and)
+					operands.addAll(and.operands());
+				else
+					operands.add(operand);
+			}
+			
+			if(operands.size() == 1)
+				return operands.get(0);
+			
+			operands.sort(Comparator.comparingInt(Clause::cost));
+			return new Clause.And(List.copyOf(operands));
+		}
+		
+		private Clause or(List<QueryNode> nodes)
+		{
+			List<Clause> operands = new ArrayList<>();
+			for(QueryNode node : nodes)
+			{
+				// Nested ORs are flattened, to order all their operands
+				Clause operand = plan(node);
+				if(operand instanceof Clause.Or or)
+					operands.addAll(or.operands());
+				else
+					operands.add(operand);
+			}
+			
+			operands.sort(Comparator.comparingInt(Clause::cost));
+			return new Clause.Or(List.copyOf(operands));
+		}
+		
+		private static Clause not(Clause operand)
+		{
+			return operand instanceof Clause.Not not ? not.operand()
+				: new Clause.Not(operand);
+		}
+		
+		private Clause text(String text, int line)
+		{
+			String normalized = normalizer.normalize(text);
+			String folded = CaseFolding.fold(normalized);
+			String pinyin = line == 0 && normalizer.pinyin()
+				? PinyinText.toQuery(folded) : null;
+			return new Clause.Text(caseSensitive ? normalized : folded, line,
+				caseSensitive, pinyin);
+		}
+		
+		private Clause fuzzy(String text)
+		{
+			FuzzyQuery query =
+				FuzzyQuery.of(normalizer.normalize(text), caseSensitive);
+			if(query == null)
+				return text(text, 0);
+			
+			return new Clause.Fuzzy(query, caseSensitive, text);
+		}
+		
+		private Clause regex(String pattern)
+		{
+			return new Clause.Regex(patternCache
+				.getOrCompile(pattern, caseSensitive)
+				.orElseThrow(() -> new QuerySyntaxException(
+					"Invalid regex \"" + pattern + "\"")));
+		}
+	}
+}
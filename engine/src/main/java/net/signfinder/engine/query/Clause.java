@@ -0,0 +1,414 @@
+package net.signfinder.engine.query;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.signfinder.engine.CaseFolding;
+import net.signfinder.engine.SignRecord;
+import net.signfinder.engine.SignRecord.RecordType;
+import net.signfinder.engine.fuzzy.FuzzyQuery;
+import net.signfinder.engine.fuzzy.TokenIndex;
+import net.signfinder.engine.regex.CompiledRegex;
+
+/**
+ * A clause of a planned {@link BooleanQuery}, with its literals normalized
+ * and its regexes and fuzzy words compiled. Operands of {@link And} and
+ * {@link Or} are ordered cheapest first, so that the expensive ones only
+ * run when the cheap ones haven't decided.
+ */
+sealed interface Clause
+{
+	/** Relative cost of matching one record. */
+	int cost();
+	
+	boolean matches(SignRecord record);
+	
+	/**
+	 * Whether {@link #findCandidates(TokenIndex)} can narrow down the
+	 * records, so that building a {@link TokenIndex} pays off.
+	 */
+	boolean isIndexed();
+	
+	/**
+	 * Returns the positions of all records that can match, looked up in
+	 * {@code tokens}. They may include records that don't match.
+	 *
+	 * @return null if this clause can't be looked up there
+	 */
+	LongSet findCandidates(TokenIndex tokens);
+	
+	/** Whether records of {@code type} can match at all. */
+	boolean mayMatch(RecordType type);
+	
+	record And(List<Clause> operands) implements Clause
+	{
+		@Override
+		public int cost()
+		{
+			return operands.stream().mapToInt(Clause::cost).sum();
+		}
+		
+		@Override
+		public boolean matches(SignRecord record)
+		{
+			for(Clause operand : operands)
+				if(!operand.matches(record))
+					return false;
+			
+			return true;
+		}
+		
+		@Override
+		public boolean isIndexed()
+		{
+			return operands.stream().anyMatch(Clause::isIndexed);
+		}
+		
+		@Override
+		public LongSet findCandidates(TokenIndex tokens)
+		{
+			List<LongSet> found = new ArrayList<>();
+			for(Clause operand : operands)
+			{
+				LongSet candidates = operand.findCandidates(tokens);
+				if(candidates != null)
+					found.add(candidates);
+			}
+			
+			if(found.isEmpty())
+				return null;
+			
+			// Most selective first, so the intersection shrinks fastest
+			found.sort(Comparator.comparingInt(LongSet::size));
+			LongSet candidates = found.get(0);
+			for(int i = 1; i < found.size() && !candidates.isEmpty(); i++)
+				candidates.retainAll(found.get(i));
+			
+			return candidates;
+		}
+		
+		@Override
+		public boolean mayMatch(RecordType type)
+		{
+			return operands.stream().allMatch(c -> c.mayMatch(type));
+		}
+		
+		@Override
+		public String toString()
+		{
+			if(operands.isEmpty())
+				return "everything";
+			
+			return operands.stream()
+				.map(c -> c instanceof Or ? "(" + c + ")" : c.toString())
+				.collect(Collectors.joining(" AND "));
+		}
+	}
+	
+	record Or(List<Clause> operands) implements Clause
+	{
+		@Override
+		public int cost()
+		{
+			return operands.stream().mapToInt(Clause::cost).sum();
+		}
+		
+		@Override
+		public boolean matches(SignRecord record)
+		{
+			for(Clause operand : operands)
+				if(operand.matches(record))
+					return true;
+			
+			return false;
+		}
+		
+		@Override
+		public boolean isIndexed()
+		{
+			return operands.stream().allMatch(Clause::isIndexed);
+		}
+		
+		@Override
+		public LongSet findCandidates(TokenIndex tokens)
+		{
+			LongSet union = new LongOpenHashSet();
+			for(Clause operand : operands)
+			{
+				LongSet candidates = operand.findCandidates(tokens);
+				if(candidates == null)
+					return null;
+				
+				union.addAll(candidates);
+			}
+			
+			return union;
+		}
+		
+		@Override
+		public boolean mayMatch(RecordType type)
+		{
+			return operands.stream().anyMatch(c -> c.mayMatch(type));
+		}
+		
+		@Override
+		public String toString()
+		{
+			return operands.stream().map(Clause::toString)
+				.collect(Collectors.joining(" OR "));
+		}
+	}
+	
+	record Not(Clause operand) implements Clause
+	{
+		@Override
+		public int cost()
+		{
+			return operand.cost();
+		}
+		
+		@Override
+		public boolean matches(SignRecord record)
+		{
+			return !operand.matches(record);
+		}
+		
+		@Override
+		public boolean isIndexed()
+		{
+			return false;
+		}
+		
+		@Override
+		public LongSet findCandidates(TokenIndex tokens)
+		{
+			return null;
+		}
+		
+		@Override
+		public boolean mayMatch(RecordType type)
+		{
+			return !(operand instanceof Type excluded)
+				|| excluded.type() != type;
+		}
+		
+		@Override
+		public String toString()
+		{
+			return operand instanceof And || operand instanceof Or
+				? "NOT (" + operand + ")" : "NOT " + operand;
+		}
+	}
+	
+	/**
+	 * @param literal
+	 *            Normalized, and folded if matching ignores case
+	 * @param line
+	 *            1-based line the literal must be on, or 0 for anywhere
+	 * @param pinyin
+	 *            The literal as a pinyin query, or null
+	 */
+	record Text(String literal, int line, boolean caseSensitive,
+		String pinyin) implements Clause
+	{
+		@Override
+		public int cost()
+		{
+			return line == 0 ? 1 : 2;
+		}
+		
+		@Override
+		public boolean matches(SignRecord record)
+		{
+			if(line > 0)
+				return record.line(line - 1, !caseSensitive).contains(literal);
+			
+			String text = caseSensitive ? record.normalizedText()
+				: record.foldedText();
+			if(text.contains(literal))
+				return true;
+			
+			return pinyin != null && record.pinyin() != null
+				&& record.pinyin().matches(pinyin);
+		}
+		
+		@Override
+		public boolean isIndexed()
+		{
+			// Pinyin matches aren't in the index
+			return pinyin == null
+				&& literal.chars().anyMatch(Character::isLetterOrDigit);
+		}
+		
+		@Override
+		public LongSet findCandidates(TokenIndex tokens)
+		{
+			if(pinyin != null)
+				return null;
+			
+			return tokens.findContaining(
+				caseSensitive ? CaseFolding.fold(literal) : literal);
+		}
+		
+		@Override
+		public boolean mayMatch(RecordType type)
+		{
+			// Item frames only have a line 1, their item name
+			return line <= 1 || type != RecordType.ITEM_FRAME;
+		}
+		
+		@Override
+		public String toString()
+		{
+			return (line > 0 ? "line" + line + ":" : "") + quote(literal);
+		}
+	}
+	
+	/**
+	 * @param source
+	 *            The words as written, for showing the plan
+	 */
+	record Fuzzy(FuzzyQuery query, boolean caseSensitive, String source)
+		implements Clause
+	{
+		@Override
+		public int cost()
+		{
+			return 4;
+		}
+		
+		@Override
+		public boolean matches(SignRecord record)
+		{
+			return query.matches(caseSensitive ? record.normalizedText()
+				: record.foldedText());
+		}
+		
+		@Override
+		public boolean isIndexed()
+		{
+			return true;
+		}
+		
+		@Override
+		public LongSet findCandidates(TokenIndex tokens)
+		{
+			return tokens.find(query.getIndexTerm());
+		}
+		
+		@Override
+		public boolean mayMatch(RecordType type)
+		{
+			return true;
+		}
+		
+		@Override
+		public String toString()
+		{
+			return "fuzzy:" + quote(source);
+		}
+	}
+	
+	record Regex(CompiledRegex regex) implements Clause
+	{
+		@Override
+		public int cost()
+		{
+			// Backtracking regexes can use their whole step budget
+			return regex.isLinear() ? 8 : 32;
+		}
+		
+		@Override
+		public boolean matches(SignRecord record)
+		{
+			return regex.find(record.normalizedText());
+		}
+		
+		@Override
+		public boolean isIndexed()
+		{
+			return !regex.getRequiredLiterals().isEmpty();
+		}
+		
+		@Override
+		public LongSet findCandidates(TokenIndex tokens)
+		{
+			// Every match contains the required literals
+			LongSet candidates = null;
+			for(String literal : regex.getRequiredLiterals())
+			{
+				LongSet found =
+					tokens.findContaining(CaseFolding.fold(literal));
+				if(found == null)
+					continue;
+				
+				if(candidates == null)
+					candidates = found;
+				else
+					candidates.retainAll(found);
+			}
+			
+			return candidates;
+		}
+		
+		@Override
+		public boolean mayMatch(RecordType type)
+		{
+			return true;
+		}
+		
+		@Override
+		public String toString()
+		{
+			return "regex:" + quote(regex.getSource());
+		}
+	}
+	
+	record Type(RecordType type) implements Clause
+	{
+		@Override
+		public int cost()
+		{
+			return 0;
+		}
+		
+		@Override
+		public boolean matches(SignRecord record)
+		{
+			return record.type() == type;
+		}
+		
+		@Override
+		public boolean isIndexed()
+		{
+			return false;
+		}
+		
+		@Override
+		public LongSet findCandidates(TokenIndex tokens)
+		{
+			return null;
+		}
+		
+		@Override
+		public boolean mayMatch(RecordType type)
+		{
+			return type == this.type;
+		}
+		
+		@Override
+		public String toString()
+		{
+			return type == RecordType.SIGN ? "type:sign" : "type:frame";
+		}
+	}
+	
+	private static String quote(String text)
+	{
+		return '"' + text.replace("\"", "\\\"") + '"';
+	}
+}
@@ -0,0 +1,46 @@
+package net.signfinder.engine.query;
+
+import java.util.List;
+
+import net.signfinder.engine.SignRecord.RecordType;
+
+/**
+ * Syntax tree of a query in the query language, as written.
+ * {@link BooleanQuery} plans it into the clauses that are run.
+ */
+sealed interface QueryNode
+{
+	record And(List<QueryNode> operands) implements QueryNode
+	{}
+	
+	record Or(List<QueryNode> operands) implements QueryNode
+	{}
+	
+	record Not(QueryNode operand) implements QueryNode
+	{}
+	
+	/**
+	 * A word or quoted phrase.
+	 *
+	 * @param line
+	 *            1-based sign line it must be on, or 0 for anywhere
+	 */
+	record Text(String text, int line) implements QueryNode
+	{}
+	
+	/** {@code fuzzy:}, words within a few typos. */
+	record Fuzzy(String text) implements QueryNode
+	{}
+	
+	/** {@code regex:}, a regular expression. */
+	record Regex(String pattern) implements QueryNode
+	{}
+	
+	/** {@code type:}, the kind of object the text is on. */
+	record Type(RecordType type) implements QueryNode
+	{}
+	
+	/** {@code within:}, the search radius. */
+	record Within(int radius) implements QueryNode
+	{}
+}
@@ -0,0 +1,354 @@
+package net.signfinder.engine.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import net.signfinder.engine.SearchQuery;
+import net.signfinder.engine.SignRecord.RecordType;
+
+/**
+ * Parses the query language, e.g.
+ * {@code diamond AND NOT sold AND line1:buy} or
+ * {@code ("diamond sword" OR fuzzy:netherite) type:sign within:64}.
+ *
+ * <p>
+ * Words and quoted phrases match like a plain text search. {@code NOT}
+ * binds tighter than {@code AND}, and {@code AND} tighter than {@code OR};
+ * operators must be written in capitals, and words next to each other are
+ * joined by {@code AND}. Fields are {@code line1:} to {@code line4:},
+ * {@code type:sign} or {@code type:frame}, {@code fuzzy:}, {@code regex:}
+ * and {@code within:}. Phrases and field values can be quoted, with
+ * {@code \"} for a quote inside.
+ */
+final class QueryParser
+{
+	private static final int MAX_LINE = 4;
+	
+	private enum Kind
+	{
+		AND,
+		OR,
+		NOT,
+		OPEN,
+		CLOSE,
+		TERM,
+		END
+	}
+	
+	/**
+	 * @param node
+	 *            The parsed term, only for {@link Kind#TERM}
+	 * @param start
+	 *            Index in the query, for error messages
+	 */
+	private record Token(Kind kind, QueryNode node, int start)
+	{}
+	
+	private final String query;
+	private int pos;
+	private Token peeked;
+	
+	QueryParser(String query)
+	{
+		this.query = query;
+	}
+	
+	QueryNode parse()
+	{
+		if(peek().kind() == Kind.END)
+			return new QueryNode.And(List.of());
+		
+		QueryNode node = parseOr();
+		Token token = next();
+		if(token.kind() != Kind.END)
+			throw error("')' without '('", token);
+		
+		return node;
+	}
+	
+	private QueryNode parseOr()
+	{
+		List<QueryNode> operands = new ArrayList<>();
+		operands.add(parseAnd());
+		while(peek().kind() == Kind.OR)
+		{
+			next();
+			operands.add(parseAnd());
+		}
+		
+		return operands.size() == 1 ? operands.get(0)
+			: new QueryNode.Or(List.copyOf(operands));
+	}
+	
+	private QueryNode parseAnd()
+	{
+		List<QueryNode> operands = new ArrayList<>();
+		operands.add(parseNot());
+		while(true)
+		{
+			Kind kind = peek().kind();
+			if(kind == Kind.AND)
+				next();
+			else if(kind != Kind.TERM && kind != Kind.NOT && kind != Kind.OPEN)
+				break;
+			
+			operands.add(parseNot());
+		}
+		
+		return operands.size() == 1 ? operands.get(0)
+			: new QueryNode.And(List.copyOf(operands));
+	}
+	
+	private QueryNode parseNot()
+	{
+		Token token = next();
+		switch(token.kind())
+		{
+			case NOT:
+			return new QueryNode.Not(parseNot());
+			
+			case OPEN:
+			QueryNode node = parseOr();
+			Token close = next();
+			if(close.kind() != Kind.CLOSE)
+				throw error("Missing ')'", close);
+			
+			return node;
+			
+			case TERM:
+			return token.node();
+			
+			default:
+			throw error("Expected a word, phrase or '('", token);
+		}
+	}
+	
+	private Token next()
+	{
+		Token token = peek();
+		peeked = null;
+		return token;
+	}
+	
+	private Token peek()
+	{
+		if(peeked == null)
+			peeked = read();
+		
+		return peeked;
+	}
+	
+	private Token read()
+	{
+		while(pos < query.length() && Character.isWhitespace(query.charAt(pos)))
+			pos++;
+		
+		int start = pos;
+		if(pos == query.length())
+			return new Token(Kind.END, null, start);
+		
+		switch(query.charAt(pos))
+		{
+			case '(':
+			pos++;
+			return new Token(Kind.OPEN, null, start);
+			
+			case ')':
+			pos++;
+			return new Token(Kind.CLOSE, null, start);
+			
+			case '"':
+			return term(new QueryNode.Text(readQuoted(), 0), start);
+		}
+		
+		String field = readFieldName();
+		if(field != null)
+			return term(parseField(field, readValue(field.equals("regex")),
+				start), start);
+		
+		String word = readWord();
+		return switch(word)
+		{
+			case "AND" -> new Token(Kind.AND, null, start);
+			case "OR" -> new Token(Kind.OR, null, start);
+			case "NOT" -> new Token(Kind.NOT, null, start);
+			default -> term(new QueryNode.Text(word, 0), start);
+		};
+	}
+	
+	private QueryNode parseField(String field, String value, int start)
+	{
+		switch(field)
+		{
+			case "type":
+			return switch(value.toLowerCase(Locale.ROOT))
+			{
+				case "sign", "signs" -> new QueryNode.Type(RecordType.SIGN);
+				case "frame", "frames", "item_frame", "itemframe" ->
+					new QueryNode.Type(RecordType.ITEM_FRAME);
+				default -> throw new QuerySyntaxException("Unknown type '"
+					+ value + "' at " + (start + 1) + ", use sign or frame");
+			};
+			
+			case "within":
+			try
+			{
+				int radius = Integer.parseInt(value);
+				if(radius > 0 && radius <= SearchQuery.MAX_RADIUS)
+					return new QueryNode.Within(radius);
+			}catch(NumberFormatException e)
+			{
+				// Reported below
+			}
+			throw new QuerySyntaxException("within: at " + (start + 1)
+				+ " needs a radius from 1 to " + SearchQuery.MAX_RADIUS
+				+ " blocks");
+			
+			case "fuzzy":
+			return new QueryNode.Fuzzy(value);
+			
+			case "regex":
+			return new QueryNode.Regex(value);
+			
+			default:
+			// line1: to line4:
+			return new QueryNode.Text(value, field.charAt(4) - '0');
+		}
+	}
+	
+	/**
+	 * Reads a field name and its colon if the query continues with one,
+	 * e.g. "line1:".
+	 *
+	 * @return The field name in lowercase, or null
+	 */
+	private String readFieldName()
+	{
+		int end = pos;
+		while(end < query.length()
+			&& Character.isLetterOrDigit(query.charAt(end)))
+			end++;
+		
+		if(end == query.length() || query.charAt(end) != ':')
+			return null;
+		
+		String name = query.substring(pos, end).toLowerCase(Locale.ROOT);
+		if(!isField(name))
+			return null;
+		
+		pos = end + 1;
+		return name;
+	}
+	
+	private static boolean isField(String name)
+	{
+		if(name.length() == 5 && name.startsWith("line"))
+			return name.charAt(4) >= '1' && name.charAt(4) <= '0' + MAX_LINE;
+		
+		return switch(name)
+		{
+			case "type", "within", "fuzzy", "regex" -> true;
+			default -> false;
+		};
+	}
+	
+	/**
+	 * @param regex
+	 *            Whether parentheses belong to the value as long as they
+	 *            are balanced, e.g. in {@code regex:(a|b)c}
+	 */
+	private String readValue(boolean regex)
+	{
+		if(pos < query.length() && query.charAt(pos) == '"')
+			return readQuoted();
+		
+		int start = pos;
+		int depth = 0;
+		while(pos < query.length())
+		{
+			char c = query.charAt(pos);
+			if(Character.isWhitespace(c) || c == '"' && !regex)
+				break;
+			
+			if(c == '(')
+			{
+				if(!regex)
+					break;
+				
+				depth++;
+			}else if(c == ')')
+			{
+				if(depth == 0)
+					break;
+				
+				depth--;
+			}
+			
+			pos++;
+		}
+		
+		if(pos == start)
+			throw new QuerySyntaxException(
+				"Missing a value after the field at " + (start + 1));
+		
+		return query.substring(start, pos);
+	}
+	
+	private String readWord()
+	{
+		int start = pos;
+		while(pos < query.length())
+		{
+			char c = query.charAt(pos);
+			if(Character.isWhitespace(c) || c == '(' || c == ')' || c == '"')
+				break;
+			
+			pos++;
+		}
+		
+		return query.substring(start, pos);
+	}
+	
+	private String readQuoted()
+	{
+		int start = pos;
+		StringBuilder text = new StringBuilder();
+		pos++;
+		while(true)
+		{
+			if(pos == query.length())
+				throw new QuerySyntaxException(
+					"Missing closing quote for the quote at " + (start + 1));
+			
+			char c = query.charAt(pos);
+			if(c == '\\' && pos + 1 < query.length()
+				&& query.charAt(pos + 1) == '"')
+			{
+				text.append('"');
+				pos += 2;
+				continue;
+			}
+			
+			pos++;
+			if(c == '"')
+				return text.toString();
+			
+			text.append(c);
+		}
+	}
+	
+	private static Token term(QueryNode node, int start)
+	{
+		return new Token(Kind.TERM, node, start);
+	}
+	
+	private static QuerySyntaxException error(String message, Token token)
+	{
+		if(token.kind() == Kind.END)
+			return new QuerySyntaxException(message + " at the end");
+		
+		return new QuerySyntaxException(
+			message + " at " + (token.start() + 1));
+	}
+}
@@ -0,0 +1,13 @@
+package net.signfinder.engine.query;
+
+/**
+ * Thrown for a query that isn't valid in the query language, with a
+ * message that can be shown to the player.
+ */
+public final class QuerySyntaxException extends RuntimeException
+{
+	QuerySyntaxException(String message)
+	{
+		super(message);
+	}
+}
@@ -0,0 +1,56 @@
+package net.signfinder.engine.regex;
+
+/**
+ * Text that may only be read a limited number of times. A backtracking
+ * {@link java.util.regex.Matcher} reads every character it tries, so this
+ * caps how long one match can run.
+ */
+final class BudgetedText implements CharSequence
+{
+	private final CharSequence text;
+	private int remaining;
+	
+	BudgetedText(CharSequence text, int budget)
+	{
+		this.text = text;
+		remaining = budget;
+	}
+	
+	@Override
+	public char charAt(int index)
+	{
+		if(--remaining < 0)
+			throw BudgetExceededException.INSTANCE;
+		
+		return text.charAt(index);
+	}
+	
+	@Override
+	public int length()
+	{
+		return text.length();
+	}
+	
+	@Override
+	public CharSequence subSequence(int start, int end)
+	{
+		return text.subSequence(start, end);
+	}
+	
+	@Override
+	public String toString()
+	{
+		return text.toString();
+	}
+	
+	static final class BudgetExceededException extends RuntimeException
+	{
+		static final BudgetExceededException INSTANCE =
+			new BudgetExceededException();
+		
+		private BudgetExceededException()
+		{
+			super("Regex step budget exceeded", null, false, false);
+		}
+	}
+}
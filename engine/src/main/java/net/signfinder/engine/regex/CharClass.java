@@ -0,0 +1,171 @@
+package net.signfinder.engine.regex;
+
+import java.util.Arrays;
+
+/**
+ * A set of code points given as inclusive ranges, e.g. {@code [a-z_]} or
+ * {@code \d}. Like in {@link java.util.regex.Pattern}, ignoring case widens
+ * the chars and ranges written in a class, but not the predefined classes
+ * {@code \d \w \s} and their negations, which stay ASCII.
+ */
+final class CharClass
+{
+	private static final int[] NONE = new int[0];
+	
+	static final CharClass DIGIT = predefined(new int[]{'0', '9'});
+	static final CharClass WORD =
+		predefined(new int[]{'0', '9', 'A', 'Z', '_', '_', 'a', 'z'});
+	static final CharClass SPACE = predefined(new int[]{'\t', '\r', ' ', ' '});
+	
+	/** Pairs of inclusive bounds, which match either case if asked to. */
+	private final int[] ranges;
+	/** Pairs of inclusive bounds from predefined classes, exact always. */
+	private final int[] exactRanges;
+	private final boolean negated;
+	
+	CharClass(int[] ranges, int[] exactRanges, boolean negated)
+	{
+		this.ranges = ranges;
+		this.exactRanges = exactRanges;
+		this.negated = negated;
+	}
+	
+	private static CharClass predefined(int[] ranges)
+	{
+		return new CharClass(NONE, ranges, false);
+	}
+	
+	/**
+	 * This predefined class negated, e.g. {@code \D} for {@code \d}.
+	 */
+	CharClass negate()
+	{
+		return new CharClass(NONE, exactRanges, !negated);
+	}
+	
+	/**
+	 * The ranges of this predefined class, in a form that can be added to
+	 * another class, e.g. {@code \D} inside {@code [...]}.
+	 */
+	int[] toExactRanges()
+	{
+		if(!negated)
+			return exactRanges;
+		
+		int[] sorted = exactRanges.clone();
+		sortPairs(sorted);
+		
+		int[] complement = new int[sorted.length + 2];
+		int size = 0;
+		int next = 0;
+		for(int i = 0; i < sorted.length; i += 2)
+		{
+			if(sorted[i] > next)
+			{
+				complement[size++] = next;
+				complement[size++] = sorted[i] - 1;
+			}
+			
+			next = Math.max(next, sorted[i + 1] + 1);
+		}
+		
+		if(next <= Character.MAX_CODE_POINT)
+		{
+			complement[size++] = next;
+			complement[size++] = Character.MAX_CODE_POINT;
+		}
+		
+		return Arrays.copyOf(complement, size);
+	}
+	
+	/**
+	 * @param ignoreCase
+	 *            Whether the upper and lower case of {@code codePoint} also
+	 *            match, like {@link java.util.regex.Pattern#UNICODE_CASE}
+	 */
+	boolean matches(int codePoint, boolean ignoreCase)
+	{
+		boolean found = contains(exactRanges, codePoint)
+			|| (ignoreCase ? containsIgnoreCase(codePoint)
+				: contains(ranges, codePoint));
+		
+		return found != negated;
+	}
+	
+	private static boolean contains(int[] ranges, int codePoint)
+	{
+		for(int i = 0; i < ranges.length; i += 2)
+			if(codePoint >= ranges[i] && codePoint <= ranges[i + 1])
+				return true;
+		
+		return false;
+	}
+	
+	private boolean containsIgnoreCase(int codePoint)
+	{
+		// Like Pattern: ranges also match the uppercase and its lowercase,
+		// e.g. [a-z] matches 'ı' through 'I', and single chars with case
+		// compare folded, e.g. [ς] matches 'Σ'
+		int upper = Character.toUpperCase(codePoint);
+		int folded = fold(codePoint);
+		for(int i = 0; i < ranges.length; i += 2)
+		{
+			int low = ranges[i];
+			int high = ranges[i + 1];
+			if(low == high)
+			{
+				if(codePoint == low || hasCase(low) && fold(low) == folded)
+					return true;
+				
+				continue;
+			}
+			
+			if(codePoint >= low && codePoint <= high
+				|| upper >= low && upper <= high
+				|| folded >= low && folded <= high)
+				return true;
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Whether {@code codePoint} has case the way
+	 * {@link java.util.regex.Pattern} sees it: its uppercase differs from
+	 * the lowercase of that. In a class, Pattern compares chars without
+	 * case exactly, e.g. [ß] doesn't match 'ẞ'.
+	 */
+	static boolean hasCase(int codePoint)
+	{
+		return Character.toUpperCase(codePoint) != fold(codePoint);
+	}
+	
+	/**
+	 * Folds like {@link net.signfinder.engine.CaseFolding}, but also
+	 * supplementary chars.
+	 */
+	private static int fold(int codePoint)
+	{
+		return Character.toLowerCase(Character.toUpperCase(codePoint));
+	}
+	
+	private static void sortPairs(int[] pairs)
+	{
+		// Insertion sort, classes rarely have more than a few ranges
+		for(int i = 2; i < pairs.length; i += 2)
+		{
+			int low = pairs[i];
+			int high = pairs[i + 1];
+			int j = i - 2;
+			while(j >= 0 && pairs[j] > low)
+			{
+				pairs[j + 2] = pairs[j];
+				pairs[j + 3] = pairs[j + 1];
+				j -= 2;
+			}
+			
+			pairs[j + 2] = low;
+			pairs[j + 3] = high;
+		}
+	}
+}
@@ -0,0 +1,156 @@
+package net.signfinder.engine.regex;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.signfinder.engine.regex.BudgetedText.BudgetExceededException;
+
+/**
+ * A regex for matching sign text, with a hard upper bound on how long a
+ * match may take, so that a query like {@code (a+)+$} can't freeze the
+ * client.
+ *
+ * <p>
+ * Patterns in the supported subset (see {@link RegexParser}) run on a
+ * {@link PikeProgram}, in time linear in the text. Others, e.g. with
+ * backreferences or lookaround, run on {@link Pattern} with a step budget
+ * per match; a match that runs out of steps counts as no match, and a
+ * pattern that keeps running out is switched off.
+ *
+ * <p>
+ * Case-insensitive patterns match like {@link Pattern} with
+ * {@code CASE_INSENSITIVE | UNICODE_CASE}, except for a lone 'ß': the
+ * {@link PikeProgram} folds it with
+ * {@link net.signfinder.engine.CaseFolding}, so it also matches 'ẞ', while
+ * Pattern only does that inside a run of literals.
+ *
+ * <p>
+ * Before either runs, text that lacks a literal every match needs, e.g.
+ * "diamond" in {@code diamond\s*x\d+}, is ruled out with {@code indexOf}.
+ *
+ * <p>
+ * Thread-safe.
+ */
+public final class CompiledRegex
+{
+	private static final Logger LOGGER =
+		LoggerFactory.getLogger(CompiledRegex.class);
+	
+	/**
+	 * Characters one fallback match may read: plenty for sign text, and a
+	 * few milliseconds when a pattern backtracks.
+	 */
+	static final int STEP_BUDGET = 50_000;
+	/** Matches that may run out of steps before the pattern is disabled. */
+	static final int MAX_EXHAUSTED_MATCHES = 10;
+	
+	private final String source;
+	private final boolean caseSensitive;
+	private final PikeProgram program;
+	private final Pattern fallback;
+	private final LiteralPrefilter prefilter;
+	private final AtomicInteger exhaustedMatches = new AtomicInteger();
+	
+	private CompiledRegex(String source, boolean caseSensitive,
+		PikeProgram program, Pattern fallback, LiteralPrefilter prefilter)
+	{
+		this.source = source;
+		this.caseSensitive = caseSensitive;
+		this.program = program;
+		this.fallback = fallback;
+		this.prefilter = prefilter;
+	}
+	
+	/**
+	 * @throws PatternSyntaxException
+	 *             if {@code regex} isn't valid {@link Pattern} syntax
+	 */
+	public static CompiledRegex compile(String regex, boolean caseSensitive)
+	{
+		// Also validates, so that both engines accept the same patterns
+		Pattern pattern = caseSensitive ? Pattern.compile(regex)
+			: Pattern.compile(regex,
+				Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+		
+		try
+		{
+			RegexNode node = new RegexParser(regex, !caseSensitive).parse();
+			return new CompiledRegex(regex, caseSensitive,
+				PikeProgram.compile(node, !caseSensitive), null,
+				LiteralPrefilter.of(node, !caseSensitive));
+		}catch(UnsupportedRegexException e)
+		{
+			LOGGER.debug("Regex '{}' needs backtracking ({}), budgeting it",
+				regex, e.getMessage());
+			return new CompiledRegex(regex, caseSensitive, null, pattern,
+				null);
+		}
+	}
+	
+	/**
+	 * Returns whether the regex matches anywhere in {@code text}.
+	 */
+	public boolean find(CharSequence text)
+	{
+		if(prefilter != null)
+		{
+			if(!prefilter.mightMatch(text))
+				return false;
+			
+			if(prefilter.isExact())
+				return true;
+		}
+		
+		if(program != null)
+			return program.find(text);
+		
+		if(exhaustedMatches.get() >= MAX_EXHAUSTED_MATCHES)
+			return false;
+		
+		try
+		{
+			return fallback.matcher(new BudgetedText(text, STEP_BUDGET))
+				.find();
+		}catch(BudgetExceededException | StackOverflowError e)
+		{
+			if(exhaustedMatches.incrementAndGet() == MAX_EXHAUSTED_MATCHES)
+				LOGGER.warn(
+					"Regex '{}' is too slow to match, it now matches nothing",
+					source);
+			
+			return false;
+		}
+	}
+	
+	/**
+	 * Whether matches run in linear time, rather than with a step budget.
+	 */
+	public boolean isLinear()
+	{
+		return program != null;
+	}
+	
+	/**
+	 * Literals that every match contains, longest first. Empty if there are
+	 * none, or the regex isn't linear.
+	 */
+	public List<String> getRequiredLiterals()
+	{
+		return prefilter != null ? prefilter.getLiterals() : List.of();
+	}
+	
+	public String getSource()
+	{
+		return source;
+	}
+	
+	public boolean isCaseSensitive()
+	{
+		return caseSensitive;
+	}
+}
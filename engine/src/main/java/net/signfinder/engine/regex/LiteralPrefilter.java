@@ -0,0 +1,141 @@
+package net.signfinder.engine.regex;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import net.signfinder.engine.CaseFolding;
+
+/**
+ * Literal strings that every match of a regex contains, e.g. "diamond" in
+ * {@code diamond\s*x\d+}. Most sign text contains none of them, so an
+ * {@code indexOf} per literal rules it out before the regex runs.
+ *
+ * <p>
+ * Only literals that are required on every path count: none are taken from
+ * alternatives or optional parts.
+ */
+final class LiteralPrefilter
+{
+	/** Longest first, as those are the least likely to be found. */
+	private final List<String> literals;
+	private final boolean ignoreCase;
+	/** The regex is a single literal, so finding it is a match. */
+	private final boolean exact;
+	
+	private LiteralPrefilter(List<String> literals, boolean ignoreCase,
+		boolean exact)
+	{
+		this.literals = literals;
+		this.ignoreCase = ignoreCase;
+		this.exact = exact;
+	}
+	
+	/**
+	 * @param ignoreCase
+	 *            Whether the literals in {@code node} have been folded with
+	 *            {@link CaseFolding} and match in either case
+	 * @return null if no literal is required
+	 */
+	static LiteralPrefilter of(RegexNode node, boolean ignoreCase)
+	{
+		List<String> literals = new ArrayList<>();
+		StringBuilder run = new StringBuilder();
+		collect(node, literals, run);
+		flush(run, literals);
+		if(literals.isEmpty())
+			return null;
+		
+		List<String> sorted = literals.stream().distinct()
+			.sorted(Comparator.comparingInt(String::length).reversed())
+			.toList();
+		return new LiteralPrefilter(sorted, ignoreCase, isLiteral(node));
+	}
+	
+	/**
+	 * Returns false if {@code text} can't match, because it lacks one of
+	 * the required literals.
+	 */
+	boolean mightMatch(CharSequence text)
+	{
+		for(String literal : literals)
+			if(indexOf(text, literal) < 0)
+				return false;
+		
+		return true;
+	}
+	
+	/**
+	 * Whether passing {@link #mightMatch(CharSequence)} is already a match.
+	 */
+	boolean isExact()
+	{
+		return exact;
+	}
+	
+	List<String> getLiterals()
+	{
+		return literals;
+	}
+	
+	private int indexOf(CharSequence text, String literal)
+	{
+		if(ignoreCase)
+			return CaseFolding.indexOf(text, literal);
+		
+		return text instanceof String string ? string.indexOf(literal)
+			: text.toString().indexOf(literal);
+	}
+	
+	/**
+	 * Adds the literals that {@code node} requires to {@code literals}.
+	 * Adjacent literal code points are joined in {@code run}.
+	 */
+	private static void collect(RegexNode node, List<String> literals,
+		StringBuilder run)
+	{
+		switch(node)
+		{
+			case RegexNode.Literal literal ->
+				run.appendCodePoint(literal.codePoint());
+			case RegexNode.Concat concat ->
+			{
+				for(RegexNode item : concat.items())
+					collect(item, literals, run);
+			}
+			// Zero-width, so the literals around them are still adjacent
+			case RegexNode.Assertion assertion ->
+			{}
+			case RegexNode.Empty empty ->
+			{}
+			case RegexNode.Repeat repeat when repeat.min() > 0 ->
+			{
+				flush(run, literals);
+				StringBuilder inner = new StringBuilder();
+				collect(repeat.node(), literals, inner);
+				flush(inner, literals);
+			}
+			default -> flush(run, literals);
+		}
+	}
+	
+	private static void flush(StringBuilder run, List<String> literals)
+	{
+		if(run.isEmpty())
+			return;
+		
+		literals.add(run.toString());
+		run.setLength(0);
+	}
+	
+	private static boolean isLiteral(RegexNode node)
+	{
+		return switch(node)
+		{
+			case RegexNode.Literal literal -> true;
+			case RegexNode.Concat concat -> concat.items().stream()
+				.allMatch(LiteralPrefilter::isLiteral);
+			default -> false;
+		};
+	}
+}
@@ -0,0 +1,385 @@
+package net.signfinder.engine.regex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.signfinder.engine.CaseFolding;
+
+/**
+ * A regex compiled to a Thompson NFA, run as a Pike VM: all threads advance
+ * together one code point at a time, and a state holds at most one thread.
+ * A search therefore takes time linear in the text, times the program
+ * size, no matter how the pattern is nested.
+ *
+ * <p>
+ * Only reports whether there is a match, not where, so no captures or
+ * thread priorities are kept. Immutable and thread-safe; the thread lists
+ * are kept per thread, so a search allocates nothing once a thread has
+ * run the program.
+ */
+final class PikeProgram
+{
+	static final int ASSERT_BEGIN = 0;
+	static final int ASSERT_END = 1;
+	static final int ASSERT_WORD_BOUNDARY = 2;
+	static final int ASSERT_NOT_WORD_BOUNDARY = 3;
+	
+	/** Bounds both memory and the time per code point. */
+	static final int MAX_INSTRUCTIONS = 5000;
+	
+	private static final int CHAR = 0;
+	private static final int ANY = 1;
+	private static final int CLASS = 2;
+	private static final int SPLIT = 3;
+	private static final int JUMP = 4;
+	private static final int ASSERT = 5;
+	private static final int MATCH = 6;
+	
+	private final int[] ops;
+	/** Code point, class index, assertion kind or first target. */
+	private final int[] args;
+	/** Second target of a split. */
+	private final int[] alternates;
+	private final CharClass[] classes;
+	private final boolean ignoreCase;
+	/** Can only match at the start, so only one thread is started. */
+	private final boolean anchored;
+	private final ThreadLocal<Scratch> scratch;
+	
+	private PikeProgram(Builder builder, boolean ignoreCase, boolean anchored)
+	{
+		ops = Arrays.copyOf(builder.ops, builder.size);
+		args = Arrays.copyOf(builder.args, builder.size);
+		alternates = Arrays.copyOf(builder.alternates, builder.size);
+		classes = builder.classes.toArray(new CharClass[0]);
+		this.ignoreCase = ignoreCase;
+		this.anchored = anchored;
+		int size = ops.length;
+		scratch = ThreadLocal.withInitial(() -> new Scratch(size));
+	}
+	
+	/**
+	 * @throws UnsupportedRegexException
+	 *             if the program would exceed {@link #MAX_INSTRUCTIONS}
+	 */
+	static PikeProgram compile(RegexNode node, boolean ignoreCase)
+	{
+		Builder builder = new Builder();
+		builder.emit(node);
+		builder.add(MATCH, 0, 0);
+		return new PikeProgram(builder, ignoreCase, startsWithBegin(node));
+	}
+	
+	/**
+	 * Returns whether the program matches anywhere in {@code text}.
+	 */
+	boolean find(CharSequence text)
+	{
+		Scratch scratch = this.scratch.get();
+		ThreadList current = scratch.current;
+		ThreadList next = scratch.next;
+		int[] stack = scratch.stack;
+		current.clear();
+		
+		int length = text.length();
+		int pos = 0;
+		while(true)
+		{
+			if((!anchored || pos == 0)
+				&& addThread(current, 0, text, pos, stack))
+				return true;
+			
+			if(pos >= length || current.size == 0 && anchored)
+				return false;
+			
+			int codePoint = Character.codePointAt(text, pos);
+			int nextPos = pos + Character.charCount(codePoint);
+			
+			next.clear();
+			for(int i = 0; i < current.size; i++)
+			{
+				int pc = current.dense[i];
+				if(step(pc, codePoint)
+					&& addThread(next, pc + 1, text, nextPos, stack))
+					return true;
+			}
+			
+			ThreadList swap = current;
+			current = next;
+			next = swap;
+			pos = nextPos;
+		}
+	}
+	
+	/**
+	 * Adds the thread at {@code start} and every thread reachable from it
+	 * without consuming input.
+	 *
+	 * @return true if one of them is a match
+	 */
+	private boolean addThread(ThreadList list, int start, CharSequence text,
+		int pos, int[] stack)
+	{
+		int top = 0;
+		stack[top++] = start;
+		while(top > 0)
+		{
+			int pc = stack[--top];
+			if(list.contains(pc))
+				continue;
+			
+			list.add(pc);
+			switch(ops[pc])
+			{
+				case MATCH:
+				return true;
+				
+				case JUMP:
+				stack[top++] = args[pc];
+				break;
+				
+				case SPLIT:
+				stack[top++] = alternates[pc];
+				stack[top++] = args[pc];
+				break;
+				
+				case ASSERT:
+				if(holds(args[pc], text, pos))
+					stack[top++] = pc + 1;
+				break;
+				
+				default:
+				// Consumes a code point, advanced by step()
+				break;
+			}
+		}
+		
+		return false;
+	}
+	
+	private boolean step(int pc, int codePoint)
+	{
+		return switch(ops[pc])
+		{
+			case CHAR -> (ignoreCase ? CaseFolding.fold(codePoint)
+				: codePoint) == args[pc];
+			case ANY -> !isLineTerminator(codePoint);
+			case CLASS -> classes[args[pc]].matches(codePoint, ignoreCase);
+			default -> false;
+		};
+	}
+	
+	private static boolean holds(int kind, CharSequence text, int pos)
+	{
+		int length = text.length();
+		switch(kind)
+		{
+			case ASSERT_BEGIN:
+			return pos == 0;
+			
+			case ASSERT_END:
+			// Like Pattern's $: also before a line terminator at the end
+			if(pos == length)
+				return true;
+			
+			if(pos == length - 2)
+				return text.charAt(pos) == '\r'
+					&& text.charAt(pos + 1) == '\n';
+			
+			return pos == length - 1 && isLineTerminator(text.charAt(pos))
+				&& !(text.charAt(pos) == '\n' && pos > 0
+					&& text.charAt(pos - 1) == '\r');
+			
+			case ASSERT_WORD_BOUNDARY:
+			return isWordBoundary(text, pos);
+			
+			case ASSERT_NOT_WORD_BOUNDARY:
+			return !isWordBoundary(text, pos);
+			
+			default:
+			throw new IllegalStateException("Unknown assertion " + kind);
+		}
+	}
+	
+	private static boolean isWordBoundary(CharSequence text, int pos)
+	{
+		boolean before =
+			pos > 0 && isWordChar(Character.codePointBefore(text, pos));
+		boolean after = pos < text.length()
+			&& isWordChar(Character.codePointAt(text, pos));
+		return before != after;
+	}
+	
+	private static boolean isWordChar(int codePoint)
+	{
+		// Same as \w, like Pattern's \b since Java 19
+		return codePoint < 0x80 && CharClass.WORD.matches(codePoint, false);
+	}
+	
+	private static boolean isLineTerminator(int codePoint)
+	{
+		return codePoint == '\n' || codePoint == '\r' || codePoint == 0x85
+			|| codePoint == 0x2028 || codePoint == 0x2029;
+	}
+	
+	private static boolean startsWithBegin(RegexNode node)
+	{
+		if(node instanceof RegexNode.Concat concat)
+			node = concat.items().get(0);
+		
+		return node instanceof RegexNode.Assertion assertion
+			&& assertion.kind() == ASSERT_BEGIN;
+	}
+	
+	/**
+	 * Per-thread working memory of {@link #find(CharSequence)}.
+	 */
+	private static final class Scratch
+	{
+		final ThreadList current;
+		final ThreadList next;
+		/**
+		 * Every instruction is added at most once per position, and each
+		 * adds at most two more, so the stack can't overflow.
+		 */
+		final int[] stack;
+		
+		Scratch(int size)
+		{
+			current = new ThreadList(size);
+			next = new ThreadList(size);
+			stack = new int[size * 2 + 1];
+		}
+	}
+	
+	/**
+	 * Program counters of the threads at one position, as a sparse set:
+	 * constant-time add, contains and clear.
+	 */
+	private static final class ThreadList
+	{
+		final int[] dense;
+		final int[] sparse;
+		int size;
+		
+		ThreadList(int capacity)
+		{
+			dense = new int[capacity];
+			sparse = new int[capacity];
+		}
+		
+		boolean contains(int pc)
+		{
+			int index = sparse[pc];
+			return index < size && dense[index] == pc;
+		}
+		
+		void add(int pc)
+		{
+			sparse[pc] = size;
+			dense[size++] = pc;
+		}
+		
+		void clear()
+		{
+			size = 0;
+		}
+	}
+	
+	private static final class Builder
+	{
+		int[] ops = new int[16];
+		int[] args = new int[16];
+		int[] alternates = new int[16];
+		int size;
+		final List<CharClass> classes = new ArrayList<>();
+		
+		void emit(RegexNode node)
+		{
+			switch(node)
+			{
+				case RegexNode.Empty empty ->
+				{}
+				case RegexNode.Literal literal ->
+					add(CHAR, literal.codePoint(), 0);
+				case RegexNode.AnyChar any -> add(ANY, 0, 0);
+				case RegexNode.CharSet set ->
+				{
+					classes.add(set.charClass());
+					add(CLASS, classes.size() - 1, 0);
+				}
+				case RegexNode.Assertion assertion ->
+					add(ASSERT, assertion.kind(), 0);
+				case RegexNode.Concat concat ->
+				{
+					for(RegexNode item : concat.items())
+						emit(item);
+				}
+				case RegexNode.Alternation alternation ->
+					emitAlternation(alternation.alternatives());
+				case RegexNode.Repeat repeat -> emitRepeat(repeat);
+			}
+		}
+		
+		private void emitAlternation(List<RegexNode> alternatives)
+		{
+			int[] jumps = new int[alternatives.size() - 1];
+			for(int i = 0; i < jumps.length; i++)
+			{
+				int split = add(SPLIT, size + 1, 0);
+				emit(alternatives.get(i));
+				jumps[i] = add(JUMP, 0, 0);
+				alternates[split] = size;
+			}
+			
+			emit(alternatives.get(jumps.length));
+			for(int jump : jumps)
+				args[jump] = size;
+		}
+		
+		private void emitRepeat(RegexNode.Repeat repeat)
+		{
+			for(int i = 0; i < repeat.min(); i++)
+				emit(repeat.node());
+			
+			if(repeat.max() == RegexNode.UNBOUNDED)
+			{
+				int loop = add(SPLIT, size + 1, 0);
+				emit(repeat.node());
+				add(JUMP, loop, 0);
+				alternates[loop] = size;
+				return;
+			}
+			
+			// x{2,4} is xx(x(x)?)?, each optional copy may skip to the end
+			int[] splits = new int[repeat.max() - repeat.min()];
+			for(int i = 0; i < splits.length; i++)
+			{
+				splits[i] = add(SPLIT, size + 1, 0);
+				emit(repeat.node());
+			}
+			
+			for(int split : splits)
+				alternates[split] = size;
+		}
+		
+		int add(int op, int arg, int alternate)
+		{
+			if(size >= MAX_INSTRUCTIONS)
+				throw new UnsupportedRegexException("program too large");
+			
+			if(size == ops.length)
+			{
+				ops = Arrays.copyOf(ops, size * 2);
+				args = Arrays.copyOf(args, size * 2);
+				alternates = Arrays.copyOf(alternates, size * 2);
+			}
+			
+			ops[size] = op;
+			args[size] = arg;
+			alternates[size] = alternate;
+			return size++;
+		}
+	}
+}
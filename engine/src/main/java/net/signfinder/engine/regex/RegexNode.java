@@ -0,0 +1,44 @@
+package net.signfinder.engine.regex;
+
+import java.util.List;
+
+/**
+ * Syntax tree of a regex in the subset that {@link PikeProgram} runs.
+ */
+sealed interface RegexNode
+{
+	/** Repetition without an upper bound. */
+	int UNBOUNDED = -1;
+	
+	/** Matches the empty string, e.g. an empty alternative. */
+	record Empty() implements RegexNode
+	{}
+	
+	/** One code point, case-folded if matching ignores case. */
+	record Literal(int codePoint) implements RegexNode
+	{}
+	
+	/** {@code .}, any code point except line terminators. */
+	record AnyChar() implements RegexNode
+	{}
+	
+	record CharSet(CharClass charClass) implements RegexNode
+	{}
+	
+	/** Zero-width check, one of the {@code PikeProgram.ASSERT_*} kinds. */
+	record Assertion(int kind) implements RegexNode
+	{}
+	
+	record Concat(List<RegexNode> items) implements RegexNode
+	{}
+	
+	record Alternation(List<RegexNode> alternatives) implements RegexNode
+	{}
+	
+	/**
+	 * @param max
+	 *            Upper bound, or {@link #UNBOUNDED}
+	 */
+	record Repeat(RegexNode node, int min, int max) implements RegexNode
+	{}
+}
@@ -0,0 +1,445 @@
+package net.signfinder.engine.regex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.signfinder.engine.CaseFolding;
+
+/**
+ * Parses the regex subset that {@link PikeProgram} can run without
+ * backtracking. The pattern must already have been accepted by
+ * {@link java.util.regex.Pattern}; anything outside the subset, or read
+ * differently by the JDK, throws {@link UnsupportedRegexException}.
+ *
+ * <p>
+ * Supported: literals, {@code .}, classes with ranges and negation,
+ * {@code \d \w \s} and their negations, common escapes, groups,
+ * alternation, greedy and lazy quantifiers, {@code ^ $ \b \B}.
+ */
+final class RegexParser
+{
+	/** Bounded repeats are unrolled, so their counts are kept small. */
+	private static final int MAX_REPEAT = 1000;
+	private static final int[] NONE = new int[0];
+	
+	private final int[] pattern;
+	private final boolean ignoreCase;
+	private int pos;
+	
+	RegexParser(String regex, boolean ignoreCase)
+	{
+		pattern = regex.codePoints().toArray();
+		this.ignoreCase = ignoreCase;
+	}
+	
+	RegexNode parse()
+	{
+		RegexNode node = parseAlternation();
+		if(pos < pattern.length)
+			throw unsupported("unbalanced ')'");
+		
+		return node;
+	}
+	
+	private RegexNode parseAlternation()
+	{
+		List<RegexNode> alternatives = new ArrayList<>();
+		alternatives.add(parseSequence());
+		while(peek() == '|')
+		{
+			pos++;
+			alternatives.add(parseSequence());
+		}
+		
+		return alternatives.size() == 1 ? alternatives.get(0)
+			: new RegexNode.Alternation(List.copyOf(alternatives));
+	}
+	
+	private RegexNode parseSequence()
+	{
+		List<RegexNode> items = new ArrayList<>();
+		while(pos < pattern.length && peek() != '|' && peek() != ')')
+			items.add(parseRepeat());
+		
+		return switch(items.size())
+		{
+			case 0 -> new RegexNode.Empty();
+			case 1 -> items.get(0);
+			default -> new RegexNode.Concat(List.copyOf(items));
+		};
+	}
+	
+	private RegexNode parseRepeat()
+	{
+		RegexNode atom = parseAtom();
+		
+		int min;
+		int max;
+		switch(peek())
+		{
+			case '*':
+			min = 0;
+			max = RegexNode.UNBOUNDED;
+			pos++;
+			break;
+			
+			case '+':
+			min = 1;
+			max = RegexNode.UNBOUNDED;
+			pos++;
+			break;
+			
+			case '?':
+			min = 0;
+			max = 1;
+			pos++;
+			break;
+			
+			case '{':
+			pos++;
+			min = parseNumber();
+			max = min;
+			if(peek() == ',')
+			{
+				pos++;
+				max = peek() == '}' ? RegexNode.UNBOUNDED : parseNumber();
+			}
+			
+			expect('}');
+			break;
+			
+			default:
+			return atom;
+		}
+		
+		if(atom instanceof RegexNode.Assertion)
+			throw unsupported("quantified assertion");
+		
+		// Lazy and greedy only differ in which match is reported, and only
+		// whether there is one matters here
+		if(peek() == '?')
+			pos++;
+		else if(peek() == '+')
+			throw unsupported("possessive quantifier");
+		
+		int next = peek();
+		if(next == '*' || next == '+' || next == '?' || next == '{')
+			throw unsupported("stacked quantifiers");
+		
+		if(min > MAX_REPEAT || max > MAX_REPEAT)
+			throw unsupported("repeat count");
+		
+		return new RegexNode.Repeat(atom, min, max);
+	}
+	
+	private RegexNode parseAtom()
+	{
+		int c = pattern[pos++];
+		switch(c)
+		{
+			case '(':
+			if(peek() == '?')
+			{
+				if(peekAt(pos + 1) != ':')
+					throw unsupported("special group");
+				
+				pos += 2;
+			}
+			
+			RegexNode group = parseAlternation();
+			expect(')');
+			return group;
+			
+			case '[':
+			return new RegexNode.CharSet(parseClass());
+			
+			case '.':
+			return new RegexNode.AnyChar();
+			
+			case '^':
+			return new RegexNode.Assertion(PikeProgram.ASSERT_BEGIN);
+			
+			case '$':
+			return new RegexNode.Assertion(PikeProgram.ASSERT_END);
+			
+			case '\\':
+			return parseEscape();
+			
+			case '*':
+			case '+':
+			case '?':
+			case '{':
+			throw unsupported("dangling quantifier");
+			
+			default:
+			return literal(c);
+		}
+	}
+	
+	private RegexNode parseEscape()
+	{
+		int c = next();
+		switch(c)
+		{
+			case 'b':
+			return new RegexNode.Assertion(PikeProgram.ASSERT_WORD_BOUNDARY);
+			
+			case 'B':
+			return new RegexNode.Assertion(
+				PikeProgram.ASSERT_NOT_WORD_BOUNDARY);
+			
+			default:
+			CharClass predefined = predefinedClass(c);
+			if(predefined != null)
+				return new RegexNode.CharSet(predefined);
+			
+			return literal(escapedChar(c));
+		}
+	}
+	
+	private CharClass parseClass()
+	{
+		boolean negated = false;
+		if(peek() == '^')
+		{
+			negated = true;
+			pos++;
+		}
+		
+		// Java reads a leading ']' in its own way, so leave it to the JDK
+		if(peek() == ']')
+			throw unsupported("leading ']' in class");
+		
+		List<int[]> parts = new ArrayList<>();
+		List<int[]> exactParts = new ArrayList<>();
+		boolean first = true;
+		while(true)
+		{
+			if(pos >= pattern.length)
+				throw unsupported("unterminated class");
+			
+			int c = pattern[pos++];
+			if(c == ']')
+				break;
+			
+			if(c == '[')
+				throw unsupported("nested class");
+			
+			if(c == '&' && peek() == '&')
+				throw unsupported("class intersection");
+			
+			if(c == '-' && !first && peek() != ']')
+				throw unsupported("ambiguous '-' in class");
+			
+			first = false;
+			
+			int low;
+			if(c == '\\')
+			{
+				int escaped = next();
+				CharClass predefined = predefinedClass(escaped);
+				if(predefined != null)
+				{
+					exactParts.add(predefined.toExactRanges());
+					continue;
+				}
+				
+				low = escapedChar(escaped);
+			}else
+				low = c;
+			
+			int high = low;
+			if(peek() == '-' && peekAt(pos + 1) != ']' && peekAt(pos + 1) >= 0)
+			{
+				pos++;
+				int end = pattern[pos++];
+				if(end == '[')
+					throw unsupported("nested class");
+				
+				if(end == '\\')
+				{
+					int escaped = next();
+					if(predefinedClass(escaped) != null)
+						throw unsupported("class in range");
+					
+					end = escapedChar(escaped);
+				}
+				
+				high = end;
+			}
+			
+			if(high < low)
+				throw unsupported("reversed range");
+			
+			parts.add(new int[]{low, high});
+		}
+		
+		return new CharClass(concat(parts), concat(exactParts), negated);
+	}
+	
+	private static int[] concat(List<int[]> parts)
+	{
+		int size = 0;
+		for(int[] part : parts)
+			size += part.length;
+		
+		int[] ranges = new int[size];
+		int offset = 0;
+		for(int[] part : parts)
+		{
+			System.arraycopy(part, 0, ranges, offset, part.length);
+			offset += part.length;
+		}
+		
+		return ranges;
+	}
+	
+	private static CharClass predefinedClass(int c)
+	{
+		return switch(c)
+		{
+			case 'd' -> CharClass.DIGIT;
+			case 'w' -> CharClass.WORD;
+			case 's' -> CharClass.SPACE;
+			case 'D' -> CharClass.DIGIT.negate();
+			case 'W' -> CharClass.WORD.negate();
+			case 'S' -> CharClass.SPACE.negate();
+			default -> null;
+		};
+	}
+	
+	/**
+	 * Reads the character that an escape stands for, e.g. {@code \t} or
+	 * {@code \.}.
+	 */
+	private int escapedChar(int c)
+	{
+		switch(c)
+		{
+			case 't':
+			return '\t';
+			
+			case 'n':
+			return '\n';
+			
+			case 'r':
+			return '\r';
+			
+			case 'f':
+			return '\f';
+			
+			case 'a':
+			return 0x07;
+			
+			case 'e':
+			return 0x1B;
+			
+			case 'x':
+			if(peek() == '{')
+				throw unsupported("\\x{...}");
+			
+			return parseHex(2);
+			
+			case 'u':
+			int unit = parseHex(4);
+			// Like Pattern, an escaped surrogate pair is one code point
+			if(Character.isHighSurrogate((char)unit) && peek() == '\\'
+				&& peekAt(pos + 1) == 'u')
+			{
+				int start = pos;
+				pos += 2;
+				int low = parseHex(4);
+				if(Character.isLowSurrogate((char)low))
+					return Character.toCodePoint((char)unit, (char)low);
+				
+				pos = start;
+			}
+			
+			return unit;
+			
+			default:
+			// Escaped letters and digits have special meanings, e.g.
+			// backreferences, \p or \Q, that this parser doesn't cover
+			if(c < 0x80 && Character.isLetterOrDigit(c))
+				throw unsupported("\\" + Character.toString(c));
+			
+			return c;
+		}
+	}
+	
+	private RegexNode literal(int codePoint)
+	{
+		if(!ignoreCase)
+			return new RegexNode.Literal(codePoint);
+		
+		// CaseFolding only covers the BMP, so supplementary chars with case
+		// match through a class, e.g. '𐐀' also matching '𐐨'
+		if(codePoint > Character.MAX_VALUE && CharClass.hasCase(codePoint))
+			return new RegexNode.CharSet(
+				new CharClass(new int[]{codePoint, codePoint}, NONE, false));
+		
+		return new RegexNode.Literal(CaseFolding.fold(codePoint));
+	}
+	
+	private int parseNumber()
+	{
+		int start = pos;
+		long value = 0;
+		while(peek() >= '0' && peek() <= '9')
+		{
+			value = Math.min(value * 10 + pattern[pos++] - '0',
+				Integer.MAX_VALUE);
+		}
+		
+		if(pos == start)
+			throw unsupported("malformed repeat");
+		
+		return (int)value;
+	}
+	
+	private int parseHex(int digits)
+	{
+		int value = 0;
+		for(int i = 0; i < digits; i++)
+		{
+			int digit = Character.digit(next(), 16);
+			if(digit < 0)
+				throw unsupported("malformed hex escape");
+			
+			value = value * 16 + digit;
+		}
+		
+		return value;
+	}
+	
+	private void expect(int c)
+	{
+		if(peek() != c)
+			throw unsupported("expected '" + Character.toString(c) + "'");
+		
+		pos++;
+	}
+	
+	private int next()
+	{
+		if(pos >= pattern.length)
+			throw unsupported("trailing '\\'");
+		
+		return pattern[pos++];
+	}
+	
+	private int peek()
+	{
+		return peekAt(pos);
+	}
+	
+	private int peekAt(int index)
+	{
+		return index < pattern.length ? pattern[index] : -1;
+	}
+	
+	private static UnsupportedRegexException unsupported(String feature)
+	{
+		return new UnsupportedRegexException(feature);
+	}
+}
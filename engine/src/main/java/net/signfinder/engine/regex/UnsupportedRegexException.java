@@ -0,0 +1,15 @@
+package net.signfinder.engine.regex;
+
+/**
+ * Thrown by {@link RegexParser} and {@link PikeProgram} for valid regexes
+ * they can't run, which are then matched by {@link java.util.regex.Pattern}
+ * instead.
+ */
+final class UnsupportedRegexException extends RuntimeException
+{
+	UnsupportedRegexException(String feature)
+	{
+		// Control flow rather than an error, so no stack trace
+		super(feature, null, false, false);
+	}
+}
@@ -0,0 +1,34 @@
+package net.signfinder.engine.trace;
+
+/**
+ * Layout of tick trace files, shared by {@link TraceWriter} and
+ * {@link TraceReader}.
+ *
+ * <p>
+ * A trace is a gzip stream that starts with {@link #MAGIC} and
+ * {@link #VERSION}, followed by events. Each event is one opcode byte and its
+ * fields. Strings are written once and referred to by index afterwards,
+ * since market signs repeat the same lines a lot. Player positions are
+ * stored as deltas in 1/16 blocks, so a player standing still costs four
+ * bytes per tick.
+ */
+enum TraceFormat
+{
+	;
+	
+	/** "SFTR" */
+	static final int MAGIC = 0x53465452;
+	static final int VERSION = 1;
+	
+	/** Player positions are rounded to this fraction of a block. */
+	static final double POSITION_SCALE = 16;
+	
+	static final int TICK = 1;
+	static final int CHUNK_LOAD = 2;
+	static final int CHUNK_UNLOAD = 3;
+	static final int SIGN = 4;
+	static final int ITEM_FRAME = 5;
+	static final int REMOVE = 6;
+	static final int SEARCH = 7;
+	static final int END = 0;
+}
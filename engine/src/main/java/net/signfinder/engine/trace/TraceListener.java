@@ -0,0 +1,53 @@
+package net.signfinder.engine.trace;
+
+import net.signfinder.engine.SearchQuery;
+
+/**
+ * Receives the events of a trace, in recording order. Every method does
+ * nothing by default.
+ */
+public interface TraceListener
+{
+	/**
+	 * Start of a client tick. Events up to the next tick happened during
+	 * this one.
+	 */
+	default void onTick(double x, double y, double z)
+	{}
+	
+	default void onChunkLoad(int chunkX, int chunkZ)
+	{}
+	
+	/**
+	 * Every sign and item frame in the chunk is gone with it; there are no
+	 * separate remove events for them.
+	 */
+	default void onChunkUnload(int chunkX, int chunkZ)
+	{}
+	
+	/**
+	 * A sign came into view, or its text changed.
+	 *
+	 * @param pos
+	 *            Block position, packed with
+	 *            {@link net.signfinder.engine.PackedPos}
+	 */
+	default void onSign(long pos, String[] lines)
+	{}
+	
+	/**
+	 * An item frame with an item came into view, or its item changed.
+	 */
+	default void onItemFrame(long pos, String itemName)
+	{}
+	
+	/**
+	 * A sign was broken, or an item frame was emptied or removed, while its
+	 * chunk stayed loaded.
+	 */
+	default void onRemove(long pos)
+	{}
+	
+	default void onSearch(SearchQuery query)
+	{}
+}
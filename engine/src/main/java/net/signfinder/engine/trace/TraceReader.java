@@ -0,0 +1,173 @@
+package net.signfinder.engine.trace;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import net.signfinder.engine.SearchQuery;
+import net.signfinder.engine.SearchQuery.SearchType;
+
+/**
+ * Reads a tick trace written by {@link TraceWriter} and passes its events to
+ * a {@link TraceListener}.
+ *
+ * <p>
+ * Not thread-safe.
+ */
+public final class TraceReader implements Closeable
+{
+	private static final SearchType[] SEARCH_TYPES = SearchType.values();
+	
+	private final DataInputStream in;
+	private final List<String> strings = new ArrayList<>();
+	private long lastX;
+	private long lastY;
+	private long lastZ;
+	
+	public TraceReader(InputStream in) throws IOException
+	{
+		this.in = new DataInputStream(
+			new BufferedInputStream(new GZIPInputStream(in)));
+		
+		if(this.in.readInt() != TraceFormat.MAGIC)
+			throw new IOException("Not a SignFinder trace");
+		
+		int version = this.in.readUnsignedByte();
+		if(version != TraceFormat.VERSION)
+			throw new IOException("Unsupported trace version " + version
+				+ ", expected " + TraceFormat.VERSION);
+	}
+	
+	public static TraceReader open(Path file) throws IOException
+	{
+		return new TraceReader(Files.newInputStream(file));
+	}
+	
+	/**
+	 * Reads the rest of the trace.
+	 *
+	 * @return Number of events read
+	 */
+	public long readAll(TraceListener listener) throws IOException
+	{
+		long events = 0;
+		while(readNext(listener))
+			events++;
+		
+		return events;
+	}
+	
+	/**
+	 * Reads one event.
+	 *
+	 * @return false at the end of the trace
+	 */
+	public boolean readNext(TraceListener listener) throws IOException
+	{
+		int opcode = in.readUnsignedByte();
+		switch(opcode)
+		{
+			case TraceFormat.END:
+			return false;
+			
+			case TraceFormat.TICK:
+			lastX += readSignedVarLong();
+			lastY += readSignedVarLong();
+			lastZ += readSignedVarLong();
+			listener.onTick(lastX / TraceFormat.POSITION_SCALE,
+				lastY / TraceFormat.POSITION_SCALE,
+				lastZ / TraceFormat.POSITION_SCALE);
+			return true;
+			
+			case TraceFormat.CHUNK_LOAD:
+			listener.onChunkLoad((int)readSignedVarLong(),
+				(int)readSignedVarLong());
+			return true;
+			
+			case TraceFormat.CHUNK_UNLOAD:
+			listener.onChunkUnload((int)readSignedVarLong(),
+				(int)readSignedVarLong());
+			return true;
+			
+			case TraceFormat.SIGN:
+			long signPos = in.readLong();
+			String[] lines = new String[(int)readVarLong()];
+			for(int i = 0; i < lines.length; i++)
+				lines[i] = readString();
+			
+			listener.onSign(signPos, lines);
+			return true;
+			
+			case TraceFormat.ITEM_FRAME:
+			long framePos = in.readLong();
+			listener.onItemFrame(framePos, readString());
+			return true;
+			
+			case TraceFormat.REMOVE:
+			listener.onRemove(in.readLong());
+			return true;
+			
+			case TraceFormat.SEARCH:
+			int type = in.readUnsignedByte();
+			if(type >= SEARCH_TYPES.length)
+				throw new IOException("Unknown search type " + type);
+			
+			String query = readString();
+			int radius = (int)readVarLong();
+			boolean caseSensitive = in.readBoolean();
+			listener.onSearch(new SearchQuery(query, SEARCH_TYPES[type],
+				radius, caseSensitive));
+			return true;
+			
+			default:
+			throw new IOException("Unknown trace event " + opcode);
+		}
+	}
+	
+	@Override
+	public void close() throws IOException
+	{
+		in.close();
+	}
+	
+	private String readString() throws IOException
+	{
+		int index = (int)readVarLong();
+		if(index < strings.size())
+			return strings.get(index);
+		
+		if(index != strings.size())
+			throw new IOException("Bad string reference " + index);
+		
+		String value = in.readUTF();
+		strings.add(value);
+		return value;
+	}
+	
+	private long readSignedVarLong() throws IOException
+	{
+		long value = readVarLong();
+		return value >>> 1 ^ -(value & 1);
+	}
+	
+	private long readVarLong() throws IOException
+	{
+		long value = 0;
+		for(int shift = 0; shift < 64; shift += 7)
+		{
+			int b = in.readUnsignedByte();
+			value |= (long)(b & 0x7F) << shift;
+			if((b & 0x80) == 0)
+				return value;
+		}
+		
+		throw new IOException("Malformed varint");
+	}
+}
@@ -0,0 +1,173 @@
+package net.signfinder.engine.trace;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.signfinder.engine.SearchQuery;
+
+/**
+ * Writes a tick trace: what SignFinder saw of the world tick by tick, for
+ * replaying it later without a client. See {@link TraceFormat} for the
+ * layout.
+ *
+ * <p>
+ * Not thread-safe.
+ */
+public final class TraceWriter implements Closeable
+{
+	private final DataOutputStream out;
+	private final Object2IntOpenHashMap<String> strings =
+		new Object2IntOpenHashMap<>();
+	private long lastX;
+	private long lastY;
+	private long lastZ;
+	private long events;
+	
+	public TraceWriter(OutputStream out) throws IOException
+	{
+		this.out = new DataOutputStream(new BufferedOutputStream(
+			new GZIPOutputStream(out)));
+		strings.defaultReturnValue(-1);
+		
+		this.out.writeInt(TraceFormat.MAGIC);
+		this.out.writeByte(TraceFormat.VERSION);
+	}
+	
+	/**
+	 * Creates {@code file} and its parent directories, replacing any
+	 * existing file.
+	 */
+	public static TraceWriter create(Path file) throws IOException
+	{
+		Path parent = file.toAbsolutePath().getParent();
+		if(parent != null)
+			Files.createDirectories(parent);
+		
+		return new TraceWriter(Files.newOutputStream(file));
+	}
+	
+	public void tick(double x, double y, double z) throws IOException
+	{
+		long scaledX = Math.round(x * TraceFormat.POSITION_SCALE);
+		long scaledY = Math.round(y * TraceFormat.POSITION_SCALE);
+		long scaledZ = Math.round(z * TraceFormat.POSITION_SCALE);
+		
+		out.writeByte(TraceFormat.TICK);
+		writeSignedVarLong(scaledX - lastX);
+		writeSignedVarLong(scaledY - lastY);
+		writeSignedVarLong(scaledZ - lastZ);
+		lastX = scaledX;
+		lastY = scaledY;
+		lastZ = scaledZ;
+		events++;
+	}
+	
+	public void chunkLoad(int chunkX, int chunkZ) throws IOException
+	{
+		writeChunkEvent(TraceFormat.CHUNK_LOAD, chunkX, chunkZ);
+	}
+	
+	public void chunkUnload(int chunkX, int chunkZ) throws IOException
+	{
+		writeChunkEvent(TraceFormat.CHUNK_UNLOAD, chunkX, chunkZ);
+	}
+	
+	public void sign(long pos, String[] lines) throws IOException
+	{
+		out.writeByte(TraceFormat.SIGN);
+		out.writeLong(pos);
+		writeVarLong(lines.length);
+		for(String line : lines)
+			writeString(line);
+		
+		events++;
+	}
+	
+	public void itemFrame(long pos, String itemName) throws IOException
+	{
+		out.writeByte(TraceFormat.ITEM_FRAME);
+		out.writeLong(pos);
+		writeString(itemName);
+		events++;
+	}
+	
+	public void remove(long pos) throws IOException
+	{
+		out.writeByte(TraceFormat.REMOVE);
+		out.writeLong(pos);
+		events++;
+	}
+	
+	public void search(SearchQuery query) throws IOException
+	{
+		out.writeByte(TraceFormat.SEARCH);
+		out.writeByte(query.type().ordinal());
+		writeString(query.query());
+		writeVarLong(query.radius());
+		out.writeBoolean(query.caseSensitive());
+		events++;
+	}
+	
+	/**
+	 * Number of events written so far.
+	 */
+	public long getEventCount()
+	{
+		return events;
+	}
+	
+	@Override
+	public void close() throws IOException
+	{
+		out.writeByte(TraceFormat.END);
+		out.close();
+	}
+	
+	private void writeChunkEvent(int opcode, int chunkX, int chunkZ)
+		throws IOException
+	{
+		out.writeByte(opcode);
+		writeSignedVarLong(chunkX);
+		writeSignedVarLong(chunkZ);
+		events++;
+	}
+	
+	private void writeString(String value) throws IOException
+	{
+		int index = strings.getInt(value);
+		if(index >= 0)
+		{
+			writeVarLong(index);
+			return;
+		}
+		
+		// A new string gets the next free index, followed by its text
+		index = strings.size();
+		strings.put(value, index);
+		writeVarLong(index);
+		out.writeUTF(value);
+	}
+	
+	private void writeSignedVarLong(long value) throws IOException
+	{
+		writeVarLong(value << 1 ^ value >> 63);
+	}
+	
+	private void writeVarLong(long value) throws IOException
+	{
+		while((value & ~0x7FL) != 0)
+		{
+			out.writeByte((int)(value & 0x7F | 0x80));
+			value >>>= 7;
+		}
+		
+		out.writeByte((int)value);
+	}
+}
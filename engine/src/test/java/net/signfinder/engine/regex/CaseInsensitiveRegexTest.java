@@ -0,0 +1,126 @@
+package net.signfinder.engine.regex;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs case-insensitive patterns through both {@link PikeProgram} and
+ * {@link Pattern} with {@code CASE_INSENSITIVE | UNICODE_CASE}, which
+ * {@link CompiledRegex} promises to agree with.
+ */
+class CaseInsensitiveRegexTest
+{
+	/**
+	 * Lone 'ß' and 'ẞ' atoms are left out on purpose, see
+	 * {@link #loneSharpSIsFolded()}.
+	 */
+	private static final String[] ATOMS = {"\\w", "\\W", "\\d", "\\D", "\\s",
+		"\\S", "[\\w]", "[^\\w]", "[\\W]", "[\\w-]", "[^\\Wk]", "[^\\d\\s]",
+		"[a-z]", "[A-Z]", "[^a-z]", "[0-9a-f]", "[à-ÿ]", "[k]", "[K]", "[i]",
+		"[İ]", "[ς]", "[É]", "[ß]", "[ẞ]", "k", "s", "i", "K", "S", "I", "ı",
+		"İ", "σ", "Σ", "ς", "é", "\\b", "\\B", "."};
+	
+	/** Including chars whose case mappings are irregular. */
+	private static final int[] CHARS = {'a', 'k', 'K', 's', 'S', 'i', 'I',
+		'_', '1', ' ', '-', '\t', 'ſ', 'K', 'İ', 'ı', 'ς', 'σ', 'Σ', 'é', 'É',
+		'ß', 'ẞ', 'à', 'ÿ', 'Ÿ'};
+	
+	@Test
+	void predefinedClassesStayAscii()
+	{
+		for(String regex : new String[]{"\\w", "\\W", "[\\w]", "[^\\w]",
+			"[\\W]", "\\d", "\\D", "\\s", "\\S"})
+			for(int c : CHARS)
+				assertSameAsPattern(regex, Character.toString(c));
+	}
+	
+	@Test
+	void wordBoundariesAgreeWithWordClass()
+	{
+		for(int c : CHARS)
+		{
+			String text = "a" + Character.toString(c);
+			assertSameAsPattern("a\\b", text);
+			assertSameAsPattern("a\\w", text);
+			assertSameAsPattern("a\\B\\w", text);
+		}
+	}
+	
+	@Test
+	void supplementaryChars()
+	{
+		// Deseret capital and small long I
+		String upper = "𐐀";
+		String lower = "𐐨";
+		for(String regex : new String[]{upper, lower, "[" + upper + "]",
+			"[" + lower + "]", "[\\uD801\\uDC00-\\uD801\\uDC10]",
+			"\\uD801\\uDC28", "x" + upper + "y"})
+			for(String text : new String[]{upper, lower, "x" + lower + "y",
+				"X" + upper + "Y"})
+				assertSameAsPattern(regex, text);
+	}
+	
+	/**
+	 * Where this engine deliberately differs from Pattern: a lone 'ß' is
+	 * folded like any other letter, while Pattern compares it exactly and
+	 * only folds it inside a run of literals.
+	 */
+	@Test
+	void loneSharpSIsFolded()
+	{
+		assertTrue(find("ß", "ẞ"));
+		assertFalse(Pattern
+			.compile("ß", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE)
+			.matcher("ẞ").find());
+		
+		// The rest agrees with Pattern, and 'ß' never expands to "ss"
+		for(String text : new String[]{"ß", "ẞ", "ss", "SS", "xß", "xẞ"})
+		{
+			assertSameAsPattern("ẞ", text);
+			assertSameAsPattern("xß", text);
+			assertSameAsPattern("[ß]", text);
+			assertSameAsPattern("[ẞ]", text);
+		}
+		assertFalse(find("ß", "ss"));
+		assertFalse(find("ß", "SS"));
+	}
+	
+	@Test
+	void randomPatterns()
+	{
+		Random random = new Random(46);
+		for(int i = 0; i < 100_000; i++)
+		{
+			StringBuilder regex = new StringBuilder();
+			for(int j = 1 + random.nextInt(3); j > 0; j--)
+				regex.append(ATOMS[random.nextInt(ATOMS.length)]);
+			
+			StringBuilder text = new StringBuilder();
+			for(int j = random.nextInt(4); j > 0; j--)
+				text.appendCodePoint(CHARS[random.nextInt(CHARS.length)]);
+			
+			assertSameAsPattern(regex.toString(), text.toString());
+		}
+	}
+	
+	private static void assertSameAsPattern(String regex, String text)
+	{
+		boolean expected = Pattern
+			.compile(regex, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE)
+			.matcher(text).find();
+		assertEquals(expected, find(regex, text),
+			() -> "(?i)" + regex + " on \"" + text + "\"");
+	}
+	
+	private static boolean find(String regex, String text)
+	{
+		return PikeProgram.compile(new RegexParser(regex, true).parse(), true)
+			.find(text);
+	}
+}
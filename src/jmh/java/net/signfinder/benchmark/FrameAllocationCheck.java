@@ -0,0 +1,63 @@
+package net.signfinder.benchmark;
+
+import java.util.Map;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs {@link MeshBenchmark#fullFrame()} for 1,000 highlights with the gc
+ * profiler and fails (exit code 1) if a frame allocates more than the given
+ * number of bytes on average.
+ *
+ * <pre>
+ * FrameAllocationCheck [max bytes per frame, default 8]
+ * </pre>
+ *
+ * The default is below the size of the smallest object, so any allocation
+ * per frame fails the check, while the profiler's rounding noise doesn't.
+ */
+public final class FrameAllocationCheck
+{
+	private static final String ALLOC_PER_OP = "gc.alloc.rate.norm";
+	
+	public static void main(String[] args) throws RunnerException
+	{
+		double maxBytes = args.length > 0 ? Double.parseDouble(args[0]) : 8;
+		
+		Options options = new OptionsBuilder()
+			.include(MeshBenchmark.class.getName() + ".fullFrame$")
+			.param("highlightCount", "1000").param("sinkType", "COUNTING")
+			.addProfiler(GCProfiler.class).warmupIterations(3).iterations(5)
+			.forks(1).build();
+		RunResult result = new Runner(options).runSingle();
+		
+		// Older JMH versions prefix secondary result labels with a dot
+		Result<?> allocation = null;
+		for(Map.Entry<String, Result> entry : result.getSecondaryResults()
+			.entrySet())
+			if(entry.getKey().endsWith(ALLOC_PER_OP))
+				allocation = entry.getValue();
+		
+		if(allocation == null)
+		{
+			System.err.println("The gc profiler reported no " + ALLOC_PER_OP);
+			System.exit(2);
+		}
+		
+		double bytes = allocation.getScore();
+		System.out.printf("Full frame, 1000 highlights: %.1f B/frame"
+			+ " allocated (limit %.1f)%n", bytes, maxBytes);
+		if(bytes > maxBytes)
+		{
+			System.err.println("A highlight frame allocates again, see the"
+				+ " gc profiler output above.");
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package net.signfinder.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import net.signfinder.CompiledConfig;
+import net.signfinder.SignFinderConfig;
+import net.signfinder.engine.cache.PatternCache;
+import net.signfinder.services.EntityDetectionService;
+
+/**
+ * Measures the text side of auto-detection: container keyword and ignore
+ * word matching, as done for every loaded sign each tick.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KeywordDetectionBenchmark
+{
+	@Param({"1000", "10000", "100000"})
+	public int signCount;
+	
+	@Param({"false", "true"})
+	public boolean useRegex;
+	
+	@Param({"false", "true"})
+	public boolean caseSensitive;
+	
+	private String[] signs;
+	private String[] normalizedSigns;
+	private CompiledConfig config;
+	private EntityDetectionService detectionService;
+	
+	@Setup
+	public void setup()
+	{
+		signs = SignCorpus.generate(signCount, 42);
+		
+		SignFinderConfig settings = new SignFinderConfig();
+		settings.auto_detection_use_regex = useRegex;
+		settings.case_sensitive = caseSensitive;
+		settings.container_keywords = useRegex
+			? new String[]{"\\[(shop|sell|商店)\\]", "出售|收购",
+				"(Продам|Куплю)\\s"}
+			: new String[]{"[Shop]", "[Sell]", "出售", "收购", "Продам",
+				"Куплю"};
+		settings.ignore_words = new String[]{"Welcome", "欢迎", "Скидки"};
+		
+		config = CompiledConfig.compile(settings, new PatternCache());
+		detectionService = new EntityDetectionService();
+		
+		normalizedSigns = new String[signs.length];
+		for(int i = 0; i < signs.length; i++)
+			normalizedSigns[i] = config.getTextNormalizer().normalize(signs[i]);
+	}
+	
+	@Benchmark
+	public int keywords()
+	{
+		int matches = 0;
+		for(String sign : normalizedSigns)
+			if(detectionService.findKeyword(sign, config) != null)
+				matches++;
+		
+		return matches;
+	}
+	
+	@Benchmark
+	public int ignoreWords()
+	{
+		int matches = 0;
+		for(String sign : normalizedSigns)
+			if(detectionService.findIgnoreWord(sign, config) != null)
+				matches++;
+		
+		return matches;
+	}
+	
+	/**
+	 * Normalizing, keywords and ignore words combined, like a full detection
+	 * pass.
+	 */
+	@Benchmark
+	public int detect()
+	{
+		int matches = 0;
+		for(String sign : signs)
+		{
+			String text = config.getTextNormalizer().normalize(sign);
+			if(detectionService.findKeyword(text, config) != null
+				&& detectionService.findIgnoreWord(text, config) == null)
+				matches++;
+		}
+		
+		return matches;
+	}
+}
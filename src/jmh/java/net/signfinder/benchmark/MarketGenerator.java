@@ -0,0 +1,291 @@
+package net.signfinder.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.signfinder.CompiledConfig;
+import net.signfinder.engine.PackedPos;
+import net.signfinder.engine.SignIndex;
+import net.signfinder.engine.SignRecord;
+import net.signfinder.engine.SignRecord.RecordType;
+import net.signfinder.engine.TextNormalizer;
+import net.signfinder.managers.AutoSaveManager.SavedSignData;
+
+/**
+ * Generates synthetic server markets for load tests: districts laid out as
+ * grids of stalls, each with a few shop signs and item frames. Text comes
+ * from {@link SignCorpus}; chain stores repeat the same sign template across
+ * many stalls, the way real markets do.
+ *
+ * <p>
+ * The output only depends on the seed. {@link #churn(double, long)} then
+ * simulates market activity over time (price changes, closing and newly
+ * opened stalls), also deterministically.
+ */
+public final class MarketGenerator
+{
+	/** Districts are spread over this many blocks around spawn. */
+	private static final int WORLD_RADIUS = 10000;
+	private static final int STALLS_PER_ROW = 32;
+	private static final int ROWS_PER_DISTRICT = 32;
+	/** Stall width and depth, including the walkway in front. */
+	private static final int STALL_SIZE = 3;
+	/** Every few rows there's a street instead of stalls. */
+	private static final int ROWS_PER_BLOCK = 4;
+	private static final int STREET_WIDTH = 5;
+	private static final int GROUND_Y = 64;
+	private static final long MAX_AGE_MS = 7 * 24 * 60 * 60 * 1000L;
+	
+	/** How generated records are normalized: like the mod by default. */
+	public static final TextNormalizer NORMALIZER =
+		CompiledConfig.DEFAULTS.getTextNormalizer();
+	
+	private final Random random;
+	private final long startTime;
+	private final Long2ObjectOpenHashMap<SignRecord> records =
+		new Long2ObjectOpenHashMap<>();
+	private final Long2ObjectOpenHashMap<String> matchedTexts =
+		new Long2ObjectOpenHashMap<>();
+	/** Positions in insertion order, for picking random records to churn. */
+	private final LongArrayList positions = new LongArrayList();
+	private final List<String[]> templates = new ArrayList<>();
+	
+	/**
+	 * @param seed
+	 *            Seed for layout and text
+	 * @param startTime
+	 *            Timestamp of the newest generated record; older ones are up
+	 *            to a week before it
+	 */
+	public MarketGenerator(long seed, long startTime)
+	{
+		random = new Random(seed);
+		this.startTime = startTime;
+	}
+	
+	/**
+	 * Adds districts until the market has at least {@code recordCount} signs
+	 * and item frames in total. About one record in six is an item frame.
+	 */
+	public MarketGenerator generate(int recordCount)
+	{
+		while(records.size() < recordCount)
+			addDistrict(recordCount);
+		
+		return this;
+	}
+	
+	private void addDistrict(int recordCount)
+	{
+		int originX = random.nextInt(2 * WORLD_RADIUS) - WORLD_RADIUS;
+		int originZ = random.nextInt(2 * WORLD_RADIUS) - WORLD_RADIUS;
+		
+		int z = originZ;
+		for(int row = 0; row < ROWS_PER_DISTRICT; row++)
+		{
+			if(row > 0 && row % ROWS_PER_BLOCK == 0)
+				z += STREET_WIDTH;
+			
+			for(int stall = 0; stall < STALLS_PER_ROW; stall++)
+			{
+				if(records.size() >= recordCount)
+					return;
+				
+				long age = (long)(random.nextDouble() * MAX_AGE_MS);
+				addStall(originX + stall * STALL_SIZE, z, startTime - age,
+					null);
+			}
+			
+			z += STALL_SIZE;
+		}
+	}
+	
+	/**
+	 * Adds up to three signs stacked on the stall front, and sometimes one or
+	 * two item frames beside them. Added records also go to {@code added},
+	 * unless it's null.
+	 */
+	private void addStall(int x, int z, long timestamp, List<SignRecord> added)
+	{
+		String owner = SignCorpus.name(random);
+		String header = SignCorpus.header(random);
+		
+		// Chain stores: one in ten stalls copies an existing template
+		String[] template = null;
+		if(random.nextInt(10) == 0)
+		{
+			if(templates.isEmpty() || random.nextInt(8) == 0)
+				templates.add(new String[]{header, SignCorpus.item(random),
+					SignCorpus.price(random), owner});
+			
+			template = templates.get(random.nextInt(templates.size()));
+		}
+		
+		int signs = 1 + random.nextInt(3);
+		for(int i = 0; i < signs; i++)
+		{
+			String[] lines = template != null ? template
+				: new String[]{header, SignCorpus.item(random),
+					SignCorpus.price(random), i == 0 ? owner : ""};
+			put(SignRecord.sign(PackedPos.pack(x, GROUND_Y + 1 + i, z), lines,
+				timestamp, NORMALIZER), lines[0], added);
+		}
+		
+		int frames = random.nextInt(4) == 0 ? 1 + random.nextInt(2) : 0;
+		for(int i = 0; i < frames; i++)
+		{
+			String item = SignCorpus.itemName(random);
+			put(SignRecord.itemFrame(PackedPos.pack(x + 1, GROUND_Y + 1 + i, z),
+				item, timestamp, NORMALIZER), item, added);
+		}
+	}
+	
+	private void put(SignRecord record, String matchedText,
+		List<SignRecord> added)
+	{
+		if(records.put(record.pos(), record) == null)
+			positions.add(record.pos());
+		
+		matchedTexts.put(record.pos(), matchedText);
+		if(added != null)
+			added.add(record);
+	}
+	
+	/**
+	 * Removes the record at {@code index} of {@link #positions}, swapping
+	 * the last position into its place.
+	 */
+	private long removeAt(int index)
+	{
+		long pos = positions.getLong(index);
+		records.remove(pos);
+		matchedTexts.remove(pos);
+		
+		positions.set(index, positions.getLong(positions.size() - 1));
+		positions.removeLong(positions.size() - 1);
+		return pos;
+	}
+	
+	/**
+	 * Changes about {@code fraction} of all records, as if time passed until
+	 * {@code now}: 60% of the picked signs get a new price, 20% of the picked
+	 * records are removed and the rest get a new stall opened next to them.
+	 *
+	 * @return What changed, for applying the same churn to an index
+	 */
+	public Churn churn(double fraction, long now)
+	{
+		int changes = (int)(records.size() * fraction);
+		List<SignRecord> added = new ArrayList<>();
+		LongOpenHashSet touched = new LongOpenHashSet();
+		
+		for(int i = 0; i < changes && !positions.isEmpty(); i++)
+		{
+			int index = random.nextInt(positions.size());
+			long pos = positions.getLong(index);
+			SignRecord record = records.get(pos);
+			int roll = random.nextInt(10);
+			
+			if(roll < 6 && record.type() == RecordType.SIGN)
+			{
+				String[] lines = record.lines();
+				lines[2] = SignCorpus.price(random);
+				put(SignRecord.sign(pos, lines, now, NORMALIZER),
+					matchedTexts.get(pos), added);
+			}else if(roll < 8)
+				touched.add(removeAt(index));
+			else
+				addStall(PackedPos.getX(pos), PackedPos.getZ(pos) + STALL_SIZE,
+					now, added);
+		}
+		
+		for(SignRecord record : added)
+			touched.add(record.pos());
+		
+		// Report the final state of each position, so that a record added
+		// and removed again in the same step doesn't come back
+		List<SignRecord> updated = new ArrayList<>();
+		LongArrayList removed = new LongArrayList();
+		for(long pos : touched)
+		{
+			SignRecord record = records.get(pos);
+			if(record != null)
+				updated.add(record);
+			else
+				removed.add(pos);
+		}
+		
+		return new Churn(updated, removed.toLongArray());
+	}
+	
+	public int size()
+	{
+		return records.size();
+	}
+	
+	public List<SignRecord> getRecords()
+	{
+		List<SignRecord> list = new ArrayList<>(positions.size());
+		for(int i = 0; i < positions.size(); i++)
+			list.add(records.get(positions.getLong(i)));
+		
+		return list;
+	}
+	
+	public SignIndex toIndex()
+	{
+		SignIndex index = new SignIndex(records.size());
+		for(SignRecord record : records.values())
+			index.put(record);
+		
+		return index;
+	}
+	
+	/**
+	 * Returns the signs in auto-save format, under {@code worldKey}. Item
+	 * frames are skipped, like in the real auto-save.
+	 */
+	public Map<String, List<SavedSignData>> toSavedData(String worldKey)
+	{
+		List<SavedSignData> saved = new ArrayList<>(records.size());
+		for(int i = 0; i < positions.size(); i++)
+		{
+			long pos = positions.getLong(i);
+			SignRecord record = records.get(pos);
+			if(record.type() != RecordType.SIGN)
+				continue;
+			
+			SavedSignData data = new SavedSignData();
+			data.x = record.x();
+			data.y = record.y();
+			data.z = record.z();
+			data.signText = record.lines();
+			data.matchedText = matchedTexts.get(pos);
+			data.updateTime = record.timestamp();
+			saved.add(data);
+		}
+		
+		return Map.of(worldKey, saved);
+	}
+	
+	/**
+	 * Records added or changed, and positions removed, by one
+	 * {@link #churn(double, long)} step.
+	 */
+	public record Churn(List<SignRecord> updated, long[] removed)
+	{
+		public void applyTo(SignIndex index)
+		{
+			for(long pos : removed)
+				index.remove(pos);
+			
+			for(SignRecord record : updated)
+				index.put(record);
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package net.signfinder.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import net.signfinder.engine.PreparedQuery;
+import net.signfinder.engine.QueryMatcher;
+import net.signfinder.engine.SearchHit;
+import net.signfinder.engine.SearchPresets;
+import net.signfinder.engine.SearchQuery;
+import net.signfinder.engine.SignIndex;
+import net.signfinder.engine.SignRecord;
+import net.signfinder.engine.cache.PatternCache;
+
+/**
+ * Soak-style benchmarks for the engine's {@link SignIndex} on generated
+ * markets of up to a million records: building the index, searching it, and
+ * keeping it up to date while the market churns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class MarketIndexBenchmark
+{
+	@Param({"10000", "100000", "1000000"})
+	public int recordCount;
+	
+	/**
+	 * Share of the market that changes between two churn steps.
+	 */
+	@Param({"0.01"})
+	public double churnFraction;
+	
+	private MarketGenerator market;
+	private List<SignRecord> records;
+	private SignIndex index;
+	private SearchQuery query;
+	private PreparedQuery prepared;
+	private PreparedQuery fuzzy;
+	private SignRecord center;
+	private long time;
+	
+	@Setup
+	public void setup()
+	{
+		time = System.currentTimeMillis();
+		market = new MarketGenerator(42, time).generate(recordCount);
+		records = market.getRecords();
+		index = market.toIndex();
+		query = SearchQuery.array("diamond,钻石,алмаз", 128, false);
+		QueryMatcher matcher = new QueryMatcher(new PatternCache());
+		prepared = matcher.prepare(query, SearchPresets.EMPTY,
+			MarketGenerator.NORMALIZER);
+		fuzzy = matcher.prepare(SearchQuery.fuzzy("diamnod", 128, false),
+			SearchPresets.EMPTY, MarketGenerator.NORMALIZER);
+		
+		// Search from inside a district, like a player standing in a market
+		center = records.get(records.size() / 2);
+	}
+	
+	/**
+	 * Rebuilds the index from scratch, like after the saved data is
+	 * reloaded.
+	 */
+	@Benchmark
+	public SignIndex build()
+	{
+		SignIndex rebuilt = new SignIndex(records.size());
+		for(SignRecord record : records)
+			rebuilt.put(record);
+		
+		return rebuilt;
+	}
+	
+	@Benchmark
+	public List<SearchHit> searchNearby()
+	{
+		return index.search(prepared, center.x(), center.y(), center.z(),
+			query.radius());
+	}
+	
+	/**
+	 * A typo'd search, answered from the index's words after the first
+	 * call builds them.
+	 */
+	@Benchmark
+	public List<SearchHit> fuzzySearchNearby()
+	{
+		return index.search(fuzzy, center.x(), center.y(), center.z(),
+			query.radius());
+	}
+	
+	@Benchmark
+	public List<SearchHit> rangeNearby()
+	{
+		return index.inRange(center.x(), center.y(), center.z(),
+			query.radius());
+	}
+	
+	/**
+	 * Applies one churn step to the index, like the changes between two
+	 * auto-detection passes.
+	 */
+	@Benchmark
+	public SignIndex applyChurn(ChurnState state)
+	{
+		state.churn.applyTo(index);
+		return index;
+	}
+	
+	/**
+	 * Advances the market by one churn step before each call, so
+	 * {@link #applyChurn(ChurnState)} always has fresh changes to apply.
+	 * Only the benchmarks that use it pay for the setup.
+	 */
+	@State(Scope.Benchmark)
+	public static class ChurnState
+	{
+		private MarketGenerator.Churn churn;
+		
+		@Setup(Level.Invocation)
+		public void nextChurn(MarketIndexBenchmark benchmark)
+		{
+			benchmark.time += 60000;
+			churn = benchmark.market.churn(benchmark.churnFraction,
+				benchmark.time);
+		}
+	}
+}
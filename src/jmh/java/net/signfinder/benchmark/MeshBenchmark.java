@@ -0,0 +1,281 @@
+package net.signfinder.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import net.minecraft.core.BlockPos;
+import net.signfinder.models.EntitySearchResult.EntityType;
+import net.signfinder.rendering.HighlightBatch;
+import net.signfinder.rendering.HighlightMeshBuilder;
+import net.signfinder.rendering.HighlightSnapshot;
+import net.signfinder.rendering.HighlightStore;
+import net.signfinder.rendering.HighlightVertexSink;
+import net.signfinder.rendering.TracerBudget;
+
+/**
+ * Measures highlight mesh generation without a client or GPU, by running
+ * {@link HighlightMeshBuilder} into a counting sink (pure vertex math) and a
+ * direct byte buffer laid out like Minecraft's line vertex format (math plus
+ * the memory writes an upload would need).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MeshBenchmark
+{
+	@Param({"100", "1000", "10000"})
+	public int highlightCount;
+	
+	@Param({"COUNTING", "BYTE_BUFFER"})
+	public SinkType sinkType;
+	
+	private static final double CAM_X = 0.3;
+	private static final double CAM_Y = 64.7;
+	private static final double CAM_Z = -0.6;
+	private static final int ALPHA = 0x40;
+	private static final int MAX_TRACERS = 50;
+	
+	private HighlightSnapshot snapshot;
+	private HighlightSnapshot searchResults;
+	private HighlightSnapshot autoDetected;
+	private HighlightBatch batch;
+	private HighlightBatch frameBatch;
+	private TracerBudget tracerBudget;
+	private VertexSink sink;
+	private int frame;
+	
+	@Setup
+	public void setup()
+	{
+		// Highlights spread over a market-sized area around the camera, a
+		// few of them with custom colors
+		Random random = new Random(42);
+		HighlightStore store = new HighlightStore();
+		while(store.size() < highlightCount)
+		{
+			long pos = BlockPos.asLong(random.nextInt(256) - 128,
+				40 + random.nextInt(48), random.nextInt(256) - 128);
+			store.add(pos, random.nextInt(10) == 0 ? EntityType.ITEM_FRAME
+				: EntityType.SIGN);
+			
+			if(random.nextInt(20) == 0)
+			{
+				int slot = store.indexOf(pos);
+				store.setColor(slot, random.nextInt(0x1000000));
+				store.setFlags(slot, HighlightBatch.FLAG_CUSTOM_COLOR);
+			}
+		}
+		
+		snapshot = store.snapshot();
+		batch = new HighlightBatch();
+		batch.addAll(snapshot, 0xFF00FF, 0);
+		
+		// For fullFrame: every highlight is auto-detected, and a quarter of
+		// them are search results too. Only search results keep custom
+		// colors.
+		HighlightStore results = new HighlightStore();
+		HighlightStore detected = new HighlightStore();
+		for(int i = 0; i < store.size(); i++)
+		{
+			long pos = store.getPos(i);
+			detected.add(pos, store.getType(i));
+			if(i % 4 != 0)
+				continue;
+			
+			results.add(pos, store.getType(i));
+			int slot = results.indexOf(pos);
+			results.setColor(slot, store.getColor(i));
+			results.setFlags(slot, store.getFlags(i));
+		}
+		searchResults = results.snapshot();
+		autoDetected = detected.snapshot();
+		frameBatch = new HighlightBatch();
+		tracerBudget = new TracerBudget();
+		
+		// 24 vertices per solid box, 24 line vertices per outlined box, plus
+		// up to 4 per tracer, with search results drawn twice in fullFrame
+		int maxVertices = highlightCount * 52 * 5 / 4;
+		sink = switch(sinkType)
+		{
+			case COUNTING -> new CountingSink();
+			case BYTE_BUFFER -> new ByteBufferSink(maxVertices);
+		};
+	}
+	
+	@Benchmark
+	public int solidBoxes()
+	{
+		sink.reset();
+		HighlightMeshBuilder.solidBoxes(sink, batch, CAM_X, CAM_Y, CAM_Z,
+			ALPHA, 0, 0);
+		return sink.vertexCount();
+	}
+	
+	@Benchmark
+	public int outlinedBoxes()
+	{
+		sink.reset();
+		HighlightMeshBuilder.outlinedBoxes(sink, batch, CAM_X, CAM_Y, CAM_Z,
+			ALPHA, 0, 0);
+		return sink.vertexCount();
+	}
+	
+	@Benchmark
+	public int tracers()
+	{
+		sink.reset();
+		HighlightMeshBuilder.tracers(sink, batch, 0, 0, 10, CAM_X, CAM_Y,
+			CAM_Z, ALPHA, 0, 0);
+		return sink.vertexCount();
+	}
+	
+	/**
+	 * Everything the render thread does per frame for the "boxes and
+	 * tracers" style, minus the Minecraft buffers: fill the batch from the
+	 * published search result and auto-detection snapshots, pick the
+	 * tracers, then emit solid boxes, outlined boxes and tracers. The camera
+	 * moves far enough every frame to force a new tracer selection.
+	 *
+	 * <p>
+	 * {@link FrameAllocationCheck} runs this with the gc profiler to make
+	 * sure a frame doesn't allocate.
+	 */
+	@Benchmark
+	public int fullFrame()
+	{
+		double camX = CAM_X + (frame++ & 1) * 3;
+		
+		frameBatch.clear();
+		frameBatch.addAll(searchResults, 0xFF00FF,
+			HighlightBatch.FLAG_ANIMATED);
+		frameBatch.addAll(autoDetected, 0xFF00FF, 0);
+		HighlightBatch tracerTargets =
+			tracerBudget.select(frameBatch, camX, CAM_Y, CAM_Z, MAX_TRACERS);
+		
+		sink.reset();
+		HighlightMeshBuilder.solidBoxes(sink, frameBatch, camX, CAM_Y, CAM_Z,
+			ALPHA, 0, 0);
+		HighlightMeshBuilder.outlinedBoxes(sink, frameBatch, camX, CAM_Y,
+			CAM_Z, ALPHA, 0, 0);
+		HighlightMeshBuilder.tracers(sink, tracerTargets, 0, 0, 10, camX,
+			CAM_Y, CAM_Z, ALPHA, 0, 0);
+		return sink.vertexCount();
+	}
+	
+	public enum SinkType
+	{
+		COUNTING,
+		BYTE_BUFFER;
+	}
+	
+	private interface VertexSink extends HighlightVertexSink
+	{
+		void reset();
+		
+		int vertexCount();
+	}
+	
+	/**
+	 * Only counts vertices, but sums every attribute into a field so the JIT
+	 * can't drop the math that produced it.
+	 */
+	private static final class CountingSink implements VertexSink
+	{
+		private int vertices;
+		private float checksum;
+		
+		@Override
+		public void vertex(float x, float y, float z, int color)
+		{
+			vertices++;
+			checksum += x + y + z + color;
+		}
+		
+		@Override
+		public void lineVertex(float x, float y, float z, int color, float nx,
+			float ny, float nz)
+		{
+			vertices++;
+			checksum += x + y + z + color + nx + ny + nz;
+		}
+		
+		@Override
+		public void reset()
+		{
+			vertices = 0;
+			checksum = 0;
+		}
+		
+		@Override
+		public int vertexCount()
+		{
+			return vertices;
+		}
+	}
+	
+	/**
+	 * Writes vertices into a direct buffer with the same layout as
+	 * Minecraft's line format: position (3 floats), color (4 bytes), normal
+	 * (3 bytes) and line width (1 float).
+	 */
+	private static final class ByteBufferSink implements VertexSink
+	{
+		private static final int VERTEX_SIZE = 12 + 4 + 4 + 4;
+		
+		private final ByteBuffer buffer;
+		private int vertices;
+		
+		private ByteBufferSink(int maxVertices)
+		{
+			buffer = ByteBuffer.allocateDirect(maxVertices * VERTEX_SIZE)
+				.order(ByteOrder.nativeOrder());
+		}
+		
+		@Override
+		public void vertex(float x, float y, float z, int color)
+		{
+			buffer.putFloat(x).putFloat(y).putFloat(z).putInt(color);
+			vertices++;
+		}
+		
+		@Override
+		public void lineVertex(float x, float y, float z, int color, float nx,
+			float ny, float nz)
+		{
+			buffer.putFloat(x).putFloat(y).putFloat(z).putInt(color);
+			buffer.put(normalByte(nx)).put(normalByte(ny)).put(normalByte(nz))
+				.put((byte)0);
+			buffer.putFloat(2);
+			vertices++;
+		}
+		
+		private static byte normalByte(float value)
+		{
+			return (byte)((int)(value * 127) & 0xFF);
+		}
+		
+		@Override
+		public void reset()
+		{
+			buffer.clear();
+			vertices = 0;
+		}
+		
+		@Override
+		public int vertexCount()
+		{
+			return vertices;
+		}
+	}
+}
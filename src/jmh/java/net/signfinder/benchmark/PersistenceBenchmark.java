@@ -0,0 +1,130 @@
+package net.signfinder.benchmark;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.signfinder.managers.AutoSaveManager.SavedSignData;
+import net.signfinder.services.FileOperationService;
+
+/**
+ * Round-trips auto-save data through the same serializer that
+ * {@link FileOperationService} uses for the auto-save file, in memory and
+ * through a temporary file.
+ *
+ * <p>
+ * Run with {@code -prof gc} (the default in build.gradle) for the allocation
+ * rate. The peak heap usage of each iteration is printed after it, since
+ * JMH has no built-in metric for it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class PersistenceBenchmark
+{
+	/**
+	 * Signs and item frames in the generated market. Only the signs are
+	 * saved, about five in six.
+	 */
+	@Param({"10000", "100000", "1000000"})
+	public int recordCount;
+	
+	private FileOperationService serializer;
+	private Map<String, List<SavedSignData>> data;
+	private String json;
+	private Path file;
+	
+	@Setup
+	public void setup() throws IOException
+	{
+		serializer = new FileOperationService();
+		data = new MarketGenerator(42, System.currentTimeMillis())
+			.generate(recordCount).toSavedData("minecraft:overworld");
+		json = serializer.serialize(data);
+		
+		file = Files.createTempFile("signfinder-persistence", ".json");
+		Files.writeString(file, json, StandardCharsets.UTF_8);
+		
+		int signs = data.values().stream().mapToInt(List::size).sum();
+		System.out.printf("%n%d signs = %.1f MiB on disk%n", signs,
+			Files.size(file) / 1048576.0);
+	}
+	
+	@Setup(Level.Iteration)
+	public void resetPeakHeap()
+	{
+		for(MemoryPoolMXBean pool : heapPools())
+			pool.resetPeakUsage();
+	}
+	
+	@TearDown(Level.Iteration)
+	public void printPeakHeap()
+	{
+		long peak = 0;
+		for(MemoryPoolMXBean pool : heapPools())
+			peak += pool.getPeakUsage().getUsed();
+		
+		System.out.printf("  peak heap: %.1f MiB%n", peak / 1048576.0);
+	}
+	
+	@TearDown
+	public void deleteFile() throws IOException
+	{
+		Files.deleteIfExists(file);
+	}
+	
+	private static List<MemoryPoolMXBean> heapPools()
+	{
+		return ManagementFactory.getMemoryPoolMXBeans().stream()
+			.filter(pool -> pool.getType() == MemoryType.HEAP).toList();
+	}
+	
+	@Benchmark
+	public String serialize()
+	{
+		return serializer.serialize(data);
+	}
+	
+	@Benchmark
+	public Map<String, List<SavedSignData>> deserialize()
+	{
+		return serializer.deserialize(json);
+	}
+	
+	/**
+	 * Save and load through the file system, like an auto-save followed by
+	 * the next world join.
+	 */
+	@Benchmark
+	public Map<String, List<SavedSignData>> roundTripFile() throws IOException
+	{
+		Files.writeString(file, serializer.serialize(data),
+			StandardCharsets.UTF_8);
+		return serializer
+			.deserialize(Files.readString(file, StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,93 @@
+package net.signfinder.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import net.signfinder.CompiledConfig;
+import net.signfinder.SignFinderConfig;
+import net.signfinder.engine.PreparedQuery;
+import net.signfinder.engine.SearchQuery;
+import net.signfinder.engine.SearchQuery.SearchType;
+import net.signfinder.engine.SignRecord;
+import net.signfinder.engine.cache.PatternCache;
+import net.signfinder.search.SearchQueryProcessor;
+
+/**
+ * Measures one full pass of a {@link PreparedQuery} over a synthetic sign
+ * corpus, for every search type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QueryMatchingBenchmark
+{
+	@Param({"1000", "10000", "100000"})
+	public int signCount;
+	
+	@Param({"TEXT", "REGEX", "ARRAY", "PRESET", "FUZZY", "QUERY"})
+	public SearchType type;
+	
+	@Param({"false", "true"})
+	public boolean caseSensitive;
+	
+	private SignRecord[] signs;
+	private CompiledConfig config;
+	private SearchQueryProcessor processor;
+	private SearchQuery query;
+	
+	@Setup
+	public void setup()
+	{
+		String[][] lines = SignCorpus.generateLines(signCount, 42);
+		
+		SignFinderConfig settings = new SignFinderConfig();
+		settings.search_presets.text_presets.put("gear",
+			"elytra,鞘翅,элитры,trident");
+		
+		PatternCache patternCache = new PatternCache();
+		config = CompiledConfig.compile(settings, patternCache);
+		processor = new SearchQueryProcessor(patternCache);
+		
+		// Records, like a search matches, so their text is normalized and
+		// folded up front
+		signs = new SignRecord[lines.length];
+		for(int i = 0; i < lines.length; i++)
+			signs[i] = SignRecord.sign(i, lines[i], 0,
+				config.getTextNormalizer());
+		query = new SearchQuery(queryFor(type), type, 100, caseSensitive);
+	}
+	
+	private static String queryFor(SearchType type)
+	{
+		return switch(type)
+		{
+			case TEXT -> "diamond";
+			case REGEX -> "(алмаз|钻石|diamond).*\\d+";
+			case ARRAY -> "diamond,钻石,алмаз,emerald";
+			case PRESET -> "gear";
+			case FUZZY -> "diamnod";
+			case QUERY -> "(diamond OR 钻石 OR алмаз) line1:buy NOT steve";
+		};
+	}
+	
+	@Benchmark
+	public int matchAll()
+	{
+		// Prepared once per pass, like a search does
+		PreparedQuery prepared = processor.prepare(query, config);
+		int matches = 0;
+		for(SignRecord sign : signs)
+			if(prepared.matches(sign))
+				matches++;
+		
+		return matches;
+	}
+}
@@ -0,0 +1,147 @@
+package net.signfinder.benchmark;
+
+import java.util.Random;
+
+/**
+ * Generates synthetic but realistic market sign texts for benchmarks. Signs
+ * mix English, Chinese and Russian shop vocabulary, prices and player names,
+ * the way they show up on large multiplayer server markets. The output only
+ * depends on the seed, so results are comparable between runs.
+ */
+public enum SignCorpus
+{
+	;
+	
+	private static final String[] ITEMS_EN = {"Diamond", "Iron Ingot",
+		"Netherite Scrap", "Elytra", "Shulker Box", "Golden Apple",
+		"Enchanted Book", "Redstone", "Emerald", "Oak Log", "Totem of Undying",
+		"Beacon", "Ender Pearl", "Blaze Rod", "Trident"};
+	
+	private static final String[] ITEMS_ZH = {"钻石", "铁锭", "下界合金碎片", "鞘翅",
+		"潜影盒", "金苹果", "附魔书", "红石", "绿宝石", "橡木原木", "不死图腾", "信标", "末影珍珠",
+		"烈焰棒", "三叉戟"};
+	
+	private static final String[] ITEMS_RU = {"Алмаз", "Железный слиток",
+		"Незеритовый лом", "Элитры", "Шалкер", "Золотое яблоко",
+		"Зачарованная книга", "Редстоун", "Изумруд", "Дубовое бревно",
+		"Тотем бессмертия", "Маяк", "Жемчуг Края", "Огненный стержень",
+		"Трезубец"};
+	
+	private static final String[] HEADERS = {"[Shop]", "[Sell]", "[Buy]",
+		"[商店]", "出售", "收购", "[Магазин]", "Продам", "Куплю", "Chest Shop",
+		"箱子商店", "Склад"};
+	
+	private static final String[] PRICE_UNITS =
+		{"D", "dia", "钻石", "алм.", "E", "绿宝石", "изумр."};
+	
+	private static final String[] NAMES = {"Steve", "Alex", "xiaoming",
+		"Notch_fan", "Вася", "小红", "ShopKeeper42", "Ирина", "墨染", "Builder_7"};
+	
+	private static final String[] FILLER = {"", "", "Welcome!", "欢迎光临",
+		"Добро пожаловать", "Open 24/7", "营业中", "Скидки!", "->", "<-"};
+	
+	/**
+	 * Returns {@code count} signs, each as the four sign lines joined by
+	 * spaces (the form the search code matches against).
+	 */
+	public static String[] generate(int count, long seed)
+	{
+		String[][] lines = generateLines(count, seed);
+		String[] signs = new String[count];
+		for(int i = 0; i < count; i++)
+			signs[i] = String.join(" ", lines[i]);
+		
+		return signs;
+	}
+	
+	/**
+	 * Returns {@code count} signs as their four separate lines.
+	 */
+	public static String[][] generateLines(int count, long seed)
+	{
+		Random random = new Random(seed);
+		String[][] signs = new String[count][];
+		for(int i = 0; i < count; i++)
+			signs[i] = generateSign(random);
+		
+		return signs;
+	}
+	
+	private static String[] generateSign(Random random)
+	{
+		String[] items = language(random);
+		
+		// About one sign in five is a decoration or a name plate, not a shop
+		if(random.nextInt(5) == 0)
+			return new String[]{filler(random), name(random), filler(random),
+				""};
+		
+		String item = item(random, items);
+		String price = price(random);
+		
+		return new String[]{header(random), item, price,
+			random.nextBoolean() ? name(random) : filler(random)};
+	}
+	
+	private static String[] language(Random random)
+	{
+		return switch(random.nextInt(3))
+		{
+			case 0 -> ITEMS_EN;
+			case 1 -> ITEMS_ZH;
+			default -> ITEMS_RU;
+		};
+	}
+	
+	private static String item(Random random, String[] items)
+	{
+		String item = pick(random, items);
+		if(random.nextInt(4) == 0)
+			item += " x" + (1 + random.nextInt(64));
+		
+		return item;
+	}
+	
+	static String header(Random random)
+	{
+		return pick(random, HEADERS);
+	}
+	
+	/**
+	 * Returns an item name in a random language, sometimes with a stack
+	 * size.
+	 */
+	static String item(Random random)
+	{
+		return item(random, language(random));
+	}
+	
+	/**
+	 * Returns a bare item name in a random language, as shown by an item
+	 * frame.
+	 */
+	static String itemName(Random random)
+	{
+		return pick(random, language(random));
+	}
+	
+	static String price(Random random)
+	{
+		return (1 + random.nextInt(128)) + " " + pick(random, PRICE_UNITS);
+	}
+	
+	static String name(Random random)
+	{
+		return pick(random, NAMES);
+	}
+	
+	static String filler(Random random)
+	{
+		return pick(random, FILLER);
+	}
+	
+	private static String pick(Random random, String[] values)
+	{
+		return values[random.nextInt(values.length)];
+	}
+}
@@ -0,0 +1,381 @@
+package net.signfinder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.signfinder.core.AutoSaveMode;
+import net.signfinder.core.EntitySearchRange;
+import net.signfinder.core.HighlightAnimation;
+import net.signfinder.core.SignEspStyle;
+import net.signfinder.core.SignExportFormat;
+import net.signfinder.engine.CaseFolding;
+import net.signfinder.engine.SearchPresets;
+import net.signfinder.engine.TextNormalizer;
+import net.signfinder.engine.cache.PatternCache;
+import net.signfinder.engine.regex.CompiledRegex;
+
+/**
+ * Immutable snapshot of {@link SignFinderConfig}, with detection keywords,
+ * ignore words and presets prepared for matching. Built once per config
+ * save, so hot paths neither re-derive anything per call nor see a config
+ * that is being edited.
+ *
+ * <p>
+ * {@link SignFinderConfig} stays the editable form that ModMenu and the
+ * commands change and save.
+ */
+public final class CompiledConfig
+{
+	private static final Logger LOGGER =
+		LoggerFactory.getLogger(CompiledConfig.class);
+	
+	/** Default settings, for code that may run before the mod is set up. */
+	public static final CompiledConfig DEFAULTS =
+		new CompiledConfig(new SignFinderConfig(), null);
+	
+	private final EntitySearchRange entitySearchRange;
+	private final int defaultSearchRadius;
+	private final int maxResultsPerPage;
+	private final int textPreviewLength;
+	private final boolean autoDetectionEnabled;
+	private final boolean signHighlightingEnabled;
+	private final boolean autoRemoveOnApproach;
+	private final float autoRemovalDistance;
+	private final boolean clearAllHighlightsOnApproach;
+	private final int signHighlightColor;
+	private final int highlightTransparency;
+	private final SignEspStyle highlightStyle;
+	private final HighlightAnimation highlightAnimation;
+	private final int maxTracers;
+	private final boolean caseSensitive;
+	private final TextNormalizer textNormalizer;
+	private final boolean autoHighlightDetected;
+	private final boolean autoSaveDetectionData;
+	private final boolean alwaysIncludeLocalData;
+	private final int autoSaveIntervalSeconds;
+	private final AutoSaveMode autoSaveMode;
+	private final SignExportFormat exportFormat;
+	private final boolean adaptiveDetectionInterval;
+	
+	private final List<Keyword> keywords;
+	private final List<Keyword> ignoreWords;
+	private final SearchPresets presets;
+	
+	private CompiledConfig(SignFinderConfig config, PatternCache patternCache)
+	{
+		entitySearchRange = config.entity_search_range;
+		defaultSearchRadius = config.default_search_radius;
+		maxResultsPerPage = config.max_results_per_page;
+		textPreviewLength = config.text_preview_length;
+		autoDetectionEnabled = config.enable_auto_detection;
+		signHighlightingEnabled = config.enable_sign_highlighting;
+		autoRemoveOnApproach = config.auto_remove_on_approach;
+		autoRemovalDistance = config.auto_removal_distance;
+		clearAllHighlightsOnApproach = config.clear_all_highlights_on_approach;
+		signHighlightColor = config.sign_highlight_color;
+		highlightTransparency = config.highlight_transparency;
+		highlightStyle = config.highlight_style;
+		highlightAnimation = config.highlight_animation;
+		maxTracers = config.max_tracers;
+		caseSensitive = config.case_sensitive;
+		textNormalizer = new TextNormalizer(config.normalize_text,
+			config.collapse_whitespace, config.fold_diacritics,
+			config.pinyin_search);
+		autoHighlightDetected = config.auto_highlight_detected;
+		autoSaveDetectionData = config.auto_save_detection_data;
+		alwaysIncludeLocalData = config.always_include_local_data;
+		autoSaveIntervalSeconds = config.auto_save_interval_seconds;
+		autoSaveMode = config.auto_save_mode;
+		exportFormat = config.export_format;
+		adaptiveDetectionInterval = config.adaptive_detection_interval;
+		
+		keywords = compileKeywords(config.container_keywords,
+			config.auto_detection_use_regex, patternCache);
+		ignoreWords =
+			compileKeywords(config.ignore_words, false, patternCache);
+		presets = config.search_presets == null ? SearchPresets.EMPTY
+			: new SearchPresets(
+				copyPresets(config.search_presets.text_presets),
+				copyPresets(config.search_presets.regex_presets));
+	}
+	
+	private CompiledConfig(CompiledConfig base, boolean autoSaveDetectionData)
+	{
+		entitySearchRange = base.entitySearchRange;
+		defaultSearchRadius = base.defaultSearchRadius;
+		maxResultsPerPage = base.maxResultsPerPage;
+		textPreviewLength = base.textPreviewLength;
+		autoDetectionEnabled = base.autoDetectionEnabled;
+		signHighlightingEnabled = base.signHighlightingEnabled;
+		autoRemoveOnApproach = base.autoRemoveOnApproach;
+		autoRemovalDistance = base.autoRemovalDistance;
+		clearAllHighlightsOnApproach = base.clearAllHighlightsOnApproach;
+		signHighlightColor = base.signHighlightColor;
+		highlightTransparency = base.highlightTransparency;
+		highlightStyle = base.highlightStyle;
+		highlightAnimation = base.highlightAnimation;
+		maxTracers = base.maxTracers;
+		caseSensitive = base.caseSensitive;
+		textNormalizer = base.textNormalizer;
+		autoHighlightDetected = base.autoHighlightDetected;
+		this.autoSaveDetectionData = autoSaveDetectionData;
+		alwaysIncludeLocalData = base.alwaysIncludeLocalData;
+		autoSaveIntervalSeconds = base.autoSaveIntervalSeconds;
+		autoSaveMode = base.autoSaveMode;
+		exportFormat = base.exportFormat;
+		adaptiveDetectionInterval = base.adaptiveDetectionInterval;
+		
+		keywords = base.keywords;
+		ignoreWords = base.ignoreWords;
+		presets = base.presets;
+	}
+	
+	/**
+	 * Takes a snapshot of {@code config}. Invalid regex keywords are logged
+	 * once here and left out.
+	 *
+	 * @param patternCache
+	 *            Compiles regex keywords, which stay cached there; may only
+	 *            be null if {@code config} has none
+	 */
+	public static CompiledConfig compile(SignFinderConfig config,
+		PatternCache patternCache)
+	{
+		return new CompiledConfig(config, patternCache);
+	}
+	
+	/**
+	 * Same settings, but without saved detection data, e.g. to export only
+	 * what is currently loaded.
+	 */
+	public CompiledConfig withoutLocalData()
+	{
+		return autoSaveDetectionData ? new CompiledConfig(this, false) : this;
+	}
+	
+	/**
+	 * Finds the first container keyword that matches the given text.
+	 *
+	 * @param text
+	 *            Already normalized with {@link #getTextNormalizer()}
+	 * @return the matching keyword, or null if none matches
+	 */
+	public String findKeyword(String text)
+	{
+		return findFirst(keywords, text);
+	}
+	
+	/**
+	 * Finds the first ignore word contained in the given text.
+	 *
+	 * @param text
+	 *            Already normalized with {@link #getTextNormalizer()}
+	 * @return the matching ignore word, or null if none matches
+	 */
+	public String findIgnoreWord(String text)
+	{
+		return findFirst(ignoreWords, text);
+	}
+	
+	public int getKeywordCount()
+	{
+		return keywords.size();
+	}
+	
+	public SearchPresets getPresets()
+	{
+		return presets;
+	}
+	
+	public EntitySearchRange getEntitySearchRange()
+	{
+		return entitySearchRange;
+	}
+	
+	public int getDefaultSearchRadius()
+	{
+		return defaultSearchRadius;
+	}
+	
+	public int getMaxResultsPerPage()
+	{
+		return maxResultsPerPage;
+	}
+	
+	public int getTextPreviewLength()
+	{
+		return textPreviewLength;
+	}
+	
+	public boolean isAutoDetectionEnabled()
+	{
+		return autoDetectionEnabled;
+	}
+	
+	public boolean isSignHighlightingEnabled()
+	{
+		return signHighlightingEnabled;
+	}
+	
+	public boolean isAutoRemoveOnApproach()
+	{
+		return autoRemoveOnApproach;
+	}
+	
+	public float getAutoRemovalDistance()
+	{
+		return autoRemovalDistance;
+	}
+	
+	public boolean isClearAllHighlightsOnApproach()
+	{
+		return clearAllHighlightsOnApproach;
+	}
+	
+	public int getSignHighlightColor()
+	{
+		return signHighlightColor;
+	}
+	
+	public int getHighlightTransparency()
+	{
+		return highlightTransparency;
+	}
+	
+	public SignEspStyle getHighlightStyle()
+	{
+		return highlightStyle;
+	}
+	
+	public HighlightAnimation getHighlightAnimation()
+	{
+		return highlightAnimation;
+	}
+	
+	public int getMaxTracers()
+	{
+		return maxTracers;
+	}
+	
+	public boolean isCaseSensitive()
+	{
+		return caseSensitive;
+	}
+	
+	/**
+	 * How sign text, queries and keywords are normalized before they are
+	 * compared.
+	 */
+	public TextNormalizer getTextNormalizer()
+	{
+		return textNormalizer;
+	}
+	
+	public boolean isAutoHighlightDetected()
+	{
+		return autoHighlightDetected;
+	}
+	
+	public boolean isAutoSaveDetectionData()
+	{
+		return autoSaveDetectionData;
+	}
+	
+	public boolean isAlwaysIncludeLocalData()
+	{
+		return alwaysIncludeLocalData;
+	}
+	
+	public int getAutoSaveIntervalSeconds()
+	{
+		return autoSaveIntervalSeconds;
+	}
+	
+	public AutoSaveMode getAutoSaveMode()
+	{
+		return autoSaveMode;
+	}
+	
+	public SignExportFormat getExportFormat()
+	{
+		return exportFormat;
+	}
+	
+	public boolean isAdaptiveDetectionInterval()
+	{
+		return adaptiveDetectionInterval;
+	}
+	
+	private String findFirst(List<Keyword> candidates, String text)
+	{
+		for(Keyword keyword : candidates)
+			if(keyword.matches(text))
+				return keyword.source();
+		
+		return null;
+	}
+	
+	private List<Keyword> compileKeywords(String[] sources, boolean regex,
+		PatternCache patternCache)
+	{
+		if(sources == null || sources.length == 0)
+			return List.of();
+		
+		List<Keyword> compiled = new ArrayList<>(sources.length);
+		for(String source : sources)
+		{
+			if(source == null || source.trim().isEmpty())
+				continue;
+			
+			if(!regex)
+			{
+				String literal = textNormalizer.normalize(source);
+				compiled.add(new Keyword(source, null,
+					caseSensitive ? literal : CaseFolding.fold(literal),
+					caseSensitive));
+				continue;
+			}
+			
+			Optional<CompiledRegex> pattern =
+				patternCache.preload(source, caseSensitive);
+			if(pattern.isEmpty())
+			{
+				LOGGER.warn(
+					"Invalid regex pattern '{}' in auto-detection keywords, skipping",
+					source);
+				continue;
+			}
+			
+			compiled.add(new Keyword(source, pattern.get(), null, true));
+		}
+		
+		return List.copyOf(compiled);
+	}
+	
+	private static Map<String, String> copyPresets(Map<String, String> presets)
+	{
+		return presets == null ? Map.of() : Map.copyOf(presets);
+	}
+	
+	/**
+	 * A keyword or ignore word, either as a regex or as a literal that has
+	 * already been normalized, and folded if matching ignores case.
+	 */
+	private record Keyword(String source, CompiledRegex pattern,
+		String literal, boolean caseSensitive)
+	{
+		boolean matches(String text)
+		{
+			if(pattern != null)
+				return pattern.find(text);
+			
+			return caseSensitive ? text.contains(literal)
+				: CaseFolding.contains(text, literal);
+		}
+	}
+}
@@ -1,133 +1,141 @@
-package net.signfinder.cache;
-
-import java.util.Map;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-
-import net.minecraft.core.BlockPos;
-import net.minecraft.world.level.block.entity.SignBlockEntity;
-import net.signfinder.services.CacheService;
-import net.signfinder.util.SignTextUtils;
-
-/**
- * Thread-safe cache for sign data with automatic expiration and validation.
- * Uses time-based expiry to prevent memory leaks.
- */
-public class SignDataCache
-	implements CacheService<BlockPos, SignDataCache.SignData>
-{
-	private static final int MAX_CACHE_SIZE = 1000;
-	private static final long CACHE_VALIDITY_MS = 5000;
-	private static final long CACHE_EXPIRY_MS = 10000;
-	
-	private final Map<BlockPos, SignData> cache = new ConcurrentHashMap<>();
-	
-	@Override
-	public Optional<SignDataCache.SignData> get(BlockPos pos)
-	{
-		SignData data = cache.get(pos);
-		if(data == null)
-		{
-			return Optional.empty();
-		}
-		
-		if(!data.isValid())
-		{
-			cache.remove(pos);
-			return Optional.empty();
-		}
-		
-		return Optional.of(data);
-	}
-	
-	@Override
-	public void put(BlockPos pos, SignDataCache.SignData data)
-	{
-		cache.put(pos, data);
-		
-		// Cleanup if cache gets too large
-		if(cache.size() > MAX_CACHE_SIZE)
-		{
-			cleanExpired();
-		}
-	}
-	
-	@Override
-	public void remove(BlockPos pos)
-	{
-		cache.remove(pos);
-	}
-	
-	@Override
-	public void clear()
-	{
-		cache.clear();
-	}
-	
-	@Override
-	public int cleanExpired()
-	{
-		int removed = 0;
-		var iterator = cache.entrySet().iterator();
-		
-		while(iterator.hasNext())
-		{
-			var entry = iterator.next();
-			SignData data = entry.getValue();
-			
-			if(data == null || data.isExpired())
-			{
-				iterator.remove();
-				removed++;
-			}
-		}
-		
-		return removed;
-	}
-	
-	@Override
-	public int size()
-	{
-		return cache.size();
-	}
-	
-	/**
-	 * Creates SignData from a sign block entity.
-	 */
-	public SignData createSignData(SignBlockEntity sign)
-	{
-		String[] lines = SignTextUtils.getSignTextArray(sign);
-		
-		String combinedText = String.join(" ", lines);
-		return new SignData(lines, combinedText, System.currentTimeMillis());
-	}
-	
-	/**
-	 * Immutable cached sign data with expiration.
-	 */
-	public record SignData(String[] lines, String combinedText, long cacheTime)
-	{
-		public SignData(String[] lines, String combinedText, long cacheTime)
-		{
-			this.lines = lines.clone();
-			this.combinedText = combinedText;
-			this.cacheTime = cacheTime;
-		}
-		
-		@Override
-		public String[] lines()
-		{
-			return lines.clone();
-		}
-		
-		public boolean isValid()
-		{
-			return System.currentTimeMillis() - cacheTime < CACHE_VALIDITY_MS;
-		}
-		
-		public boolean isExpired()
-		{
-			return System.currentTimeMillis() - cacheTime > CACHE_EXPIRY_MS;
-		}
-	}
-}
+package net.signfinder.cache;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.entity.SignBlockEntity;
+import net.signfinder.engine.SignRecord;
+import net.signfinder.engine.TextNormalizer;
+import net.signfinder.engine.cache.CacheService;
+import net.signfinder.util.SignRecordUtils;
+import net.signfinder.util.SignTextUtils;
+
+/**
+ * Thread-safe cache for sign data with automatic expiration and validation.
+ * Uses time-based expiry to prevent memory leaks.
+ */
+public class SignDataCache implements CacheService<BlockPos, SignRecord>
+{
+	private static final int MAX_CACHE_SIZE = 1000;
+	private static final long CACHE_VALIDITY_MS = 5000;
+	private static final long CACHE_EXPIRY_MS = 10000;
+	
+	private final Map<BlockPos, SignRecord> cache = new ConcurrentHashMap<>();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	
+	@Override
+	public Optional<SignRecord> get(BlockPos pos)
+	{
+		SignRecord data = cache.get(pos);
+		if(data == null)
+		{
+			misses.increment();
+			return Optional.empty();
+		}
+		
+		if(!isValid(data))
+		{
+			cache.remove(pos);
+			misses.increment();
+			return Optional.empty();
+		}
+		
+		hits.increment();
+		return Optional.of(data);
+	}
+	
+	@Override
+	public void put(BlockPos pos, SignRecord data)
+	{
+		cache.put(pos, data);
+		
+		// Cleanup if cache gets too large
+		if(cache.size() > MAX_CACHE_SIZE)
+		{
+			cleanExpired();
+		}
+	}
+	
+	@Override
+	public void remove(BlockPos pos)
+	{
+		cache.remove(pos);
+	}
+	
+	@Override
+	public void clear()
+	{
+		cache.clear();
+	}
+	
+	@Override
+	public int cleanExpired()
+	{
+		int removed = 0;
+		var iterator = cache.entrySet().iterator();
+		
+		while(iterator.hasNext())
+		{
+			var entry = iterator.next();
+			SignRecord data = entry.getValue();
+			
+			if(data == null || isExpired(data))
+			{
+				iterator.remove();
+				removed++;
+			}
+		}
+		
+		return removed;
+	}
+	
+	@Override
+	public int size()
+	{
+		return cache.size();
+	}
+	
+	/**
+	 * Number of lookups that found a valid record.
+	 */
+	public long getHitCount()
+	{
+		return hits.sum();
+	}
+	
+	/**
+	 * Number of lookups that found no record, or only an outdated one.
+	 */
+	public long getMissCount()
+	{
+		return misses.sum();
+	}
+	
+	/**
+	 * Creates a sign record from a sign block entity, with its text
+	 * normalized for searching.
+	 */
+	public SignRecord createSignData(SignBlockEntity sign,
+		TextNormalizer normalizer)
+	{
+		String[] lines = SignTextUtils.getSignTextArray(sign);
+		return SignRecord.sign(SignRecordUtils.pack(sign.getBlockPos()), lines,
+			System.currentTimeMillis(), normalizer);
+	}
+	
+	private static boolean isValid(SignRecord data)
+	{
+		long age = System.currentTimeMillis() - data.timestamp();
+		return age < CACHE_VALIDITY_MS;
+	}
+	
+	private static boolean isExpired(SignRecord data)
+	{
+		long age = System.currentTimeMillis() - data.timestamp();
+		return age > CACHE_EXPIRY_MS;
+	}
+}
@@ -1,18 +1,26 @@
-package net.signfinder.commands.core;
-
-public class CommandConstants
-{
-	public static final String COMMAND_NAME = "findsign";
-	public static final String COMMAND_PREFIX = "/" + COMMAND_NAME;
-	
-	public static final String SUBCOMMAND_REGEX = "regex";
-	public static final String SUBCOMMAND_ARRAY = "array";
-	public static final String SUBCOMMAND_PRESET = "preset";
-	public static final String SUBCOMMAND_PAGE = "page";
-	public static final String SUBCOMMAND_CURRENT = "current";
-	public static final String SUBCOMMAND_PRESETS = "presets";
-	public static final String SUBCOMMAND_REMOVE = "remove";
-	public static final String SUBCOMMAND_COLOR = "color";
-	public static final String SUBCOMMAND_CLEAR = "clear";
-	public static final String SUBCOMMAND_EXPORT = "export";
-}
+package net.signfinder.commands.core;
+
+public class CommandConstants
+{
+	public static final String COMMAND_NAME = "findsign";
+	public static final String COMMAND_PREFIX = "/" + COMMAND_NAME;
+	
+	public static final String SUBCOMMAND_REGEX = "regex";
+	public static final String SUBCOMMAND_ARRAY = "array";
+	public static final String SUBCOMMAND_PRESET = "preset";
+	public static final String SUBCOMMAND_FUZZY = "fuzzy";
+	public static final String SUBCOMMAND_QUERY = "query";
+	public static final String SUBCOMMAND_PAGE = "page";
+	public static final String SUBCOMMAND_CURRENT = "current";
+	public static final String SUBCOMMAND_PRESETS = "presets";
+	public static final String SUBCOMMAND_REMOVE = "remove";
+	public static final String SUBCOMMAND_COLOR = "color";
+	public static final String SUBCOMMAND_CLEAR = "clear";
+	public static final String SUBCOMMAND_EXPORT = "export";
+	public static final String SUBCOMMAND_STATS = "stats";
+	public static final String SUBCOMMAND_RESET = "reset";
+	public static final String SUBCOMMAND_EXPLAIN = "explain";
+	public static final String SUBCOMMAND_TRACE = "trace";
+	public static final String SUBCOMMAND_START = "start";
+	public static final String SUBCOMMAND_STOP = "stop";
+}
@@ -0,0 +1,124 @@
+package net.signfinder.commands.specialized;
+
+import java.util.Locale;
+
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import net.fabricmc.fabric.api.client.command.v2.FabricClientCommandSource;
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.Component;
+import net.signfinder.CompiledConfig;
+import net.signfinder.SignFinderMod;
+import net.signfinder.commands.core.BaseCommand;
+import net.signfinder.engine.PreparedQuery;
+import net.signfinder.engine.QueryMatcher.MatcherKind;
+import net.signfinder.engine.SearchQuery;
+import net.signfinder.engine.SearchQuery.SearchType;
+import net.signfinder.models.SearchProfile;
+import net.signfinder.models.SearchProfile.Stage;
+import net.signfinder.search.SearchQueryProcessor;
+import net.signfinder.services.ServiceRegistry;
+
+/**
+ * Runs a search without showing or highlighting its results, and prints
+ * where its candidates came from and where the time went instead.
+ */
+public class ExplainCommand extends BaseCommand
+{
+	public static int explain(CommandContext<FabricClientCommandSource> ctx,
+		SearchType type)
+	{
+		if(!validatePlayerInWorld(ctx))
+			return 0;
+		
+		SignFinderMod signFinder = getSignFinderInstance(ctx);
+		if(signFinder == null)
+			return 0;
+		
+		CompiledConfig config = signFinder.getCompiledConfig();
+		String argName = switch(type)
+		{
+			case REGEX -> "pattern";
+			case ARRAY -> "keywords";
+			case PRESET -> "preset_name";
+			case TEXT, FUZZY, QUERY -> "query";
+		};
+		String queryString = StringArgumentType.getString(ctx, argName);
+		SearchQuery query = type == SearchType.QUERY
+			? SearchQuery.query(queryString, config.getDefaultSearchRadius(),
+				config.isCaseSensitive())
+			: new SearchQuery(queryString, type,
+				config.getDefaultSearchRadius(), config.isCaseSensitive());
+		
+		SearchProfile profile = new SearchProfile();
+		signFinder.getSearchService().searchEntities(query, config, profile);
+		
+		PreparedQuery prepared = ServiceRegistry
+			.getService(SearchQueryProcessor.class).prepare(query, config);
+		MatcherKind matcher = prepared.getKind();
+		
+		ctx.getSource()
+			.sendFeedback(Component
+				.translatable("signfinder.explain.title", query.query(),
+					type.name().toLowerCase(Locale.ROOT), query.radius())
+				.withStyle(ChatFormatting.YELLOW));
+		sendLine(ctx, Component.translatable("signfinder.explain.matcher",
+			Component.translatable("signfinder.explain.matcher."
+				+ matcher.name().toLowerCase(Locale.ROOT)),
+			Component.translatable(query.caseSensitive()
+				? "signfinder.explain.case_sensitive"
+				: "signfinder.explain.case_insensitive")));
+		if(prepared.getPlan() != null)
+			sendLine(ctx, Component.translatable("signfinder.explain.plan",
+				prepared.getPlan()));
+		
+		sendLine(ctx,
+			Component.translatable("signfinder.explain.live_scan",
+				formatMillis(profile.getStageNanos(Stage.LIVE_SCAN)),
+				profile.getLiveSigns(), profile.getLiveFrames(),
+				profile.getLiveMatches()));
+		sendStage(ctx, profile, Stage.FULL_RANGE_UPDATE,
+			Component.translatable("signfinder.explain.full_range_update",
+				formatMillis(profile.getStageNanos(Stage.FULL_RANGE_UPDATE))));
+		sendStage(ctx, profile, Stage.LOCAL_SEARCH,
+			Component.translatable("signfinder.explain.local_search",
+				formatMillis(profile.getStageNanos(Stage.LOCAL_SEARCH)),
+				profile.getLocalEntries(), profile.getLocalMatches()));
+		sendLine(ctx,
+			Component.translatable("signfinder.explain.merge",
+				formatMillis(profile.getStageNanos(Stage.MERGE)),
+				profile.getResultsBeforeDedup(), profile.getResults()));
+		
+		ctx.getSource()
+			.sendFeedback(Component
+				.translatable("signfinder.explain.total",
+					formatMillis(profile.getTotalNanos()),
+					profile.getResults())
+				.withStyle(ChatFormatting.GREEN));
+		
+		return profile.getResults();
+	}
+	
+	private static void sendStage(
+		CommandContext<FabricClientCommandSource> ctx, SearchProfile profile,
+		Stage stage, Component line)
+	{
+		if(profile.getStageNanos(stage) < 0)
+			line = Component.translatable("signfinder.explain."
+				+ stage.name().toLowerCase(Locale.ROOT) + "_skipped");
+		
+		sendLine(ctx, line);
+	}
+	
+	private static void sendLine(CommandContext<FabricClientCommandSource> ctx,
+		Component line)
+	{
+		ctx.getSource().sendFeedback(
+			Component.literal("• ").append(line).withStyle(ChatFormatting.GRAY));
+	}
+	
+	private static String formatMillis(long nanos)
+	{
+		return String.format("%.2f", nanos / 1_000_000.0);
+	}
+}
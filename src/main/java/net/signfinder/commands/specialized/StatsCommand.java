@@ -0,0 +1,116 @@
+package net.signfinder.commands.specialized;
+
+import java.util.Map;
+
+import com.mojang.brigadier.context.CommandContext;
+import net.fabricmc.fabric.api.client.command.v2.FabricClientCommandSource;
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.Component;
+import net.signfinder.cache.SignDataCache;
+import net.signfinder.commands.core.BaseCommand;
+import net.signfinder.commands.core.CommandUtils;
+import net.signfinder.engine.cache.PatternCache;
+import net.signfinder.engine.metrics.LatencyHistogram;
+import net.signfinder.managers.MetricsManager;
+import net.signfinder.services.ServiceRegistry;
+
+public class StatsCommand extends BaseCommand
+{
+	public static int showStats(CommandContext<FabricClientCommandSource> ctx)
+	{
+		ctx.getSource()
+			.sendFeedback(Component.translatable("signfinder.stats.title")
+				.withStyle(ChatFormatting.YELLOW));
+		
+		displayCacheStats(ctx);
+		displayTimers(ctx);
+		displayCounters(ctx);
+		
+		return 1;
+	}
+	
+	public static int resetStats(CommandContext<FabricClientCommandSource> ctx)
+	{
+		MetricsManager.REGISTRY.reset();
+		ctx.getSource()
+			.sendFeedback(Component.translatable("signfinder.stats.reset")
+				.withStyle(ChatFormatting.GREEN));
+		return 1;
+	}
+	
+	private static void displayCacheStats(
+		CommandContext<FabricClientCommandSource> ctx)
+	{
+		ctx.getSource().sendFeedback(
+			Component.literal(CommandUtils.getCacheStats())
+				.withStyle(ChatFormatting.GRAY));
+		
+		SignDataCache signCache =
+			ServiceRegistry.getService(SignDataCache.class);
+		ctx.getSource()
+			.sendFeedback(Component
+				.translatable("signfinder.stats.sign_cache", signCache.size(),
+					formatHitRatio(signCache.getHitCount(),
+						signCache.getMissCount()))
+				.withStyle(ChatFormatting.GRAY));
+		
+		PatternCache patternCache =
+			ServiceRegistry.getService(PatternCache.class);
+		ctx.getSource()
+			.sendFeedback(Component
+				.translatable("signfinder.stats.pattern_cache",
+					patternCache.size(),
+					formatHitRatio(patternCache.getHitCount(),
+						patternCache.getMissCount()))
+				.withStyle(ChatFormatting.GRAY));
+	}
+	
+	private static void displayTimers(
+		CommandContext<FabricClientCommandSource> ctx)
+	{
+		ctx.getSource()
+			.sendFeedback(Component.translatable("signfinder.stats.timers")
+				.withStyle(ChatFormatting.GREEN));
+		
+		for(LatencyHistogram.Snapshot timer : MetricsManager.REGISTRY
+			.getTimerSnapshots())
+		{
+			if(timer.count() == 0)
+				continue;
+			
+			ctx.getSource().sendFeedback(Component
+				.literal("• " + timer.name()).withStyle(ChatFormatting.AQUA)
+				.append(Component.literal(String.format(
+					" ×%d  %s / %s / %s / %s", timer.count(),
+					formatMicros(timer.mean()), formatMicros(timer.p50()),
+					formatMicros(timer.p99()), formatMicros(timer.max())))
+					.withStyle(ChatFormatting.WHITE)));
+		}
+	}
+	
+	private static void displayCounters(
+		CommandContext<FabricClientCommandSource> ctx)
+	{
+		Map<String, Long> counters =
+			MetricsManager.REGISTRY.getCounterValues();
+		counters.forEach((name, value) -> ctx.getSource()
+			.sendFeedback(Component.literal("• " + name)
+				.withStyle(ChatFormatting.AQUA).append(Component
+					.literal(" " + value).withStyle(ChatFormatting.WHITE))));
+	}
+	
+	private static String formatHitRatio(long hits, long misses)
+	{
+		long lookups = hits + misses;
+		if(lookups == 0)
+			return "-";
+		
+		return String.format("%.1f%% (%d/%d)", hits * 100.0 / lookups, hits,
+			lookups);
+	}
+	
+	private static String formatMicros(long nanos)
+	{
+		return String.format("%.1f", nanos / 1000.0);
+	}
+}
@@ -0,0 +1,84 @@
+package net.signfinder.commands.specialized;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import com.mojang.brigadier.context.CommandContext;
+import net.fabricmc.fabric.api.client.command.v2.FabricClientCommandSource;
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.Component;
+import net.signfinder.SignFinderMod;
+import net.signfinder.commands.core.BaseCommand;
+import net.signfinder.managers.TraceRecordingManager;
+
+/**
+ * Starts and stops recording tick traces for the headless replayer.
+ */
+public class TraceCommand extends BaseCommand
+{
+	public static int startRecording(
+		CommandContext<FabricClientCommandSource> ctx)
+	{
+		if(!validatePlayerInWorld(ctx))
+			return 0;
+		
+		SignFinderMod signFinder = getSignFinderInstance(ctx);
+		if(signFinder == null)
+			return 0;
+		
+		TraceRecordingManager recorder = signFinder.getTraceRecorder();
+		if(recorder.isRecording())
+		{
+			ctx.getSource()
+				.sendFeedback(Component
+					.translatable("signfinder.trace.already_recording",
+						recorder.getFile().getFileName().toString())
+					.withStyle(ChatFormatting.YELLOW));
+			return 0;
+		}
+		
+		try
+		{
+			Path file = recorder.start();
+			ctx.getSource()
+				.sendFeedback(Component
+					.translatable("signfinder.trace.started",
+						file.getFileName().toString())
+					.withStyle(ChatFormatting.GREEN));
+			return 1;
+		}catch(IOException e)
+		{
+			SignFinderMod.LOGGER.error("Failed to start trace", e);
+			ctx.getSource()
+				.sendFeedback(Component
+					.translatable("signfinder.trace.failed", e.getMessage())
+					.withStyle(ChatFormatting.RED));
+			return 0;
+		}
+	}
+	
+	public static int stopRecording(
+		CommandContext<FabricClientCommandSource> ctx)
+	{
+		SignFinderMod signFinder = getSignFinderInstance(ctx);
+		if(signFinder == null)
+			return 0;
+		
+		TraceRecordingManager recorder = signFinder.getTraceRecorder();
+		long events = recorder.stop();
+		if(events < 0)
+		{
+			ctx.getSource().sendFeedback(
+				Component.translatable("signfinder.trace.not_recording")
+					.withStyle(ChatFormatting.YELLOW));
+			return 0;
+		}
+		
+		ctx.getSource()
+			.sendFeedback(Component
+				.translatable("signfinder.trace.stopped", events,
+					recorder.getFile().toString())
+				.withStyle(ChatFormatting.GREEN));
+		return 1;
+	}
+}
@@ -0,0 +1,47 @@
+package net.signfinder.core;
+
+/**
+ * Shader-driven highlight animations. The animation is selected per render
+ * pipeline with a shader define and driven by the {@code GameTime} uniform, so
+ * animating highlights costs nothing on the CPU.
+ */
+public enum HighlightAnimation
+{
+	NONE(null),
+	PULSE("SIGNFINDER_PULSE"),
+	BREATHE("SIGNFINDER_BREATHE"),
+	FLASH_NEW("SIGNFINDER_FLASH");
+	
+	private final String shaderDefine;
+	
+	private HighlightAnimation(String shaderDefine)
+	{
+		this.shaderDefine = shaderDefine;
+	}
+	
+	public boolean isAnimated()
+	{
+		return shaderDefine != null;
+	}
+	
+	/**
+	 * Whether only newly found results are animated, while all others are
+	 * drawn with the static pipelines.
+	 */
+	public boolean onlyAnimatesNewResults()
+	{
+		return this == FLASH_NEW;
+	}
+	
+	public String getShaderDefine()
+	{
+		return shaderDefine;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "text.autoconfig.signfinder.option.highlight_animation."
+			+ name().toLowerCase();
+	}
+}
@@ -1,166 +1,166 @@
-package net.signfinder.detection;
-
-import java.util.List;
-
-import net.minecraft.client.Minecraft;
-import net.minecraft.core.BlockPos;
-import net.minecraft.world.phys.Vec3;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import net.signfinder.SignFinderConfig;
-import net.signfinder.models.SignSearchResult;
-import net.signfinder.cache.LocalDataCacheManager;
-
-/**
- * Dedicated service for managing auto-detection cache operations.
- * Handles adding/removing detected signs and periodic maintenance.
- */
-public class AutoDetectionCacheService
-{
-	private static final Logger LOGGER =
-		LoggerFactory.getLogger(AutoDetectionCacheService.class);
-	
-	private final LocalDataCacheManager localDataManager;
-	private final Minecraft mc;
-	
-	public AutoDetectionCacheService(LocalDataCacheManager localDataManager)
-	{
-		this.localDataManager = localDataManager;
-		this.mc = Minecraft.getInstance();
-	}
-	
-	/**
-	 * Adds a newly detected sign to the auto-detection cache.
-	 *
-	 * @param result
-	 *            The detected sign result
-	 * @param config
-	 *            Current configuration
-	 */
-	public void addDetectedSign(SignSearchResult result,
-		SignFinderConfig config)
-	{
-		if(!config.auto_save_detection_data)
-		{
-			return;
-		}
-		
-		try
-		{
-			localDataManager.addToLocalCache(result);
-			LOGGER.debug("Added detected sign at {} to cache", result.getPos());
-		}catch(Exception e)
-		{
-			LOGGER.warn("Failed to add detected sign to cache", e);
-		}
-	}
-	
-	/**
-	 * Removes a sign from the auto-detection cache.
-	 *
-	 * @param pos
-	 *            Position of the sign to remove
-	 * @param config
-	 *            Current configuration
-	 */
-	public void removeDetectedSign(BlockPos pos, SignFinderConfig config)
-	{
-		if(!config.auto_save_detection_data)
-		{
-			return;
-		}
-		
-		try
-		{
-			localDataManager.removeFromLocalCache(pos);
-			LOGGER.debug("Removed detected sign at {} from cache", pos);
-		}catch(Exception e)
-		{
-			LOGGER.warn("Failed to remove detected sign from cache", e);
-		}
-	}
-	
-	/**
-	 * Removes nearby detected signs based on player proximity.
-	 *
-	 * @param config
-	 *            Current configuration including removal distance
-	 */
-	public void removeNearbyDetectedSigns(SignFinderConfig config)
-	{
-		if(!config.auto_save_detection_data || mc.player == null)
-		{
-			return;
-		}
-		
-		Vec3 playerPos = mc.player.position();
-		double removalDistanceSq =
-			config.auto_removal_distance * config.auto_removal_distance;
-		
-		List<SignSearchResult> localData = localDataManager.getAllLocalData();
-		
-		for(SignSearchResult result : localData)
-		{
-			BlockPos pos = result.getPos();
-			double distanceSq = pos.distToCenterSqr(playerPos);
-			
-			if(distanceSq <= removalDistanceSq)
-			{
-				removeDetectedSign(pos, config);
-			}
-		}
-	}
-	
-	/**
-	 * Performs periodic maintenance of the auto-detection cache.
-	 *
-	 * @param config
-	 *            Current configuration
-	 */
-	public void performMaintenance(SignFinderConfig config)
-	{
-		if(!config.auto_save_detection_data)
-		{
-			return;
-		}
-		
-		try
-		{
-			// Auto-save functionality moved to dedicated periodic auto-save in
-			// SignFinderMod
-			// No longer perform automatic saves here to avoid excessive save
-			// frequency
-			LOGGER.debug("Auto-detection cache maintenance completed");
-		}catch(Exception e)
-		{
-			LOGGER.warn("Failed to perform auto-detection cache maintenance",
-				e);
-		}
-	}
-	
-	/**
-	 * Gets all cached detection results for display/debugging.
-	 *
-	 * @return List of all cached detection results
-	 */
-	public List<SignSearchResult> getAllCachedDetections()
-	{
-		return localDataManager.getAllLocalData();
-	}
-	
-	/**
-	 * Clears all cached detection data.
-	 */
-	public void clearAllCachedDetections()
-	{
-		List<SignSearchResult> allData = localDataManager.getAllLocalData();
-		
-		for(SignSearchResult result : allData)
-		{
-			localDataManager.removeFromLocalCache(result.getPos());
-		}
-		
-		LOGGER.info("Cleared all cached detection data");
-	}
-}
+package net.signfinder.detection;
+
+import java.util.List;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.phys.Vec3;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.signfinder.CompiledConfig;
+import net.signfinder.models.SignSearchResult;
+import net.signfinder.cache.LocalDataCacheManager;
+
+/**
+ * Dedicated service for managing auto-detection cache operations.
+ * Handles adding/removing detected signs and periodic maintenance.
+ */
+public class AutoDetectionCacheService
+{
+	private static final Logger LOGGER =
+		LoggerFactory.getLogger(AutoDetectionCacheService.class);
+	
+	private final LocalDataCacheManager localDataManager;
+	private final Minecraft mc;
+	
+	public AutoDetectionCacheService(LocalDataCacheManager localDataManager)
+	{
+		this.localDataManager = localDataManager;
+		this.mc = Minecraft.getInstance();
+	}
+	
+	/**
+	 * Adds a newly detected sign to the auto-detection cache.
+	 *
+	 * @param result
+	 *            The detected sign result
+	 * @param config
+	 *            Current configuration
+	 */
+	public void addDetectedSign(SignSearchResult result,
+		CompiledConfig config)
+	{
+		if(!config.isAutoSaveDetectionData())
+		{
+			return;
+		}
+		
+		try
+		{
+			localDataManager.addToLocalCache(result);
+			LOGGER.debug("Added detected sign at {} to cache", result.getPos());
+		}catch(Exception e)
+		{
+			LOGGER.warn("Failed to add detected sign to cache", e);
+		}
+	}
+	
+	/**
+	 * Removes a sign from the auto-detection cache.
+	 *
+	 * @param pos
+	 *            Position of the sign to remove
+	 * @param config
+	 *            Current configuration
+	 */
+	public void removeDetectedSign(BlockPos pos, CompiledConfig config)
+	{
+		if(!config.isAutoSaveDetectionData())
+		{
+			return;
+		}
+		
+		try
+		{
+			localDataManager.removeFromLocalCache(pos);
+			LOGGER.debug("Removed detected sign at {} from cache", pos);
+		}catch(Exception e)
+		{
+			LOGGER.warn("Failed to remove detected sign from cache", e);
+		}
+	}
+	
+	/**
+	 * Removes nearby detected signs based on player proximity.
+	 *
+	 * @param config
+	 *            Current configuration including removal distance
+	 */
+	public void removeNearbyDetectedSigns(CompiledConfig config)
+	{
+		if(!config.isAutoSaveDetectionData() || mc.player == null)
+		{
+			return;
+		}
+		
+		Vec3 playerPos = mc.player.position();
+		double removalDistanceSq =
+			config.getAutoRemovalDistance() * config.getAutoRemovalDistance();
+		
+		List<SignSearchResult> localData = localDataManager.getAllLocalData();
+		
+		for(SignSearchResult result : localData)
+		{
+			BlockPos pos = result.getPos();
+			double distanceSq = pos.distToCenterSqr(playerPos);
+			
+			if(distanceSq <= removalDistanceSq)
+			{
+				removeDetectedSign(pos, config);
+			}
+		}
+	}
+	
+	/**
+	 * Performs periodic maintenance of the auto-detection cache.
+	 *
+	 * @param config
+	 *            Current configuration
+	 */
+	public void performMaintenance(CompiledConfig config)
+	{
+		if(!config.isAutoSaveDetectionData())
+		{
+			return;
+		}
+		
+		try
+		{
+			// Auto-save functionality moved to dedicated periodic auto-save in
+			// SignFinderMod
+			// No longer perform automatic saves here to avoid excessive save
+			// frequency
+			LOGGER.debug("Auto-detection cache maintenance completed");
+		}catch(Exception e)
+		{
+			LOGGER.warn("Failed to perform auto-detection cache maintenance",
+				e);
+		}
+	}
+	
+	/**
+	 * Gets all cached detection results for display/debugging.
+	 *
+	 * @return List of all cached detection results
+	 */
+	public List<SignSearchResult> getAllCachedDetections()
+	{
+		return localDataManager.getAllLocalData();
+	}
+	
+	/**
+	 * Clears all cached detection data.
+	 */
+	public void clearAllCachedDetections()
+	{
+		List<SignSearchResult> allData = localDataManager.getAllLocalData();
+		
+		for(SignSearchResult result : allData)
+		{
+			localDataManager.removeFromLocalCache(result.getPos());
+		}
+		
+		LOGGER.info("Cleared all cached detection data");
+	}
+}
@@ -0,0 +1,43 @@
+package net.signfinder.detection;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+
+/**
+ * Counts how many positions appeared, disappeared or changed their text
+ * between two detection passes, by comparing text hashes. Two maps are
+ * swapped between passes, so a pass doesn't allocate once both have grown
+ * to the number of loaded signs.
+ */
+public final class ChangeTracker
+{
+	private Long2IntOpenHashMap current = new Long2IntOpenHashMap();
+	private Long2IntOpenHashMap previous = new Long2IntOpenHashMap();
+	private int changes;
+	
+	public void begin()
+	{
+		Long2IntOpenHashMap swap = previous;
+		previous = current;
+		current = swap;
+		current.clear();
+		changes = 0;
+	}
+	
+	public void visit(long pos, String text)
+	{
+		int hash = text.hashCode();
+		if(!previous.containsKey(pos) || previous.remove(pos) != hash)
+			changes++;
+		
+		current.put(pos, hash);
+	}
+	
+	/**
+	 * @return Changes since the previous pass, counting positions that
+	 *         weren't visited again as removed
+	 */
+	public int finish()
+	{
+		return changes + previous.size();
+	}
+}
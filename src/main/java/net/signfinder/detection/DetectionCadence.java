@@ -0,0 +1,137 @@
+package net.signfinder.detection;
+
+/**
+ * Decides how often auto-detection runs, from what it costs and how much
+ * there is to find. Detection passes come often while signs around the
+ * player keep changing, and back off in quiet areas, in markets where one
+ * pass is expensive, and whenever frames or ticks are already slow.
+ *
+ * <p>
+ * A pass always looks at every loaded sign and item frame, since the
+ * highlights are rebuilt from scratch each time. The time budget is
+ * therefore kept over several ticks: a pass that costs four times the
+ * budget runs at most every fourth tick.
+ */
+public final class DetectionCadence
+{
+	/** Ticks between passes when nothing has changed for a while. */
+	static final int MAX_INTERVAL = 20;
+	
+	/**
+	 * Share of the frame time that detection may use, averaged over the
+	 * ticks between two passes.
+	 */
+	private static final double FRAME_BUDGET_SHARE = 0.1;
+	/** Budget floor, so that a fast machine doesn't scan less often. */
+	private static final long MIN_BUDGET_NANOS = 500_000;
+	
+	/** Slower than 30 FPS counts as struggling. */
+	private static final long SLOW_FRAME_NANOS = 1_000_000_000L / 30;
+	/** Mod ticks slower than this count as struggling. */
+	private static final long SLOW_TICK_NANOS = 10_000_000;
+	
+	/**
+	 * Changes per tick at which detection runs every tick. Less change
+	 * stretches the interval proportionally, up to {@link #MAX_INTERVAL}.
+	 */
+	private static final double BUSY_CHANGES_PER_TICK = 1;
+	
+	/** Weight of the newest sample in the moving averages. */
+	private static final double SMOOTHING = 0.2;
+	
+	private double frameNanos;
+	private double tickNanos;
+	private double passNanos;
+	private double changesPerTick = BUSY_CHANGES_PER_TICK;
+	
+	private int interval = 1;
+	private int ticksSincePass;
+	
+	/**
+	 * Counts a tick, and returns whether detection should run in it.
+	 */
+	public boolean shouldRun()
+	{
+		ticksSincePass++;
+		return ticksSincePass >= interval;
+	}
+	
+	/**
+	 * Records a detection pass, and picks the interval until the next one.
+	 *
+	 * @param nanos
+	 *            How long the pass took
+	 * @param changes
+	 *            Signs and item frames that appeared, disappeared or
+	 *            changed since the previous pass
+	 */
+	public void onPass(long nanos, int changes)
+	{
+		passNanos = smooth(passNanos, nanos);
+		changesPerTick = smooth(changesPerTick,
+			changes / (double)Math.max(1, ticksSincePass));
+		ticksSincePass = 0;
+		interval = computeInterval();
+	}
+	
+	/**
+	 * Records the time since the previous frame.
+	 */
+	public void onFrame(long nanos)
+	{
+		frameNanos = smooth(frameNanos, nanos);
+	}
+	
+	/**
+	 * Records how long the mod's whole tick took.
+	 */
+	public void onTick(long nanos)
+	{
+		tickNanos = smooth(tickNanos, nanos);
+	}
+	
+	/**
+	 * Runs the next pass on the next tick, e.g. after the config changed.
+	 */
+	public void reset()
+	{
+		interval = 1;
+		ticksSincePass = 0;
+		changesPerTick = BUSY_CHANGES_PER_TICK;
+	}
+	
+	/** Ticks between the last pass and the next one. */
+	public int getInterval()
+	{
+		return interval;
+	}
+	
+	/** Time one pass may take, averaged over its interval. */
+	public long getBudgetNanos()
+	{
+		return Math.max(MIN_BUDGET_NANOS,
+			(long)(frameNanos * FRAME_BUDGET_SHARE));
+	}
+	
+	private int computeInterval()
+	{
+		// As often as things change...
+		double byChanges = changesPerTick > 0
+			? BUSY_CHANGES_PER_TICK / changesPerTick : MAX_INTERVAL;
+		
+		// ...but no more often than the budget allows
+		double byCost = passNanos / getBudgetNanos();
+		
+		double ticks = Math.max(byChanges, byCost);
+		if(frameNanos > SLOW_FRAME_NANOS || tickNanos > SLOW_TICK_NANOS)
+			ticks *= 2;
+		
+		return (int)Math.max(1, Math.min(MAX_INTERVAL, Math.ceil(ticks)));
+	}
+	
+	private static double smooth(double average, double sample)
+	{
+		return average == 0 ? sample
+			: average + SMOOTHING * (sample - average);
+	}
+}
@@ -0,0 +1,34 @@
+package net.signfinder.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One write of the detection data file.
+ */
+@Name("signfinder.AutoSave")
+@Label("Auto-Save")
+@Category("SignFinder")
+@Description("Serializing and writing the saved detection data")
+@StackTrace(false)
+public class AutoSaveEvent extends Event
+{
+	@Label("Bytes Written")
+	@DataAmount
+	public long bytes;
+	
+	@Label("Records")
+	@Description("Saved signs and item frames, over all worlds")
+	public int records;
+	
+	@Label("Worlds")
+	public int worlds;
+	
+	@Label("Succeeded")
+	public boolean succeeded;
+}
@@ -0,0 +1,31 @@
+package net.signfinder.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One auto-detection pass over the loaded signs and item frames.
+ */
+@Name("signfinder.DetectionPass")
+@Label("Detection Pass")
+@Category("SignFinder")
+@Description("Auto-detection scan of loaded signs and item frames")
+@StackTrace(false)
+public class DetectionPassEvent extends Event
+{
+	@Label("Signs Visited")
+	public int signsVisited;
+	
+	@Label("Signs Matched")
+	public int signsMatched;
+	
+	@Label("Item Frames Visited")
+	public int framesVisited;
+	
+	@Label("Item Frames Matched")
+	public int framesMatched;
+}
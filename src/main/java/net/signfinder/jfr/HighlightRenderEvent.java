@@ -0,0 +1,29 @@
+package net.signfinder.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Building and drawing one frame of highlights.
+ */
+@Name("signfinder.HighlightRender")
+@Label("Highlight Render")
+@Category("SignFinder")
+@Description("Building and drawing the highlight boxes and tracers")
+@StackTrace(false)
+public class HighlightRenderEvent extends Event
+{
+	@Label("Instances")
+	@Description("Highlighted search results and auto-detected entities")
+	public int instances;
+	
+	@Label("Tracers")
+	public int tracers;
+	
+	@Label("Vertices")
+	public int vertices;
+}
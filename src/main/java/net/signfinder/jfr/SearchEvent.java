@@ -0,0 +1,39 @@
+package net.signfinder.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One {@code /findsign} search, from scanning the loaded entities to merging
+ * in the saved data.
+ */
+@Name("signfinder.Search")
+@Label("Search")
+@Category("SignFinder")
+@Description("Search over loaded signs, item frames and saved data")
+@StackTrace(false)
+public class SearchEvent extends Event
+{
+	@Label("Query Type")
+	public String queryType;
+	
+	@Label("Radius")
+	@Description("Search radius in blocks")
+	public int radius;
+	
+	@Label("Live Candidates")
+	@Description("Loaded signs and item frames within the radius")
+	public int liveCandidates;
+	
+	@Label("Local Candidates")
+	@Description("Saved entries matching the query, before removing "
+		+ "positions that also have live results")
+	public int localCandidates;
+	
+	@Label("Results")
+	public int results;
+}
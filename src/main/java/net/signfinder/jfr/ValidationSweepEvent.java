@@ -0,0 +1,33 @@
+package net.signfinder.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One pass that checks cached detection data against the world.
+ */
+@Name("signfinder.ValidationSweep")
+@Label("Validation Sweep")
+@Category("SignFinder")
+@Description("Checking cached or saved detection data against the world")
+@StackTrace(false)
+public class ValidationSweepEvent extends Event
+{
+	@Label("Source")
+	@Description("\"memory\" for detected data that isn't saved yet, "
+		+ "\"saved\" for the saved data")
+	public String source;
+	
+	@Label("Entries Checked")
+	public int checked;
+	
+	@Label("Entries Modified")
+	public int modified;
+	
+	@Label("Entries Removed")
+	public int removed;
+}
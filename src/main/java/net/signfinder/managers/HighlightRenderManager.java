@@ -1,177 +1,192 @@
-package net.signfinder.managers;
-
-import java.util.ArrayList;
-import java.util.List;
-
-import com.mojang.blaze3d.vertex.PoseStack;
-import net.minecraft.world.entity.decoration.ItemFrame;
-import net.minecraft.world.level.block.entity.SignBlockEntity;
-import net.minecraft.world.phys.AABB;
-import net.minecraft.world.phys.Vec3;
-import net.signfinder.core.SignEspStyle;
-import net.signfinder.SignFinderConfig;
-import net.signfinder.SignFinderMod;
-import net.signfinder.util.RenderUtils;
-import net.signfinder.util.ColorUtils;
-
-public class HighlightRenderManager
-{
-	
-	private final ColorManager colorManager;
-	
-	public HighlightRenderManager(ColorManager colorManager)
-	{
-		this.colorManager = colorManager;
-	}
-	
-	public void renderHighlights(PoseStack PoseStack, float partialTicks,
-		SignFinderConfig config, List<SignBlockEntity> searchResultSigns,
-		List<ItemFrame> searchResultItemFrames,
-		List<SignBlockEntity> highlightedSigns,
-		List<ItemFrame> highlightedItemFrames)
-	{
-		if(!config.enable_sign_highlighting)
-			return;
-		
-		if(hasAnyHighlights(searchResultSigns, searchResultItemFrames,
-			highlightedSigns, highlightedItemFrames))
-		{
-			SignFinderMod.LOGGER.debug(
-				"Rendering {} search result signs, {} auto-detected signs, {} search result item frames, {} auto-detected item frames",
-				searchResultSigns.size(), highlightedSigns.size(),
-				searchResultItemFrames.size(), highlightedItemFrames.size());
-			
-			renderEntityHighlights(PoseStack, partialTicks, config,
-				searchResultSigns, searchResultItemFrames, highlightedSigns,
-				highlightedItemFrames);
-		}
-	}
-	
-	private boolean hasAnyHighlights(List<SignBlockEntity> searchResultSigns,
-		List<ItemFrame> searchResultItemFrames,
-		List<SignBlockEntity> highlightedSigns,
-		List<ItemFrame> highlightedItemFrames)
-	{
-		return !searchResultSigns.isEmpty() || !highlightedSigns.isEmpty()
-			|| !searchResultItemFrames.isEmpty()
-			|| !highlightedItemFrames.isEmpty();
-	}
-	
-	private void renderEntityHighlights(PoseStack PoseStack, float partialTicks,
-		SignFinderConfig config, List<SignBlockEntity> searchResultSigns,
-		List<ItemFrame> searchResultItemFrames,
-		List<SignBlockEntity> highlightedSigns,
-		List<ItemFrame> highlightedItemFrames)
-	{
-		SignEspStyle style = config.highlight_style;
-		
-		// Render search results (supports custom colors)
-		renderSearchResults(PoseStack, partialTicks, style, searchResultSigns,
-			searchResultItemFrames);
-		
-		// Render auto-detected results (uses default colors)
-		renderAutoDetectedEntities(PoseStack, partialTicks, config, style,
-			highlightedSigns, highlightedItemFrames);
-	}
-	
-	private void renderSearchResults(PoseStack PoseStack, float partialTicks,
-		SignEspStyle style, List<SignBlockEntity> searchResultSigns,
-		List<ItemFrame> searchResultItemFrames)
-	{
-		// 分别渲染每个搜索结果告示牌，支持自定义颜色
-		for(SignBlockEntity sign : searchResultSigns)
-		{
-			AABB signAABB = new AABB(sign.getBlockPos());
-			int color = colorManager.getHighlightColor(sign.getBlockPos());
-			renderSingleEntity(PoseStack, partialTicks, signAABB, color, style);
-		}
-		
-		// 分别渲染每个搜索结果物品展示框，支持自定义颜色
-		for(ItemFrame itemFrame : searchResultItemFrames)
-		{
-			AABB itemFrameAABB = new AABB(itemFrame.getPos());
-			int color = colorManager.getHighlightColor(itemFrame.getPos());
-			renderSingleEntity(PoseStack, partialTicks, itemFrameAABB, color,
-				style);
-		}
-	}
-	
-	private void renderAutoDetectedEntities(PoseStack PoseStack,
-		float partialTicks, SignFinderConfig config, SignEspStyle style,
-		List<SignBlockEntity> highlightedSigns,
-		List<ItemFrame> highlightedItemFrames)
-	{
-		int defaultColor = config.sign_highlight_color;
-		
-		// 渲染自动检测的告示牌（使用默认颜色）
-		if(!highlightedSigns.isEmpty())
-		{
-			List<AABB> autoDetectedAABBes = new ArrayList<>();
-			for(SignBlockEntity sign : highlightedSigns)
-			{
-				autoDetectedAABBes.add(new AABB(sign.getBlockPos()));
-			}
-			renderEntityGroup(PoseStack, partialTicks, autoDetectedAABBes,
-				defaultColor, style);
-		}
-		
-		// 渲染自动检测的物品展示框（使用默认颜色）
-		if(!highlightedItemFrames.isEmpty())
-		{
-			List<AABB> autoDetectedItemFrameAABBes = new ArrayList<>();
-			for(ItemFrame itemFrame : highlightedItemFrames)
-			{
-				autoDetectedItemFrameAABBes.add(new AABB(itemFrame.getPos()));
-			}
-			renderEntityGroup(PoseStack, partialTicks,
-				autoDetectedItemFrameAABBes, defaultColor, style);
-		}
-	}
-	
-	private void renderSingleEntity(PoseStack PoseStack, float partialTicks,
-		AABB entityAABB, int color, SignEspStyle style)
-	{
-		List<AABB> singleAABBList = List.of(entityAABB);
-		renderEntityGroup(PoseStack, partialTicks, singleAABBList, color,
-			style);
-	}
-	
-	private void renderEntityGroup(PoseStack PoseStack, float partialTicks,
-		List<AABB> entityAABBes, int color, SignEspStyle style)
-	{
-		if(entityAABBes.isEmpty())
-			return;
-		
-		// 获取配置的透明度设置
-		SignFinderConfig config = SignFinderMod.getInstance().getConfig();
-		int configuredAlpha = config.highlight_transparency;
-		
-		if(style.hasBoxes())
-		{
-			// 填充颜色：使用配置的透明度，保持相对透明
-			int fillAlpha = Math.max(10, configuredAlpha * 60 / 255);
-			int quadsColor = ColorUtils.combineRgbWithAlpha(color, fillAlpha);
-			
-			// 轮廓线使用更高的不透明度以确保可见性
-			int outlineAlpha = Math.max(30, configuredAlpha);
-			int linesColor =
-				ColorUtils.combineRgbWithAlpha(color, outlineAlpha);
-			
-			RenderUtils.drawSolidBoxes(PoseStack, entityAABBes, quadsColor,
-				false);
-			RenderUtils.drawOutlinedBoxes(PoseStack, entityAABBes, linesColor,
-				false);
-		}
-		
-		if(style.hasLines())
-		{
-			List<Vec3> ends =
-				entityAABBes.stream().map(AABB::getCenter).toList();
-			// 追踪线使用配置的透明度
-			int tracerColor =
-				ColorUtils.combineRgbWithAlpha(color, configuredAlpha);
-			RenderUtils.drawTracers(PoseStack, partialTicks, ends, tracerColor,
-				false);
-		}
-	}
-}
+package net.signfinder.managers;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import jdk.jfr.EventType;
+import net.minecraft.world.phys.Vec3;
+import net.signfinder.core.HighlightAnimation;
+import net.signfinder.core.SignEspStyle;
+import net.signfinder.jfr.HighlightRenderEvent;
+import net.signfinder.models.EntitySearchResult.EntityType;
+import net.signfinder.rendering.HighlightBatch;
+import net.signfinder.rendering.HighlightSnapshot;
+import net.signfinder.rendering.PoseVertexSink;
+import net.signfinder.rendering.SignFinderRenderLayers;
+import net.signfinder.rendering.TracerBudget;
+import net.signfinder.CompiledConfig;
+import net.signfinder.SignFinderMod;
+import net.signfinder.util.RenderUtils;
+import net.signfinder.util.SignFinderBufferSource;
+
+public class HighlightRenderManager
+{
+	/**
+	 * Per-thread scratch batch that is refilled every frame, so that steady
+	 * state rendering does not allocate per highlight.
+	 */
+	private static final ThreadLocal<HighlightBatch> SCRATCH_BATCH =
+		ThreadLocal.withInitial(HighlightBatch::new);
+	
+	private static final EventType RENDER_EVENT =
+		EventType.getEventType(HighlightRenderEvent.class);
+	
+	private final TracerBudget tracerBudget = new TracerBudget();
+	// Reused every frame; the buffer source is created on the render thread
+	private final PoseVertexSink sink = new PoseVertexSink();
+	private SignFinderBufferSource bufferSource;
+	private int lastVertexCount;
+	
+	/**
+	 * Renders the given snapshots. Both are immutable, so this never has to
+	 * lock or copy anything shared with the tick thread.
+	 */
+	public void renderHighlights(PoseStack matrixStack, float partialTicks,
+		CompiledConfig config, HighlightSnapshot searchResults,
+		boolean newSearchResults, HighlightSnapshot autoDetected)
+	{
+		lastVertexCount = 0;
+		if(!config.isSignHighlightingEnabled())
+			return;
+		
+		if(!searchResults.isEmpty() || !autoDetected.isEmpty())
+		{
+			if(SignFinderMod.LOGGER.isDebugEnabled())
+				SignFinderMod.LOGGER.debug(
+					"Rendering {} search result signs, {} auto-detected signs, {} search result item frames, {} auto-detected item frames",
+					searchResults.count(EntityType.SIGN),
+					autoDetected.count(EntityType.SIGN),
+					searchResults.count(EntityType.ITEM_FRAME),
+					autoDetected.count(EntityType.ITEM_FRAME));
+			
+			// Only allocate the event while a recording wants it
+			HighlightRenderEvent event = null;
+			if(RENDER_EVENT.isEnabled())
+			{
+				event = new HighlightRenderEvent();
+				event.begin();
+			}
+			
+			HighlightAnimation animation = config.getHighlightAnimation();
+			HighlightBatch batch = SCRATCH_BATCH.get();
+			batch.clear();
+			
+			// Flash only newly set search results; everything else keeps
+			// the static pipelines
+			int searchResultFlags = 0;
+			if(animation.onlyAnimatesNewResults())
+			{
+				if(newSearchResults)
+					searchResultFlags = HighlightBatch.FLAG_ANIMATED;
+				else
+					animation = HighlightAnimation.NONE;
+			}
+			
+			// Search results first (supports custom colors), then
+			// auto-detected results (uses default colors)
+			batch.addAll(searchResults, config.getSignHighlightColor(),
+				searchResultFlags);
+			batch.addAll(autoDetected, config.getSignHighlightColor(), 0);
+			
+			HighlightBatch tracerTargets = batch;
+			if(config.getHighlightStyle().hasLines())
+			{
+				Vec3 camPos = RenderUtils.getCameraPos();
+				tracerTargets = tracerBudget.select(batch, camPos.x,
+					camPos.y, camPos.z, config.getMaxTracers());
+			}
+			
+			// All layers share one staged buffer, so a frame is a single
+			// upload. Animation runs in the shaders off the GameTime
+			// uniform, so the vertex data itself never changes per frame.
+			if(bufferSource == null)
+				bufferSource = new SignFinderBufferSource();
+			
+			sink.resetVertexCount();
+			if(searchResultFlags != 0)
+			{
+				renderBatch(matrixStack, partialTicks, config,
+					HighlightAnimation.NONE, batch, tracerTargets,
+					HighlightBatch.FLAG_ANIMATED, 0);
+				renderBatch(matrixStack, partialTicks, config, animation,
+					batch, tracerTargets, HighlightBatch.FLAG_ANIMATED,
+					HighlightBatch.FLAG_ANIMATED);
+			}else
+				renderBatch(matrixStack, partialTicks, config, animation,
+					batch, tracerTargets, 0, 0);
+			
+			bufferSource.uploadAndDraw();
+			int vertices = sink.getVertexCount();
+			
+			if(event != null)
+			{
+				event.instances = batch.size();
+				event.tracers = config.getHighlightStyle().hasLines()
+					? tracerTargets.size() : 0;
+				event.vertices = vertices;
+				event.commit();
+			}
+			lastVertexCount = vertices;
+		}else
+			tracerBudget.invalidate();
+	}
+	
+	/**
+	 * Returns the number of vertices the last frame emitted.
+	 */
+	public int getLastVertexCount()
+	{
+		return lastVertexCount;
+	}
+	
+	/**
+	 * Frees the GPU buffer used for highlights. The next frame that has
+	 * something to draw creates a new one.
+	 */
+	public void close()
+	{
+		if(bufferSource == null)
+			return;
+		
+		bufferSource.close();
+		bufferSource = null;
+	}
+	
+	private void renderBatch(PoseStack matrixStack, float partialTicks,
+		CompiledConfig config, HighlightAnimation animation,
+		HighlightBatch batch, HighlightBatch tracerTargets, int flagMask,
+		int flagValue)
+	{
+		SignEspStyle style = config.getHighlightStyle();
+		
+		// 获取配置的透明度设置
+		int configuredAlpha = config.getHighlightTransparency();
+		PoseStack.Pose entry = matrixStack.last();
+		
+		if(style.hasBoxes())
+		{
+			// 填充颜色：使用配置的透明度，保持相对透明
+			int fillAlpha = Math.max(10, configuredAlpha * 60 / 255);
+			
+			// 轮廓线使用更高的不透明度以确保可见性
+			int outlineAlpha = Math.max(30, configuredAlpha);
+			
+			RenderUtils.emitSolidBoxes(sink.target(entry,
+				bufferSource.getBuffer(
+					SignFinderRenderLayers.getQuads(false, animation))),
+				batch, fillAlpha, flagMask, flagValue);
+			RenderUtils.emitOutlinedBoxes(sink.target(entry,
+				bufferSource.getBuffer(
+					SignFinderRenderLayers.getLines(false, animation))),
+				batch, outlineAlpha, flagMask, flagValue);
+		}
+		
+		if(style.hasLines())
+		{
+			// 追踪线使用配置的透明度
+			RenderUtils.emitTracers(sink.target(entry,
+				bufferSource.getBuffer(
+					SignFinderRenderLayers.getLines(false, animation))),
+				partialTicks, tracerTargets, configuredAlpha, flagMask,
+				flagValue);
+		}
+	}
+}
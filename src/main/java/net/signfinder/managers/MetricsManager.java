@@ -0,0 +1,46 @@
+package net.signfinder.managers;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import net.signfinder.engine.metrics.LatencyHistogram;
+import net.signfinder.engine.metrics.MetricsRegistry;
+
+/**
+ * Timings and counters shown by {@code /findsign stats}. Each phase has its
+ * own timer, so the cost of one tick or frame can be broken down.
+ */
+public enum MetricsManager
+{
+	;
+	
+	public static final MetricsRegistry REGISTRY = new MetricsRegistry();
+	
+	// onUpdate phases
+	public static final LatencyHistogram TICK =
+		REGISTRY.timer("tick.total");
+	public static final LatencyHistogram TICK_CACHE_CLEANUP =
+		REGISTRY.timer("tick.cache_cleanup");
+	public static final LatencyHistogram TICK_AUTO_SAVE =
+		REGISTRY.timer("tick.auto_save");
+	public static final LatencyHistogram TICK_APPROACH_REMOVAL =
+		REGISTRY.timer("tick.approach_removal");
+	public static final LatencyHistogram TICK_AUTO_DETECTION =
+		REGISTRY.timer("tick.auto_detection");
+	public static final LatencyHistogram TICK_MAINTENANCE =
+		REGISTRY.timer("tick.maintenance");
+	
+	public static final LatencyHistogram SEARCH =
+		REGISTRY.timer("search.entities");
+	public static final LongAdder SEARCH_RESULTS =
+		REGISTRY.counter("search.results");
+	
+	public static final LatencyHistogram PERSISTENCE_SAVE =
+		REGISTRY.timer("persistence.save");
+	public static final LatencyHistogram PERSISTENCE_LOAD =
+		REGISTRY.timer("persistence.load");
+	public static final LongAdder PERSISTENCE_FAILURES =
+		REGISTRY.counter("persistence.failures");
+	
+	public static final LatencyHistogram RENDER =
+		REGISTRY.timer("render.highlights");
+}
@@ -1,256 +1,381 @@
-package net.signfinder.managers;
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-
-import net.minecraft.client.Minecraft;
-import net.minecraft.core.BlockPos;
-import net.minecraft.sounds.SoundEvents;
-import net.minecraft.world.entity.Entity;
-import net.minecraft.world.entity.decoration.ItemFrame;
-import net.minecraft.world.level.block.entity.SignBlockEntity;
-import net.minecraft.world.phys.Vec3;
-import net.signfinder.models.EntitySearchResult;
-import net.signfinder.SignFinderConfig;
-import net.signfinder.SignFinderMod;
-import net.signfinder.util.ChunkUtils;
-import net.signfinder.util.ItemFrameUtils;
-import net.signfinder.util.SignTextUtils;
-
-public class SearchResultManager
-{
-	private static final Minecraft MC = Minecraft.getInstance();
-	
-	private final List<SignBlockEntity> searchResultSigns = new ArrayList<>();
-	private final List<ItemFrame> searchResultItemFrames = new ArrayList<>();
-	private final EntityDetectionManager detectionManager;
-	
-	public SearchResultManager(EntityDetectionManager detectionManager)
-	{
-		this.detectionManager = detectionManager;
-	}
-	
-	public void setSearchResults(List<EntitySearchResult> results)
-	{
-		searchResultSigns.clear();
-		searchResultItemFrames.clear();
-		if(MC.level == null)
-			return;
-		
-		// Update ItemFrame position index to ensure search results can be found
-		detectionManager.updateItemFrameIndex();
-		Map<BlockPos, ItemFrame> itemFrameIndex =
-			detectionManager.getItemFramePositionIndex();
-		
-		for(EntitySearchResult result : results)
-		{
-			if(result.getEntityType() == EntitySearchResult.EntityType.SIGN)
-			{
-				processSignResult(result);
-			}else if(result
-				.getEntityType() == EntitySearchResult.EntityType.ITEM_FRAME)
-			{
-				processItemFrameResult(result, itemFrameIndex);
-			}
-		}
-		
-		SignFinderMod.LOGGER.info(
-			"Set entity search results: {} signs, {} item frames",
-			searchResultSigns.size(), searchResultItemFrames.size());
-	}
-	
-	private void processSignResult(EntitySearchResult result)
-	{
-		if(MC.level.getBlockEntity(
-			result.getPos()) instanceof SignBlockEntity signEntity)
-		{
-			if(isSignResultStillValid(signEntity, result))
-			{
-				searchResultSigns.add(signEntity);
-			}else
-			{
-				SignFinderMod.LOGGER.debug(
-					"Sign at {} has been modified, skipping highlight",
-					result.getPos());
-			}
-		}else
-		{
-			SignFinderMod.LOGGER.debug(
-				"Sign at {} no longer exists, skipping highlight",
-				result.getPos());
-		}
-	}
-	
-	private void processItemFrameResult(EntitySearchResult result,
-		Map<BlockPos, ItemFrame> itemFrameIndex)
-	{
-		ItemFrame itemFrame = itemFrameIndex.get(result.getPos());
-		if(itemFrame != null && !itemFrame.isRemoved())
-		{
-			searchResultItemFrames.add(itemFrame);
-		}else
-		{
-			SignFinderMod.LOGGER.debug(
-				"Item frame at {} no longer exists or was removed, skipping highlight. Index size: {}",
-				result.getPos(), itemFrameIndex.size());
-			boolean foundBySearch = false;
-			
-			// Try direct lookup for fallback
-			for(Entity entity : ChunkUtils.getLoadedEntities())
-			{
-				if(entity instanceof ItemFrame frame
-					&& frame.blockPosition().equals(result.getPos())
-					&& ItemFrameUtils.hasItem(frame))
-				{
-					foundBySearch = true;
-				}
-			}
-			
-			if(foundBySearch)
-			{
-				SignFinderMod.LOGGER.warn(
-					"Item frame exists but not in index - possible timing issue");
-			}
-		}
-	}
-	
-	private boolean isSignResultStillValid(SignBlockEntity signEntity,
-		EntitySearchResult result)
-	{
-		try
-		{
-			SignFinderConfig config =
-				SignFinderMod.getInstance().getConfigHolder().getConfig();
-			String currentSignText =
-				SignTextUtils.getSignText(signEntity, config.case_sensitive);
-			
-			String matchedText = result.getMatchedText();
-			String searchText = config.case_sensitive ? currentSignText
-				: currentSignText.toLowerCase();
-			String queryText =
-				config.case_sensitive ? matchedText : matchedText.toLowerCase();
-			
-			return searchText.contains(queryText);
-		}catch(Exception e)
-		{
-			SignFinderMod.LOGGER.warn("Error validating sign result at {}: {}",
-				result.getPos(), e.getMessage());
-			return false;
-		}
-	}
-	
-	public void removeNearbyResults(SignFinderConfig config)
-	{
-		if(MC.player == null)
-			return;
-		
-		if(searchResultSigns.isEmpty() && searchResultItemFrames.isEmpty())
-			return;
-		
-		Vec3 playerPos = MC.player.position();
-		double removeDistanceSq =
-			config.auto_removal_distance * config.auto_removal_distance;
-		boolean shouldPlaySound;
-		
-		if(config.clear_all_highlights_on_approach)
-		{
-			shouldPlaySound =
-				clearAllIfPlayerNearAny(playerPos, removeDistanceSq);
-		}else
-		{
-			shouldPlaySound =
-				removeIndividualNearbyResults(playerPos, removeDistanceSq);
-		}
-		
-		if(shouldPlaySound && MC.player != null)
-		{
-			MC.player.playSound(SoundEvents.NOTE_BLOCK_CHIME.value(), 0.5f,
-				2.0f);
-		}
-	}
-	
-	private boolean clearAllIfPlayerNearAny(Vec3 playerPos,
-		double removeDistanceSq)
-	{
-		boolean playerNearAnyEntity =
-			searchResultSigns.stream().anyMatch(sign -> {
-				Vec3 signPos = Vec3.atCenterOf(sign.getBlockPos());
-				double distanceSq = playerPos.distanceToSqr(signPos);
-				return distanceSq <= removeDistanceSq;
-			}) || searchResultItemFrames.stream().anyMatch(itemFrame -> {
-				Vec3 itemFramePos = Vec3.atLowerCornerOf(itemFrame.getPos());
-				double distanceSq = playerPos.distanceToSqr(itemFramePos);
-				return distanceSq <= removeDistanceSq;
-			});
-		
-		if(playerNearAnyEntity && (!searchResultSigns.isEmpty()
-			|| !searchResultItemFrames.isEmpty()))
-		{
-			searchResultSigns.clear();
-			searchResultItemFrames.clear();
-			return true;
-		}
-		return false;
-	}
-	
-	private boolean removeIndividualNearbyResults(Vec3 playerPos,
-		double removeDistanceSq)
-	{
-		int beforeSignSize = searchResultSigns.size();
-		int beforeItemFrameSize = searchResultItemFrames.size();
-		
-		searchResultSigns.removeIf(sign -> {
-			Vec3 signPos = Vec3.atCenterOf(sign.getBlockPos());
-			double distanceSq = playerPos.distanceToSqr(signPos);
-			return distanceSq <= removeDistanceSq;
-		});
-		
-		searchResultItemFrames.removeIf(itemFrame -> {
-			Vec3 itemFramePos = Vec3.atLowerCornerOf(itemFrame.getPos());
-			double distanceSq = playerPos.distanceToSqr(itemFramePos);
-			return distanceSq <= removeDistanceSq;
-		});
-		
-		int afterSignSize = searchResultSigns.size();
-		int afterItemFrameSize = searchResultItemFrames.size();
-		return (beforeSignSize > afterSignSize)
-			|| (beforeItemFrameSize > afterItemFrameSize);
-	}
-	
-	public void clearResults()
-	{
-		searchResultSigns.clear();
-		searchResultItemFrames.clear();
-	}
-	
-	public boolean removeResultByPos(int x, int y, int z)
-	{
-		BlockPos targetPos = new BlockPos(x, y, z);
-		boolean signRemoved = searchResultSigns
-			.removeIf(sign -> sign.getBlockPos().equals(targetPos));
-		boolean itemFrameRemoved = searchResultItemFrames
-			.removeIf(itemFrame -> itemFrame.getPos().equals(targetPos));
-		return signRemoved || itemFrameRemoved;
-	}
-	
-	public boolean hasResultAtPos(BlockPos pos)
-	{
-		boolean hasSign = searchResultSigns.stream()
-			.anyMatch(sign -> sign.getBlockPos().equals(pos));
-		boolean hasItemFrame = searchResultItemFrames.stream()
-			.anyMatch(itemFrame -> itemFrame.getPos().equals(pos));
-		return hasSign || hasItemFrame;
-	}
-	
-	// Getters
-	public List<SignBlockEntity> getSearchResultSigns()
-	{
-		return searchResultSigns;
-	}
-	
-	public List<ItemFrame> getSearchResultItemFrames()
-	{
-		return searchResultItemFrames;
-	}
-}
+package net.signfinder.managers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.BlockPos;
+import net.minecraft.sounds.SoundEvents;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.decoration.ItemFrame;
+import net.minecraft.world.level.block.entity.SignBlockEntity;
+import net.minecraft.world.phys.Vec3;
+import net.signfinder.models.EntitySearchResult;
+import net.signfinder.rendering.HighlightBatch;
+import net.signfinder.rendering.HighlightSnapshot;
+import net.signfinder.rendering.HighlightStore;
+import net.signfinder.CompiledConfig;
+import net.signfinder.SignFinderMod;
+import net.signfinder.engine.CaseFolding;
+import net.signfinder.util.ChunkUtils;
+import net.signfinder.util.ItemFrameUtils;
+import net.signfinder.util.SignTextUtils;
+
+public class SearchResultManager
+{
+	private static final Minecraft MC = Minecraft.getInstance();
+	
+	/**
+	 * How long freshly set search results count as "new", e.g. for the
+	 * {@link net.signfinder.core.HighlightAnimation#FLASH_NEW} animation.
+	 */
+	private static final long NEW_RESULTS_DURATION_MS = 3000;
+	
+	private final HighlightStore searchResults = new HighlightStore();
+	/**
+	 * Custom RGB colors by packed position, -1 for none. Kept for the whole
+	 * session, so a position gets its color back whenever it is a search
+	 * result again.
+	 */
+	private final Long2IntOpenHashMap customColors = new Long2IntOpenHashMap();
+	private final AtomicReference<HighlightSnapshot> snapshot =
+		new AtomicReference<>(HighlightSnapshot.EMPTY);
+	private final EntityDetectionManager detectionManager;
+	private volatile long resultsSetTime;
+	
+	public SearchResultManager(EntityDetectionManager detectionManager)
+	{
+		this.detectionManager = detectionManager;
+		customColors.defaultReturnValue(-1);
+	}
+	
+	public void setSearchResults(List<EntitySearchResult> results)
+	{
+		searchResults.clear();
+		if(MC.level == null)
+		{
+			publishSnapshot();
+			return;
+		}
+		
+		resultsSetTime = System.currentTimeMillis();
+		
+		// Update ItemFrame position index to ensure search results can be found
+		detectionManager.updateItemFrameIndex();
+		Map<BlockPos, ItemFrame> itemFrameIndex =
+			detectionManager.getItemFramePositionIndex();
+		
+		for(EntitySearchResult result : results)
+		{
+			if(result.getEntityType() == EntitySearchResult.EntityType.SIGN)
+			{
+				processSignResult(result);
+			}else if(result
+				.getEntityType() == EntitySearchResult.EntityType.ITEM_FRAME)
+			{
+				processItemFrameResult(result, itemFrameIndex);
+			}
+		}
+		
+		applyCustomColors();
+		publishSnapshot();
+		
+		SignFinderMod.LOGGER.info("Set entity search results: {} entities",
+			searchResults.size());
+	}
+	
+	/**
+	 * Gives the new search results the custom colors set for their
+	 * positions earlier in the session.
+	 */
+	private void applyCustomColors()
+	{
+		if(customColors.isEmpty())
+			return;
+		
+		for(int i = 0; i < searchResults.size(); i++)
+		{
+			int rgb = customColors.get(searchResults.getPos(i));
+			if(rgb < 0)
+				continue;
+			
+			searchResults.setColor(i, rgb);
+			searchResults.setFlags(i,
+				searchResults.getFlags(i) | HighlightBatch.FLAG_CUSTOM_COLOR);
+		}
+	}
+	
+	private void processSignResult(EntitySearchResult result)
+	{
+		if(MC.level.getBlockEntity(
+			result.getPos()) instanceof SignBlockEntity signEntity)
+		{
+			if(isSignResultStillValid(signEntity, result))
+			{
+				searchResults.add(signEntity.getBlockPos(),
+					EntitySearchResult.EntityType.SIGN);
+			}else
+			{
+				SignFinderMod.LOGGER.debug(
+					"Sign at {} has been modified, skipping highlight",
+					result.getPos());
+			}
+		}else
+		{
+			SignFinderMod.LOGGER.debug(
+				"Sign at {} no longer exists, skipping highlight",
+				result.getPos());
+		}
+	}
+	
+	private void processItemFrameResult(EntitySearchResult result,
+		Map<BlockPos, ItemFrame> itemFrameIndex)
+	{
+		ItemFrame itemFrame = itemFrameIndex.get(result.getPos());
+		if(itemFrame != null && !itemFrame.isRemoved())
+		{
+			searchResults.add(itemFrame.getPos(),
+				EntitySearchResult.EntityType.ITEM_FRAME);
+		}else
+		{
+			SignFinderMod.LOGGER.debug(
+				"Item frame at {} no longer exists or was removed, skipping highlight. Index size: {}",
+				result.getPos(), itemFrameIndex.size());
+			boolean foundBySearch = false;
+			
+			// Try direct lookup for fallback
+			for(Entity entity : ChunkUtils.getLoadedEntities())
+			{
+				if(entity instanceof ItemFrame frame
+					&& frame.blockPosition().equals(result.getPos())
+					&& ItemFrameUtils.hasItem(frame))
+				{
+					foundBySearch = true;
+				}
+			}
+			
+			if(foundBySearch)
+			{
+				SignFinderMod.LOGGER.warn(
+					"Item frame exists but not in index - possible timing issue");
+			}
+		}
+	}
+	
+	private boolean isSignResultStillValid(SignBlockEntity signEntity,
+		EntitySearchResult result)
+	{
+		try
+		{
+			CompiledConfig config =
+				SignFinderMod.getInstance().getCompiledConfig();
+			String currentSignText = SignTextUtils.getSignText(signEntity);
+			
+			return config.isCaseSensitive()
+				? currentSignText.contains(result.getMatchedText())
+				: CaseFolding.contains(currentSignText,
+					result.getFoldedMatchedText());
+		}catch(Exception e)
+		{
+			SignFinderMod.LOGGER.warn("Error validating sign result at {}: {}",
+				result.getPos(), e.getMessage());
+			return false;
+		}
+	}
+	
+	public void removeNearbyResults(CompiledConfig config)
+	{
+		if(MC.player == null)
+			return;
+		
+		if(searchResults.isEmpty())
+			return;
+		
+		Vec3 playerPos = MC.player.position();
+		double removeDistanceSq =
+			config.getAutoRemovalDistance() * config.getAutoRemovalDistance();
+		boolean shouldPlaySound;
+		
+		if(config.isClearAllHighlightsOnApproach())
+		{
+			shouldPlaySound =
+				clearAllIfPlayerNearAny(playerPos, removeDistanceSq);
+		}else
+		{
+			shouldPlaySound =
+				removeIndividualNearbyResults(playerPos, removeDistanceSq);
+		}
+		
+		if(shouldPlaySound && MC.player != null)
+		{
+			MC.player.playSound(SoundEvents.NOTE_BLOCK_CHIME.value(), 0.5f,
+				2.0f);
+		}
+	}
+	
+	private boolean clearAllIfPlayerNearAny(Vec3 playerPos,
+		double removeDistanceSq)
+	{
+		for(int i = 0; i < searchResults.size(); i++)
+		{
+			if(distanceSq(i, playerPos) <= removeDistanceSq)
+			{
+				searchResults.clear();
+				publishSnapshot();
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	private boolean removeIndividualNearbyResults(Vec3 playerPos,
+		double removeDistanceSq)
+	{
+		int beforeSize = searchResults.size();
+		
+		// Backwards, because removal moves the last entry into the gap
+		for(int i = searchResults.size() - 1; i >= 0; i--)
+			if(distanceSq(i, playerPos) <= removeDistanceSq)
+				searchResults.removeAt(i);
+		
+		boolean removed = searchResults.size() < beforeSize;
+		if(removed)
+			publishSnapshot();
+		
+		return removed;
+	}
+	
+	/**
+	 * Distance to the center of a sign, or to the block corner of an item
+	 * frame.
+	 */
+	private double distanceSq(int slot, Vec3 playerPos)
+	{
+		long pos = searchResults.getPos(slot);
+		double offset = searchResults
+			.getType(slot) == EntitySearchResult.EntityType.SIGN ? 0.5 : 0;
+		
+		double dx = BlockPos.getX(pos) + offset - playerPos.x;
+		double dy = BlockPos.getY(pos) + offset - playerPos.y;
+		double dz = BlockPos.getZ(pos) + offset - playerPos.z;
+		return dx * dx + dy * dy + dz * dz;
+	}
+	
+	/**
+	 * Clears the search results and, with them, all custom colors.
+	 */
+	public void clearResults()
+	{
+		searchResults.clear();
+		customColors.clear();
+		publishSnapshot();
+	}
+	
+	/**
+	 * Removes one search result and its custom color.
+	 */
+	public boolean removeResultByPos(int x, int y, int z)
+	{
+		BlockPos pos = new BlockPos(x, y, z);
+		if(!searchResults.remove(pos))
+			return false;
+		
+		customColors.remove(pos.asLong());
+		publishSnapshot();
+		return true;
+	}
+	
+	/**
+	 * Returns true while the current search results were set only a moment
+	 * ago.
+	 */
+	public boolean hasNewResults()
+	{
+		return System.currentTimeMillis()
+			- resultsSetTime < NEW_RESULTS_DURATION_MS;
+	}
+	
+	public boolean hasResultAtPos(BlockPos pos)
+	{
+		return searchResults.contains(pos);
+	}
+	
+	/**
+	 * Returns the custom color of the search result at {@code pos}, or
+	 * {@code defaultColor} if it has none.
+	 */
+	public int getHighlightColor(BlockPos pos, int defaultColor)
+	{
+		int slot = searchResults.indexOf(pos.asLong());
+		if(slot < 0 || (searchResults.getFlags(slot)
+			& HighlightBatch.FLAG_CUSTOM_COLOR) == 0)
+			return defaultColor;
+		
+		return searchResults.getColor(slot);
+	}
+	
+	/**
+	 * Gives the search result at {@code pos} a custom color. Returns false if
+	 * there is no search result there.
+	 */
+	public boolean setCustomColor(BlockPos pos, int rgb)
+	{
+		int slot = searchResults.indexOf(pos.asLong());
+		if(slot < 0)
+			return false;
+		
+		customColors.put(pos.asLong(), rgb);
+		searchResults.setColor(slot, rgb);
+		searchResults.setFlags(slot,
+			searchResults.getFlags(slot) | HighlightBatch.FLAG_CUSTOM_COLOR);
+		publishSnapshot();
+		return true;
+	}
+	
+	public void clearCustomColor(BlockPos pos)
+	{
+		customColors.remove(pos.asLong());
+		int slot = searchResults.indexOf(pos.asLong());
+		if(slot >= 0)
+			clearCustomColorAt(slot);
+		
+		publishSnapshot();
+	}
+	
+	public void clearCustomColors()
+	{
+		customColors.clear();
+		for(int i = 0; i < searchResults.size(); i++)
+			clearCustomColorAt(i);
+		
+		publishSnapshot();
+	}
+	
+	private void clearCustomColorAt(int slot)
+	{
+		searchResults.setFlags(slot,
+			searchResults.getFlags(slot) & ~HighlightBatch.FLAG_CUSTOM_COLOR);
+	}
+	
+	/**
+	 * Returns the latest published search results. Safe to call from the
+	 * render thread; the returned snapshot never changes.
+	 */
+	public HighlightSnapshot getSnapshot()
+	{
+		return snapshot.get();
+	}
+	
+	/**
+	 * Publishes the current search results for the render thread. Must be
+	 * called after every change to them.
+	 */
+	private void publishSnapshot()
+	{
+		if(!searchResults.matches(snapshot.get()))
+			snapshot.set(searchResults.snapshot());
+	}
+}
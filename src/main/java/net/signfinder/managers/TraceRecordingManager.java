@@ -0,0 +1,256 @@
+package net.signfinder.managers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientChunkEvents;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.decoration.ItemFrame;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.block.entity.SignBlockEntity;
+import net.signfinder.engine.SearchQuery;
+import net.signfinder.engine.trace.TraceWriter;
+import net.signfinder.util.ChunkUtils;
+import net.signfinder.util.ItemFrameUtils;
+import net.signfinder.util.SignTextUtils;
+
+import static net.signfinder.SignFinderMod.LOGGER;
+
+/**
+ * Records what SignFinder sees into a tick trace, for replaying it without a
+ * client: player positions, chunk loads and unloads, sign and item frame
+ * changes, and searches. Started and stopped with
+ * {@code /findsign trace start|stop}.
+ *
+ * <p>
+ * Signs and item frames are diffed against the previous tick, so a trace
+ * only grows when something changes.
+ */
+public class TraceRecordingManager
+{
+	private static final Minecraft MC = Minecraft.getInstance();
+	private static final String TRACE_FOLDER_NAME = "signfinder/traces";
+	private static final DateTimeFormatter TIMESTAMP_FORMAT =
+		DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+	
+	private TraceWriter writer;
+	private Path file;
+	/** Last recorded text of each sign and item frame, by packed position. */
+	private final Long2ObjectOpenHashMap<String> recorded =
+		new Long2ObjectOpenHashMap<>();
+	private final LongOpenHashSet seen = new LongOpenHashSet();
+	
+	public TraceRecordingManager()
+	{
+		ClientChunkEvents.CHUNK_LOAD
+			.register((level, chunk) -> onChunkLoad(chunk));
+		ClientChunkEvents.CHUNK_UNLOAD
+			.register((level, chunk) -> onChunkUnload(chunk));
+	}
+	
+	/**
+	 * Starts recording into a new file in {@code signfinder/traces}.
+	 *
+	 * @return The trace file
+	 */
+	public Path start() throws IOException
+	{
+		if(writer != null)
+			return file;
+		
+		file = FabricLoader.getInstance().getGameDir()
+			.resolve(TRACE_FOLDER_NAME).resolve(
+				"trace_" + LocalDateTime.now().format(TIMESTAMP_FORMAT)
+					+ ".sftrace");
+		writer = TraceWriter.create(file);
+		recorded.clear();
+		
+		// Chunks that are already loaded count as loaded at the start
+		ChunkUtils.getLoadedChunks().forEach(this::onChunkLoad);
+		
+		LOGGER.info("Recording trace to {}", file);
+		return file;
+	}
+	
+	/**
+	 * Stops recording and closes the trace file.
+	 *
+	 * @return Number of events recorded, or -1 if nothing was being recorded
+	 */
+	public long stop()
+	{
+		if(writer == null)
+			return -1;
+		
+		long events = writer.getEventCount();
+		try
+		{
+			writer.close();
+			LOGGER.info("Recorded {} events to {}", events, file);
+		}catch(IOException e)
+		{
+			LOGGER.error("Failed to finish trace {}", file, e);
+		}
+		
+		writer = null;
+		recorded.clear();
+		return events;
+	}
+	
+	public boolean isRecording()
+	{
+		return writer != null;
+	}
+	
+	public Path getFile()
+	{
+		return file;
+	}
+	
+	/**
+	 * Records the player position, then every sign and item frame that
+	 * appeared, changed or disappeared since the last tick.
+	 */
+	public void onTick()
+	{
+		if(writer == null || MC.player == null)
+			return;
+		
+		try
+		{
+			writer.tick(MC.player.getX(), MC.player.getY(), MC.player.getZ());
+			seen.clear();
+			
+			ChunkUtils.getLoadedBlockEntities().forEach(blockEntity -> {
+				if(blockEntity instanceof SignBlockEntity sign)
+					recordSign(sign);
+			});
+			
+			for(Entity entity : ChunkUtils.getLoadedEntities())
+				if(entity instanceof ItemFrame itemFrame
+					&& ItemFrameUtils.hasItem(itemFrame))
+					recordItemFrame(itemFrame);
+			
+			var iterator = recorded.long2ObjectEntrySet().fastIterator();
+			while(iterator.hasNext())
+			{
+				long pos = iterator.next().getLongKey();
+				if(seen.contains(pos))
+					continue;
+				
+				writer.remove(pos);
+				iterator.remove();
+			}
+		}catch(IOException | UncheckedIOException e)
+		{
+			fail(e);
+		}
+	}
+	
+	public void recordSearch(SearchQuery query)
+	{
+		if(writer == null)
+			return;
+		
+		try
+		{
+			writer.search(query);
+		}catch(IOException e)
+		{
+			fail(e);
+		}
+	}
+	
+	private void recordSign(SignBlockEntity sign)
+	{
+		String[] lines = SignTextUtils.getSignTextArray(sign);
+		long pos = sign.getBlockPos().asLong();
+		if(!seen.add(pos))
+			return;
+		
+		String text = "S" + String.join("\n", lines);
+		if(text.equals(recorded.put(pos, text)))
+			return;
+		
+		try
+		{
+			writer.sign(pos, lines);
+		}catch(IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private void recordItemFrame(ItemFrame itemFrame)
+	{
+		String itemName = ItemFrameUtils.getItemName(itemFrame);
+		long pos = itemFrame.getPos().asLong();
+		if(!seen.add(pos))
+			return;
+		
+		String text = "F" + itemName;
+		if(text.equals(recorded.put(pos, text)))
+			return;
+		
+		try
+		{
+			writer.itemFrame(pos, itemName);
+		}catch(IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private void onChunkLoad(LevelChunk chunk)
+	{
+		if(writer == null)
+			return;
+		
+		try
+		{
+			writer.chunkLoad(chunk.getPos().x(), chunk.getPos().z());
+		}catch(IOException e)
+		{
+			fail(e);
+		}
+	}
+	
+	/**
+	 * Forgets the chunk's signs and item frames without recording removals,
+	 * since the replayer drops them with the chunk.
+	 */
+	private void onChunkUnload(LevelChunk chunk)
+	{
+		if(writer == null)
+			return;
+		
+		int chunkX = chunk.getPos().x();
+		int chunkZ = chunk.getPos().z();
+		recorded.keySet().removeIf((long pos) -> SectionPos
+			.blockToSectionCoord(BlockPos.getX(pos)) == chunkX
+			&& SectionPos.blockToSectionCoord(BlockPos.getZ(pos)) == chunkZ);
+		
+		try
+		{
+			writer.chunkUnload(chunkX, chunkZ);
+		}catch(IOException e)
+		{
+			fail(e);
+		}
+	}
+	
+	private void fail(Exception e)
+	{
+		LOGGER.error("Failed to write trace {}, stopping", file, e);
+		stop();
+	}
+}
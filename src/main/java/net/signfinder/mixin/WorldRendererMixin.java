@@ -1,38 +1,38 @@
-package net.signfinder.mixin;
-
-import com.mojang.blaze3d.buffers.GpuBufferSlice;
-import com.mojang.blaze3d.resource.GraphicsResourceAllocator;
-import com.mojang.blaze3d.vertex.PoseStack;
-import net.minecraft.client.DeltaTracker;
-import net.minecraft.client.renderer.LevelRenderer;
-import net.minecraft.client.renderer.state.level.CameraRenderState;
-import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
-import net.signfinder.SignFinderMod;
-import org.joml.Matrix4fc;
-import org.joml.Vector4f;
-import org.spongepowered.asm.mixin.Mixin;
-import org.spongepowered.asm.mixin.injection.At;
-import org.spongepowered.asm.mixin.injection.Inject;
-import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
-
-@Mixin(LevelRenderer.class)
-public abstract class WorldRendererMixin
-	implements ResourceManagerReloadListener, AutoCloseable
-{
-	@Inject(at = @At("RETURN"),
-		method = "render(Lcom/mojang/blaze3d/resource/GraphicsResourceAllocator;Lnet/minecraft/client/DeltaTracker;ZLnet/minecraft/client/renderer/state/level/CameraRenderState;Lorg/joml/Matrix4fc;Lcom/mojang/blaze3d/buffers/GpuBufferSlice;Lorg/joml/Vector4f;Z)V")
-	private void onRender(GraphicsResourceAllocator allocator,
-		DeltaTracker tickCounter, boolean renderBlockOutline,
-		CameraRenderState cameraState, Matrix4fc positionMatrix,
-		GpuBufferSlice gpuBufferSlice, Vector4f vector4f,
-		boolean shouldRenderSky, CallbackInfo ci)
-	{
-		PoseStack matrixStack = new PoseStack();
-		matrixStack.mulPose(positionMatrix);
-		float tickProgress = tickCounter.getGameTimeDeltaPartialTick(false);
-		
-		SignFinderMod signFinder = SignFinderMod.getInstance();
-		if(signFinder != null && signFinder.isEnabled())
-			signFinder.onRender(matrixStack, tickProgress);
-	}
-}
+package net.signfinder.mixin;
+
+import com.mojang.blaze3d.buffers.GpuBufferSlice;
+import com.mojang.blaze3d.resource.GraphicsResourceAllocator;
+import com.mojang.blaze3d.vertex.PoseStack;
+import net.minecraft.client.DeltaTracker;
+import net.minecraft.client.renderer.LevelRenderer;
+import net.minecraft.client.renderer.state.level.CameraRenderState;
+import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
+import net.signfinder.SignFinderMod;
+import org.joml.Matrix4fc;
+import org.joml.Vector4f;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(LevelRenderer.class)
+public abstract class WorldRendererMixin
+	implements ResourceManagerReloadListener, AutoCloseable
+{
+	@Inject(at = @At("RETURN"),
+		method = "render(Lcom/mojang/blaze3d/resource/GraphicsResourceAllocator;Lnet/minecraft/client/DeltaTracker;ZLnet/minecraft/client/renderer/state/level/CameraRenderState;Lorg/joml/Matrix4fc;Lcom/mojang/blaze3d/buffers/GpuBufferSlice;Lorg/joml/Vector4f;Z)V")
+	private void onRender(GraphicsResourceAllocator allocator,
+		DeltaTracker tickCounter, boolean renderBlockOutline,
+		CameraRenderState cameraState, Matrix4fc positionMatrix,
+		GpuBufferSlice gpuBufferSlice, Vector4f vector4f,
+		boolean shouldRenderSky, CallbackInfo ci)
+	{
+		PoseStack matrixStack = new PoseStack();
+		matrixStack.mulPose(positionMatrix);
+		float tickProgress = tickCounter.getGameTimeDeltaPartialTick(false);
+		
+		SignFinderMod signFinder = SignFinderMod.getInstance();
+		if(signFinder != null && signFinder.isEnabled())
+			signFinder.onRender(matrixStack, tickProgress);
+	}
+}
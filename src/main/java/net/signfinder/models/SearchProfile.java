@@ -0,0 +1,118 @@
+package net.signfinder.models;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * What one search did and where its time went, filled in by the search
+ * service while it runs. Used by {@code /findsign explain} and the JFR
+ * search event.
+ */
+public class SearchProfile
+{
+	public enum Stage
+	{
+		/** Matching loaded signs and item frames within range. */
+		LIVE_SCAN,
+		/** Updating saved data in range from the live entities. */
+		FULL_RANGE_UPDATE,
+		/** Searching the saved data index. */
+		LOCAL_SEARCH,
+		/** Sorting, and dropping saved results that have a live one. */
+		MERGE
+	}
+	
+	private final Map<Stage, Long> stageNanos = new EnumMap<>(Stage.class);
+	private int liveSigns;
+	private int liveFrames;
+	private int liveMatches;
+	private int localEntries;
+	private int localMatches;
+	private int results;
+	
+	public void addStageTime(Stage stage, long nanos)
+	{
+		stageNanos.merge(stage, nanos, Long::sum);
+	}
+	
+	/**
+	 * Returns the time spent in {@code stage}, or -1 if the search skipped
+	 * it.
+	 */
+	public long getStageNanos(Stage stage)
+	{
+		return stageNanos.getOrDefault(stage, -1L);
+	}
+	
+	public long getTotalNanos()
+	{
+		return stageNanos.values().stream().mapToLong(Long::longValue).sum();
+	}
+	
+	public void setLiveCandidates(int signs, int frames)
+	{
+		liveSigns = signs;
+		liveFrames = frames;
+	}
+	
+	public void setLiveMatches(int liveMatches)
+	{
+		this.liveMatches = liveMatches;
+	}
+	
+	/**
+	 * @param entries
+	 *            Saved entries for the current world, all of which the index
+	 *            looks at
+	 * @param matches
+	 *            Saved entries in range that match the query
+	 */
+	public void setLocalCandidates(int entries, int matches)
+	{
+		localEntries = entries;
+		localMatches = matches;
+	}
+	
+	public void setResults(int results)
+	{
+		this.results = results;
+	}
+	
+	/** Loaded signs within range. */
+	public int getLiveSigns()
+	{
+		return liveSigns;
+	}
+	
+	/** Loaded, non-empty item frames within range. */
+	public int getLiveFrames()
+	{
+		return liveFrames;
+	}
+	
+	public int getLiveMatches()
+	{
+		return liveMatches;
+	}
+	
+	public int getLocalEntries()
+	{
+		return localEntries;
+	}
+	
+	public int getLocalMatches()
+	{
+		return localMatches;
+	}
+	
+	/** Matches from both sources, before dropping duplicates. */
+	public int getResultsBeforeDedup()
+	{
+		return liveMatches + localMatches;
+	}
+	
+	public int getResults()
+	{
+		return results;
+	}
+}
@@ -0,0 +1,207 @@
+package net.signfinder.rendering;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.client.DeltaTracker;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.network.chat.Component;
+import net.signfinder.cache.SignDataCache;
+import net.signfinder.engine.cache.PatternCache;
+import net.signfinder.engine.metrics.LatencyHistogram;
+import net.signfinder.managers.AutoSaveManager;
+import net.signfinder.managers.EntityDetectionManager;
+import net.signfinder.managers.HighlightRenderManager;
+import net.signfinder.managers.MetricsManager;
+import net.signfinder.managers.SearchResultManager;
+import net.signfinder.models.EntitySearchResult.EntityType;
+import net.signfinder.services.LocalDataCacheService;
+import net.signfinder.services.ServiceRegistry;
+
+/**
+ * Toggleable overlay with live figures for tuning the config in place:
+ * highlighted entities, cache sizes and hit rates, pending save size, and
+ * the recent cost of detection and highlight rendering.
+ *
+ * <p>
+ * Times and hit rates are averaged over the last refresh interval rather
+ * than since startup, so they react to walking into a market. The text is
+ * only rebuilt once per interval, so the overlay itself costs next to
+ * nothing per frame.
+ */
+public final class DebugHud
+{
+	private static final Minecraft MC = Minecraft.getInstance();
+	private static final long REFRESH_INTERVAL_NS = 500_000_000L;
+	private static final int MARGIN = 4;
+	private static final int LINE_HEIGHT = 10;
+	private static final int BACKGROUND_COLOR = 0x90000000;
+	private static final int TITLE_COLOR = 0xFFFFFF55;
+	private static final int TEXT_COLOR = 0xFFE0E0E0;
+	
+	private final SearchResultManager searchResultManager;
+	private final EntityDetectionManager detectionManager;
+	private final HighlightRenderManager renderManager;
+	
+	private final Reading detection =
+		new Reading(MetricsManager.TICK_AUTO_DETECTION);
+	private final Reading tick = new Reading(MetricsManager.TICK);
+	private final Reading render = new Reading(MetricsManager.RENDER);
+	private long lastSignCacheHits;
+	private long lastSignCacheMisses;
+	private long lastPatternCacheHits;
+	private long lastPatternCacheMisses;
+	
+	private boolean enabled;
+	private long lastRefresh;
+	private List<Component> lines = List.of();
+	
+	public DebugHud(SearchResultManager searchResultManager,
+		EntityDetectionManager detectionManager,
+		HighlightRenderManager renderManager)
+	{
+		this.searchResultManager = searchResultManager;
+		this.detectionManager = detectionManager;
+		this.renderManager = renderManager;
+	}
+	
+	public boolean toggle()
+	{
+		enabled = !enabled;
+		lastRefresh = 0;
+		return enabled;
+	}
+	
+	public boolean isEnabled()
+	{
+		return enabled;
+	}
+	
+	public void render(GuiGraphics context, DeltaTracker tickCounter)
+	{
+		if(!enabled || MC.player == null || MC.options.hideGui)
+			return;
+		
+		long now = System.nanoTime();
+		if(lastRefresh == 0 || now - lastRefresh >= REFRESH_INTERVAL_NS)
+		{
+			lines = buildLines();
+			lastRefresh = now;
+		}
+		
+		int width = 0;
+		for(Component line : lines)
+			width = Math.max(width, MC.font.width(line));
+		
+		context.fill(MARGIN - 2, MARGIN - 2, MARGIN + width + 2,
+			MARGIN + lines.size() * LINE_HEIGHT, BACKGROUND_COLOR);
+		
+		int y = MARGIN;
+		for(int i = 0; i < lines.size(); i++)
+		{
+			context.drawString(MC.font, lines.get(i), MARGIN, y,
+				i == 0 ? TITLE_COLOR : TEXT_COLOR);
+			y += LINE_HEIGHT;
+		}
+	}
+	
+	private List<Component> buildLines()
+	{
+		List<Component> lines = new ArrayList<>();
+		lines.add(Component.translatable("signfinder.hud.title"));
+		
+		HighlightSnapshot results = searchResultManager.getSnapshot();
+		HighlightSnapshot detected = detectionManager.getSnapshot();
+		lines.add(Component.translatable("signfinder.hud.tracked",
+			results.count(EntityType.SIGN) + detected.count(EntityType.SIGN),
+			results.count(EntityType.ITEM_FRAME)
+				+ detected.count(EntityType.ITEM_FRAME)));
+		
+		SignDataCache signCache =
+			ServiceRegistry.getService(SignDataCache.class);
+		long signHits = signCache.getHitCount();
+		long signMisses = signCache.getMissCount();
+		lines.add(Component.translatable("signfinder.hud.sign_cache",
+			signCache.size(), formatHitRate(signHits - lastSignCacheHits,
+				signMisses - lastSignCacheMisses)));
+		lastSignCacheHits = signHits;
+		lastSignCacheMisses = signMisses;
+		
+		PatternCache patternCache =
+			ServiceRegistry.getService(PatternCache.class);
+		long patternHits = patternCache.getHitCount();
+		long patternMisses = patternCache.getMissCount();
+		lines.add(Component.translatable("signfinder.hud.pattern_cache",
+			patternCache.size(),
+			formatHitRate(patternHits - lastPatternCacheHits,
+				patternMisses - lastPatternCacheMisses)));
+		lastPatternCacheHits = patternHits;
+		lastPatternCacheMisses = patternMisses;
+		
+		LocalDataCacheService localData =
+			AutoSaveManager.INSTANCE.getCacheService();
+		lines.add(Component.translatable("signfinder.hud.saved_data",
+			localData.getIndexedCount(),
+			formatBytes(localData.getPendingSaveBytes())));
+		
+		lines.add(Component.translatable("signfinder.hud.tick",
+			detection.nextMillis(), detectionManager.getCadence().getInterval(),
+			tick.nextMillis()));
+		lines.add(Component.translatable("signfinder.hud.render",
+			render.nextMillis(), renderManager.getLastVertexCount()));
+		
+		return lines;
+	}
+	
+	private static String formatHitRate(long hits, long misses)
+	{
+		long lookups = hits + misses;
+		if(lookups == 0)
+			return "-";
+		
+		return String.format("%.0f%%", hits * 100.0 / lookups);
+	}
+	
+	private static String formatBytes(long bytes)
+	{
+		if(bytes < 1024)
+			return bytes + " B";
+		
+		if(bytes < 1024 * 1024)
+			return String.format("%.1f KB", bytes / 1024.0);
+		
+		return String.format("%.1f MB", bytes / (1024.0 * 1024));
+	}
+	
+	/**
+	 * Mean of a timer over the time between two readings.
+	 */
+	private static final class Reading
+	{
+		private final LatencyHistogram timer;
+		private long lastCount;
+		private long lastTotal;
+		
+		private Reading(LatencyHistogram timer)
+		{
+			this.timer = timer;
+		}
+		
+		private String nextMillis()
+		{
+			long count = timer.getCount();
+			long total = timer.getTotal();
+			long calls = count - lastCount;
+			long nanos = total - lastTotal;
+			lastCount = count;
+			lastTotal = total;
+			
+			// Negative after /findsign stats reset
+			if(calls <= 0 || nanos < 0)
+				return "-";
+			
+			return String.format("%.2f", nanos / (calls * 1_000_000.0));
+		}
+	}
+}
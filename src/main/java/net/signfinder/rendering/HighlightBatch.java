@@ -0,0 +1,142 @@
+package net.signfinder.rendering;
+
+import java.util.Arrays;
+
+import net.minecraft.core.BlockPos;
+
+/**
+ * Growable list of block-sized highlights stored as packed primitive arrays
+ * (x/y/z triples, RGB colors and flags), so that the render path can emit
+ * vertices without allocating per highlight. Instances are meant to be
+ * cleared and refilled every frame; once the capacity has grown to the
+ * working-set size, refilling allocates nothing.
+ */
+public final class HighlightBatch
+{
+	/**
+	 * The highlight uses a custom color set by the player.
+	 */
+	public static final int FLAG_CUSTOM_COLOR = 1;
+	
+	/**
+	 * The highlight is drawn with the animated pipelines while the rest of
+	 * the batch stays static.
+	 */
+	public static final int FLAG_ANIMATED = 1 << 1;
+	
+	private static final int INITIAL_CAPACITY = 64;
+	
+	private int[] positions = new int[INITIAL_CAPACITY * 3];
+	private int[] colors = new int[INITIAL_CAPACITY];
+	private int[] flags = new int[INITIAL_CAPACITY];
+	private int size;
+	
+	public void clear()
+	{
+		size = 0;
+	}
+	
+	public void add(int x, int y, int z, int rgb, int flags)
+	{
+		ensureCapacity(size + 1);
+		
+		int offset = size * 3;
+		positions[offset] = x;
+		positions[offset + 1] = y;
+		positions[offset + 2] = z;
+		colors[size] = rgb;
+		this.flags[size] = flags;
+		size++;
+	}
+	
+	/**
+	 * Copies the highlight at {@code index} of {@code other} to the end of
+	 * this batch.
+	 */
+	public void addFrom(HighlightBatch other, int index)
+	{
+		add(other.getX(index), other.getY(index), other.getZ(index),
+			other.getColor(index), other.getFlags(index));
+	}
+	
+	/**
+	 * Copies every highlight of {@code snapshot} to the end of this batch,
+	 * adding {@code extraFlags} to each. Custom colors only exist on search
+	 * results; everything else uses {@code defaultColor}.
+	 */
+	public void addAll(HighlightSnapshot snapshot, int defaultColor,
+		int extraFlags)
+	{
+		ensureCapacity(size + snapshot.size());
+		for(int i = 0; i < snapshot.size(); i++)
+		{
+			int flags = snapshot.getFlags(i) | extraFlags;
+			int color = (flags & FLAG_CUSTOM_COLOR) != 0 ? snapshot.getColor(i)
+				: defaultColor;
+			add(snapshot.getX(i), snapshot.getY(i), snapshot.getZ(i), color,
+				flags);
+		}
+	}
+	
+	public int size()
+	{
+		return size;
+	}
+	
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+	
+	public int getX(int index)
+	{
+		return positions[index * 3];
+	}
+	
+	public int getY(int index)
+	{
+		return positions[index * 3 + 1];
+	}
+	
+	public int getZ(int index)
+	{
+		return positions[index * 3 + 2];
+	}
+	
+	public int getColor(int index)
+	{
+		return colors[index];
+	}
+	
+	public int getFlags(int index)
+	{
+		return flags[index];
+	}
+	
+	public boolean hasFlag(int index, int flag)
+	{
+		return (flags[index] & flag) != 0;
+	}
+	
+	/**
+	 * Returns the position at {@code index} packed like
+	 * {@link BlockPos#asLong()}.
+	 */
+	public long getPackedPos(int index)
+	{
+		int offset = index * 3;
+		return BlockPos.asLong(positions[offset], positions[offset + 1],
+			positions[offset + 2]);
+	}
+	
+	private void ensureCapacity(int capacity)
+	{
+		if(capacity <= colors.length)
+			return;
+		
+		int newCapacity = Math.max(capacity, colors.length * 2);
+		positions = Arrays.copyOf(positions, newCapacity * 3);
+		colors = Arrays.copyOf(colors, newCapacity);
+		flags = Arrays.copyOf(flags, newCapacity);
+	}
+}
@@ -0,0 +1,187 @@
+package net.signfinder.rendering;
+
+import net.signfinder.util.ColorUtils;
+
+/**
+ * Generates the vertices for highlight boxes and tracers. Only depends on
+ * {@link HighlightVertexSink}, not on Minecraft's rendering classes, so the
+ * same code that runs in game can be benchmarked headless.
+ *
+ * <p>
+ * Coordinates passed in are camera-relative unless noted otherwise. Methods
+ * that take a {@link HighlightBatch} only emit the highlights whose flags
+ * masked with {@code flagMask} equal {@code flagValue}; pass 0 for both to
+ * emit everything.
+ */
+public enum HighlightMeshBuilder
+{
+	;
+	
+	/**
+	 * Emits a filled unit box for every matching highlight in {@code boxes}.
+	 * Colors are taken from the batch and combined with {@code alpha}.
+	 */
+	public static void solidBoxes(HighlightVertexSink sink,
+		HighlightBatch boxes, double camX, double camY, double camZ,
+		int alpha, int flagMask, int flagValue)
+	{
+		for(int i = 0; i < boxes.size(); i++)
+		{
+			if((boxes.getFlags(i) & flagMask) != flagValue)
+				continue;
+			
+			float x1 = (float)(boxes.getX(i) - camX);
+			float y1 = (float)(boxes.getY(i) - camY);
+			float z1 = (float)(boxes.getZ(i) - camZ);
+			int color =
+				ColorUtils.combineRgbWithAlpha(boxes.getColor(i), alpha);
+			solidBox(sink, x1, y1, z1, x1 + 1, y1 + 1, z1 + 1, color);
+		}
+	}
+	
+	/**
+	 * Emits an outlined unit box for every matching highlight in
+	 * {@code boxes}. Colors are taken from the batch and combined with
+	 * {@code alpha}.
+	 */
+	public static void outlinedBoxes(HighlightVertexSink sink,
+		HighlightBatch boxes, double camX, double camY, double camZ,
+		int alpha, int flagMask, int flagValue)
+	{
+		for(int i = 0; i < boxes.size(); i++)
+		{
+			if((boxes.getFlags(i) & flagMask) != flagValue)
+				continue;
+			
+			float x1 = (float)(boxes.getX(i) - camX);
+			float y1 = (float)(boxes.getY(i) - camY);
+			float z1 = (float)(boxes.getZ(i) - camZ);
+			int color =
+				ColorUtils.combineRgbWithAlpha(boxes.getColor(i), alpha);
+			outlinedBox(sink, x1, y1, z1, x1 + 1, y1 + 1, z1 + 1, color);
+		}
+	}
+	
+	/**
+	 * Emits one tracer per matching highlight in {@code targets}, from
+	 * {@code (startX, startY, startZ)} to the center of its block. Colors are
+	 * taken from the batch and combined with {@code alpha}.
+	 */
+	public static void tracers(HighlightVertexSink sink,
+		HighlightBatch targets, float startX, float startY, float startZ,
+		double camX, double camY, double camZ, int alpha, int flagMask,
+		int flagValue)
+	{
+		for(int i = 0; i < targets.size(); i++)
+		{
+			if((targets.getFlags(i) & flagMask) != flagValue)
+				continue;
+			
+			float x2 = (float)(targets.getX(i) + 0.5 - camX);
+			float y2 = (float)(targets.getY(i) + 0.5 - camY);
+			float z2 = (float)(targets.getZ(i) + 0.5 - camZ);
+			int color =
+				ColorUtils.combineRgbWithAlpha(targets.getColor(i), alpha);
+			line(sink, startX, startY, startZ, x2, y2, z2, color);
+		}
+	}
+	
+	private static void line(HighlightVertexSink sink, float x1, float y1,
+		float z1, float x2, float y2, float z2, int color)
+	{
+		float dx = x2 - x1;
+		float dy = y2 - y1;
+		float dz = z2 - z1;
+		float length = (float)Math.sqrt(dx * dx + dy * dy + dz * dz);
+		if(length == 0)
+			return;
+		
+		float nx = dx / length;
+		float ny = dy / length;
+		float nz = dz / length;
+		
+		sink.lineVertex(x1, y1, z1, color, nx, ny, nz);
+		
+		// If the line goes through the screen, add another vertex there. This
+		// works around a bug in Minecraft's line shader.
+		float t = -(x1 * nx + y1 * ny + z1 * nz);
+		if(t > 0 && t < length)
+		{
+			float cx = x1 + nx * t;
+			float cy = y1 + ny * t;
+			float cz = z1 + nz * t;
+			sink.lineVertex(cx, cy, cz, color, nx, ny, nz);
+			sink.lineVertex(cx, cy, cz, color, nx, ny, nz);
+		}
+		
+		sink.lineVertex(x2, y2, z2, color, nx, ny, nz);
+	}
+	
+	private static void solidBox(HighlightVertexSink sink, float x1, float y1,
+		float z1, float x2, float y2, float z2, int color)
+	{
+		sink.vertex(x1, y1, z1, color);
+		sink.vertex(x2, y1, z1, color);
+		sink.vertex(x2, y1, z2, color);
+		sink.vertex(x1, y1, z2, color);
+		
+		sink.vertex(x1, y2, z1, color);
+		sink.vertex(x1, y2, z2, color);
+		sink.vertex(x2, y2, z2, color);
+		sink.vertex(x2, y2, z1, color);
+		
+		sink.vertex(x1, y1, z1, color);
+		sink.vertex(x1, y2, z1, color);
+		sink.vertex(x2, y2, z1, color);
+		sink.vertex(x2, y1, z1, color);
+		
+		sink.vertex(x2, y1, z1, color);
+		sink.vertex(x2, y2, z1, color);
+		sink.vertex(x2, y2, z2, color);
+		sink.vertex(x2, y1, z2, color);
+		
+		sink.vertex(x1, y1, z2, color);
+		sink.vertex(x2, y1, z2, color);
+		sink.vertex(x2, y2, z2, color);
+		sink.vertex(x1, y2, z2, color);
+		
+		sink.vertex(x1, y1, z1, color);
+		sink.vertex(x1, y1, z2, color);
+		sink.vertex(x1, y2, z2, color);
+		sink.vertex(x1, y2, z1, color);
+	}
+	
+	private static void outlinedBox(HighlightVertexSink sink, float x1,
+		float y1, float z1, float x2, float y2, float z2, int color)
+	{
+		// bottom lines
+		sink.lineVertex(x1, y1, z1, color, 1, 0, 0);
+		sink.lineVertex(x2, y1, z1, color, 1, 0, 0);
+		sink.lineVertex(x1, y1, z1, color, 0, 0, 1);
+		sink.lineVertex(x1, y1, z2, color, 0, 0, 1);
+		sink.lineVertex(x2, y1, z1, color, 0, 0, 1);
+		sink.lineVertex(x2, y1, z2, color, 0, 0, 1);
+		sink.lineVertex(x1, y1, z2, color, 1, 0, 0);
+		sink.lineVertex(x2, y1, z2, color, 1, 0, 0);
+		
+		// top lines
+		sink.lineVertex(x1, y2, z1, color, 1, 0, 0);
+		sink.lineVertex(x2, y2, z1, color, 1, 0, 0);
+		sink.lineVertex(x1, y2, z1, color, 0, 0, 1);
+		sink.lineVertex(x1, y2, z2, color, 0, 0, 1);
+		sink.lineVertex(x2, y2, z1, color, 0, 0, 1);
+		sink.lineVertex(x2, y2, z2, color, 0, 0, 1);
+		sink.lineVertex(x1, y2, z2, color, 1, 0, 0);
+		sink.lineVertex(x2, y2, z2, color, 1, 0, 0);
+		
+		// side lines
+		sink.lineVertex(x1, y1, z1, color, 0, 1, 0);
+		sink.lineVertex(x1, y2, z1, color, 0, 1, 0);
+		sink.lineVertex(x2, y1, z1, color, 0, 1, 0);
+		sink.lineVertex(x2, y2, z1, color, 0, 1, 0);
+		sink.lineVertex(x1, y1, z2, color, 0, 1, 0);
+		sink.lineVertex(x1, y2, z2, color, 0, 1, 0);
+		sink.lineVertex(x2, y1, z2, color, 0, 1, 0);
+		sink.lineVertex(x2, y2, z2, color, 0, 1, 0);
+	}
+}
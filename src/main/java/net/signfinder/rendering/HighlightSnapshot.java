@@ -0,0 +1,100 @@
+package net.signfinder.rendering;
+
+import java.util.Arrays;
+
+import net.minecraft.core.BlockPos;
+import net.signfinder.models.EntitySearchResult.EntityType;
+
+/**
+ * Immutable view of the highlights a manager wants rendered, copied out of
+ * its {@link HighlightStore}. Managers build a new snapshot on the tick
+ * thread whenever their highlights change and publish it with a single
+ * reference swap, so the render thread can read it without locks or copies
+ * while the tick side keeps mutating its own store.
+ */
+public final class HighlightSnapshot
+{
+	public static final HighlightSnapshot EMPTY = new HighlightSnapshot(
+		new long[0], new byte[0], new int[0], new int[0]);
+	
+	private static final EntityType[] TYPES = EntityType.values();
+	
+	private final long[] positions;
+	private final byte[] types;
+	private final int[] colors;
+	private final int[] flags;
+	
+	HighlightSnapshot(long[] positions, byte[] types, int[] colors,
+		int[] flags)
+	{
+		this.positions = positions;
+		this.types = types;
+		this.colors = colors;
+		this.flags = flags;
+	}
+	
+	public int size()
+	{
+		return positions.length;
+	}
+	
+	public boolean isEmpty()
+	{
+		return positions.length == 0;
+	}
+	
+	public long getPos(int index)
+	{
+		return positions[index];
+	}
+	
+	public int getX(int index)
+	{
+		return BlockPos.getX(positions[index]);
+	}
+	
+	public int getY(int index)
+	{
+		return BlockPos.getY(positions[index]);
+	}
+	
+	public int getZ(int index)
+	{
+		return BlockPos.getZ(positions[index]);
+	}
+	
+	public EntityType getType(int index)
+	{
+		return TYPES[types[index]];
+	}
+	
+	public int getColor(int index)
+	{
+		return colors[index];
+	}
+	
+	public int getFlags(int index)
+	{
+		return flags[index];
+	}
+	
+	public int count(EntityType type)
+	{
+		int count = 0;
+		for(byte t : types)
+			if(t == type.ordinal())
+				count++;
+		
+		return count;
+	}
+	
+	boolean sameContents(long[] positions, byte[] types, int[] colors,
+		int[] flags)
+	{
+		int size = this.positions.length;
+		return Arrays.equals(this.positions, 0, size, positions, 0, size)
+			&& Arrays.equals(this.types, 0, size, types, 0, size)
+			&& Arrays.equals(this.colors, 0, size, colors, 0, size)
+			&& Arrays.equals(this.flags, 0, size, flags, 0, size);
+	}
+}
@@ -0,0 +1,184 @@
+package net.signfinder.rendering;
+
+import java.util.Arrays;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.signfinder.models.EntitySearchResult.EntityType;
+
+/**
+ * Mutable set of highlights keyed by block position, stored as parallel
+ * primitive arrays (packed position, entity type, color and flags) plus a
+ * position index. Lookups, updates and removals by position are O(1);
+ * removal swaps the last entry into the freed slot, so order is not kept.
+ *
+ * <p>
+ * Only positions are kept, never the block entity or entity itself, so a
+ * highlight in an unloaded chunk doesn't keep that chunk's objects alive.
+ * Not thread-safe; publish a {@link #snapshot()} to share it.
+ */
+public final class HighlightStore
+{
+	private static final int INITIAL_CAPACITY = 16;
+	private static final EntityType[] TYPES = EntityType.values();
+	
+	private long[] positions = new long[INITIAL_CAPACITY];
+	private byte[] types = new byte[INITIAL_CAPACITY];
+	private int[] colors = new int[INITIAL_CAPACITY];
+	private int[] flags = new int[INITIAL_CAPACITY];
+	private int size;
+	
+	private final Long2IntOpenHashMap index = new Long2IntOpenHashMap();
+	
+	public HighlightStore()
+	{
+		index.defaultReturnValue(-1);
+	}
+	
+	/**
+	 * Adds a highlight, or replaces the type of an existing one at the same
+	 * position while keeping its color and flags.
+	 */
+	public void add(BlockPos pos, EntityType type)
+	{
+		add(pos.asLong(), type);
+	}
+	
+	public void add(long pos, EntityType type)
+	{
+		int slot = index.get(pos);
+		if(slot >= 0)
+		{
+			types[slot] = (byte)type.ordinal();
+			return;
+		}
+		
+		ensureCapacity(size + 1);
+		positions[size] = pos;
+		types[size] = (byte)type.ordinal();
+		colors[size] = 0;
+		flags[size] = 0;
+		index.put(pos, size);
+		size++;
+	}
+	
+	public boolean contains(BlockPos pos)
+	{
+		return index.containsKey(pos.asLong());
+	}
+	
+	public int indexOf(long pos)
+	{
+		return index.get(pos);
+	}
+	
+	public boolean remove(BlockPos pos)
+	{
+		int slot = index.get(pos.asLong());
+		if(slot < 0)
+			return false;
+		
+		removeAt(slot);
+		return true;
+	}
+	
+	/**
+	 * Removes the entry at {@code slot} by moving the last entry into it.
+	 * Iterating from the end while removing is therefore safe.
+	 */
+	public void removeAt(int slot)
+	{
+		index.remove(positions[slot]);
+		
+		int last = --size;
+		if(slot != last)
+		{
+			positions[slot] = positions[last];
+			types[slot] = types[last];
+			colors[slot] = colors[last];
+			flags[slot] = flags[last];
+			index.put(positions[slot], slot);
+		}
+	}
+	
+	public void clear()
+	{
+		size = 0;
+		index.clear();
+	}
+	
+	public int size()
+	{
+		return size;
+	}
+	
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+	
+	public long getPos(int slot)
+	{
+		return positions[slot];
+	}
+	
+	public EntityType getType(int slot)
+	{
+		return TYPES[types[slot]];
+	}
+	
+	public int getColor(int slot)
+	{
+		return colors[slot];
+	}
+	
+	public int getFlags(int slot)
+	{
+		return flags[slot];
+	}
+	
+	public void setColor(int slot, int rgb)
+	{
+		colors[slot] = rgb;
+	}
+	
+	public void setFlags(int slot, int flags)
+	{
+		this.flags[slot] = flags;
+	}
+	
+	/**
+	 * Returns an immutable copy of the current contents.
+	 */
+	public HighlightSnapshot snapshot()
+	{
+		if(size == 0)
+			return HighlightSnapshot.EMPTY;
+		
+		return new HighlightSnapshot(Arrays.copyOf(positions, size),
+			Arrays.copyOf(types, size), Arrays.copyOf(colors, size),
+			Arrays.copyOf(flags, size));
+	}
+	
+	/**
+	 * Returns true if {@code snapshot} holds exactly the current contents, in
+	 * the same order.
+	 */
+	public boolean matches(HighlightSnapshot snapshot)
+	{
+		return snapshot.size() == size
+			&& snapshot.sameContents(positions, types, colors, flags);
+	}
+	
+	private void ensureCapacity(int capacity)
+	{
+		if(capacity <= positions.length)
+			return;
+		
+		int newCapacity = Math.max(capacity, positions.length * 2);
+		positions = Arrays.copyOf(positions, newCapacity);
+		types = Arrays.copyOf(types, newCapacity);
+		colors = Arrays.copyOf(colors, newCapacity);
+		flags = Arrays.copyOf(flags, newCapacity);
+	}
+}
@@ -0,0 +1,21 @@
+package net.signfinder.rendering;
+
+/**
+ * Receives the vertices generated by {@link HighlightMeshBuilder}. In game
+ * this is a {@link PoseVertexSink} that forwards to Minecraft's
+ * {@code VertexConsumer}; benchmarks plug in counting or byte-buffer sinks
+ * so the mesh code can run without a GPU or a client.
+ */
+public interface HighlightVertexSink
+{
+	/**
+	 * Adds a position/color vertex, as used by filled quads.
+	 */
+	void vertex(float x, float y, float z, int color);
+	
+	/**
+	 * Adds a line vertex with the direction of its line segment.
+	 */
+	void lineVertex(float x, float y, float z, int color, float nx, float ny,
+		float nz);
+}
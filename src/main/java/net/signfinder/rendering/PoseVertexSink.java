@@ -0,0 +1,59 @@
+package net.signfinder.rendering;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+
+/**
+ * Forwards {@link HighlightMeshBuilder} output to a {@link VertexConsumer},
+ * transformed by a pose. Meant to be kept and retargeted every frame, so
+ * that emitting highlights doesn't allocate a sink per layer.
+ */
+public final class PoseVertexSink implements HighlightVertexSink
+{
+	private static final float LINE_WIDTH = 2;
+	
+	private PoseStack.Pose pose;
+	private VertexConsumer buffer;
+	private int vertexCount;
+	
+	/**
+	 * Sends the following vertices to {@code buffer}, transformed by
+	 * {@code pose}. The vertex count keeps running.
+	 */
+	public PoseVertexSink target(PoseStack.Pose pose, VertexConsumer buffer)
+	{
+		this.pose = pose;
+		this.buffer = buffer;
+		return this;
+	}
+	
+	@Override
+	public void vertex(float x, float y, float z, int color)
+	{
+		buffer.addVertex(pose, x, y, z).setColor(color);
+		vertexCount++;
+	}
+	
+	@Override
+	public void lineVertex(float x, float y, float z, int color, float nx,
+		float ny, float nz)
+	{
+		buffer.addVertex(pose, x, y, z).setColor(color)
+			.setNormal(pose, nx, ny, nz).setLineWidth(LINE_WIDTH);
+		vertexCount++;
+	}
+	
+	/**
+	 * Number of vertices forwarded since the last
+	 * {@link #resetVertexCount()}.
+	 */
+	public int getVertexCount()
+	{
+		return vertexCount;
+	}
+	
+	public void resetVertexCount()
+	{
+		vertexCount = 0;
+	}
+}
@@ -1,64 +1,133 @@
-package net.signfinder.rendering;
-
-import com.mojang.blaze3d.PrimitiveTopology;
-import com.mojang.blaze3d.pipeline.BlendFunction;
-import com.mojang.blaze3d.pipeline.ColorTargetState;
-import com.mojang.blaze3d.pipeline.DepthStencilState;
-import com.mojang.blaze3d.pipeline.RenderPipeline;
-import com.mojang.blaze3d.pipeline.RenderPipeline.Snippet;
-import net.minecraft.client.renderer.RenderPipelines;
-import com.mojang.blaze3d.vertex.DefaultVertexFormat;
-import net.minecraft.resources.Identifier;
-import java.util.Optional;
-
-public enum SignFinderPipelines
-{
-	;
-	
-	/**
-	 * Similar to the RENDERTYPE_LINES Snippet, but without fog.
-	 */
-	public static final Snippet FOGLESS_LINES_SNIPPET = RenderPipeline
-		.builder(RenderPipelines.LINES_SNIPPET)
-		.withVertexShader(Identifier.parse("signfinder:core/fogless_lines"))
-		.withFragmentShader(Identifier.parse("signfinder:core/fogless_lines"))
-		.withColorTargetState(new ColorTargetState(BlendFunction.TRANSLUCENT))
-		.withCull(false)
-		.withVertexBinding(0,
-			DefaultVertexFormat.POSITION_COLOR_NORMAL_LINE_WIDTH)
-		.withPrimitiveTopology(PrimitiveTopology.LINES).buildSnippet();
-	
-	/**
-	 * Similar to the LINES ShaderPipeline, but with no fog.
-	 */
-	public static final RenderPipeline DEPTH_TEST_LINES =
-		RenderPipelines.register(RenderPipeline.builder(FOGLESS_LINES_SNIPPET)
-			.withLocation(
-				Identifier.parse("signfinder:pipeline/depth_test_lines"))
-			.withDepthStencilState(DepthStencilState.DEFAULT).build());
-	
-	/**
-	 * Similar to the LINES ShaderPipeline, but with no depth test or fog.
-	 */
-	public static final RenderPipeline ESP_LINES =
-		RenderPipelines.register(RenderPipeline.builder(FOGLESS_LINES_SNIPPET)
-			.withLocation(Identifier.parse("signfinder:pipeline/esp_lines"))
-			.withDepthStencilState(Optional.empty()).build());
-	
-	/**
-	 * Similar to the DEBUG_QUADS ShaderPipeline, but with culling enabled.
-	 */
-	public static final RenderPipeline QUADS = RenderPipelines
-		.register(RenderPipeline.builder(RenderPipelines.DEBUG_FILLED_SNIPPET)
-			.withLocation(Identifier.parse("signfinder:pipeline/quads"))
-			.withDepthStencilState(DepthStencilState.DEFAULT).build());
-	
-	/**
-	 * Similar to the DEBUG_QUADS ShaderPipeline, but with culling enabled
-	 * and no depth test.
-	 */
-	public static final RenderPipeline ESP_QUADS = RenderPipelines
-		.register(RenderPipeline.builder(RenderPipelines.DEBUG_FILLED_SNIPPET)
-			.withLocation(Identifier.parse("signfinder:pipeline/esp_quads"))
-			.withDepthStencilState(Optional.empty()).build());
-}
+package net.signfinder.rendering;
+
+import com.mojang.blaze3d.PrimitiveTopology;
+import com.mojang.blaze3d.pipeline.BlendFunction;
+import com.mojang.blaze3d.pipeline.ColorTargetState;
+import com.mojang.blaze3d.pipeline.DepthStencilState;
+import com.mojang.blaze3d.pipeline.RenderPipeline;
+import com.mojang.blaze3d.pipeline.RenderPipeline.Snippet;
+import com.mojang.blaze3d.shaders.UniformType;
+import net.minecraft.client.renderer.RenderPipelines;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import net.minecraft.resources.Identifier;
+import net.signfinder.core.HighlightAnimation;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+public enum SignFinderPipelines
+{
+	;
+	
+	/**
+	 * Similar to the RENDERTYPE_LINES Snippet, but without fog.
+	 */
+	public static final Snippet FOGLESS_LINES_SNIPPET = RenderPipeline
+		.builder(RenderPipelines.LINES_SNIPPET)
+		.withVertexShader(Identifier.parse("signfinder:core/fogless_lines"))
+		.withFragmentShader(Identifier.parse("signfinder:core/fogless_lines"))
+		.withColorTargetState(new ColorTargetState(BlendFunction.TRANSLUCENT))
+		.withCull(false)
+		.withVertexBinding(0,
+			DefaultVertexFormat.POSITION_COLOR_NORMAL_LINE_WIDTH)
+		.withPrimitiveTopology(PrimitiveTopology.LINES).buildSnippet();
+	
+	/**
+	 * Similar to the LINES ShaderPipeline, but with no fog.
+	 */
+	public static final RenderPipeline DEPTH_TEST_LINES =
+		RenderPipelines.register(RenderPipeline.builder(FOGLESS_LINES_SNIPPET)
+			.withLocation(
+				Identifier.parse("signfinder:pipeline/depth_test_lines"))
+			.withDepthStencilState(DepthStencilState.DEFAULT).build());
+	
+	/**
+	 * Similar to the LINES ShaderPipeline, but with no depth test or fog.
+	 */
+	public static final RenderPipeline ESP_LINES =
+		RenderPipelines.register(RenderPipeline.builder(FOGLESS_LINES_SNIPPET)
+			.withLocation(Identifier.parse("signfinder:pipeline/esp_lines"))
+			.withDepthStencilState(Optional.empty()).build());
+	
+	/**
+	 * Similar to the DEBUG_QUADS ShaderPipeline, but with culling enabled.
+	 */
+	public static final RenderPipeline QUADS = RenderPipelines
+		.register(RenderPipeline.builder(RenderPipelines.DEBUG_FILLED_SNIPPET)
+			.withLocation(Identifier.parse("signfinder:pipeline/quads"))
+			.withDepthStencilState(DepthStencilState.DEFAULT).build());
+	
+	/**
+	 * Similar to the DEBUG_QUADS ShaderPipeline, but with culling enabled
+	 * and no depth test.
+	 */
+	public static final RenderPipeline ESP_QUADS = RenderPipelines
+		.register(RenderPipeline.builder(RenderPipelines.DEBUG_FILLED_SNIPPET)
+			.withLocation(Identifier.parse("signfinder:pipeline/esp_quads"))
+			.withDepthStencilState(Optional.empty()).build());
+	
+	/**
+	 * Similar to the DEBUG_FILLED Snippet, but using SignFinder's own
+	 * position/color shader so that the fill can be animated.
+	 */
+	public static final Snippet HIGHLIGHT_QUADS_SNIPPET = RenderPipeline
+		.builder(RenderPipelines.DEBUG_FILLED_SNIPPET)
+		.withVertexShader(Identifier.parse("signfinder:core/highlight_quads"))
+		.withFragmentShader(
+			Identifier.parse("signfinder:core/highlight_quads"))
+		.withUniform("Globals", UniformType.UNIFORM_BUFFER).buildSnippet();
+	
+	/**
+	 * Animated variants of {@link #DEPTH_TEST_LINES}, keyed by animation.
+	 */
+	public static final Map<HighlightAnimation, RenderPipeline> ANIMATED_DEPTH_TEST_LINES =
+		registerAnimated("depth_test_lines", FOGLESS_LINES_SNIPPET,
+			DepthStencilState.DEFAULT);
+	
+	/**
+	 * Animated variants of {@link #ESP_LINES}, keyed by animation.
+	 */
+	public static final Map<HighlightAnimation, RenderPipeline> ANIMATED_ESP_LINES =
+		registerAnimated("esp_lines", FOGLESS_LINES_SNIPPET, null);
+	
+	/**
+	 * Animated variants of {@link #QUADS}, keyed by animation.
+	 */
+	public static final Map<HighlightAnimation, RenderPipeline> ANIMATED_QUADS =
+		registerAnimated("quads", HIGHLIGHT_QUADS_SNIPPET,
+			DepthStencilState.DEFAULT);
+	
+	/**
+	 * Animated variants of {@link #ESP_QUADS}, keyed by animation.
+	 */
+	public static final Map<HighlightAnimation, RenderPipeline> ANIMATED_ESP_QUADS =
+		registerAnimated("esp_quads", HIGHLIGHT_QUADS_SNIPPET, null);
+	
+	/**
+	 * Registers one pipeline per animated {@link HighlightAnimation}, each
+	 * compiled with that animation's shader define.
+	 */
+	private static Map<HighlightAnimation, RenderPipeline> registerAnimated(
+		String name, Snippet snippet, DepthStencilState depthStencilState)
+	{
+		Map<HighlightAnimation, RenderPipeline> pipelines =
+			new EnumMap<>(HighlightAnimation.class);
+		
+		for(HighlightAnimation animation : HighlightAnimation.values())
+		{
+			if(!animation.isAnimated())
+				continue;
+			
+			pipelines.put(animation, RenderPipelines.register(RenderPipeline
+				.builder(snippet)
+				.withLocation(Identifier.parse("signfinder:pipeline/" + name
+					+ "_" + animation.name().toLowerCase()))
+				.withShaderDefine(animation.getShaderDefine())
+				.withDepthStencilState(Optional.ofNullable(depthStencilState))
+				.build()));
+		}
+		
+		return Collections.unmodifiableMap(pipelines);
+	}
+}
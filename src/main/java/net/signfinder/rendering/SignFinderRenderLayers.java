@@ -1,63 +1,143 @@
-package net.signfinder.rendering;
-
-import net.minecraft.client.renderer.rendertype.LayeringTransform;
-import net.minecraft.client.renderer.rendertype.OutputTarget;
-import net.minecraft.client.renderer.rendertype.RenderSetup;
-import net.minecraft.client.renderer.rendertype.RenderType;
-
-public final class SignFinderRenderLayers
-{
-	/**
-	 * Similar to {@link RenderType#getLines()}, but with line width 2.
-	 */
-	public static final RenderType LINES = RenderType.create("signfinder:lines",
-		RenderSetup.builder(SignFinderPipelines.DEPTH_TEST_LINES)
-			.setLayeringTransform(LayeringTransform.VIEW_OFFSET_Z_LAYERING)
-			.setOutputTarget(OutputTarget.ITEM_ENTITY_TARGET)
-			.createRenderSetup());
-	
-	/**
-	 * Similar to {@link RenderType#getLines()}, but with line width 2 and no
-	 * depth test.
-	 */
-	public static final RenderType ESP_LINES =
-		RenderType.create("signfinder:esp_lines",
-			RenderSetup.builder(SignFinderPipelines.ESP_LINES)
-				.setLayeringTransform(LayeringTransform.VIEW_OFFSET_Z_LAYERING)
-				.setOutputTarget(OutputTarget.ITEM_ENTITY_TARGET)
-				.createRenderSetup());
-	
-	/**
-	 * Similar to {@link RenderType#getDebugQuads()}, but with culling enabled.
-	 */
-	public static final RenderType QUADS = RenderType.create("signfinder:quads",
-		RenderSetup.builder(SignFinderPipelines.QUADS).sortOnUpload()
-			.createRenderSetup());
-	
-	/**
-	 * Similar to {@link RenderType#getDebugQuads()}, but with culling enabled
-	 * and no depth test.
-	 */
-	public static final RenderType ESP_QUADS =
-		RenderType.create("signfinder:esp_quads",
-			RenderSetup.builder(SignFinderPipelines.ESP_QUADS).sortOnUpload()
-				.createRenderSetup());
-	
-	/**
-	 * Returns either {@link #QUADS} or {@link #ESP_QUADS} depending on the
-	 * value of {@code depthTest}.
-	 */
-	public static RenderType getQuads(boolean depthTest)
-	{
-		return depthTest ? QUADS : ESP_QUADS;
-	}
-	
-	/**
-	 * Returns either {@link #LINES} or {@link #ESP_LINES} depending on the
-	 * value of {@code depthTest}.
-	 */
-	public static RenderType getLines(boolean depthTest)
-	{
-		return depthTest ? LINES : ESP_LINES;
-	}
-}
+package net.signfinder.rendering;
+
+import net.minecraft.client.renderer.rendertype.LayeringTransform;
+import net.minecraft.client.renderer.rendertype.OutputTarget;
+import net.minecraft.client.renderer.rendertype.RenderSetup;
+import net.minecraft.client.renderer.rendertype.RenderType;
+import net.minecraft.client.renderer.rendertype.RenderSetup.RenderSetupBuilder;
+import net.signfinder.core.HighlightAnimation;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.mojang.blaze3d.pipeline.RenderPipeline;
+
+public final class SignFinderRenderLayers
+{
+	/**
+	 * Similar to {@link RenderType#getLines()}, but with line width 2.
+	 */
+	public static final RenderType LINES = RenderType.create("signfinder:lines",
+		RenderSetup.builder(SignFinderPipelines.DEPTH_TEST_LINES)
+			.setLayeringTransform(LayeringTransform.VIEW_OFFSET_Z_LAYERING)
+			.setOutputTarget(OutputTarget.ITEM_ENTITY_TARGET)
+			.createRenderSetup());
+	
+	/**
+	 * Similar to {@link RenderType#getLines()}, but with line width 2 and no
+	 * depth test.
+	 */
+	public static final RenderType ESP_LINES =
+		RenderType.create("signfinder:esp_lines",
+			RenderSetup.builder(SignFinderPipelines.ESP_LINES)
+				.setLayeringTransform(LayeringTransform.VIEW_OFFSET_Z_LAYERING)
+				.setOutputTarget(OutputTarget.ITEM_ENTITY_TARGET)
+				.createRenderSetup());
+	
+	/**
+	 * Similar to {@link RenderType#getDebugQuads()}, but with culling enabled.
+	 */
+	public static final RenderType QUADS = RenderType.create("signfinder:quads",
+		RenderSetup.builder(SignFinderPipelines.QUADS).sortOnUpload()
+			.createRenderSetup());
+	
+	/**
+	 * Similar to {@link RenderType#getDebugQuads()}, but with culling enabled
+	 * and no depth test.
+	 */
+	public static final RenderType ESP_QUADS =
+		RenderType.create("signfinder:esp_quads",
+			RenderSetup.builder(SignFinderPipelines.ESP_QUADS).sortOnUpload()
+				.createRenderSetup());
+	
+	private static final Map<HighlightAnimation, RenderType> ANIMATED_LINES =
+		createAnimated("lines", SignFinderPipelines.ANIMATED_DEPTH_TEST_LINES,
+			SignFinderRenderLayers::lineSetup);
+	
+	private static final Map<HighlightAnimation, RenderType> ANIMATED_ESP_LINES =
+		createAnimated("esp_lines", SignFinderPipelines.ANIMATED_ESP_LINES,
+			SignFinderRenderLayers::lineSetup);
+	
+	private static final Map<HighlightAnimation, RenderType> ANIMATED_QUADS =
+		createAnimated("quads", SignFinderPipelines.ANIMATED_QUADS,
+			SignFinderRenderLayers::quadSetup);
+	
+	private static final Map<HighlightAnimation, RenderType> ANIMATED_ESP_QUADS =
+		createAnimated("esp_quads", SignFinderPipelines.ANIMATED_ESP_QUADS,
+			SignFinderRenderLayers::quadSetup);
+	
+	/**
+	 * Returns either {@link #QUADS} or {@link #ESP_QUADS} depending on the
+	 * value of {@code depthTest}.
+	 */
+	public static RenderType getQuads(boolean depthTest)
+	{
+		return depthTest ? QUADS : ESP_QUADS;
+	}
+	
+	/**
+	 * Returns either {@link #LINES} or {@link #ESP_LINES} depending on the
+	 * value of {@code depthTest}.
+	 */
+	public static RenderType getLines(boolean depthTest)
+	{
+		return depthTest ? LINES : ESP_LINES;
+	}
+	
+	/**
+	 * Like {@link #getQuads(boolean)}, but using the pipeline for the given
+	 * shader-driven animation.
+	 */
+	public static RenderType getQuads(boolean depthTest,
+		HighlightAnimation animation)
+	{
+		if(!animation.isAnimated())
+			return getQuads(depthTest);
+		
+		return (depthTest ? ANIMATED_QUADS : ANIMATED_ESP_QUADS)
+			.get(animation);
+	}
+	
+	/**
+	 * Like {@link #getLines(boolean)}, but using the pipeline for the given
+	 * shader-driven animation.
+	 */
+	public static RenderType getLines(boolean depthTest,
+		HighlightAnimation animation)
+	{
+		if(!animation.isAnimated())
+			return getLines(depthTest);
+		
+		return (depthTest ? ANIMATED_LINES : ANIMATED_ESP_LINES)
+			.get(animation);
+	}
+	
+	private static RenderSetupBuilder lineSetup(RenderPipeline pipeline)
+	{
+		return RenderSetup.builder(pipeline)
+			.setLayeringTransform(LayeringTransform.VIEW_OFFSET_Z_LAYERING)
+			.setOutputTarget(OutputTarget.ITEM_ENTITY_TARGET);
+	}
+	
+	private static RenderSetupBuilder quadSetup(RenderPipeline pipeline)
+	{
+		return RenderSetup.builder(pipeline).sortOnUpload();
+	}
+	
+	private static Map<HighlightAnimation, RenderType> createAnimated(
+		String name, Map<HighlightAnimation, RenderPipeline> pipelines,
+		Function<RenderPipeline, RenderSetupBuilder> setup)
+	{
+		Map<HighlightAnimation, RenderType> types =
+			new EnumMap<>(HighlightAnimation.class);
+		
+		pipelines.forEach((animation, pipeline) -> types.put(animation,
+			RenderType.create(
+				"signfinder:" + name + "_" + animation.name().toLowerCase(),
+				setup.apply(pipeline).createRenderSetup())));
+		
+		return Collections.unmodifiableMap(types);
+	}
+}
@@ -0,0 +1,276 @@
+package net.signfinder.rendering;
+
+import java.util.Arrays;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+/**
+ * Caps the number of tracers to the N most relevant highlights: custom-colored
+ * highlights first, then the nearest ones.
+ *
+ * <p>
+ * The selection is only recomputed when the viewer has moved a little or the
+ * set of highlights has changed, and then with a bounded heap of size N
+ * instead of sorting every highlight. Highlights that are already selected
+ * get a head start, so two targets at almost the same distance don't keep
+ * swapping places (and flickering) while the player walks around.
+ *
+ * <p>
+ * A position that is both a search result and auto-detected only counts
+ * once against the budget and gets at most one tracer.
+ */
+public final class TracerBudget
+{
+	/**
+	 * Squared distance the viewer has to move before the selection is
+	 * recomputed.
+	 */
+	private static final double RESELECT_DISTANCE_SQ = 2 * 2;
+	
+	/**
+	 * Factor on the squared distance of already selected highlights. 0.64
+	 * means a new target has to be about 20% closer to replace one.
+	 */
+	private static final double HYSTERESIS_FACTOR = 0.64;
+	
+	private LongOpenHashSet selected = new LongOpenHashSet();
+	private LongOpenHashSet previous = new LongOpenHashSet();
+	private final HighlightBatch targets = new HighlightBatch();
+	
+	// Batch index of the entry kept per position, and the kept entries
+	private final Long2IntOpenHashMap keptIndices = new Long2IntOpenHashMap();
+	private final HighlightBatch unique = new HighlightBatch();
+	
+	// Max-heap of the best candidates, worst one on top
+	private int[] heapIndices = new int[16];
+	private double[] heapScores = new double[16];
+	private int heapSize;
+	
+	private double lastX;
+	private double lastY;
+	private double lastZ;
+	private int lastMaxTracers = -1;
+	private int lastSize = -1;
+	private long lastSignature;
+	
+	public TracerBudget()
+	{
+		keptIndices.defaultReturnValue(-1);
+	}
+	
+	/**
+	 * Returns the highlights of {@code batch} that should get a tracer when
+	 * viewed from the given position. The returned batch is reused by the
+	 * next call.
+	 *
+	 * @param maxTracers
+	 *            the budget, or 0 for no limit
+	 */
+	public HighlightBatch select(HighlightBatch batch, double viewerX,
+		double viewerY, double viewerZ, int maxTracers)
+	{
+		HighlightBatch candidates = deduplicate(batch);
+		if(maxTracers <= 0 || candidates.size() <= maxTracers)
+		{
+			invalidate();
+			return candidates;
+		}
+		
+		long signature = signatureOf(candidates);
+		if(needsReselect(candidates, signature, viewerX, viewerY, viewerZ,
+			maxTracers))
+		{
+			reselect(candidates, viewerX, viewerY, viewerZ, maxTracers);
+			lastX = viewerX;
+			lastY = viewerY;
+			lastZ = viewerZ;
+			lastMaxTracers = maxTracers;
+			lastSize = candidates.size();
+			lastSignature = signature;
+		}
+		
+		// Batch indices change from frame to frame, positions don't
+		targets.clear();
+		for(int i = 0; i < candidates.size(); i++)
+			if(selected.contains(candidates.getPackedPos(i)))
+				targets.addFrom(candidates, i);
+		
+		return targets;
+	}
+	
+	public void invalidate()
+	{
+		selected.clear();
+		lastMaxTracers = -1;
+		lastSize = -1;
+	}
+	
+	/**
+	 * Returns {@code batch} with each position only once. Of repeated
+	 * positions, the entry that ranks higher is kept: a custom-colored one,
+	 * otherwise the first.
+	 */
+	private HighlightBatch deduplicate(HighlightBatch batch)
+	{
+		keptIndices.clear();
+		boolean duplicates = false;
+		for(int i = 0; i < batch.size(); i++)
+		{
+			long pos = batch.getPackedPos(i);
+			int kept = keptIndices.putIfAbsent(pos, i);
+			if(kept < 0)
+				continue;
+			
+			duplicates = true;
+			if(batch.hasFlag(i, HighlightBatch.FLAG_CUSTOM_COLOR)
+				&& !batch.hasFlag(kept, HighlightBatch.FLAG_CUSTOM_COLOR))
+				keptIndices.put(pos, i);
+		}
+		
+		if(!duplicates)
+			return batch;
+		
+		unique.clear();
+		for(int i = 0; i < batch.size(); i++)
+			if(keptIndices.get(batch.getPackedPos(i)) == i)
+				unique.addFrom(batch, i);
+		
+		return unique;
+	}
+	
+	private boolean needsReselect(HighlightBatch batch, long signature,
+		double viewerX, double viewerY, double viewerZ, int maxTracers)
+	{
+		if(maxTracers != lastMaxTracers || batch.size() != lastSize
+			|| signature != lastSignature)
+			return true;
+		
+		double dx = viewerX - lastX;
+		double dy = viewerY - lastY;
+		double dz = viewerZ - lastZ;
+		return dx * dx + dy * dy + dz * dz > RESELECT_DISTANCE_SQ;
+	}
+	
+	/**
+	 * Order-independent fingerprint of the positions and flags in the batch,
+	 * so that reordering the same highlights doesn't force a reselect.
+	 */
+	private static long signatureOf(HighlightBatch batch)
+	{
+		long signature = 0;
+		for(int i = 0; i < batch.size(); i++)
+			signature += HashCommon.mix(batch.getPackedPos(i))
+				^ batch.getFlags(i);
+		
+		return signature;
+	}
+	
+	private void reselect(HighlightBatch batch, double viewerX,
+		double viewerY, double viewerZ, int maxTracers)
+	{
+		// Swap instead of copying, addAll() would allocate an iterator
+		LongOpenHashSet oldPrevious = previous;
+		previous = selected;
+		selected = oldPrevious;
+		selected.clear();
+		
+		ensureHeapCapacity(maxTracers);
+		heapSize = 0;
+		
+		for(int i = 0; i < batch.size(); i++)
+		{
+			double score = scoreOf(batch, i, viewerX, viewerY, viewerZ);
+			if(heapSize < maxTracers)
+			{
+				heapIndices[heapSize] = i;
+				heapScores[heapSize] = score;
+				siftUp(heapSize++);
+			}else if(score < heapScores[0])
+			{
+				heapIndices[0] = i;
+				heapScores[0] = score;
+				siftDown(0);
+			}
+		}
+		
+		for(int i = 0; i < heapSize; i++)
+			selected.add(batch.getPackedPos(heapIndices[i]));
+	}
+	
+	/**
+	 * Lower is better. Custom-colored highlights always beat the rest, which
+	 * is encoded as a negative score.
+	 */
+	private double scoreOf(HighlightBatch batch, int index, double viewerX,
+		double viewerY, double viewerZ)
+	{
+		double dx = batch.getX(index) + 0.5 - viewerX;
+		double dy = batch.getY(index) + 0.5 - viewerY;
+		double dz = batch.getZ(index) + 0.5 - viewerZ;
+		double score = dx * dx + dy * dy + dz * dz;
+		
+		if(previous.contains(batch.getPackedPos(index)))
+			score *= HYSTERESIS_FACTOR;
+		
+		if(batch.hasFlag(index, HighlightBatch.FLAG_CUSTOM_COLOR))
+			score = -1 / (1 + score);
+		
+		return score;
+	}
+	
+	private void siftUp(int pos)
+	{
+		while(pos > 0)
+		{
+			int parent = (pos - 1) >>> 1;
+			if(heapScores[parent] >= heapScores[pos])
+				break;
+			
+			swap(pos, parent);
+			pos = parent;
+		}
+	}
+	
+	private void siftDown(int pos)
+	{
+		while(true)
+		{
+			int left = pos * 2 + 1;
+			if(left >= heapSize)
+				break;
+			
+			int largest = left;
+			int right = left + 1;
+			if(right < heapSize && heapScores[right] > heapScores[left])
+				largest = right;
+			
+			if(heapScores[pos] >= heapScores[largest])
+				break;
+			
+			swap(pos, largest);
+			pos = largest;
+		}
+	}
+	
+	private void swap(int a, int b)
+	{
+		int index = heapIndices[a];
+		heapIndices[a] = heapIndices[b];
+		heapIndices[b] = index;
+		
+		double score = heapScores[a];
+		heapScores[a] = heapScores[b];
+		heapScores[b] = score;
+	}
+	
+	private void ensureHeapCapacity(int capacity)
+	{
+		if(capacity <= heapIndices.length)
+			return;
+		
+		heapIndices = Arrays.copyOf(heapIndices, capacity);
+		heapScores = Arrays.copyOf(heapScores, capacity);
+	}
+}
@@ -1,244 +1,225 @@
-package net.signfinder.services;
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.regex.Pattern;
-
-import net.minecraft.world.entity.decoration.ItemFrame;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import net.minecraft.world.level.block.entity.SignBlockEntity;
-import net.signfinder.SignFinderConfig;
-import net.signfinder.cache.PatternCache;
-import net.signfinder.util.ChunkUtils;
-import net.signfinder.util.ItemFrameUtils;
-import net.signfinder.util.SignTextUtils;
-
-/**
- * Service for detecting signs and item frames that match configured criteria.
- * Handles the actual scanning and filtering logic.
- */
-public class EntityDetectionService
-{
-	private static final Logger LOGGER =
-		LoggerFactory.getLogger(EntityDetectionService.class);
-	
-	private final PatternCache patternCache;
-	
-	public EntityDetectionService(PatternCache patternCache)
-	{
-		this.patternCache = patternCache;
-	}
-	
-	/**
-	 * Detect signs that contain container references based on configuration.
-	 *
-	 * @param config
-	 *            Configuration containing detection keywords and settings
-	 * @return List of detected sign entities
-	 */
-	public List<SignBlockEntity> detectMatchingSigns(SignFinderConfig config)
-	{
-		List<SignBlockEntity> detectedSigns = new ArrayList<>();
-		
-		ChunkUtils.getLoadedBlockEntities().forEach(blockEntity -> {
-			if(blockEntity instanceof SignBlockEntity signEntity)
-			{
-				if(containsContainerReference(signEntity, config)
-					&& !containsIgnoreWords(signEntity, config))
-				{
-					detectedSigns.add(signEntity);
-				}
-			}
-		});
-		
-		LOGGER.debug("Detected {} matching signs", detectedSigns.size());
-		return detectedSigns;
-	}
-	
-	/**
-	 * Detect item frames that contain container references based on
-	 * configuration.
-	 *
-	 * @param config
-	 *            Configuration containing detection keywords and settings
-	 * @return List of detected item frame entities
-	 */
-	public List<ItemFrame> detectMatchingItemFrames(SignFinderConfig config)
-	{
-		List<ItemFrame> detectedFrames = new ArrayList<>();
-		
-		ChunkUtils.getLoadedEntities().forEach(entity -> {
-			if(entity instanceof ItemFrame itemFrame
-				&& ItemFrameUtils.hasItem(itemFrame))
-			{
-				
-				if(containsContainerReferenceItemFrame(itemFrame, config)
-					&& !containsIgnoreWordsItemFrame(itemFrame, config))
-				{
-					detectedFrames.add(itemFrame);
-				}
-			}
-		});
-		
-		LOGGER.debug("Detected {} matching item frames", detectedFrames.size());
-		return detectedFrames;
-	}
-	
-	private boolean containsContainerReference(SignBlockEntity sign,
-		SignFinderConfig config)
-	{
-		if(config.container_keywords == null
-			|| config.container_keywords.length == 0)
-			return false;
-		
-		String[] signText = SignTextUtils.getSignTextArray(sign);
-		if(signText == null)
-			return false;
-		
-		String fullText = String.join(" ", signText);
-		
-		for(String keyword : config.container_keywords)
-		{
-			if(keyword.trim().isEmpty())
-				continue;
-			
-			boolean matches;
-			if(config.auto_detection_use_regex)
-			{
-				matches =
-					matchesRegex(fullText, keyword, config.case_sensitive);
-			}else
-			{
-				matches = config.case_sensitive ? fullText.contains(keyword)
-					: fullText.toLowerCase().contains(keyword.toLowerCase());
-			}
-			
-			if(matches)
-			{
-				LOGGER.debug("Sign at {} matches keyword '{}'",
-					sign.getBlockPos(), keyword);
-				return true;
-			}
-		}
-		
-		return false;
-	}
-	
-	private boolean containsIgnoreWords(SignBlockEntity sign,
-		SignFinderConfig config)
-	{
-		if(config.ignore_words == null || config.ignore_words.length == 0)
-			return false;
-		
-		String[] signText = SignTextUtils.getSignTextArray(sign);
-		if(signText == null)
-			return false;
-		
-		String fullText = String.join(" ", signText);
-		
-		for(String ignoreWord : config.ignore_words)
-		{
-			if(ignoreWord.trim().isEmpty())
-				continue;
-			
-			boolean matches =
-				config.case_sensitive ? fullText.contains(ignoreWord)
-					: fullText.toLowerCase().contains(ignoreWord.toLowerCase());
-			
-			if(matches)
-			{
-				LOGGER.debug("Sign at {} ignored due to word '{}'",
-					sign.getBlockPos(), ignoreWord);
-				return true;
-			}
-		}
-		
-		return false;
-	}
-	
-	private boolean containsContainerReferenceItemFrame(ItemFrame itemFrame,
-		SignFinderConfig config)
-	{
-		if(config.container_keywords == null
-			|| config.container_keywords.length == 0)
-			return false;
-		
-		String itemName = ItemFrameUtils.getItemName(itemFrame);
-		if(itemName == null)
-			return false;
-		
-		for(String keyword : config.container_keywords)
-		{
-			if(keyword.trim().isEmpty())
-				continue;
-			
-			boolean matches;
-			if(config.auto_detection_use_regex)
-			{
-				matches =
-					matchesRegex(itemName, keyword, config.case_sensitive);
-			}else
-			{
-				matches = config.case_sensitive ? itemName.contains(keyword)
-					: itemName.toLowerCase().contains(keyword.toLowerCase());
-			}
-			
-			if(matches)
-			{
-				LOGGER.debug("Item frame at {} matches keyword '{}'",
-					itemFrame.getPos(), keyword);
-				return true;
-			}
-		}
-		
-		return false;
-	}
-	
-	private boolean containsIgnoreWordsItemFrame(ItemFrame itemFrame,
-		SignFinderConfig config)
-	{
-		if(config.ignore_words == null || config.ignore_words.length == 0)
-			return false;
-		
-		String itemName = ItemFrameUtils.getItemName(itemFrame);
-		if(itemName == null)
-			return false;
-		
-		for(String ignoreWord : config.ignore_words)
-		{
-			if(ignoreWord.trim().isEmpty())
-				continue;
-			
-			boolean matches =
-				config.case_sensitive ? itemName.contains(ignoreWord)
-					: itemName.toLowerCase().contains(ignoreWord.toLowerCase());
-			
-			if(matches)
-			{
-				LOGGER.debug("Item frame at {} ignored due to word '{}'",
-					itemFrame.getPos(), ignoreWord);
-				return true;
-			}
-		}
-		
-		return false;
-	}
-	
-	private boolean matchesRegex(String text, String pattern,
-		boolean caseSensitive)
-	{
-		Optional<Pattern> compiledPattern =
-			patternCache.getOrCompile(pattern, caseSensitive);
-		if(compiledPattern.isPresent())
-		{
-			return compiledPattern.get().matcher(text).find();
-		}
-		LOGGER.warn(
-			"Invalid regex pattern '{}' in auto-detection keywords, skipping",
-			pattern);
-		return false;
-	}
-}
+package net.signfinder.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.world.entity.decoration.ItemFrame;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.minecraft.world.level.block.entity.SignBlockEntity;
+import net.signfinder.CompiledConfig;
+import net.signfinder.detection.ChangeTracker;
+import net.signfinder.util.ChunkUtils;
+import net.signfinder.util.ItemFrameUtils;
+import net.signfinder.util.SignTextUtils;
+
+/**
+ * Service for detecting signs and item frames that match configured criteria.
+ * Handles the actual scanning and filtering logic.
+ */
+public class EntityDetectionService
+{
+	private static final Logger LOGGER =
+		LoggerFactory.getLogger(EntityDetectionService.class);
+	
+	// Entities looked at by the last detect call, for profiling
+	private int signsVisited;
+	private int framesVisited;
+	
+	// What appeared, disappeared or changed since the previous detect call
+	private final ChangeTracker signChanges = new ChangeTracker();
+	private final ChangeTracker frameChanges = new ChangeTracker();
+	private int signsChanged;
+	private int framesChanged;
+	
+	/**
+	 * Detect signs that contain container references based on configuration.
+	 *
+	 * @param config
+	 *            Configuration containing detection keywords and settings
+	 * @return List of detected sign entities
+	 */
+	public List<SignBlockEntity> detectMatchingSigns(CompiledConfig config)
+	{
+		List<SignBlockEntity> detectedSigns = new ArrayList<>();
+		signsVisited = 0;
+		signChanges.begin();
+		
+		ChunkUtils.getLoadedBlockEntities().forEach(blockEntity -> {
+			if(blockEntity instanceof SignBlockEntity signEntity)
+			{
+				signsVisited++;
+				String text =
+					String.join(" ", SignTextUtils.getSignTextArray(signEntity));
+				signChanges.visit(signEntity.getBlockPos().asLong(), text);
+				
+				String normalized = config.getTextNormalizer().normalize(text);
+				if(containsContainerReference(signEntity, normalized, config)
+					&& !containsIgnoreWords(signEntity, normalized, config))
+				{
+					detectedSigns.add(signEntity);
+				}
+			}
+		});
+		
+		signsChanged = signChanges.finish();
+		LOGGER.debug("Detected {} matching signs", detectedSigns.size());
+		return detectedSigns;
+	}
+	
+	/**
+	 * Detect item frames that contain container references based on
+	 * configuration.
+	 *
+	 * @param config
+	 *            Configuration containing detection keywords and settings
+	 * @return List of detected item frame entities
+	 */
+	public List<ItemFrame> detectMatchingItemFrames(CompiledConfig config)
+	{
+		List<ItemFrame> detectedFrames = new ArrayList<>();
+		framesVisited = 0;
+		frameChanges.begin();
+		
+		ChunkUtils.getLoadedEntities().forEach(entity -> {
+			if(entity instanceof ItemFrame itemFrame
+				&& ItemFrameUtils.hasItem(itemFrame))
+			{
+				framesVisited++;
+				String itemName = ItemFrameUtils.getItemName(itemFrame);
+				if(itemName == null)
+					return;
+				
+				frameChanges.visit(itemFrame.getPos().asLong(), itemName);
+				String normalized =
+					config.getTextNormalizer().normalize(itemName);
+				if(containsContainerReferenceItemFrame(itemFrame, normalized,
+					config)
+					&& !containsIgnoreWordsItemFrame(itemFrame, normalized,
+						config))
+				{
+					detectedFrames.add(itemFrame);
+				}
+			}
+		});
+		
+		framesChanged = frameChanges.finish();
+		LOGGER.debug("Detected {} matching item frames", detectedFrames.size());
+		return detectedFrames;
+	}
+	
+	/**
+	 * Number of loaded signs looked at by the last
+	 * {@link #detectMatchingSigns(CompiledConfig)} call.
+	 */
+	public int getSignsVisited()
+	{
+		return signsVisited;
+	}
+	
+	/**
+	 * Number of loaded, non-empty item frames looked at by the last
+	 * {@link #detectMatchingItemFrames(CompiledConfig)} call.
+	 */
+	public int getFramesVisited()
+	{
+		return framesVisited;
+	}
+	
+	/**
+	 * Number of signs that appeared, disappeared or changed their text
+	 * between the last two {@link #detectMatchingSigns(CompiledConfig)}
+	 * calls.
+	 */
+	public int getSignsChanged()
+	{
+		return signsChanged;
+	}
+	
+	/**
+	 * Number of item frames that appeared, disappeared or changed their item
+	 * between the last two
+	 * {@link #detectMatchingItemFrames(CompiledConfig)} calls.
+	 */
+	public int getFramesChanged()
+	{
+		return framesChanged;
+	}
+	
+	private boolean containsContainerReference(SignBlockEntity sign,
+		String text, CompiledConfig config)
+	{
+		String keyword = findKeyword(text, config);
+		if(keyword == null)
+			return false;
+		
+		LOGGER.debug("Sign at {} matches keyword '{}'", sign.getBlockPos(),
+			keyword);
+		return true;
+	}
+	
+	private boolean containsIgnoreWords(SignBlockEntity sign, String text,
+		CompiledConfig config)
+	{
+		String ignoreWord = findIgnoreWord(text, config);
+		if(ignoreWord == null)
+			return false;
+		
+		LOGGER.debug("Sign at {} ignored due to word '{}'", sign.getBlockPos(),
+			ignoreWord);
+		return true;
+	}
+	
+	private boolean containsContainerReferenceItemFrame(ItemFrame itemFrame,
+		String itemName, CompiledConfig config)
+	{
+		String keyword = findKeyword(itemName, config);
+		if(keyword == null)
+			return false;
+		
+		LOGGER.debug("Item frame at {} matches keyword '{}'",
+			itemFrame.getPos(), keyword);
+		return true;
+	}
+	
+	private boolean containsIgnoreWordsItemFrame(ItemFrame itemFrame,
+		String itemName, CompiledConfig config)
+	{
+		String ignoreWord = findIgnoreWord(itemName, config);
+		if(ignoreWord == null)
+			return false;
+		
+		LOGGER.debug("Item frame at {} ignored due to word '{}'",
+			itemFrame.getPos(), ignoreWord);
+		return true;
+	}
+	
+	/**
+	 * Finds the first configured container keyword that matches the given
+	 * text. Works on plain text only, so it can also be used (and
+	 * benchmarked) without a loaded world.
+	 *
+	 * @param text
+	 *            Already normalized with
+	 *            {@link CompiledConfig#getTextNormalizer()}
+	 * @return the matching keyword, or null if none matches
+	 */
+	public String findKeyword(String text, CompiledConfig config)
+	{
+		return config.findKeyword(text);
+	}
+	
+	/**
+	 * Finds the first configured ignore word contained in the given text.
+	 *
+	 * @param text
+	 *            Already normalized with
+	 *            {@link CompiledConfig#getTextNormalizer()}
+	 * @return the matching ignore word, or null if none matches
+	 */
+	public String findIgnoreWord(String text, CompiledConfig config)
+	{
+		return config.findIgnoreWord(text);
+	}
+}
@@ -1,391 +1,551 @@
-package net.signfinder.services;
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
-
-import net.minecraft.client.Minecraft;
-import net.minecraft.core.BlockPos;
-import net.minecraft.resources.ResourceKey;
-import net.minecraft.world.level.Level;
-import net.minecraft.world.phys.Vec3;
-import org.jetbrains.annotations.NotNull;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import net.signfinder.SignFinderConfig;
-import net.signfinder.SignFinderMod;
-import net.signfinder.models.SignSearchResult;
-import net.signfinder.managers.AutoSaveManager.SavedSignData;
-import net.signfinder.services.DataValidationService.ValidationResult;
-
-/**
- * Manages local cached sign data in memory.
- * Handles adding, removing, and maintaining cached detection results.
- */
-public class LocalDataCacheService
-{
-	private static final Logger LOGGER =
-		LoggerFactory.getLogger(LocalDataCacheService.class);
-	
-	private final Map<String, Map<BlockPos, SignSearchResult>> detectedSigns =
-		new ConcurrentHashMap<>();
-	private final DataValidationService validationService;
-	private final DataPersistenceService persistenceService;
-	
-	private boolean hasNewData = false;
-	
-	private Map<String, List<SavedSignData>> cachedLoadedData = null;
-	
-	public LocalDataCacheService(DataValidationService validationService,
-		DataPersistenceService persistenceService)
-	{
-		this.validationService = validationService;
-		this.persistenceService = persistenceService;
-	}
-	
-	/**
-	 * Add a detected sign to the cache.
-	 */
-	public void addDetectedSign(SignSearchResult result)
-	{
-		String worldKey = getCurrentWorldKey();
-		Map<BlockPos, SignSearchResult> worldData = detectedSigns
-			.computeIfAbsent(worldKey, k -> new ConcurrentHashMap<>());
-		
-		// Check if we already have this sign with the same content to avoid
-		// unnecessary saves
-		SignSearchResult existing = worldData.get(result.getPos());
-		if(existing != null
-			&& existing.getMatchedText().equals(result.getMatchedText()))
-		{
-			return; // No changes, skip adding
-		}
-		
-		worldData.put(result.getPos(), result);
-		hasNewData = true;
-		LOGGER.debug("Added detected sign at position: {}", result.getPos());
-	}
-	
-	/**
-	 * Remove a detected sign from the cache.
-	 */
-	public void removeDetectedSign(BlockPos pos)
-	{
-		String worldKey = getCurrentWorldKey();
-		Map<BlockPos, SignSearchResult> worldData = detectedSigns.get(worldKey);
-		if(worldData != null)
-		{
-			SignSearchResult removed = worldData.remove(pos);
-			if(removed != null)
-			{
-				hasNewData = true;
-				LOGGER.debug("Removed cached sign at position: {}", pos);
-			}
-		}
-	}
-	
-	/**
-	 * Check if auto-save is needed and perform save operation.
-	 */
-	public void checkAndSave()
-	{
-		Minecraft client = Minecraft.getInstance();
-		if(client.level == null || client.player == null)
-			return;
-		
-		SignFinderConfig config = SignFinderMod.getInstance().getConfig();
-		if(!config.auto_save_detection_data)
-			return;
-		
-		if(!hasNewData)
-			return;
-		
-		String worldKey = getCurrentWorldKey();
-		Map<BlockPos, SignSearchResult> worldData = detectedSigns.get(worldKey);
-		if(worldData == null || worldData.isEmpty())
-			return;
-		
-		// Convert memory data to save format
-		List<SavedSignData> dataToSave = worldData.values().stream()
-			.map(this::convertToSavedData).collect(Collectors.toList());
-		
-		// Combine with existing data from other worlds
-		Map<String, List<SavedSignData>> allData =
-			new ConcurrentHashMap<>(getOrLoadWorldData());
-		allData.put(worldKey, dataToSave);
-		
-		// Save to file
-		if(persistenceService.saveDetectionData(allData))
-		{
-			hasNewData = false;
-			cachedLoadedData = null; // force reload on next read
-			LOGGER.debug("Auto-saved {} detected signs for world: {}",
-				dataToSave.size(), worldKey);
-		}else
-		{
-			LOGGER.warn("Failed to auto-save detected signs");
-		}
-	}
-	
-	/**
-	 * Get all local data for the current world.
-	 */
-	public List<SignSearchResult> getLocalData()
-	{
-		Map<String, List<SavedSignData>> savedData = getOrLoadWorldData();
-		String currentWorldKey = getCurrentWorldKey();
-		List<SavedSignData> worldData =
-			savedData.getOrDefault(currentWorldKey, List.of());
-		
-		return worldData.stream().map(this::convertFromSavedData)
-			.collect(Collectors.toList());
-	}
-	
-	/**
-	 * Clean up cached local data by validating against current world state.
-	 */
-	public void cleanupCachedLocalData()
-	{
-		Minecraft client = Minecraft.getInstance();
-		if(client.level == null || client.player == null)
-			return;
-		
-		SignFinderConfig config = SignFinderMod.getInstance().getConfig();
-		if(!config.auto_save_detection_data)
-			return;
-		
-		List<SignSearchResult> localData = getLocalData();
-		if(localData.isEmpty())
-			return;
-		
-		Map<String, List<SavedSignData>> updatedData;
-		boolean hasChanges = false;
-		
-		String currentWorldKey = getCurrentWorldKey();
-		List<SavedSignData> worldData = new ArrayList<>();
-		
-		LOGGER.debug("Cleaning up {} local data entries", localData.size());
-		
-		for(SignSearchResult localResult : localData)
-		{
-			ValidationResult validation =
-				validationService.validateSignAtPosition(client.level,
-					localResult.getPos(), localResult);
-			
-			LOGGER.debug("Position {} validation status: {}",
-				localResult.getPos(), validation.status());
-			
-			switch(validation.status())
-			{
-				case VALID:
-				worldData.add(convertToSavedData(localResult));
-				break;
-				case MODIFIED:
-				if(validation.updatedResult() != null)
-				{
-					worldData
-						.add(convertToSavedData(validation.updatedResult()));
-					hasChanges = true;
-					LOGGER.debug("Updated data for position {}",
-						localResult.getPos());
-				}
-				break;
-				case REMOVED:
-				hasChanges = true;
-				LOGGER.debug("Removed data for position {}",
-					localResult.getPos());
-				break;
-			}
-		}
-		
-		if(hasChanges)
-		{
-			updatedData = Map.of(currentWorldKey, worldData);
-			persistenceService.saveDetectionData(updatedData);
-			cachedLoadedData = null; // force reload on next read
-			LOGGER.debug("Saved updated local data with {} entries",
-				worldData.size());
-		}else
-		{
-			LOGGER.debug("No changes detected in local data");
-		}
-	}
-	
-	/**
-	 * Validate cached memory data against current world state.
-	 */
-	public void validateCachedMemoryData()
-	{
-		Minecraft client = Minecraft.getInstance();
-		if(client.level == null || client.player == null)
-			return;
-		
-		String worldKey = getCurrentWorldKey();
-		Map<BlockPos, SignSearchResult> worldData = detectedSigns.get(worldKey);
-		if(worldData == null || worldData.isEmpty())
-			return;
-		
-		List<BlockPos> toRemove = new ArrayList<>();
-		List<BlockPos> toUpdate = new ArrayList<>();
-		
-		for(Map.Entry<BlockPos, SignSearchResult> entry : worldData.entrySet())
-		{
-			BlockPos pos = entry.getKey();
-			SignSearchResult cachedResult = entry.getValue();
-			
-			ValidationResult validation = validationService
-				.validateSignAtPosition(client.level, pos, cachedResult);
-			
-			switch(validation.status())
-			{
-				case REMOVED:
-				toRemove.add(pos);
-				break;
-				case MODIFIED:
-				toUpdate.add(pos);
-				break;
-				case VALID:
-				break;
-			}
-		}
-		
-		// Remove deleted signs
-		for(BlockPos pos : toRemove)
-		{
-			worldData.remove(pos);
-			hasNewData = true;
-		}
-		
-		// Update modified signs
-		for(BlockPos pos : toUpdate)
-		{
-			updateSignData(pos, client);
-		}
-		
-		LOGGER.debug("Memory validation completed: {} removed, {} updated",
-			toRemove.size(), toUpdate.size());
-	}
-	
-	private void updateSignData(BlockPos pos, Minecraft client)
-	{
-		try
-		{
-			if(client.level == null)
-				return;
-			String[] currentText = net.signfinder.util.SignTextUtils
-				.getSignText(client.level, pos);
-			if(currentText == null)
-				return;
-			
-			SignSearchResult updatedResult = new SignSearchResult(pos,
-				client.player.position(), currentText,
-				String.join(" ", currentText),
-				SignFinderMod.getInstance().getConfig().text_preview_length);
-			
-			String worldKey = getCurrentWorldKey();
-			detectedSigns
-				.computeIfAbsent(worldKey, k -> new ConcurrentHashMap<>())
-				.put(pos, updatedResult);
-			hasNewData = true;
-		}catch(Exception e)
-		{
-			LOGGER.warn("Failed to update sign data at {}: {}", pos,
-				e.getMessage());
-		}
-	}
-	
-	/**
-	 * Loads detection data from disk, caching it in memory to avoid repeated
-	 * file I/O on every search. The cache is invalidated when new data is
-	 * saved.
-	 */
-	private Map<String, List<SavedSignData>> getOrLoadWorldData()
-	{
-		if(cachedLoadedData == null)
-		{
-			cachedLoadedData = persistenceService.loadDetectionData();
-		}
-		return cachedLoadedData;
-	}
-	
-	private SavedSignData convertToSavedData(SignSearchResult result)
-	{
-		SavedSignData data = new SavedSignData();
-		data.x = result.getPos().getX();
-		data.y = result.getPos().getY();
-		data.z = result.getPos().getZ();
-		data.signText = result.getSignText();
-		data.matchedText = result.getMatchedText();
-		data.updateTime = System.currentTimeMillis();
-		return data;
-	}
-	
-	private SignSearchResult convertFromSavedData(SavedSignData data)
-	{
-		BlockPos pos = new BlockPos(data.x, data.y, data.z);
-		Minecraft client = Minecraft.getInstance();
-		
-		return new SignSearchResult(pos,
-			client.player != null ? client.player.position()
-				: Vec3.atCenterOf(pos),
-			data.signText, data.matchedText,
-			SignFinderMod.getInstance().getConfig().text_preview_length);
-	}
-	
-	/**
-	 * Gets the current world dimension key for data grouping.
-	 * Automatically handles any dimension including custom modded dimensions.
-	 */
-	
-	private static String getCurrentWorldKey()
-	{
-		Minecraft client = Minecraft.getInstance();
-		if(client.level == null)
-			return "unknown";
-		
-		return client.level.dimension().toString(); // minecraft:overworld
-	}
-	
-	/**
-	 * Converts a world registry key to a safe string identifier.
-	 * Handles vanilla dimensions with friendly names and custom dimensions with
-	 * full identifiers.
-	 */
-	private static String getDimensionKey(
-		ResourceKey<@NotNull Level> dimensionKey)
-	{
-		if(dimensionKey == null)
-			return "unknown";
-		
-		// Vanilla dimensions (Mojmap)
-		if(dimensionKey == Level.OVERWORLD)
-			return "overworld";
-		else if(dimensionKey == Level.NETHER)
-			return "nether";
-		else if(dimensionKey == Level.END)
-			return "end";
-		
-		return dimensionKey.toString();
-	}
-	
-	/**
-	 * Sanitizes dimension keys to be safe for use in file operations and data
-	 * structures.
-	 */
-	private String sanitizeDimensionKey(String dimensionId)
-	{
-		if(dimensionId == null || dimensionId.isEmpty())
-			return "unknown";
-		
-		// Replace problematic characters with safe alternatives
-		return dimensionId.replaceAll(":", "_") // Replace namespace separator
-			.replaceAll("[/\\\\]", "_") // Replace path separators
-			.replaceAll("[<>:\"|?*]", "_") // Replace illegal filename
-											// characters
-			.replaceAll("\\s+", "_") // Replace whitespace with underscore
-			.toLowerCase(); // Normalize to lowercase
-	}
-}
+package net.signfinder.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import jdk.jfr.EventType;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.signfinder.CompiledConfig;
+import net.signfinder.SignFinderMod;
+import net.signfinder.engine.SignIndex;
+import net.signfinder.engine.SignRecord;
+import net.signfinder.engine.TextNormalizer;
+import net.signfinder.jfr.ValidationSweepEvent;
+import net.signfinder.models.SignSearchResult;
+import net.signfinder.managers.AutoSaveManager.SavedSignData;
+import net.signfinder.services.DataValidationService.ValidationResult;
+import net.signfinder.util.SignRecordUtils;
+
+/**
+ * Manages local cached sign data in memory.
+ * Handles adding, removing, and maintaining cached detection results.
+ */
+public class LocalDataCacheService
+{
+	private static final Logger LOGGER =
+		LoggerFactory.getLogger(LocalDataCacheService.class);
+	
+	private static final EventType SWEEP_EVENT =
+		EventType.getEventType(ValidationSweepEvent.class);
+	
+	private final Map<String, Map<BlockPos, SignSearchResult>> detectedSigns =
+		new ConcurrentHashMap<>();
+	private final DataValidationService validationService;
+	private final DataPersistenceService persistenceService;
+	
+	private boolean hasNewData = false;
+	// Rough size of the entries added or changed since the last save
+	private long pendingSaveBytes = 0;
+	
+	private Map<String, List<SavedSignData>> cachedLoadedData = null;
+	
+	// Search index over the current world's saved data, rebuilt whenever
+	// the saved data is reloaded, the world changes or text is normalized
+	// differently
+	private SignIndex localIndex = null;
+	private Long2ObjectOpenHashMap<String> localMatchedTexts = null;
+	private Map<String, List<SavedSignData>> localIndexSource = null;
+	private String localIndexWorldKey = null;
+	private TextNormalizer localIndexNormalizer = null;
+	
+	public LocalDataCacheService(DataValidationService validationService,
+		DataPersistenceService persistenceService)
+	{
+		this.validationService = validationService;
+		this.persistenceService = persistenceService;
+	}
+	
+	/**
+	 * Add a detected sign to the cache.
+	 */
+	public void addDetectedSign(SignSearchResult result)
+	{
+		String worldKey = getCurrentWorldKey();
+		Map<BlockPos, SignSearchResult> worldData = detectedSigns
+			.computeIfAbsent(worldKey, k -> new ConcurrentHashMap<>());
+		
+		// Check if we already have this sign with the same content to avoid
+		// unnecessary saves
+		SignSearchResult existing = worldData.get(result.getPos());
+		if(existing != null
+			&& existing.getMatchedText().equals(result.getMatchedText()))
+		{
+			return; // No changes, skip adding
+		}
+		
+		worldData.put(result.getPos(), result);
+		hasNewData = true;
+		pendingSaveBytes += estimateSavedSize(result);
+		LOGGER.debug("Added detected sign at position: {}", result.getPos());
+	}
+	
+	/**
+	 * Remove a detected sign from the cache.
+	 */
+	public void removeDetectedSign(BlockPos pos)
+	{
+		String worldKey = getCurrentWorldKey();
+		Map<BlockPos, SignSearchResult> worldData = detectedSigns.get(worldKey);
+		if(worldData != null)
+		{
+			SignSearchResult removed = worldData.remove(pos);
+			if(removed != null)
+			{
+				hasNewData = true;
+				LOGGER.debug("Removed cached sign at position: {}", pos);
+			}
+		}
+	}
+	
+	/**
+	 * Check if auto-save is needed and perform save operation.
+	 */
+	public void checkAndSave()
+	{
+		Minecraft client = Minecraft.getInstance();
+		if(client.level == null || client.player == null)
+			return;
+		
+		CompiledConfig config = SignFinderMod.getInstance().getCompiledConfig();
+		if(!config.isAutoSaveDetectionData())
+			return;
+		
+		if(!hasNewData)
+			return;
+		
+		String worldKey = getCurrentWorldKey();
+		Map<BlockPos, SignSearchResult> worldData = detectedSigns.get(worldKey);
+		if(worldData == null || worldData.isEmpty())
+			return;
+		
+		// Convert memory data to save format
+		List<SavedSignData> dataToSave = worldData.values().stream()
+			.map(this::convertToSavedData).collect(Collectors.toList());
+		
+		// Combine with existing data from other worlds
+		Map<String, List<SavedSignData>> allData =
+			new ConcurrentHashMap<>(getOrLoadWorldData());
+		allData.put(worldKey, dataToSave);
+		
+		// Save to file
+		if(persistenceService.saveDetectionData(allData))
+		{
+			hasNewData = false;
+			pendingSaveBytes = 0;
+			cachedLoadedData = null; // force reload on next read
+			LOGGER.debug("Auto-saved {} detected signs for world: {}",
+				dataToSave.size(), worldKey);
+		}else
+		{
+			LOGGER.warn("Failed to auto-save detected signs");
+		}
+	}
+	
+	/**
+	 * Returns roughly how many bytes of entries the next auto-save will
+	 * write that aren't on disk yet.
+	 */
+	public long getPendingSaveBytes()
+	{
+		return pendingSaveBytes;
+	}
+	
+	/**
+	 * Returns the number of entries in the saved data index, without loading
+	 * or rebuilding it.
+	 */
+	public int getIndexedCount()
+	{
+		SignIndex index = localIndex;
+		return index != null ? index.size() : 0;
+	}
+	
+	/**
+	 * Get all local data for the current world.
+	 */
+	public List<SignSearchResult> getLocalData()
+	{
+		Map<String, List<SavedSignData>> savedData = getOrLoadWorldData();
+		String currentWorldKey = getCurrentWorldKey();
+		List<SavedSignData> worldData =
+			savedData.getOrDefault(currentWorldKey, List.of());
+		
+		return worldData.stream().map(this::convertFromSavedData)
+			.collect(Collectors.toList());
+	}
+	
+	/**
+	 * Get all local data for the current world as a search index. Reused
+	 * between searches, instead of converting every saved sign each time.
+	 */
+	public SignIndex getLocalIndex()
+	{
+		Map<String, List<SavedSignData>> savedData = getOrLoadWorldData();
+		String worldKey = getCurrentWorldKey();
+		TextNormalizer normalizer =
+			SignFinderMod.getInstance().getCompiledConfig().getTextNormalizer();
+		
+		if(localIndex == null || localIndexSource != savedData
+			|| !worldKey.equals(localIndexWorldKey)
+			|| !normalizer.equals(localIndexNormalizer))
+		{
+			List<SavedSignData> worldData =
+				savedData.getOrDefault(worldKey, List.of());
+			SignIndex index = new SignIndex(worldData.size());
+			Long2ObjectOpenHashMap<String> matchedTexts =
+				new Long2ObjectOpenHashMap<>(worldData.size());
+			
+			for(SavedSignData data : worldData)
+			{
+				SignRecord record =
+					SignRecordUtils.fromSavedData(data, normalizer);
+				index.put(record);
+				matchedTexts.put(record.pos(), data.matchedText);
+			}
+			
+			localIndex = index;
+			localMatchedTexts = matchedTexts;
+			localIndexSource = savedData;
+			localIndexWorldKey = worldKey;
+			localIndexNormalizer = normalizer;
+		}
+		
+		return localIndex;
+	}
+	
+	/**
+	 * Gets the saved matched text of a record in {@link #getLocalIndex()}.
+	 */
+	public String getLocalMatchedText(long pos)
+	{
+		getLocalIndex();
+		return localMatchedTexts.get(pos);
+	}
+	
+	/**
+	 * Clean up cached local data by validating against current world state.
+	 */
+	public void cleanupCachedLocalData()
+	{
+		Minecraft client = Minecraft.getInstance();
+		if(client.level == null || client.player == null)
+			return;
+		
+		CompiledConfig config = SignFinderMod.getInstance().getCompiledConfig();
+		if(!config.isAutoSaveDetectionData())
+			return;
+		
+		List<SignSearchResult> localData = getLocalData();
+		if(localData.isEmpty())
+			return;
+		
+		// Only allocate the event while a recording wants it
+		ValidationSweepEvent event = null;
+		if(SWEEP_EVENT.isEnabled())
+		{
+			event = new ValidationSweepEvent();
+			event.begin();
+		}
+		int modified = 0;
+		int removed = 0;
+		
+		Map<String, List<SavedSignData>> updatedData;
+		boolean hasChanges = false;
+		
+		String currentWorldKey = getCurrentWorldKey();
+		List<SavedSignData> worldData = new ArrayList<>();
+		
+		LOGGER.debug("Cleaning up {} local data entries", localData.size());
+		
+		for(SignSearchResult localResult : localData)
+		{
+			ValidationResult validation =
+				validationService.validateSignAtPosition(client.level,
+					localResult.getPos(), localResult);
+			
+			LOGGER.debug("Position {} validation status: {}",
+				localResult.getPos(), validation.status());
+			
+			switch(validation.status())
+			{
+				case VALID:
+				worldData.add(convertToSavedData(localResult));
+				break;
+				case MODIFIED:
+				if(validation.updatedResult() != null)
+				{
+					worldData
+						.add(convertToSavedData(validation.updatedResult()));
+					hasChanges = true;
+					modified++;
+					LOGGER.debug("Updated data for position {}",
+						localResult.getPos());
+				}
+				break;
+				case REMOVED:
+				hasChanges = true;
+				removed++;
+				LOGGER.debug("Removed data for position {}",
+					localResult.getPos());
+				break;
+			}
+		}
+		
+		if(hasChanges)
+		{
+			updatedData = Map.of(currentWorldKey, worldData);
+			persistenceService.saveDetectionData(updatedData);
+			cachedLoadedData = null; // force reload on next read
+			LOGGER.debug("Saved updated local data with {} entries",
+				worldData.size());
+		}else
+		{
+			LOGGER.debug("No changes detected in local data");
+		}
+		
+		if(event != null)
+		{
+			event.source = "saved";
+			event.checked = localData.size();
+			event.modified = modified;
+			event.removed = removed;
+			event.commit();
+		}
+	}
+	
+	/**
+	 * Validate cached memory data against current world state.
+	 */
+	public void validateCachedMemoryData()
+	{
+		Minecraft client = Minecraft.getInstance();
+		if(client.level == null || client.player == null)
+			return;
+		
+		String worldKey = getCurrentWorldKey();
+		Map<BlockPos, SignSearchResult> worldData = detectedSigns.get(worldKey);
+		if(worldData == null || worldData.isEmpty())
+			return;
+		
+		// Only allocate the event while a recording wants it
+		ValidationSweepEvent event = null;
+		if(SWEEP_EVENT.isEnabled())
+		{
+			event = new ValidationSweepEvent();
+			event.begin();
+		}
+		
+		int checked = worldData.size();
+		List<BlockPos> toRemove = new ArrayList<>();
+		List<BlockPos> toUpdate = new ArrayList<>();
+		
+		for(Map.Entry<BlockPos, SignSearchResult> entry : worldData.entrySet())
+		{
+			BlockPos pos = entry.getKey();
+			SignSearchResult cachedResult = entry.getValue();
+			
+			ValidationResult validation = validationService
+				.validateSignAtPosition(client.level, pos, cachedResult);
+			
+			switch(validation.status())
+			{
+				case REMOVED:
+				toRemove.add(pos);
+				break;
+				case MODIFIED:
+				toUpdate.add(pos);
+				break;
+				case VALID:
+				break;
+			}
+		}
+		
+		// Remove deleted signs
+		for(BlockPos pos : toRemove)
+		{
+			worldData.remove(pos);
+			hasNewData = true;
+		}
+		
+		// Update modified signs
+		for(BlockPos pos : toUpdate)
+		{
+			updateSignData(pos, client);
+		}
+		
+		LOGGER.debug("Memory validation completed: {} removed, {} updated",
+			toRemove.size(), toUpdate.size());
+		
+		if(event != null)
+		{
+			event.source = "memory";
+			event.checked = checked;
+			event.modified = toUpdate.size();
+			event.removed = toRemove.size();
+			event.commit();
+		}
+	}
+	
+	private void updateSignData(BlockPos pos, Minecraft client)
+	{
+		try
+		{
+			if(client.level == null)
+				return;
+			String[] currentText = net.signfinder.util.SignTextUtils
+				.getSignText(client.level, pos);
+			if(currentText == null)
+				return;
+			
+			SignSearchResult updatedResult = new SignSearchResult(pos,
+				client.player.position(), currentText,
+				String.join(" ", currentText),
+				SignFinderMod.getInstance().getCompiledConfig()
+				.getTextPreviewLength());
+			
+			String worldKey = getCurrentWorldKey();
+			detectedSigns
+				.computeIfAbsent(worldKey, k -> new ConcurrentHashMap<>())
+				.put(pos, updatedResult);
+			hasNewData = true;
+		}catch(Exception e)
+		{
+			LOGGER.warn("Failed to update sign data at {}: {}", pos,
+				e.getMessage());
+		}
+	}
+	
+	/**
+	 * Loads detection data from disk, caching it in memory to avoid repeated
+	 * file I/O on every search. The cache is invalidated when new data is
+	 * saved.
+	 */
+	private Map<String, List<SavedSignData>> getOrLoadWorldData()
+	{
+		if(cachedLoadedData == null)
+		{
+			cachedLoadedData = persistenceService.loadDetectionData();
+		}
+		return cachedLoadedData;
+	}
+	
+	/**
+	 * Estimates the size of one saved entry in the JSON file: the text in
+	 * UTF-8 plus the field names and coordinates.
+	 */
+	private static long estimateSavedSize(SignSearchResult result)
+	{
+		long size = 96 + utf8Length(result.getMatchedText());
+		for(String line : result.getSignText())
+			size += 3 + utf8Length(line);
+		
+		return size;
+	}
+	
+	private static int utf8Length(String text)
+	{
+		if(text == null)
+			return 0;
+		
+		int length = 0;
+		for(int i = 0; i < text.length(); i++)
+		{
+			char c = text.charAt(i);
+			length += c < 0x80 ? 1 : c < 0x800 ? 2 : 3;
+		}
+		
+		return length;
+	}
+	
+	private SavedSignData convertToSavedData(SignSearchResult result)
+	{
+		SavedSignData data = new SavedSignData();
+		data.x = result.getPos().getX();
+		data.y = result.getPos().getY();
+		data.z = result.getPos().getZ();
+		data.signText = result.getSignText();
+		data.matchedText = result.getMatchedText();
+		data.updateTime = System.currentTimeMillis();
+		return data;
+	}
+	
+	private SignSearchResult convertFromSavedData(SavedSignData data)
+	{
+		BlockPos pos = new BlockPos(data.x, data.y, data.z);
+		Minecraft client = Minecraft.getInstance();
+		
+		return new SignSearchResult(pos,
+			client.player != null ? client.player.position()
+				: Vec3.atCenterOf(pos),
+			data.signText, data.matchedText,
+			SignFinderMod.getInstance().getCompiledConfig()
+				.getTextPreviewLength());
+	}
+	
+	/**
+	 * Gets the current world dimension key for data grouping.
+	 * Automatically handles any dimension including custom modded dimensions.
+	 */
+	
+	private static String getCurrentWorldKey()
+	{
+		Minecraft client = Minecraft.getInstance();
+		if(client.level == null)
+			return "unknown";
+		
+		return client.level.dimension().toString(); // minecraft:overworld
+	}
+	
+	/**
+	 * Converts a world registry key to a safe string identifier.
+	 * Handles vanilla dimensions with friendly names and custom dimensions with
+	 * full identifiers.
+	 */
+	private static String getDimensionKey(
+		ResourceKey<@NotNull Level> dimensionKey)
+	{
+		if(dimensionKey == null)
+			return "unknown";
+		
+		// Vanilla dimensions (Mojmap)
+		if(dimensionKey == Level.OVERWORLD)
+			return "overworld";
+		else if(dimensionKey == Level.NETHER)
+			return "nether";
+		else if(dimensionKey == Level.END)
+			return "end";
+		
+		return dimensionKey.toString();
+	}
+	
+	/**
+	 * Sanitizes dimension keys to be safe for use in file operations and data
+	 * structures.
+	 */
+	private String sanitizeDimensionKey(String dimensionId)
+	{
+		if(dimensionId == null || dimensionId.isEmpty())
+			return "unknown";
+		
+		// Replace problematic characters with safe alternatives
+		return dimensionId.replaceAll(":", "_") // Replace namespace separator
+			.replaceAll("[/\\\\]", "_") // Replace path separators
+			.replaceAll("[<>:\"|?*]", "_") // Replace illegal filename
+											// characters
+			.replaceAll("\\s+", "_") // Replace whitespace with underscore
+			.toLowerCase(); // Normalize to lowercase
+	}
+}
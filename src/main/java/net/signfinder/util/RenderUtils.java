@@ -1,245 +1,76 @@
-package net.signfinder.util;
-
-import java.util.List;
-
-import com.mojang.blaze3d.vertex.PoseStack;
-import com.mojang.blaze3d.vertex.PoseStack.Pose;
-import com.mojang.blaze3d.vertex.VertexConsumer;
-import org.joml.Vector3f;
-
-import net.minecraft.client.Camera;
-import net.minecraft.client.CameraType;
-import net.minecraft.client.Minecraft;
-import net.minecraft.client.renderer.rendertype.RenderType;
-import net.minecraft.world.phys.AABB;
-import net.minecraft.world.phys.Vec3;
-import net.signfinder.rendering.SignFinderRenderLayers;
-
-public enum RenderUtils
-{
-	;
-	
-	private static final Minecraft MC = Minecraft.getInstance();
-	
-	public static Vec3 getCameraPos()
-	{
-		Camera camera = MC.gameRenderer.mainCamera();
-		if(camera == null)
-			return Vec3.ZERO;
-		
-		return camera.position();
-	}
-	
-	private static Vec3 getTracerOrigin(float partialTicks)
-	{
-		Vec3 start = RotationUtils.getClientLookVec(partialTicks).scale(10);
-		if(MC.options.getCameraType() == CameraType.THIRD_PERSON_FRONT)
-			start = start.reverse();
-		
-		return start;
-	}
-	
-	public static void drawTracers(PoseStack matrices, float partialTicks,
-		List<Vec3> ends, int color, boolean depthTest)
-	{
-		RenderType layer = SignFinderRenderLayers.getLines(depthTest);
-		SignFinderBufferSource bs = new SignFinderBufferSource();
-		VertexConsumer buffer = bs.getBuffer(layer);
-		
-		Vec3 start = getTracerOrigin(partialTicks);
-		Vec3 offset = getCameraPos().reverse();
-		for(Vec3 end : ends)
-			drawLine(matrices.last(), buffer, start, end.add(offset), color);
-		
-		bs.uploadAndDraw();
-	}
-	
-	public static void drawLine(PoseStack matrices, VertexConsumer buffer,
-		Vec3 start, Vec3 end, int color)
-	{
-		drawLine(matrices.last(), buffer, start, end, color);
-	}
-	
-	private static void drawLine(Pose entry, VertexConsumer buffer, Vec3 start,
-		Vec3 end, int color)
-	{
-		float x1 = (float)start.x;
-		float y1 = (float)start.y;
-		float z1 = (float)start.z;
-		float x2 = (float)end.x;
-		float y2 = (float)end.y;
-		float z2 = (float)end.z;
-		drawLine(entry, buffer, x1, y1, z1, x2, y2, z2, color);
-	}
-	
-	public static void drawLine(PoseStack.Pose entry, VertexConsumer buffer,
-		float x1, float y1, float z1, float x2, float y2, float z2, int color)
-	{
-		Vector3f normal = new Vector3f(x2, y2, z2).sub(x1, y1, z1).normalize();
-		buffer.addVertex(entry, x1, y1, z1).setColor(color)
-			.setNormal(entry, normal).setLineWidth(2);
-		
-		// If the line goes through the screen, add another vertex there. This
-		// works around a bug in Minecraft's line shader.
-		float t = new Vector3f(x1, y1, z1).negate().dot(normal);
-		float length = new Vector3f(x2, y2, z2).sub(x1, y1, z1).length();
-		if(t > 0 && t < length)
-		{
-			Vector3f closeToCam = new Vector3f(normal).mul(t).add(x1, y1, z1);
-			buffer.addVertex(entry, closeToCam).setColor(color)
-				.setNormal(entry, normal).setLineWidth(2);
-			buffer.addVertex(entry, closeToCam).setColor(color)
-				.setNormal(entry, normal).setLineWidth(2);
-		}
-		
-		buffer.addVertex(entry, x2, y2, z2).setColor(color)
-			.setNormal(entry, normal).setLineWidth(2);
-	}
-	
-	public static void drawSolidBoxes(PoseStack matrices, List<AABB> boxes,
-		int color, boolean depthTest)
-	{
-		RenderType layer = SignFinderRenderLayers.getQuads(depthTest);
-		SignFinderBufferSource bs = new SignFinderBufferSource();
-		VertexConsumer buffer = bs.getBuffer(layer);
-		
-		Vec3 camOffset = getCameraPos().reverse();
-		for(AABB box : boxes)
-			drawSolidBox(matrices.last(), buffer, box.move(camOffset), color);
-		
-		bs.uploadAndDraw();
-	}
-	
-	public static void drawSolidBox(PoseStack matrices, VertexConsumer buffer,
-		AABB box, int color)
-	{
-		drawSolidBox(matrices.last(), buffer, box, color);
-	}
-	
-	private static void drawSolidBox(PoseStack.Pose entry,
-		VertexConsumer buffer, AABB box, int color)
-	{
-		float x1 = (float)box.minX;
-		float y1 = (float)box.minY;
-		float z1 = (float)box.minZ;
-		float x2 = (float)box.maxX;
-		float y2 = (float)box.maxY;
-		float z2 = (float)box.maxZ;
-		
-		buffer.addVertex(entry, x1, y1, z1).setColor(color);
-		buffer.addVertex(entry, x2, y1, z1).setColor(color);
-		buffer.addVertex(entry, x2, y1, z2).setColor(color);
-		buffer.addVertex(entry, x1, y1, z2).setColor(color);
-		
-		buffer.addVertex(entry, x1, y2, z1).setColor(color);
-		buffer.addVertex(entry, x1, y2, z2).setColor(color);
-		buffer.addVertex(entry, x2, y2, z2).setColor(color);
-		buffer.addVertex(entry, x2, y2, z1).setColor(color);
-		
-		buffer.addVertex(entry, x1, y1, z1).setColor(color);
-		buffer.addVertex(entry, x1, y2, z1).setColor(color);
-		buffer.addVertex(entry, x2, y2, z1).setColor(color);
-		buffer.addVertex(entry, x2, y1, z1).setColor(color);
-		
-		buffer.addVertex(entry, x2, y1, z1).setColor(color);
-		buffer.addVertex(entry, x2, y2, z1).setColor(color);
-		buffer.addVertex(entry, x2, y2, z2).setColor(color);
-		buffer.addVertex(entry, x2, y1, z2).setColor(color);
-		
-		buffer.addVertex(entry, x1, y1, z2).setColor(color);
-		buffer.addVertex(entry, x2, y1, z2).setColor(color);
-		buffer.addVertex(entry, x2, y2, z2).setColor(color);
-		buffer.addVertex(entry, x1, y2, z2).setColor(color);
-		
-		buffer.addVertex(entry, x1, y1, z1).setColor(color);
-		buffer.addVertex(entry, x1, y1, z2).setColor(color);
-		buffer.addVertex(entry, x1, y2, z2).setColor(color);
-		buffer.addVertex(entry, x1, y2, z1).setColor(color);
-	}
-	
-	public static void drawOutlinedBoxes(PoseStack matrices, List<AABB> boxes,
-		int color, boolean depthTest)
-	{
-		RenderType layer = SignFinderRenderLayers.getLines(depthTest);
-		SignFinderBufferSource bs = new SignFinderBufferSource();
-		VertexConsumer buffer = bs.getBuffer(layer);
-		
-		Vec3 camOffset = getCameraPos().reverse();
-		for(AABB box : boxes)
-			drawOutlinedBox(matrices.last(), buffer, box.move(camOffset),
-				color);
-		
-		bs.uploadAndDraw();
-	}
-	
-	public static void drawOutlinedBox(PoseStack matrices,
-		VertexConsumer buffer, AABB box, int color)
-	{
-		drawOutlinedBox(matrices.last(), buffer, box, color);
-	}
-	
-	private static void drawOutlinedBox(PoseStack.Pose entry,
-		VertexConsumer buffer, AABB box, int color)
-	{
-		float x1 = (float)box.minX;
-		float y1 = (float)box.minY;
-		float z1 = (float)box.minZ;
-		float x2 = (float)box.maxX;
-		float y2 = (float)box.maxY;
-		float z2 = (float)box.maxZ;
-		
-		// bottom lines
-		buffer.addVertex(entry, x1, y1, z1).setColor(color)
-			.setNormal(entry, 1, 0, 0).setLineWidth(2);
-		buffer.addVertex(entry, x2, y1, z1).setColor(color)
-			.setNormal(entry, 1, 0, 0).setLineWidth(2);
-		buffer.addVertex(entry, x1, y1, z1).setColor(color)
-			.setNormal(entry, 0, 0, 1).setLineWidth(2);
-		buffer.addVertex(entry, x1, y1, z2).setColor(color)
-			.setNormal(entry, 0, 0, 1).setLineWidth(2);
-		buffer.addVertex(entry, x2, y1, z1).setColor(color)
-			.setNormal(entry, 0, 0, 1).setLineWidth(2);
-		buffer.addVertex(entry, x2, y1, z2).setColor(color)
-			.setNormal(entry, 0, 0, 1).setLineWidth(2);
-		buffer.addVertex(entry, x1, y1, z2).setColor(color)
-			.setNormal(entry, 1, 0, 0).setLineWidth(2);
-		buffer.addVertex(entry, x2, y1, z2).setColor(color)
-			.setNormal(entry, 1, 0, 0).setLineWidth(2);
-		
-		// top lines
-		buffer.addVertex(entry, x1, y2, z1).setColor(color)
-			.setNormal(entry, 1, 0, 0).setLineWidth(2);
-		buffer.addVertex(entry, x2, y2, z1).setColor(color)
-			.setNormal(entry, 1, 0, 0).setLineWidth(2);
-		buffer.addVertex(entry, x1, y2, z1).setColor(color)
-			.setNormal(entry, 0, 0, 1).setLineWidth(2);
-		buffer.addVertex(entry, x1, y2, z2).setColor(color)
-			.setNormal(entry, 0, 0, 1).setLineWidth(2);
-		buffer.addVertex(entry, x2, y2, z1).setColor(color)
-			.setNormal(entry, 0, 0, 1).setLineWidth(2);
-		buffer.addVertex(entry, x2, y2, z2).setColor(color)
-			.setNormal(entry, 0, 0, 1).setLineWidth(2);
-		buffer.addVertex(entry, x1, y2, z2).setColor(color)
-			.setNormal(entry, 1, 0, 0).setLineWidth(2);
-		buffer.addVertex(entry, x2, y2, z2).setColor(color)
-			.setNormal(entry, 1, 0, 0).setLineWidth(2);
-		
-		// side lines
-		buffer.addVertex(entry, x1, y1, z1).setColor(color)
-			.setNormal(entry, 0, 1, 0).setLineWidth(2);
-		buffer.addVertex(entry, x1, y2, z1).setColor(color)
-			.setNormal(entry, 0, 1, 0).setLineWidth(2);
-		buffer.addVertex(entry, x2, y1, z1).setColor(color)
-			.setNormal(entry, 0, 1, 0).setLineWidth(2);
-		buffer.addVertex(entry, x2, y2, z1).setColor(color)
-			.setNormal(entry, 0, 1, 0).setLineWidth(2);
-		buffer.addVertex(entry, x1, y1, z2).setColor(color)
-			.setNormal(entry, 0, 1, 0).setLineWidth(2);
-		buffer.addVertex(entry, x1, y2, z2).setColor(color)
-			.setNormal(entry, 0, 1, 0).setLineWidth(2);
-		buffer.addVertex(entry, x2, y1, z2).setColor(color)
-			.setNormal(entry, 0, 1, 0).setLineWidth(2);
-		buffer.addVertex(entry, x2, y2, z2).setColor(color)
-			.setNormal(entry, 0, 1, 0).setLineWidth(2);
-	}
-}
+package net.signfinder.util;
+
+import net.minecraft.client.Camera;
+import net.minecraft.client.CameraType;
+import net.minecraft.client.Minecraft;
+import net.minecraft.world.phys.Vec3;
+import net.signfinder.rendering.HighlightBatch;
+import net.signfinder.rendering.HighlightMeshBuilder;
+import net.signfinder.rendering.PoseVertexSink;
+
+public enum RenderUtils
+{
+	;
+	
+	private static final Minecraft MC = Minecraft.getInstance();
+	
+	public static Vec3 getCameraPos()
+	{
+		Camera camera = MC.gameRenderer.mainCamera();
+		if(camera == null)
+			return Vec3.ZERO;
+		
+		return camera.position();
+	}
+	
+	private static Vec3 getTracerOrigin(float partialTicks)
+	{
+		Vec3 start = RotationUtils.getClientLookVec(partialTicks).scale(10);
+		if(MC.options.getCameraType() == CameraType.THIRD_PERSON_FRONT)
+			start = start.reverse();
+		
+		return start;
+	}
+	
+	/**
+	 * Emits one tracer per highlight in {@code targets} whose flags masked
+	 * with {@code flagMask} equal {@code flagValue}, ending at the center of
+	 * its block. Colors are taken from the batch and combined with
+	 * {@code alpha}.
+	 */
+	public static void emitTracers(PoseVertexSink sink, float partialTicks,
+		HighlightBatch targets, int alpha, int flagMask, int flagValue)
+	{
+		Vec3 start = getTracerOrigin(partialTicks);
+		Vec3 camPos = getCameraPos();
+		HighlightMeshBuilder.tracers(sink, targets, (float)start.x,
+			(float)start.y, (float)start.z, camPos.x, camPos.y, camPos.z, alpha,
+			flagMask, flagValue);
+	}
+	
+	/**
+	 * Emits a filled unit box for every highlight in {@code boxes} whose
+	 * flags masked with {@code flagMask} equal {@code flagValue}. Colors are
+	 * taken from the batch and combined with {@code alpha}.
+	 */
+	public static void emitSolidBoxes(PoseVertexSink sink,
+		HighlightBatch boxes, int alpha, int flagMask, int flagValue)
+	{
+		Vec3 camPos = getCameraPos();
+		HighlightMeshBuilder.solidBoxes(sink, boxes, camPos.x, camPos.y,
+			camPos.z, alpha, flagMask, flagValue);
+	}
+	
+	/**
+	 * Emits an outlined unit box for every highlight in {@code boxes} whose
+	 * flags masked with {@code flagMask} equal {@code flagValue}. Colors are
+	 * taken from the batch and combined with {@code alpha}.
+	 */
+	public static void emitOutlinedBoxes(PoseVertexSink sink,
+		HighlightBatch boxes, int alpha, int flagMask, int flagValue)
+	{
+		Vec3 camPos = getCameraPos();
+		HighlightMeshBuilder.outlinedBoxes(sink, boxes, camPos.x, camPos.y,
+			camPos.z, alpha, flagMask, flagValue);
+	}
+}
@@ -1,65 +1,98 @@
-package net.signfinder.util;
-
-import java.util.ArrayList;
-import java.util.List;
-
-import com.mojang.blaze3d.systems.RenderSystem;
-import com.mojang.blaze3d.vertex.VertexConsumer;
-
-import net.minecraft.client.renderer.StagedVertexBuffer;
-import net.minecraft.client.renderer.rendertype.RenderType;
-
-/**
- * 26.2 replacement for the removed {@code MultiBufferSource.BufferSource},
- * using {@link StagedVertexBuffer} (based on Wurst7's WurstBufferSource).
- */
-public final class SignFinderBufferSource
-{
-	private final StagedVertexBuffer stagedBuffer =
-		new StagedVertexBuffer(() -> "SignFinder", RenderType.BIG_BUFFER_SIZE);
-	private final List<StagedVertexBuffer.Draw> draws = new ArrayList<>();
-	private final List<RenderType> drawTypes = new ArrayList<>();
-	
-	public VertexConsumer getBuffer(RenderType renderType)
-	{
-		if(!drawTypes.isEmpty() && drawTypes.getLast() == renderType
-			&& renderType.canConsolidateConsecutiveGeometry())
-			return stagedBuffer.getVertexBuilder(draws.getLast());
-		
-		StagedVertexBuffer.Draw draw =
-			stagedBuffer.appendDraw(renderType.format(),
-				renderType.primitiveTopology(), renderType.sortOnUpload()
-					? RenderSystem.getProjectionType().vertexSorting() : null);
-		
-		draws.add(draw);
-		drawTypes.add(renderType);
-		return stagedBuffer.getVertexBuilder(draw);
-	}
-	
-	public void uploadAndDraw()
-	{
-		try
-		{
-			if(draws.isEmpty())
-				return;
-			
-			stagedBuffer.upload();
-			
-			for(int i = 0; i < draws.size(); i++)
-			{
-				StagedVertexBuffer.ExecuteInfo info =
-					stagedBuffer.getExecuteInfo(draws.get(i));
-				if(info != null)
-					drawTypes.get(i).prepare().drawFromBuffer(info);
-			}
-			
-			stagedBuffer.endDraw();
-			
-		}finally
-		{
-			draws.clear();
-			drawTypes.clear();
-			stagedBuffer.close();
-		}
-	}
-}
+package net.signfinder.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+
+import net.minecraft.client.renderer.StagedVertexBuffer;
+import net.minecraft.client.renderer.rendertype.RenderType;
+
+/**
+ * 26.2 replacement for the removed {@code MultiBufferSource.BufferSource},
+ * using {@link StagedVertexBuffer} (based on Wurst7's WurstBufferSource).
+ *
+ * <p>
+ * One instance is kept for the whole session and reused every frame, so
+ * the staged buffer is only allocated again after a failed frame. It is
+ * freed with {@link #close()} when the player leaves the world.
+ */
+public final class SignFinderBufferSource
+{
+	private StagedVertexBuffer stagedBuffer = createStagedBuffer();
+	private final List<StagedVertexBuffer.Draw> draws = new ArrayList<>();
+	private final List<RenderType> drawTypes = new ArrayList<>();
+	
+	public VertexConsumer getBuffer(RenderType renderType)
+	{
+		if(!drawTypes.isEmpty() && drawTypes.getLast() == renderType
+			&& renderType.canConsolidateConsecutiveGeometry())
+			return stagedBuffer.getVertexBuilder(draws.getLast());
+		
+		StagedVertexBuffer.Draw draw =
+			stagedBuffer.appendDraw(renderType.format(),
+				renderType.primitiveTopology(), renderType.sortOnUpload()
+					? RenderSystem.getProjectionType().vertexSorting() : null);
+		
+		draws.add(draw);
+		drawTypes.add(renderType);
+		return stagedBuffer.getVertexBuilder(draw);
+	}
+	
+	/**
+	 * Draws everything appended since the last call and makes the buffer
+	 * ready for the next frame.
+	 */
+	public void uploadAndDraw()
+	{
+		if(draws.isEmpty())
+			return;
+		
+		boolean drawn = false;
+		try
+		{
+			stagedBuffer.upload();
+			
+			for(int i = 0; i < draws.size(); i++)
+			{
+				StagedVertexBuffer.ExecuteInfo info =
+					stagedBuffer.getExecuteInfo(draws.get(i));
+				if(info != null)
+					drawTypes.get(i).prepare().drawFromBuffer(info);
+			}
+			
+			stagedBuffer.endDraw();
+			drawn = true;
+			
+		}finally
+		{
+			draws.clear();
+			drawTypes.clear();
+			
+			// Don't carry a half-finished frame over into the next one
+			if(!drawn)
+			{
+				stagedBuffer.close();
+				stagedBuffer = createStagedBuffer();
+			}
+		}
+	}
+	
+	/**
+	 * Frees the staged buffer. Must be called on the render thread; the
+	 * buffer source can't be used afterwards.
+	 */
+	public void close()
+	{
+		draws.clear();
+		drawTypes.clear();
+		stagedBuffer.close();
+	}
+	
+	private static StagedVertexBuffer createStagedBuffer()
+	{
+		return new StagedVertexBuffer(() -> "SignFinder",
+			RenderType.BIG_BUFFER_SIZE);
+	}
+}
@@ -0,0 +1,53 @@
+package net.signfinder.util;
+
+import net.minecraft.core.BlockPos;
+import net.signfinder.engine.PackedPos;
+import net.signfinder.engine.SignRecord;
+import net.signfinder.engine.TextNormalizer;
+import net.signfinder.managers.AutoSaveManager.SavedSignData;
+import net.signfinder.models.EntitySearchResult.EntityType;
+
+/**
+ * Converts between the mod's Minecraft-side types and the search engine's
+ * {@link SignRecord}s.
+ */
+public enum SignRecordUtils
+{
+	;
+	
+	public static long pack(BlockPos pos)
+	{
+		return PackedPos.pack(pos.getX(), pos.getY(), pos.getZ());
+	}
+	
+	public static BlockPos toBlockPos(long packed)
+	{
+		return new BlockPos(PackedPos.getX(packed), PackedPos.getY(packed),
+			PackedPos.getZ(packed));
+	}
+	
+	public static BlockPos toBlockPos(SignRecord record)
+	{
+		return new BlockPos(record.x(), record.y(), record.z());
+	}
+	
+	public static EntityType toEntityType(SignRecord record)
+	{
+		return switch(record.type())
+		{
+			case SIGN -> EntityType.SIGN;
+			case ITEM_FRAME -> EntityType.ITEM_FRAME;
+		};
+	}
+	
+	/**
+	 * Creates a sign record from auto-save data. The matched text isn't part
+	 * of the record; look it up from the saved data if needed.
+	 */
+	public static SignRecord fromSavedData(SavedSignData data,
+		TextNormalizer normalizer)
+	{
+		return SignRecord.sign(PackedPos.pack(data.x, data.y, data.z),
+			data.signText, data.updateTime, normalizer);
+	}
+}
@@ -0,0 +1,31 @@
+// Alpha animation for SignFinder's highlight pipelines. The variant is picked
+// with a shader define, and the time comes from the GameTime uniform, so the
+// CPU never has to rebuild vertex colors to animate a highlight.
+//
+// GameTime wraps from 1 back to 0 once per 24000 ticks (1200 seconds). All
+// frequencies below fit a whole number of periods into that window, so the
+// wrap-around is seamless.
+
+const float SIGNFINDER_CYCLE_SECONDS = 1200.0;
+const float SIGNFINDER_TAU = 6.28318530718;
+
+float signfinderAnimationAlpha(float gameTime) {
+    float seconds = gameTime * SIGNFINDER_CYCLE_SECONDS;
+#if defined(SIGNFINDER_PULSE)
+    // Quick pulse, 1.5 times per second
+    return mix(0.35, 1.0, 0.5 + 0.5 * sin(seconds * SIGNFINDER_TAU * 1.5));
+#elif defined(SIGNFINDER_BREATHE)
+    // Slow, eased fade in and out every four seconds
+    float phase = 0.5 + 0.5 * sin(seconds * SIGNFINDER_TAU * 0.25);
+    return mix(0.15, 1.0, phase * phase);
+#elif defined(SIGNFINDER_FLASH)
+    // Hard on/off blinking, four times per second
+    return mix(0.2, 1.0, step(0.5, fract(seconds * 4.0)));
+#else
+    return 1.0;
+#endif
+}
+
+vec4 signfinderAnimate(vec4 color, float gameTime) {
+    return vec4(color.rgb, color.a * signfinderAnimationAlpha(gameTime));
+}
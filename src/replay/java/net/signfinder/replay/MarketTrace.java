@@ -0,0 +1,233 @@
+package net.signfinder.replay;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.signfinder.benchmark.MarketGenerator;
+import net.signfinder.engine.PackedPos;
+import net.signfinder.engine.SearchQuery;
+import net.signfinder.engine.SignRecord;
+import net.signfinder.engine.SignRecord.RecordType;
+import net.signfinder.engine.trace.TraceWriter;
+
+/**
+ * Writes the reference market trace for {@code ./gradlew replayCheck}: a
+ * player warping between stalls of a {@link MarketGenerator} market and
+ * walking around each one, with chunks loading and unloading around them,
+ * signs changing as the market churns, and a search now and then.
+ *
+ * <p>
+ * The trace only depends on its arguments, so replays of it are comparable
+ * between runs and machines.
+ *
+ * <pre>
+ * MarketTrace &lt;output&gt; [records] [seed]
+ * </pre>
+ */
+public final class MarketTrace
+{
+	private static final int DEFAULT_RECORDS = 50_000;
+	private static final long DEFAULT_SEED = 42;
+	/** Fixed, so that record timestamps don't change between runs. */
+	private static final long START_TIME = 1_750_000_000_000L;
+	private static final long MS_PER_TICK = 50;
+	
+	private static final int WARPS = 20;
+	private static final int TICKS_PER_WARP = 600;
+	/** Walking speed, in blocks per tick. */
+	private static final double WALK_SPEED = 0.2;
+	/** Chunks loaded in each direction around the player. */
+	private static final int VIEW_DISTANCE = 8;
+	private static final int CHURN_INTERVAL = 200;
+	private static final double CHURN_FRACTION = 0.001;
+	private static final int SEARCH_INTERVAL = 400;
+	private static final int SEARCH_RADIUS = 64;
+	
+	private static final SearchQuery[] SEARCHES = {
+		SearchQuery.text("diamond", SEARCH_RADIUS, false),
+		SearchQuery.regex("\\d+\\s*(d|dia|钻石|алм)", SEARCH_RADIUS, false),
+		SearchQuery.array("elytra,鞘翅,элитры", SEARCH_RADIUS, false),
+		SearchQuery.text("", SEARCH_RADIUS, false)};
+	
+	private final TraceWriter writer;
+	private final MarketGenerator market;
+	private final Random random;
+	/** Current market records, by chunk and then by position. */
+	private final Long2ObjectOpenHashMap<Long2ObjectOpenHashMap<SignRecord>> chunks =
+		new Long2ObjectOpenHashMap<>();
+	private LongOpenHashSet loaded = new LongOpenHashSet();
+	private int tick;
+	
+	private MarketTrace(TraceWriter writer, int recordCount, long seed)
+	{
+		this.writer = writer;
+		market = new MarketGenerator(seed, START_TIME).generate(recordCount);
+		random = new Random(seed);
+		
+		for(SignRecord record : market.getRecords())
+			put(record);
+	}
+	
+	public static void main(String[] args) throws IOException
+	{
+		if(args.length < 1)
+		{
+			System.err.println("Usage: MarketTrace <output> [records] [seed]");
+			System.exit(2);
+		}
+		
+		Path output = Path.of(args[0]);
+		int recordCount =
+			args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_RECORDS;
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+		
+		try(TraceWriter writer = TraceWriter.create(output))
+		{
+			new MarketTrace(writer, recordCount, seed).write();
+			System.out.printf("Wrote %d events for a market of %d records to"
+				+ " %s%n", writer.getEventCount(), recordCount, output);
+		}
+	}
+	
+	private void write() throws IOException
+	{
+		List<SignRecord> records = market.getRecords();
+		for(int warp = 0; warp < WARPS; warp++)
+		{
+			// Warp to a random stall, then walk away from it in a straight
+			// line, turning around halfway
+			SignRecord stall = records.get(random.nextInt(records.size()));
+			double angle = random.nextDouble() * 2 * Math.PI;
+			double dx = Math.cos(angle) * WALK_SPEED;
+			double dz = Math.sin(angle) * WALK_SPEED;
+			double x = stall.x() + 0.5;
+			double z = stall.z() - 1.5;
+			
+			for(int i = 0; i < TICKS_PER_WARP; i++)
+			{
+				if(i == TICKS_PER_WARP / 2)
+				{
+					dx = -dx;
+					dz = -dz;
+				}
+				
+				x += dx;
+				z += dz;
+				writeTick(x, stall.y(), z);
+			}
+		}
+	}
+	
+	private void writeTick(double x, double y, double z) throws IOException
+	{
+		writer.tick(x, y, z);
+		updateLoadedChunks((int)Math.floor(x) >> 4, (int)Math.floor(z) >> 4);
+		
+		if(tick > 0 && tick % CHURN_INTERVAL == 0)
+			churn();
+		
+		if(tick > 0 && tick % SEARCH_INTERVAL == 0)
+			writer.search(SEARCHES[tick / SEARCH_INTERVAL % SEARCHES.length]);
+		
+		tick++;
+	}
+	
+	private void updateLoadedChunks(int centerX, int centerZ)
+		throws IOException
+	{
+		LongOpenHashSet visible = new LongOpenHashSet();
+		for(int x = -VIEW_DISTANCE; x <= VIEW_DISTANCE; x++)
+			for(int z = -VIEW_DISTANCE; z <= VIEW_DISTANCE; z++)
+				visible.add(chunkKey(centerX + x, centerZ + z));
+		
+		for(long chunk : loaded)
+			if(!visible.contains(chunk))
+				writer.chunkUnload(chunkX(chunk), chunkZ(chunk));
+		
+		for(long chunk : visible)
+		{
+			if(loaded.contains(chunk))
+				continue;
+			
+			writer.chunkLoad(chunkX(chunk), chunkZ(chunk));
+			Long2ObjectOpenHashMap<SignRecord> records = chunks.get(chunk);
+			if(records != null)
+				for(SignRecord record : records.values())
+					writeRecord(record);
+		}
+		
+		loaded = visible;
+	}
+	
+	/**
+	 * Changes the market, and reports the changes the player can see.
+	 */
+	private void churn() throws IOException
+	{
+		MarketGenerator.Churn churn =
+			market.churn(CHURN_FRACTION, START_TIME + tick * MS_PER_TICK);
+		
+		for(long pos : churn.removed())
+		{
+			long chunk = chunkKey(pos);
+			Long2ObjectOpenHashMap<SignRecord> records = chunks.get(chunk);
+			if(records != null)
+				records.remove(pos);
+			
+			if(loaded.contains(chunk))
+				writer.remove(pos);
+		}
+		
+		for(SignRecord record : churn.updated())
+		{
+			put(record);
+			if(loaded.contains(chunkKey(record.pos())))
+				writeRecord(record);
+		}
+	}
+	
+	private void writeRecord(SignRecord record) throws IOException
+	{
+		if(record.type() == RecordType.SIGN)
+			writer.sign(record.pos(), record.lines());
+		else
+			writer.itemFrame(record.pos(), record.text());
+	}
+	
+	private void put(SignRecord record)
+	{
+		long chunk = chunkKey(record.pos());
+		Long2ObjectOpenHashMap<SignRecord> records = chunks.get(chunk);
+		if(records == null)
+		{
+			records = new Long2ObjectOpenHashMap<>();
+			chunks.put(chunk, records);
+		}
+		
+		records.put(record.pos(), record);
+	}
+	
+	private static long chunkKey(long pos)
+	{
+		return chunkKey(PackedPos.getX(pos) >> 4, PackedPos.getZ(pos) >> 4);
+	}
+	
+	private static long chunkKey(int chunkX, int chunkZ)
+	{
+		return (long)chunkX << 32 | chunkZ & 0xFFFFFFFFL;
+	}
+	
+	private static int chunkX(long key)
+	{
+		return (int)(key >> 32);
+	}
+	
+	private static int chunkZ(long key)
+	{
+		return (int)key;
+	}
+}
@@ -0,0 +1,138 @@
+package net.signfinder.replay;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import net.signfinder.engine.metrics.LatencyHistogram;
+
+/**
+ * Throughput and latency of one replay, and its comparison with a baseline
+ * from an earlier replay of the same trace.
+ *
+ * @param events
+ *            Trace events replayed
+ * @param elapsedNanos
+ *            Wall time of the whole replay, including reading the trace
+ * @param ticks
+ *            Tick times, including the ticks the cadence skips detection in
+ * @param passes
+ *            Ticks that ran a detection pass
+ * @param searches
+ *            Search times
+ */
+record ReplayResult(long events, long elapsedNanos,
+	LatencyHistogram.Snapshot ticks, int passes,
+	LatencyHistogram.Snapshot searches,
+	long searchResults, int highlighted, int saved, long patternCacheHits,
+	long patternCacheMisses)
+{
+	private static final String EVENTS = "events";
+	private static final String TICKS_PER_SECOND = "ticks_per_second";
+	private static final String TICK_P99 = "tick_p99_ns";
+	private static final String SEARCH_P99 = "search_p99_ns";
+	
+	double ticksPerSecond()
+	{
+		return ticks.count() * 1e9 / elapsedNanos;
+	}
+	
+	void print(PrintStream out)
+	{
+		out.printf("Events:     %d in %.2f s%n", events, elapsedNanos / 1e9);
+		out.printf("Ticks:      %d, %.0f ticks/s, %d detection passes%n",
+			ticks.count(), ticksPerSecond(), passes);
+		printLatency(out, "Tick time:", ticks);
+		printLatency(out, "Searches:", searches);
+		out.printf("Results:    %d search results, %d highlighted, %d saved%n",
+			searchResults, highlighted, saved);
+		out.printf("Patterns:   %d hits, %d misses%n", patternCacheHits,
+			patternCacheMisses);
+	}
+	
+	private static void printLatency(PrintStream out, String label,
+		LatencyHistogram.Snapshot timer)
+	{
+		out.printf("%-11s %d, mean %.1f / p50 %.1f / p99 %.1f / max %.1f µs%n",
+			label, timer.count(), timer.mean() / 1e3, timer.p50() / 1e3,
+			timer.p99() / 1e3, timer.max() / 1e3);
+	}
+	
+	void writeBaseline(Path file) throws IOException
+	{
+		Properties baseline = new Properties();
+		baseline.setProperty(EVENTS, Long.toString(events));
+		baseline.setProperty(TICKS_PER_SECOND,
+			Long.toString(Math.round(ticksPerSecond())));
+		baseline.setProperty(TICK_P99, Long.toString(ticks.p99()));
+		baseline.setProperty(SEARCH_P99, Long.toString(searches.p99()));
+		
+		try(Writer writer = Files.newBufferedWriter(file))
+		{
+			baseline.store(writer, "SignFinder replay baseline");
+		}
+	}
+	
+	static Properties readBaseline(Path file) throws IOException
+	{
+		Properties baseline = new Properties();
+		try(Reader reader = Files.newBufferedReader(file))
+		{
+			baseline.load(reader);
+		}
+		
+		return baseline;
+	}
+	
+	/**
+	 * Prints each measurement next to the baseline.
+	 *
+	 * @param maxRegression
+	 *            Allowed slowdown, as a fraction of the baseline
+	 * @return false if any measurement regressed by more than that
+	 */
+	boolean compare(Properties baseline, double maxRegression,
+		PrintStream out)
+	{
+		if(Long.parseLong(baseline.getProperty(EVENTS, "-1")) != events)
+			out.println("Warning: the baseline was recorded with a different"
+				+ " trace, so the comparison is not meaningful");
+		
+		boolean passed = true;
+		double throughput =
+			Double.parseDouble(baseline.getProperty(TICKS_PER_SECOND));
+		passed &= check(out, "ticks/s", ticksPerSecond(), throughput,
+			ticksPerSecond() >= throughput * (1 - maxRegression));
+		
+		double tickP99 = Double.parseDouble(baseline.getProperty(TICK_P99));
+		passed &= check(out, "tick p99 ns", ticks.p99(), tickP99,
+			ticks.p99() <= tickP99 * (1 + maxRegression));
+		
+		double searchP99 = Double.parseDouble(baseline.getProperty(SEARCH_P99));
+		passed &= check(out, "search p99 ns", searches.p99(), searchP99,
+			searches.p99() <= searchP99 * (1 + maxRegression));
+		
+		out.println(passed ? "Replay within " + percent(maxRegression)
+			+ " of baseline"
+			: "Replay regressed by more than " + percent(maxRegression));
+		return passed;
+	}
+	
+	private static boolean check(PrintStream out, String name, double value,
+		double baseline, boolean ok)
+	{
+		out.printf("%-14s %12.0f  baseline %12.0f  %+6.1f%%  %s%n", name,
+			value, baseline, (value / baseline - 1) * 100,
+			ok ? "ok" : "REGRESSED");
+		return ok;
+	}
+	
+	private static String percent(double fraction)
+	{
+		return Math.round(fraction * 100) + "%";
+	}
+}
@@ -0,0 +1,403 @@
+package net.signfinder.replay;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.signfinder.CompiledConfig;
+import net.signfinder.SignFinderConfig;
+import net.signfinder.detection.ChangeTracker;
+import net.signfinder.detection.DetectionCadence;
+import net.signfinder.engine.PackedPos;
+import net.signfinder.engine.PreparedQuery;
+import net.signfinder.engine.QueryMatcher;
+import net.signfinder.engine.SearchHit;
+import net.signfinder.engine.SearchPresets;
+import net.signfinder.engine.SearchQuery;
+import net.signfinder.engine.SignIndex;
+import net.signfinder.engine.SignRecord;
+import net.signfinder.engine.SignRecord.RecordType;
+import net.signfinder.engine.cache.PatternCache;
+import net.signfinder.engine.metrics.LatencyHistogram;
+import net.signfinder.engine.trace.TraceListener;
+import net.signfinder.engine.trace.TraceReader;
+import net.signfinder.models.EntitySearchResult.EntityType;
+import net.signfinder.rendering.HighlightSnapshot;
+import net.signfinder.rendering.HighlightStore;
+import net.signfinder.services.EntityDetectionService;
+
+/**
+ * Replays a tick trace without a client and reports throughput and latency.
+ * The trace drives the same code the mod runs each tick: the detection
+ * cadence and change tracking, keyword detection through
+ * {@link EntityDetectionService}, the highlight store, the saved data index,
+ * and searches through {@link QueryMatcher} and the pattern cache. Only the
+ * parts that need a loaded world are replaced, by a map of the signs and
+ * item frames the trace says are loaded.
+ *
+ * <pre>
+ * TickReplayer &lt;trace&gt; [--runs N] [--warmup N]
+ *     [--baseline file [--max-regression 0.25] [--update-baseline]]
+ * </pre>
+ *
+ * With a baseline, the replay fails (exit code 1) if it is slower than the
+ * baseline by more than the allowed fraction. The baseline has to be
+ * recorded first with {@code --update-baseline}; without one the replay
+ * fails (exit code 2).
+ */
+public final class TickReplayer implements TraceListener
+{
+	private static final long MS_PER_TICK = 50;
+	
+	private final CompiledConfig config;
+	private final EntityDetectionService detectionService;
+	private final PatternCache patternCache = new PatternCache();
+	private final QueryMatcher matcher = new QueryMatcher(patternCache);
+	private final SearchPresets presets;
+	
+	/** Loaded signs and item frames, by packed position. */
+	private final Long2ObjectOpenHashMap<SignRecord> loaded =
+		new Long2ObjectOpenHashMap<>();
+	/** Positions in {@link #loaded}, by chunk. */
+	private final Long2ObjectOpenHashMap<LongOpenHashSet> chunks =
+		new Long2ObjectOpenHashMap<>();
+	private final SignIndex saved = new SignIndex();
+	private final HighlightStore highlighted = new HighlightStore();
+	private HighlightSnapshot snapshot = HighlightSnapshot.EMPTY;
+	private final ChangeTracker signChanges = new ChangeTracker();
+	private final ChangeTracker frameChanges = new ChangeTracker();
+	private final DetectionCadence cadence = new DetectionCadence();
+	
+	private final LatencyHistogram tickTimes =
+		new LatencyHistogram("replay.tick");
+	private final LatencyHistogram searchTimes =
+		new LatencyHistogram("replay.search");
+	private double x;
+	private double y;
+	private double z;
+	private boolean tickPending;
+	private long tick;
+	private int passes;
+	private long searchResults;
+	
+	private TickReplayer()
+	{
+		config = CompiledConfig.compile(createConfig(), patternCache);
+		detectionService = new EntityDetectionService();
+		presets = config.getPresets();
+		matcher.preload(presets, config.isCaseSensitive());
+	}
+	
+	/**
+	 * Detection settings of a typical market player, since the defaults
+	 * detect nothing.
+	 */
+	private static SignFinderConfig createConfig()
+	{
+		SignFinderConfig config = new SignFinderConfig();
+		config.enable_auto_detection = true;
+		config.auto_save_detection_data = true;
+		config.container_keywords = new String[]{"[Shop]", "[Sell]", "[Buy]",
+			"商店", "出售", "收购", "Магазин", "Продам", "Куплю"};
+		config.ignore_words = new String[]{"Welcome", "欢迎", "Скидки"};
+		return config;
+	}
+	
+	public static void main(String[] args) throws IOException
+	{
+		ReplayOptions options = ReplayOptions.parse(args);
+		byte[] trace = Files.readAllBytes(options.trace());
+		System.out.printf("Replaying %s (%d KB)%n", options.trace(),
+			trace.length / 1024);
+		
+		for(int i = 0; i < options.warmup(); i++)
+			replay(trace);
+		
+		List<ReplayResult> runs = new ArrayList<>();
+		for(int i = 0; i < options.runs(); i++)
+		{
+			ReplayResult result = replay(trace);
+			System.out.printf("Run %d: %.0f ticks/s%n", i + 1,
+				result.ticksPerSecond());
+			runs.add(result);
+		}
+		
+		// The median run is less noisy than the best or the mean
+		runs.sort(Comparator.comparingDouble(ReplayResult::ticksPerSecond));
+		ReplayResult result = runs.get(runs.size() / 2);
+		result.print(System.out);
+		
+		if(options.baseline() == null)
+			return;
+		
+		if(options.updateBaseline())
+		{
+			result.writeBaseline(options.baseline());
+			System.out.println("Wrote baseline to " + options.baseline());
+			return;
+		}
+		
+		if(!Files.exists(options.baseline()))
+		{
+			System.err.println("No baseline at " + options.baseline()
+				+ ", record one with --update-baseline first");
+			System.exit(2);
+		}
+		
+		Properties baseline = ReplayResult.readBaseline(options.baseline());
+		if(!result.compare(baseline, options.maxRegression(), System.out))
+			System.exit(1);
+	}
+	
+	private static ReplayResult replay(byte[] trace) throws IOException
+	{
+		TickReplayer replayer = new TickReplayer();
+		long start = System.nanoTime();
+		long events;
+		try(TraceReader reader =
+			new TraceReader(new ByteArrayInputStream(trace)))
+		{
+			events = reader.readAll(replayer);
+		}
+		
+		replayer.finishTick();
+		long elapsed = System.nanoTime() - start;
+		
+		return new ReplayResult(events, elapsed, replayer.tickTimes.snapshot(),
+			replayer.passes, replayer.searchTimes.snapshot(),
+			replayer.searchResults,
+			replayer.snapshot.size(), replayer.saved.size(),
+			replayer.patternCache.getHitCount(),
+			replayer.patternCache.getMissCount());
+	}
+	
+	/**
+	 * Runs the detection pass of the previous tick, which saw everything
+	 * recorded after its tick event.
+	 */
+	@Override
+	public void onTick(double x, double y, double z)
+	{
+		finishTick();
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		tickPending = true;
+		tick++;
+	}
+	
+	@Override
+	public void onChunkLoad(int chunkX, int chunkZ)
+	{
+		chunks.putIfAbsent(chunkKey(chunkX, chunkZ), new LongOpenHashSet());
+	}
+	
+	@Override
+	public void onChunkUnload(int chunkX, int chunkZ)
+	{
+		LongOpenHashSet positions = chunks.remove(chunkKey(chunkX, chunkZ));
+		if(positions == null)
+			return;
+		
+		for(long pos : positions)
+			loaded.remove(pos);
+	}
+	
+	@Override
+	public void onSign(long pos, String[] lines)
+	{
+		load(SignRecord.sign(pos, lines, tick * MS_PER_TICK,
+			config.getTextNormalizer()));
+	}
+	
+	@Override
+	public void onItemFrame(long pos, String itemName)
+	{
+		load(SignRecord.itemFrame(pos, itemName, tick * MS_PER_TICK,
+			config.getTextNormalizer()));
+	}
+	
+	@Override
+	public void onRemove(long pos)
+	{
+		if(loaded.remove(pos) == null)
+			return;
+		
+		LongOpenHashSet positions = chunks.get(chunkKey(pos));
+		if(positions != null)
+			positions.remove(pos);
+	}
+	
+	/**
+	 * Searches loaded and saved records like the mod's search service:
+	 * loaded ones in range first, then saved ones that aren't loaded, nearest
+	 * first.
+	 */
+	@Override
+	public void onSearch(SearchQuery query)
+	{
+		long start = System.nanoTime();
+		double radiusSq = (double)query.radius() * query.radius();
+		List<SearchHit> hits = new ArrayList<>();
+		LongOpenHashSet livePositions = new LongOpenHashSet();
+		PreparedQuery prepared =
+			matcher.prepare(query, presets, config.getTextNormalizer());
+		
+		for(SignRecord record : loaded.values())
+		{
+			double distanceSq =
+				PackedPos.distanceToCenterSqr(record.pos(), x, y, z);
+			if(distanceSq > radiusSq || !prepared.matches(record))
+				continue;
+			
+			hits.add(new SearchHit(record, Math.sqrt(distanceSq)));
+			livePositions.add(record.pos());
+		}
+		
+		for(SearchHit hit : saved.search(prepared, x, y, z, query.radius()))
+			if(!livePositions.contains(hit.record().pos()))
+				hits.add(hit);
+		
+		hits.sort(SearchHit.BY_DISTANCE);
+		searchTimes.recordSince(start);
+		searchResults += hits.size();
+	}
+	
+	private void load(SignRecord record)
+	{
+		long chunk = chunkKey(record.pos());
+		LongOpenHashSet positions = chunks.get(chunk);
+		if(positions == null)
+		{
+			// The trace started after this chunk was loaded
+			positions = new LongOpenHashSet();
+			chunks.put(chunk, positions);
+		}
+		
+		positions.add(record.pos());
+		loaded.put(record.pos(), record);
+	}
+	
+	/**
+	 * Same steps as the mod's tick: run a detection pass when the cadence
+	 * (or a disabled adaptive interval) says so, and feed the pass and tick
+	 * times back into the cadence.
+	 */
+	private void finishTick()
+	{
+		if(!tickPending)
+			return;
+		
+		long start = System.nanoTime();
+		boolean adaptive = config.isAdaptiveDetectionInterval();
+		if(!adaptive || cadence.shouldRun())
+		{
+			int changes = detect();
+			if(adaptive)
+				cadence.onPass(System.nanoTime() - start, changes);
+			passes++;
+		}
+		
+		long tickTime = System.nanoTime() - start;
+		tickTimes.record(tickTime);
+		cadence.onTick(tickTime);
+		tickPending = false;
+	}
+	
+	/**
+	 * Same steps as the mod's detection pass: rebuild the highlights from
+	 * every loaded record that has a keyword and no ignore word, save the
+	 * matches whose text changed, and publish a new snapshot if anything
+	 * changed.
+	 *
+	 * @return Records that appeared, disappeared or changed since the
+	 *         previous pass
+	 */
+	private int detect()
+	{
+		highlighted.clear();
+		signChanges.begin();
+		frameChanges.begin();
+		for(SignRecord record : loaded.values())
+		{
+			boolean sign = record.type() == RecordType.SIGN;
+			(sign ? signChanges : frameChanges).visit(record.pos(),
+				record.text());
+			
+			String text = record.normalizedText();
+			if(detectionService.findKeyword(text, config) == null
+				|| detectionService.findIgnoreWord(text, config) != null)
+				continue;
+			
+			highlighted.add(record.pos(),
+				sign ? EntityType.SIGN : EntityType.ITEM_FRAME);
+			
+			// Like the saved data cache, skip records that are saved as is,
+			// which would only throw away the word index
+			SignRecord previous = saved.get(record.pos());
+			if(previous == null || !previous.text().equals(record.text()))
+				saved.put(record);
+		}
+		
+		if(!highlighted.matches(snapshot))
+			snapshot = highlighted.snapshot();
+		
+		return signChanges.finish() + frameChanges.finish();
+	}
+	
+	private static long chunkKey(long pos)
+	{
+		return chunkKey(PackedPos.getX(pos) >> 4, PackedPos.getZ(pos) >> 4);
+	}
+	
+	private static long chunkKey(int chunkX, int chunkZ)
+	{
+		return (long)chunkX << 32 | chunkZ & 0xFFFFFFFFL;
+	}
+	
+	private record ReplayOptions(Path trace, int runs, int warmup,
+		Path baseline, double maxRegression, boolean updateBaseline)
+	{
+		static ReplayOptions parse(String[] args)
+		{
+			Path trace = null;
+			int runs = 3;
+			int warmup = 1;
+			Path baseline = null;
+			double maxRegression = 0.25;
+			boolean updateBaseline = false;
+			
+			for(int i = 0; i < args.length; i++)
+			{
+				switch(args[i])
+				{
+					case "--runs" -> runs = Integer.parseInt(args[++i]);
+					case "--warmup" -> warmup = Integer.parseInt(args[++i]);
+					case "--baseline" -> baseline = Path.of(args[++i]);
+					case "--max-regression" -> maxRegression =
+						Double.parseDouble(args[++i]);
+					case "--update-baseline" -> updateBaseline = true;
+					default -> trace = Path.of(args[i]);
+				}
+			}
+			
+			if(trace == null || runs < 1)
+			{
+				System.err.println("Usage: TickReplayer <trace> [--runs N]"
+					+ " [--warmup N] [--baseline file] [--max-regression F]"
+					+ " [--update-baseline]");
+				System.exit(2);
+			}
+			
+			return new ReplayOptions(trace, runs, warmup, baseline,
+				maxRegression, updateBaseline);
+		}
+	}
+}